@@ -34,10 +34,13 @@ public class ReadBenchmark {
     File file;
     SpreadsheetMapper mapper;
     SpreadsheetMapper mapperPoi;
+    SpreadsheetMapper mapperByteScanner;
 
     @Setup(Level.Trial)
     public void setUp() throws IOException {
         mapper = new SpreadsheetMapper();
+        mapperByteScanner = new SpreadsheetMapper(
+                new SpreadsheetFactory().enable(SpreadsheetFactory.Feature.USE_BYTE_SCANNER));
         mapperPoi = new SpreadsheetMapper(
                 new SpreadsheetFactory(XSSFWorkbook::new, SpreadsheetFactory.DEFAULT_SHEET_PARSER_FEATURE_FLAGS)
                         .enable(SpreadsheetFactory.Feature.USE_POI_USER_MODEL));
@@ -55,6 +58,12 @@ public class ReadBenchmark {
         bh.consume(values);
     }
 
+    @Benchmark
+    public void jacksonSpreadsheetByteScanner(Blackhole bh) throws IOException {
+        List<BenchRow> values = mapperByteScanner.readValues(file, BenchRow.class);
+        bh.consume(values);
+    }
+
     @Benchmark
     public void jacksonSpreadsheetPOI(Blackhole bh) throws IOException {
         List<BenchRow> values = mapperPoi.readValues(file, BenchRow.class);
@@ -0,0 +1,68 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchRow;
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchWorkbookBuilder;
+import io.github.scndry.jackson.dataformat.spreadsheet.SheetMappingIterator;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetReader;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetParser;
+
+/**
+ * Internal profiling benchmark — {@link BenchRow} rows streamed through the
+ * token path vs {@link SheetParser.Feature#DIRECT_ROW_BINDING}. Rows are not
+ * retained, so the difference is the per-cell binding cost; used for
+ * optimization work; not documented in BENCHMARK.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectBindingBenchmark {
+
+    @Param({"10000", "50000"})
+    int rowCount;
+
+    File file;
+    SpreadsheetReader tokens;
+    SpreadsheetReader direct;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchWorkbookBuilder.createSampleFile("bench-direct-", rowCount);
+        final SpreadsheetMapper mapper = new SpreadsheetMapper();
+        tokens = mapper.sheetReaderFor(BenchRow.class);
+        direct = tokens.with(SheetParser.Feature.DIRECT_ROW_BINDING);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void tokenPath(Blackhole bh) throws IOException {
+        _stream(tokens, bh);
+    }
+
+    @Benchmark
+    public void directBinding(Blackhole bh) throws IOException {
+        _stream(direct, bh);
+    }
+
+    private void _stream(final SpreadsheetReader reader, final Blackhole bh) throws IOException {
+        try (SheetMappingIterator<BenchRow> it = reader.readValues(file)) {
+            while (it.hasNext()) {
+                bh.consume(it.next());
+            }
+        }
+    }
+}
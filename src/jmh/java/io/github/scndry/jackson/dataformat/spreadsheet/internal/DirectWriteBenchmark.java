@@ -0,0 +1,72 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchRow;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetFactory;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+
+/**
+ * Internal profiling benchmark — {@link BenchRow} rows written through the
+ * generator vs {@link SpreadsheetFactory.Feature#DIRECT_ROW_WRITING}. The
+ * difference is the per-cell token and reference bookkeeping; used for
+ * optimization work; not documented in BENCHMARK.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectWriteBenchmark {
+
+    @Param({"10000", "50000"})
+    int rowCount;
+
+    List<BenchRow> data;
+    File file;
+    SpreadsheetMapper generator;
+    SpreadsheetMapper direct;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new SpreadsheetMapper();
+        direct = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.DIRECT_ROW_WRITING)
+                .build();
+        data = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            data.add(BenchRow.create(i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpFile() throws IOException {
+        file = File.createTempFile("bench-direct-write-", ".xlsx");
+        file.deleteOnExit();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void generatorPath(Blackhole bh) throws IOException {
+        generator.writeValue(file, data, BenchRow.class);
+        bh.consume(file);
+    }
+
+    @Benchmark
+    public void directRowWriting(Blackhole bh) throws IOException {
+        direct.writeValue(file, data, BenchRow.class);
+        bh.consume(file);
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumnGroup;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+
+/**
+ * Internal profiling benchmark — flat-path read of 16 int leaf columns
+ * nested 1, 2 or 4 {@code @DataColumnGroup} levels deep. Isolates the
+ * per-cell cost of entering and leaving object scopes; used for
+ * optimization work; not documented in BENCHMARK.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestedGroupBenchmark {
+
+    @Param({"1", "2", "4"})
+    int depth;
+
+    @Param({"10000", "50000"})
+    int rowCount;
+
+    File file;
+    Class<?> type;
+    SpreadsheetMapper mapper;
+
+    @Data @NoArgsConstructor @AllArgsConstructor @DataGrid
+    public static class Depth1 {
+        private int c0; private int c1; private int c2; private int c3;
+        private int c4; private int c5; private int c6; private int c7;
+        private int c8; private int c9; private int c10; private int c11;
+        private int c12; private int c13; private int c14; private int c15;
+    }
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Quad {
+        private int a; private int b; private int c; private int d;
+    }
+
+    @Data @NoArgsConstructor @AllArgsConstructor @DataGrid
+    public static class Depth2 {
+        @DataColumnGroup("G0") private Quad g0;
+        @DataColumnGroup("G1") private Quad g1;
+        @DataColumnGroup("G2") private Quad g2;
+        @DataColumnGroup("G3") private Quad g3;
+    }
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Pair {
+        private int a; private int b;
+    }
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class PairOfPairs {
+        @DataColumnGroup("L") private Pair l;
+        @DataColumnGroup("R") private Pair r;
+    }
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Quartet {
+        @DataColumnGroup("L") private PairOfPairs l;
+        @DataColumnGroup("R") private PairOfPairs r;
+    }
+
+    @Data @NoArgsConstructor @AllArgsConstructor @DataGrid
+    public static class Depth4 {
+        @DataColumnGroup("L") private Quartet l;
+        @DataColumnGroup("R") private Quartet r;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = new SpreadsheetMapper();
+        final List<Object> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(_row(i));
+        }
+        type = rows.get(0).getClass();
+        file = File.createTempFile("bench-nested-group-", ".xlsx");
+        file.deleteOnExit();
+        mapper.writeValue(file, rows, type);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    private Object _row(final int i) {
+        switch (depth) {
+            case 1:
+                return new Depth1(i, i, i, i, i, i, i, i, i, i, i, i, i, i, i, i);
+            case 2:
+                return new Depth2(new Quad(i, i, i, i), new Quad(i, i, i, i),
+                        new Quad(i, i, i, i), new Quad(i, i, i, i));
+            default:
+                return new Depth4(_quartet(i), _quartet(i));
+        }
+    }
+
+    private static Quartet _quartet(final int i) {
+        return new Quartet(
+                new PairOfPairs(new Pair(i, i), new Pair(i, i)),
+                new PairOfPairs(new Pair(i, i), new Pair(i, i)));
+    }
+
+    @Benchmark
+    public void read(Blackhole bh) throws IOException {
+        List<?> values = mapper.readValues(file, type);
+        bh.consume(values);
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchRow;
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchWorkbookBuilder;
+import io.github.scndry.jackson.dataformat.spreadsheet.SheetMappingIterator;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetFactory;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetReader;
+
+/**
+ * Internal profiling benchmark — small {@link BenchRow} files opened through
+ * {@code OPCPackage} vs {@link SpreadsheetFactory.Feature#LIGHTWEIGHT_PACKAGE},
+ * where the package open dominates. The {@code cold*} variants time a single
+ * read per fresh JVM, before any class loading or JIT warm-up; used for
+ * optimization work; not documented in BENCHMARK.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackageOpenBenchmark {
+
+    @Param({"100"})
+    int rowCount;
+
+    File file;
+    SpreadsheetReader opcPackage;
+    SpreadsheetReader lightweight;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchWorkbookBuilder.createSampleFile("bench-package-open-", rowCount);
+        opcPackage = new SpreadsheetMapper().sheetReaderFor(BenchRow.class);
+        lightweight = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.LIGHTWEIGHT_PACKAGE)
+                .build()
+                .sheetReaderFor(BenchRow.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void opcPackage(Blackhole bh) throws IOException {
+        _stream(opcPackage, bh);
+    }
+
+    @Benchmark
+    public void lightweight(Blackhole bh) throws IOException {
+        _stream(lightweight, bh);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void coldOpcPackage(Blackhole bh) throws IOException {
+        _stream(opcPackage, bh);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void coldLightweight(Blackhole bh) throws IOException {
+        _stream(lightweight, bh);
+    }
+
+    private void _stream(final SpreadsheetReader reader, final Blackhole bh) throws IOException {
+        try (SheetMappingIterator<BenchRow> it = reader.readValues(file)) {
+            while (it.hasNext()) {
+                bh.consume(it.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchRow;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetFactory;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+
+/**
+ * Internal profiling benchmark — {@link BenchRow} rows written with
+ * {@link SpreadsheetFactory.Feature#PARALLEL_DEFLATE} over 1, 2, 4 and 8
+ * deflate threads at compression levels 1, 4 and 6. One thread deflates
+ * serially and is the baseline; the file size is reported through the
+ * blackhole only. Used for optimization work; not documented in BENCHMARK.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelDeflateBenchmark {
+
+    @Param({"200000"})
+    int rowCount;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"1", "4", "6"})
+    int level;
+
+    List<BenchRow> data;
+    File file;
+    SpreadsheetMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = SpreadsheetMapper.builder()
+                .configure(SpreadsheetFactory.Feature.PARALLEL_DEFLATE, threads > 1)
+                .deflateThreads(threads)
+                .compressionLevel(level)
+                .build();
+        data = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            data.add(BenchRow.create(i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpFile() throws IOException {
+        file = File.createTempFile("bench-parallel-deflate-", ".xlsx");
+        file.deleteOnExit();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void writeValue(Blackhole bh) throws IOException {
+        mapper.writeValue(file, data, BenchRow.class);
+        bh.consume(file.length());
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchRow;
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchWorkbookBuilder;
+import io.github.scndry.jackson.dataformat.spreadsheet.ParallelSheetIterator;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetReader;
+
+/**
+ * Internal profiling benchmark — {@link BenchRow} rows of one sheet read with
+ * {@link SpreadsheetReader#readValuesInParallel} over 1, 2, 4 and 8 threads.
+ * One thread falls back to the sequential read and is the baseline. Rows are
+ * not retained; used for optimization work; not documented in BENCHMARK.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelReadBenchmark {
+
+    @Param({"200000"})
+    int rowCount;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    File file;
+    SpreadsheetReader reader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchWorkbookBuilder.createSampleFile("bench-parallel-", rowCount);
+        reader = new SpreadsheetMapper().sheetReaderFor(BenchRow.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void readValuesInParallel(Blackhole bh) throws IOException {
+        try (ParallelSheetIterator<BenchRow> it = reader.readValuesInParallel(file, threads)) {
+            while (it.hasNext()) {
+                bh.consume(it.next());
+            }
+        }
+    }
+}
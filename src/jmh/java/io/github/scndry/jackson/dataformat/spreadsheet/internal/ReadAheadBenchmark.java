@@ -0,0 +1,70 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchRow;
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchWorkbookBuilder;
+import io.github.scndry.jackson.dataformat.spreadsheet.SheetMappingIterator;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetFactory;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetReader;
+
+/**
+ * Internal profiling benchmark — {@link BenchRow} rows streamed with
+ * inflate, tokenizing and binding on one thread vs
+ * {@link SpreadsheetFactory.Feature#READ_AHEAD}. Rows are not retained;
+ * used for optimization work; not documented in BENCHMARK.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadAheadBenchmark {
+
+    @Param({"10000", "50000"})
+    int rowCount;
+
+    File file;
+    SpreadsheetReader inline;
+    SpreadsheetReader readAhead;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchWorkbookBuilder.createSampleFile("bench-read-ahead-", rowCount);
+        inline = new SpreadsheetMapper().sheetReaderFor(BenchRow.class);
+        readAhead = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.READ_AHEAD)
+                .build()
+                .sheetReaderFor(BenchRow.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void singleThread(Blackhole bh) throws IOException {
+        _stream(inline, bh);
+    }
+
+    @Benchmark
+    public void readAhead(Blackhole bh) throws IOException {
+        _stream(readAhead, bh);
+    }
+
+    private void _stream(final SpreadsheetReader reader, final Blackhole bh) throws IOException {
+        try (SheetMappingIterator<BenchRow> it = reader.readValues(file)) {
+            while (it.hasNext()) {
+                bh.consume(it.next());
+            }
+        }
+    }
+}
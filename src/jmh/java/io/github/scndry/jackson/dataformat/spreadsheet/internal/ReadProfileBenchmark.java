@@ -5,6 +5,7 @@ import io.github.scndry.jackson.dataformat.spreadsheet.BenchWorkbookBuilder;
 import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.SpreadsheetSchema;
+import com.fasterxml.jackson.databind.MappingIterator;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
@@ -17,6 +18,9 @@ import java.util.concurrent.TimeUnit;
  * Internal profiling benchmark — isolates costs: schema generation vs full read
  * (with reused mapper/schema). Used for optimization work; not documented in
  * BENCHMARK.md.
+ * <p>
+ * Run {@link #streamRows} with {@code -prof gc} to see per-row parse garbage:
+ * {@code gc.alloc.rate.norm / rowCount} excludes the result list.
  */
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.AverageTime)
@@ -69,6 +73,17 @@ public class ReadProfileBenchmark {
         bh.consume(values);
     }
 
+    /** Pre-built schema, rows consumed one at a time and never retained. */
+    @Benchmark
+    public void streamRows(Blackhole bh) throws IOException {
+        try (MappingIterator<BenchRow> it = mapper.reader(schema).forType(BenchRow.class)
+                .readValues(SheetInput.source(file))) {
+            while (it.hasNext()) {
+                bh.consume(it.next());
+            }
+        }
+    }
+
     /** Schema generation cost only (no file I/O). */
     @Benchmark
     public void schemaOnly(Blackhole bh) throws Exception {
@@ -0,0 +1,67 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchRow;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetFactory;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+
+/**
+ * Internal profiling benchmark — small {@link BenchRow} exports written with
+ * and without {@link SpreadsheetFactory.Feature#SCAFFOLD_CACHE}, where the
+ * fixed cost of building the package scaffold dominates. Used for
+ * optimization work; not documented in BENCHMARK.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScaffoldCacheBenchmark {
+
+    @Param({"100", "1000"})
+    int rowCount;
+
+    @Param({"false", "true"})
+    boolean cached;
+
+    List<BenchRow> data;
+    File file;
+    SpreadsheetMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = SpreadsheetMapper.builder()
+                .configure(SpreadsheetFactory.Feature.SCAFFOLD_CACHE, cached)
+                .build();
+        data = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            data.add(BenchRow.create(i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpFile() throws IOException {
+        file = File.createTempFile("bench-scaffold-cache-", ".xlsx");
+        file.deleteOnExit();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void writeValue(Blackhole bh) throws IOException {
+        mapper.writeValue(file, data, BenchRow.class);
+        bh.consume(file.length());
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.internal;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.BenchRow;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.SpreadsheetSchema;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Internal profiling benchmark — per-call cost of {@code sheetSchemaFor}
+ * with the mapper's schema cache cold (cleared before every call) versus
+ * warm (every call is a hit).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaCacheBenchmark {
+
+    SpreadsheetMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = new SpreadsheetMapper();
+        mapper.sheetSchemaFor(BenchRow.class);
+    }
+
+    /** Cache cleared each call: full visitor walk and validation. */
+    @Benchmark
+    public void coldSchema(Blackhole bh) throws Exception {
+        mapper.getSchemaCache().clear();
+        SpreadsheetSchema s = mapper.sheetSchemaFor(BenchRow.class);
+        bh.consume(s);
+    }
+
+    /** Cache hit: key construction plus one map lookup. */
+    @Benchmark
+    public void warmSchema(Blackhole bh) throws Exception {
+        SpreadsheetSchema s = mapper.sheetSchemaFor(BenchRow.class);
+        bh.consume(s);
+    }
+}
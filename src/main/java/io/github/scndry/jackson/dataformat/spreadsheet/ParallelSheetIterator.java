@@ -0,0 +1,222 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetReader;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.SSMLSheetChunks;
+
+/**
+ * Iterator over the rows of one worksheet, bound on several threads and
+ * returned in sheet order.
+ * <p>
+ * The calling thread inflates the worksheet and cuts it into row ranges
+ * ({@link SSMLSheetChunks}); worker threads tokenize and bind each range
+ * into a list of values. At most twice the parallelism ranges are in flight,
+ * so memory stays bounded regardless of sheet size. Header rows are read
+ * first, on the calling thread, so every range binds with the same
+ * (possibly header-reordered) schema.
+ * <p>
+ * When the read cannot be split, rows come from a plain
+ * {@link SheetMappingIterator} on the calling thread; see
+ * {@link SpreadsheetReader#readValuesInParallel(java.io.File, int)}.
+ * <p>
+ * Resources are released when iteration ends or on {@link #close()}; a
+ * failure in any range surfaces when that range is reached.
+ *
+ * @see SpreadsheetReader
+ */
+public final class ParallelSheetIterator<T> implements Iterator<T>, Closeable {
+
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final SheetMappingIterator<T> _sequential;
+    private final SpreadsheetReader _reader;
+    private final FormatSchema _schema;
+    private final SSMLSheetChunks _chunks;
+    private final ExecutorService _workers;
+    private final int _window;
+    private final Deque<Future<List<T>>> _pending;
+    private Iterator<T> _batch;
+    private boolean _sliced;
+    private boolean _closed;
+
+    ParallelSheetIterator(final SheetMappingIterator<T> sequential) {
+        _sequential = sequential;
+        _reader = null;
+        _schema = null;
+        _chunks = null;
+        _workers = null;
+        _window = 0;
+        _pending = null;
+    }
+
+    ParallelSheetIterator(
+            final SpreadsheetReader reader,
+            final SSMLSheetChunks chunks,
+            final SheetMappingIterator<T> head,
+            final int parallelism) throws IOException {
+        _sequential = null;
+        _reader = reader;
+        _chunks = chunks;
+        _batch = head.readAll().iterator();
+        _schema = head.getParser().getSchema();
+        head.close();
+        _workers = Executors.newFixedThreadPool(parallelism, _threadFactory());
+        _window = parallelism * 2;
+        _pending = new ArrayDeque<>(_window);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (_sequential != null) return _sequential.hasNext();
+        try {
+            while (!_batch.hasNext()) {
+                if (_closed) return false;
+                _fill();
+                final Future<List<T>> next = _pending.pollFirst();
+                if (next == null) {
+                    close();
+                    return false;
+                }
+                _batch = _await(next).iterator();
+            }
+            return true;
+        } catch (IOException e) {
+            _closeQuietly(e);
+            if (e instanceof JsonMappingException) {
+                throw new RuntimeJsonMappingException((JsonMappingException) e);
+            }
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException | Error e) {
+            _closeQuietly(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return _sequential != null ? _sequential.next() : _batch.next();
+    }
+
+    /** Reads all remaining rows into a list, then closes this iterator. */
+    public List<T> readAll() throws IOException {
+        if (_sequential != null) return _sequential.readAll();
+        final List<T> values = new ArrayList<>();
+        try {
+            while (hasNext()) {
+                values.add(next());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeJsonMappingException e) {
+            throw (JsonMappingException) e.getCause();
+        }
+        return values;
+    }
+
+    /**
+     * Sequential, ordered stream of the remaining rows; closing the stream
+     * closes this iterator.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                this, Spliterator.ORDERED), false)
+                .onClose(() -> _closeQuietly(null));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_sequential != null) {
+            _sequential.close();
+            return;
+        }
+        if (_closed) return;
+        _closed = true;
+        _batch = Collections.emptyIterator();
+        for (final Future<List<T>> f : _pending) {
+            f.cancel(true);
+        }
+        _pending.clear();
+        _workers.shutdownNow();
+        _chunks.close();
+    }
+
+    // Slices ranges and submits them until the window is full or the sheet ends
+    private void _fill() {
+        while (!_sliced && _pending.size() < _window) {
+            final SheetReader chunk = _chunks.next();
+            if (chunk == null) {
+                _sliced = true;
+            } else {
+                _pending.addLast(_workers.submit(() -> _bind(chunk)));
+            }
+        }
+    }
+
+    private List<T> _bind(final SheetReader chunk) throws IOException {
+        try (SheetMappingIterator<T> it = _reader.readValues(chunk, _schema)) {
+            return it.readAll();
+        }
+    }
+
+    private List<T> _await(final Future<List<T>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for rows", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private void _closeQuietly(final Throwable failure) {
+        try {
+            close();
+        } catch (IOException e) {
+            if (failure != null) {
+                failure.addSuppressed(e);
+            } else {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static ThreadFactory _threadFactory() {
+        final int pool = POOL_SEQUENCE.incrementAndGet();
+        final AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            final Thread t = new Thread(r, "spreadsheet-read-" + pool + "-" + sequence.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializationConfig;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.SpreadsheetSchema;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.CountingLruCache;
+
+/**
+ * Bounded, concurrent cache of generated {@link SpreadsheetSchema}
+ * instances owned by a {@link SpreadsheetMapper}.
+ * <p>
+ * Entries are keyed by root type, active view, generator settings and
+ * the serialization configuration in effect when the schema was
+ * generated, so reconfiguring the mapper never serves a stale schema.
+ * The mapper clears the cache when its {@link SchemaGenerator} or
+ * serializer factory is replaced, a module is registered, or mix-ins,
+ * config overrides, default inclusion or visibility change in place;
+ * copies start with an empty cache.
+ *
+ * @see SpreadsheetMapper#getSchemaCache()
+ */
+public final class SchemaCache {
+
+    static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final CountingLruCache<Key, SpreadsheetSchema> _cache;
+
+    SchemaCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    SchemaCache(final int maxEntries) {
+        _cache = new CountingLruCache<>(maxEntries);
+    }
+
+    SpreadsheetSchema get(final Key key) {
+        return _cache.get(key);
+    }
+
+    SpreadsheetSchema put(final Key key, final SpreadsheetSchema schema) {
+        return _cache.put(key, schema);
+    }
+
+    /**
+     * Number of lookups served from the cache.
+     */
+    public long hitCount() {
+        return _cache.hitCount();
+    }
+
+    /**
+     * Number of lookups that required schema generation.
+     */
+    public long missCount() {
+        return _cache.missCount();
+    }
+
+    public int size() {
+        return _cache.size();
+    }
+
+    public void clear() {
+        _cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return _cache.toString("SchemaCache");
+    }
+
+    static final class Key {
+
+        private final JavaType _type;
+        private final Class<?> _view;
+        private final SchemaGenerator.GeneratorSettings _settings;
+        private final SerializationConfig _config;
+        private final int _hashCode;
+
+        Key(final JavaType type, final Class<?> view,
+            final SchemaGenerator.GeneratorSettings settings, final SerializationConfig config) {
+            _type = type;
+            _view = view;
+            _settings = settings;
+            _config = config;
+            _hashCode = Objects.hash(type, view, settings, System.identityHashCode(config));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key other = (Key) o;
+            // Other changes replace the config; in-place ones clear the cache
+            return _config == other._config
+                && _view == other._view
+                && _type.equals(other._type)
+                && _settings.equals(other._settings);
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.github.scndry.jackson.dataformat.spreadsheet;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.poi.ss.util.CellAddress;
 
@@ -69,6 +70,10 @@ public final class SchemaGenerator {
         return new SchemaGenerator(_generatorSettings.with(configurer));
     }
 
+    GeneratorSettings settings() {
+        return _generatorSettings;
+    }
+
     SpreadsheetSchema generate(
             final JavaType type,
             final DefaultSerializerProvider provider,
@@ -187,5 +192,22 @@ public final class SchemaGenerator {
         private GeneratorSettings with(final GridConfigurer gridConfigurer) {
             return new GeneratorSettings(_origin, _features, _columnNameResolver, _stylesBuilder, gridConfigurer);
         }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof GeneratorSettings)) return false;
+            final GeneratorSettings other = (GeneratorSettings) o;
+            return _features == other._features
+                && _origin.equals(other._origin)
+                && _columnNameResolver.equals(other._columnNameResolver)
+                && _stylesBuilder.equals(other._stylesBuilder)
+                && _gridConfigurer.equals(other._gridConfigurer);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(_origin, _features, _columnNameResolver, _stylesBuilder, _gridConfigurer);
+        }
     }
 }
@@ -1,5 +1,9 @@
 package io.github.scndry.jackson.dataformat.spreadsheet;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
@@ -19,6 +23,9 @@ import io.github.scndry.jackson.dataformat.spreadsheet.schema.SpreadsheetSchema;
  */
 public final class SheetMappingIterator<T> extends MappingIterator<T> {
 
+    // Caps the capacity taken on trust from the sheet's declared dimension
+    static final int MAX_PRESIZE = 1 << 17;
+
     SheetMappingIterator(final JavaType type, final JsonParser p, final DeserializationContext ctxt,
                          final JsonDeserializer<?> deser, final boolean managedParser,
                                  final Object valueToUpdate) {
@@ -39,4 +46,35 @@ public final class SheetMappingIterator<T> extends MappingIterator<T> {
     public SheetLocation getCurrentLocation() {
         return (SheetLocation) super.getCurrentLocation();
     }
+
+    /**
+     * Estimated number of rows left to read when iteration starts, from the
+     * dimension the sheet declares; {@code -1} if unknown.
+     *
+     * @see SheetParser#getEstimatedRowCount()
+     */
+    public int getEstimatedRowCount() {
+        return _parser instanceof SheetParser ? ((SheetParser) _parser).getEstimatedRowCount() : -1;
+    }
+
+    /**
+     * Estimated number of columns of the sheet; {@code -1} if unknown.
+     *
+     * @see SheetParser#getEstimatedColumnCount()
+     */
+    public int getEstimatedColumnCount() {
+        return _parser instanceof SheetParser ? ((SheetParser) _parser).getEstimatedColumnCount() : -1;
+    }
+
+    /**
+     * As {@link MappingIterator#readAll()}, into a list sized from
+     * {@link #getEstimatedRowCount()} up to a fixed cap, so that large
+     * sheets are collected without repeated regrowth.
+     */
+    @Override
+    public List<T> readAll() throws IOException {
+        final int estimate = getEstimatedRowCount();
+        final List<T> values = estimate > 0 ? new ArrayList<>(Math.min(estimate, MAX_PRESIZE)) : new ArrayList<>();
+        return readAll(values);
+    }
 }
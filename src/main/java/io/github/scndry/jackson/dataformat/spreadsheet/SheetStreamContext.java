@@ -79,6 +79,15 @@ public abstract class SheetStreamContext extends JsonStreamContext {
 
     public abstract void writeValue();
 
+    /**
+     * Records a value written straight to absolute {@code column} of the
+     * current row, as {@link #writeValue()} does for the field naming that
+     * column; only meaningful in an object context.
+     */
+    public void writeValueAt(final int column) {
+        writeValue();
+    }
+
     public CellAddress currentReference() {
         return new CellAddress(getRow(), getColumn());
     }
@@ -271,5 +280,11 @@ public abstract class SheetStreamContext extends JsonStreamContext {
             _index = _schema.columnIndexOf(currentPointer());
             if (_size == 0) _size = 1;
         }
+
+        @Override
+        public void writeValueAt(final int column) {
+            _index = column;
+            if (_size == 0) _size = 1;
+        }
     }
 }
@@ -5,7 +5,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
+import java.util.function.UnaryOperator;
 
 import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.poifs.filesystem.FileMagic;
@@ -20,16 +24,23 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.RowRangeSheetReader;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetParser;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetReader;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.POICompat;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.OoxmlEncryption;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.PackageUtil;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.SSMLSheetChunks;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.SSMLSheetReader;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.SSMLSheetWriter;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.ScaffoldCache;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.SSMLWorkbook;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.SSMLWorkbookReader;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.ZipArchiveSheets;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.ZipStreamSheets;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.ss.POISheetReader;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.ss.POISheetWriter;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.SpreadsheetSchema;
@@ -54,10 +65,15 @@ public final class SpreadsheetFactory extends JsonFactory {
     public static final int DEFAULT_SHEET_PARSER_FEATURE_FLAGS =
             SheetParser.Feature.collectDefaults();
     public static final int DEFAULT_FEATURE_FLAGS = Feature.collectDefaults();
+    public static final int DEFAULT_COMPRESSION_LEVEL = SSMLSheetWriter.DEFAULT_COMPRESSION_LEVEL;
 
     private final transient WorkbookProvider _workbookProvider;
     private int _sheetParserFeatures;
     private int _featureFlags;
+    private int _compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+    private int _deflateThreads;
+    private File _rowIndexDirectory;
+    private transient ScaffoldCache _scaffoldCache = new ScaffoldCache();
 
     public SpreadsheetFactory() {
         this(XSSFWorkbook::new, DEFAULT_SHEET_PARSER_FEATURE_FLAGS, DEFAULT_FEATURE_FLAGS);
@@ -82,6 +98,9 @@ public final class SpreadsheetFactory extends JsonFactory {
         _workbookProvider = base._workbookProvider;
         _sheetParserFeatures = base._sheetParserFeatures;
         _featureFlags = base._featureFlags;
+        _compressionLevel = base._compressionLevel;
+        _deflateThreads = base._deflateThreads;
+        _rowIndexDirectory = base._rowIndexDirectory;
     }
 
     @Override
@@ -157,6 +176,80 @@ public final class SpreadsheetFactory extends JsonFactory {
         return this;
     }
 
+    /*
+    /**********************************************************
+    /* Configuration, XLSX compression
+    /**********************************************************
+     */
+
+    public int getCompressionLevel() {
+        return _compressionLevel;
+    }
+
+    /**
+     * Sets the DEFLATE level, {@code 0} to {@code 9} or
+     * {@link java.util.zip.Deflater#DEFAULT_COMPRESSION}, of the entries of
+     * XLSX packages written through SSML; defaults to
+     * {@link #DEFAULT_COMPRESSION_LEVEL}.
+     */
+    public SpreadsheetFactory setCompressionLevel(final int level) {
+        if (level < -1 || level > 9) {
+            throw new IllegalArgumentException("Compression level must be -1 to 9, was " + level);
+        }
+        _compressionLevel = level;
+        return this;
+    }
+
+    public int getDeflateThreads() {
+        return _deflateThreads;
+    }
+
+    /**
+     * Sets the worker threads of {@link Feature#PARALLEL_DEFLATE};
+     * {@code 0}, the default, uses one per available processor.
+     */
+    public SpreadsheetFactory setDeflateThreads(final int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("Deflate threads must not be negative, was " + threads);
+        }
+        _deflateThreads = threads;
+        return this;
+    }
+
+    public File getRowIndexDirectory() {
+        return _rowIndexDirectory;
+    }
+
+    /**
+     * Sets the directory where {@link Feature#ROW_RANGE_INDEX} saves its
+     * indexes and keeps them across JVM runs; {@code null}, the default,
+     * saves them in the library's temporary directory and deletes them when
+     * the JVM exits, so that each process builds them again. Indexes hold
+     * worksheet content and are written with owner-only permissions; one
+     * whose file has changed is rebuilt.
+     */
+    public SpreadsheetFactory setRowIndexDirectory(final File dir) {
+        if (dir != null && dir.exists() && !dir.isDirectory()) {
+            throw new IllegalArgumentException("Not a directory: " + dir);
+        }
+        _rowIndexDirectory = dir;
+        return this;
+    }
+
+    /*
+    /**********************************************************
+    /* Configuration, scaffold cache
+    /**********************************************************
+     */
+
+    /**
+     * Returns the cache of XLSX package scaffolds used with
+     * {@link Feature#SCAFFOLD_CACHE}. Copies start with an empty cache.
+     */
+    public ScaffoldCache getScaffoldCache() {
+        return _scaffoldCache;
+    }
+
     /*
     /**********************************************************
     /* Parser factories
@@ -168,11 +261,56 @@ public final class SpreadsheetFactory extends JsonFactory {
         return _createParser(new POISheetReader(src), ctxt);
     }
 
-    @SuppressWarnings("unchecked")
     public SheetParser createParser(final SheetInput<?> src) throws IOException {
+        return _createParser(src, UnaryOperator.identity());
+    }
+
+    /**
+     * Parser over the header rows of the worksheet {@code src} names and
+     * its data rows from {@code fromRow} up to {@code toRow}, in zero-based
+     * sheet rows. With {@link Feature#ROW_RANGE_INDEX}, an XLSX file read
+     * through SSML skips ahead through a saved index of the worksheet;
+     * otherwise the rows before the range are read and skipped.
+     */
+    @SuppressWarnings("unchecked")
+    SheetParser createParser(
+            final SheetInput<?> src,
+            final int firstDataRow,
+            final int fromRow,
+            final int toRow) throws IOException {
+        final UnaryOperator<SheetReader> range = reader ->
+                new RowRangeSheetReader(reader, firstDataRow, fromRow, toRow);
+        if (Feature.ROW_RANGE_INDEX.enabledIn(_featureFlags) && src.isFile() && src.getPassword() == null
+                && !Feature.FILE_BACKED_SHARED_STRINGS.enabledIn(_featureFlags)
+                && !_shouldUsePOIUserModel(((SheetInput<File>) src).getRaw())) {
+            final SSMLSheetReader reader = ZipArchiveSheets.openRows(((SheetInput<File>) src).getRaw(), src,
+                    firstDataRow, fromRow,
+                    Feature.USE_BYTE_SCANNER.enabledIn(_featureFlags),
+                    Feature.READ_AHEAD.enabledIn(_featureFlags),
+                    _rowIndexDirectory);
+            if (reader != null) {
+                final IOContext ctxt = _createContext(_createContentReference(src), false);
+                return _createParser(range.apply(reader), ctxt);
+            }
+        }
+        return _createParser(src, range);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SheetParser _createParser(
+            final SheetInput<?> src,
+            final UnaryOperator<SheetReader> wrap) throws IOException {
+        if (_isRandomAccess(src) && _shouldReadArchive(src)) {
+            // The reader itself honors AUTO_CLOSE_SOURCE for a channel
+            final IOContext ctxt = _createContext(_createContentReference(src), true);
+            return _createParser(wrap.apply(_createArchiveSheetReader(src)), ctxt);
+        }
         SheetInput<?> source = src;
+        if (_isRandomAccess(src)) {
+            source = _randomAccessAsStream(src);
+        }
         if (src.getPassword() != null) {
-            source = OoxmlEncryption.decrypt(src);
+            source = OoxmlEncryption.decrypt(source);
         }
         source = _preferRawAsFile(source);
         final boolean resourceManaged = src != source;
@@ -183,7 +321,76 @@ public final class SpreadsheetFactory extends JsonFactory {
         } else {
             reader = _createInputStreamSheetReader((SheetInput<InputStream>) source);
         }
-        return _createParser(reader, ctxt);
+        return _createParser(wrap.apply(reader), ctxt);
+    }
+
+    /**
+     * Parser over an already opened {@link SheetReader}; the caller owns the
+     * reader's resources beyond what {@link SheetReader#close()} releases.
+     */
+    SheetParser createParser(final SheetReader reader) {
+        return _createParser(reader, _createContext(_createContentReference(reader), false));
+    }
+
+    /**
+     * Opens the worksheet of {@code src} as independently readable row ranges,
+     * or returns {@code null} when the source is not read through SSML from a
+     * file, or uses {@link Feature#FILE_BACKED_SHARED_STRINGS}.
+     *
+     * @see SSMLSheetChunks
+     */
+    @SuppressWarnings("unchecked")
+    SSMLSheetChunks openSheetChunks(
+            final SheetInput<?> src,
+            final int firstDataRow,
+            final int chunkSize) throws IOException {
+        if (!src.isFile() || src.getPassword() != null
+                || Feature.FILE_BACKED_SHARED_STRINGS.enabledIn(_featureFlags)
+                || _shouldUsePOIUserModel(((SheetInput<File>) src).getRaw())) {
+            return null;
+        }
+        final SSMLWorkbook workbook = SSMLWorkbook.create(((SheetInput<File>) src).getRaw());
+        final PackagePart worksheetPart;
+        try {
+            worksheetPart = _worksheetPart(workbook, src);
+        } catch (RuntimeException e) {
+            workbook.close();
+            throw e;
+        }
+        final boolean scanBytes = Feature.USE_BYTE_SCANNER.enabledIn(_featureFlags);
+        return SSMLSheetChunks.open(workbook, worksheetPart, scanBytes, firstDataRow, chunkSize);
+    }
+
+    /**
+     * Opens {@code src} for reading several worksheets over one package,
+     * shared string table and styles, or returns {@code null} when the file
+     * is not read through SSML or uses {@link Feature#FILE_BACKED_SHARED_STRINGS}.
+     *
+     * @see #openSheet(SSMLWorkbookReader, SheetInput)
+     */
+    SSMLWorkbookReader openWorkbookReader(final File src) throws IOException {
+        if (Feature.FILE_BACKED_SHARED_STRINGS.enabledIn(_featureFlags) || _shouldUsePOIUserModel(src)) {
+            return null;
+        }
+        final boolean scanBytes = Feature.USE_BYTE_SCANNER.enabledIn(_featureFlags);
+        return SSMLWorkbookReader.open(SSMLWorkbook.create(src), scanBytes);
+    }
+
+    /**
+     * Reader over the worksheet {@code src} names in {@code workbook}, parsed
+     * with this factory's worksheet features; the raw source of {@code src}
+     * is not consulted. Returns {@code null} when this factory would not read
+     * through a shared workbook (see {@link #openWorkbookReader(File)}).
+     */
+    SheetReader openSheet(final SSMLWorkbookReader workbook, final SheetInput<?> src) {
+        if (Feature.FILE_BACKED_SHARED_STRINGS.enabledIn(_featureFlags)
+                || Feature.USE_POI_USER_MODEL.enabledIn(_featureFlags)) {
+            return null;
+        }
+        final PackagePart worksheetPart = _worksheetPart(workbook.getWorkbook(), src);
+        final boolean scanBytes = Feature.USE_BYTE_SCANNER.enabledIn(_featureFlags);
+        final boolean readAhead = Feature.READ_AHEAD.enabledIn(_featureFlags);
+        return workbook.openSheet(worksheetPart, scanBytes, readAhead);
     }
 
     @Override
@@ -262,20 +469,59 @@ public final class SpreadsheetFactory extends JsonFactory {
         if (_shouldUsePOIUserModel(src.getRaw())) {
             return _createPOISheetReader(WorkbookFactory.create(src.getRaw()), src);
         }
+        if (_shouldUseLightweightPackage()) {
+            final SSMLSheetReader reader = ZipArchiveSheets.open(src.getRaw(), src,
+                    Feature.USE_BYTE_SCANNER.enabledIn(_featureFlags),
+                    Feature.READ_AHEAD.enabledIn(_featureFlags));
+            if (reader != null) return reader;
+        }
         return _createSSMLSheetReader(SSMLWorkbook.create(src.getRaw()), src);
     }
 
+    private SheetReader _createArchiveSheetReader(final SheetInput<?> src) throws IOException {
+        final boolean scanBytes = Feature.USE_BYTE_SCANNER.enabledIn(_featureFlags);
+        final boolean readAhead = Feature.READ_AHEAD.enabledIn(_featureFlags);
+        if (src.getRaw() instanceof ByteBuffer) {
+            return ZipArchiveSheets.open((ByteBuffer) src.getRaw(), src, scanBytes, readAhead);
+        }
+        return ZipArchiveSheets.open((SeekableByteChannel) src.getRaw(), src,
+                isEnabled(StreamReadFeature.AUTO_CLOSE_SOURCE), scanBytes, readAhead);
+    }
+
     private SheetReader _createInputStreamSheetReader(
             final SheetInput<InputStream> src) throws IOException {
         // Reachable only when _preferRawAsFile did not spool to a file:
-        //   USE_POI_USER_MODEL enabled, or non-OOXML input.
-        // Either way the read uses POI's User Model — SSML needs seekable I/O.
+        //   USE_POI_USER_MODEL enabled, non-OOXML input, or STREAM_ZIP_INPUT.
+        // Only the last reads through SSML, from the ZIP stream.
+        if (!_shouldUsePOIUserModel(src.getRaw()) && _shouldStreamZipInput()) {
+            return ZipStreamSheets.open(src.getRaw(), src,
+                    isEnabled(StreamReadFeature.AUTO_CLOSE_SOURCE),
+                    Feature.USE_BYTE_SCANNER.enabledIn(_featureFlags),
+                    Feature.READ_AHEAD.enabledIn(_featureFlags));
+        }
         return _createPOISheetReader(WorkbookFactory.create(src.getRaw()), src);
     }
 
     private SSMLSheetReader _createSSMLSheetReader(
             final SSMLWorkbook workbook,
             final SheetInput<?> src) {
+        final PackagePart worksheetPart = _worksheetPart(workbook, src);
+        final boolean fileBacked = Feature
+                .FILE_BACKED_SHARED_STRINGS
+                .enabledIn(_featureFlags);
+        final boolean encrypt = Feature
+                .ENCRYPT_FILE_BACKED_STORE
+                .enabledIn(_featureFlags);
+        final boolean scanBytes = Feature
+                .USE_BYTE_SCANNER
+                .enabledIn(_featureFlags);
+        final boolean readAhead = Feature
+                .READ_AHEAD
+                .enabledIn(_featureFlags);
+        return new SSMLSheetReader(worksheetPart, workbook, fileBacked, encrypt, scanBytes, readAhead);
+    }
+
+    private static PackagePart _worksheetPart(final SSMLWorkbook workbook, final SheetInput<?> src) {
         final PackagePart worksheetPart = src
                 .isNamed() ? workbook
                 .getWorksheetPart(src.getName()) : workbook
@@ -283,13 +529,7 @@ public final class SpreadsheetFactory extends JsonFactory {
         if (worksheetPart == null) {
             throw new IllegalArgumentException("No sheet for " + src);
         }
-        final boolean fileBacked = Feature
-                .FILE_BACKED_SHARED_STRINGS
-                .enabledIn(_featureFlags);
-        final boolean encrypt = Feature
-                .ENCRYPT_FILE_BACKED_STORE
-                .enabledIn(_featureFlags);
-        return new SSMLSheetReader(worksheetPart, workbook, fileBacked, encrypt);
+        return worksheetPart;
     }
 
     private POISheetReader _createPOISheetReader(final Workbook workbook, final SheetInput<?> src) {
@@ -301,6 +541,45 @@ public final class SpreadsheetFactory extends JsonFactory {
         return new POISheetReader(sheet);
     }
 
+    private static boolean _isRandomAccess(final SheetInput<?> src) {
+        return src.getRaw() instanceof ByteBuffer || src.getRaw() instanceof SeekableByteChannel;
+    }
+
+    // OOXML read through its central directory; anything else is read as a stream
+    private boolean _shouldReadArchive(final SheetInput<?> src) {
+        if (src.getPassword() != null
+                || Feature.USE_POI_USER_MODEL.enabledIn(_featureFlags)
+                || Feature.FILE_BACKED_SHARED_STRINGS.enabledIn(_featureFlags)) {
+            return false;
+        }
+        return src.getRaw() instanceof ByteBuffer
+                ? PackageUtil.isOOXML((ByteBuffer) src.getRaw())
+                : PackageUtil.isOOXML((SeekableByteChannel) src.getRaw());
+    }
+
+    private static SheetInput<InputStream> _randomAccessAsStream(final SheetInput<?> src) throws IOException {
+        final InputStream raw;
+        if (src.getRaw() instanceof ByteBuffer) {
+            raw = new ByteBufferBackedInputStream(((ByteBuffer) src.getRaw()).duplicate());
+        } else {
+            raw = Channels.newInputStream(((SeekableByteChannel) src.getRaw()).position(0));
+        }
+        final SheetInput<InputStream> stream = src.isNamed()
+                ? SheetInput.source(raw, src.getName())
+                : SheetInput.source(raw, src.getIndex());
+        return stream.withPassword(src.getPassword());
+    }
+
+    private boolean _shouldStreamZipInput() {
+        return Feature.STREAM_ZIP_INPUT.enabledIn(_featureFlags)
+            && !Feature.FILE_BACKED_SHARED_STRINGS.enabledIn(_featureFlags);
+    }
+
+    private boolean _shouldUseLightweightPackage() {
+        return Feature.LIGHTWEIGHT_PACKAGE.enabledIn(_featureFlags)
+            && !Feature.FILE_BACKED_SHARED_STRINGS.enabledIn(_featureFlags);
+    }
+
     private boolean _shouldUsePOIUserModel(final File src) {
         return Feature.USE_POI_USER_MODEL.enabledIn(_featureFlags)
             || !PackageUtil.isOOXML(src);
@@ -317,7 +596,7 @@ public final class SpreadsheetFactory extends JsonFactory {
         if (src.isFile()) return src;
         final InputStream raw = FileMagic.prepareToCheckMagic(
                 ((SheetInput<InputStream>) src).getRaw());
-        if (_shouldUsePOIUserModel(raw)) {
+        if (_shouldUsePOIUserModel(raw) || _shouldStreamZipInput()) {
             return src.isNamed()
                     ? SheetInput.source(raw, src.getName())
                     : SheetInput.source(raw, src.getIndex());
@@ -361,7 +640,8 @@ public final class SpreadsheetFactory extends JsonFactory {
      */
 
     private SheetGenerator _createGenerator(final SheetWriter writer, final IOContext ctxt) {
-        return new SheetGenerator(ctxt, _generatorFeatures, _objectCodec, writer);
+        return new SheetGenerator(ctxt, _generatorFeatures, _objectCodec, writer,
+                Feature.DIRECT_ROW_WRITING.enabledIn(_featureFlags));
     }
 
     @SuppressWarnings("resource")
@@ -388,7 +668,14 @@ public final class SpreadsheetFactory extends JsonFactory {
         final boolean encrypt = Feature
                 .ENCRYPT_FILE_BACKED_STORE
                 .enabledIn(_featureFlags);
-        return new SSMLSheetWriter(out, sheet, fileBacked, encrypt);
+        int deflateThreads = 1;
+        if (Feature.PARALLEL_DEFLATE.enabledIn(_featureFlags)) {
+            deflateThreads = _deflateThreads > 0 ? _deflateThreads : Runtime.getRuntime().availableProcessors();
+        }
+        final boolean pipelined = Feature.PIPELINED_WRITE.enabledIn(_featureFlags);
+        final ScaffoldCache scaffoldCache = Feature.SCAFFOLD_CACHE.enabledIn(_featureFlags) ? _scaffoldCache : null;
+        return new SSMLSheetWriter(out, sheet, fileBacked, encrypt, _compressionLevel, deflateThreads, pipelined,
+                scaffoldCache);
     }
 
     private POISheetWriter _createPOISheetWriter(final Sheet sheet, final OutputStream out) {
@@ -437,6 +724,119 @@ public final class SpreadsheetFactory extends JsonFactory {
          * Effective only with {@link #FILE_BACKED_SHARED_STRINGS}.
          */
         ENCRYPT_FILE_BACKED_STORE(false),
+        /**
+         * Tokenize worksheet and shared strings XML with a byte-level SpreadsheetML
+         * scanner instead of StAX. Cell references, style and shared string indices
+         * are decoded straight from the UTF-8 bytes without intermediate strings.
+         * Documents the scanner does not handle (non-UTF-8 encodings, DTDs) fall
+         * back to StAX automatically. Applies to the SSML read path only.
+         *
+         * <p>Default: disabled.
+         */
+        USE_BYTE_SCANNER(false),
+        /**
+         * Write rows of a flat {@code @DataGrid} type (every column a direct
+         * property, no nested lists) straight to their cells by column index,
+         * reading each property once through its accessor instead of emitting
+         * field-name and value tokens. Properties with custom or polymorphic
+         * serializers, filters, views and object ids fall back to the
+         * generator, per property or per row.
+         *
+         * <p>Default: disabled.
+         */
+        DIRECT_ROW_WRITING(false),
+        /**
+         * Inflate and tokenize the worksheet on a background thread, a few
+         * thousand cells ahead of the thread that binds rows, so that
+         * decompression and XML parsing overlap with binding. Memory stays
+         * bounded by a small fixed ring of cell batches. Applies to the SSML
+         * read path only; each open parser uses one extra thread.
+         *
+         * <p>Default: disabled.
+         */
+        READ_AHEAD(false),
+        /**
+         * Read XLSX {@code InputStream} input front to back as a ZIP stream
+         * instead of first copying it to a temporary file. The worksheet is
+         * parsed straight off the stream when the shared strings and styles
+         * precede it in the archive; parts that arrive too early are kept
+         * deflated in memory, spilling to a temporary file only past a fixed
+         * budget. Not applied with {@link #FILE_BACKED_SHARED_STRINGS} or to
+         * password-protected input.
+         *
+         * <p>Default: disabled.
+         */
+        STREAM_ZIP_INPUT(false),
+        /**
+         * Open single-sheet XLSX {@code File} reads through a minimal ZIP
+         * and OPC reader instead of POI's {@code OPCPackage}: only the
+         * central directory, {@code [Content_Types].xml}, the package and
+         * workbook relationships and the parts the worksheet needs are read,
+         * and no part model is built, which cuts the fixed cost of opening
+         * small files. Packages whose main part is not an XML workbook are
+         * opened with {@code OPCPackage} as before. Not applied with
+         * {@link #FILE_BACKED_SHARED_STRINGS}.
+         *
+         * <p>Default: disabled.
+         */
+        LIGHTWEIGHT_PACKAGE(false),
+        /**
+         * Back row-range reads ({@code readValues(src, fromRow, limit)}) of
+         * XLSX {@code File} input with a seek index of the worksheet, built
+         * by the first such read in one pass over the sheet and saved in the
+         * library's temporary directory: inflate checkpoints every 1 MiB of
+         * worksheet XML, and the position of a row every 256 KiB. Later reads
+         * of the unchanged file resume inflating near the first requested
+         * row, so reading a page costs about the same wherever it lies.
+         * Without it, the rows before the range are read and skipped. Not
+         * applied to password-protected input or with
+         * {@link #FILE_BACKED_SHARED_STRINGS}.
+         * <p>
+         * Saved indexes are deleted when the JVM exits, so each process pays
+         * for the first pass again, unless kept in a directory set with
+         * {@link SpreadsheetFactory#setRowIndexDirectory(File)}.
+         *
+         * <p>Default: disabled.
+         */
+        ROW_RANGE_INDEX(false),
+        /**
+         * Deflate the worksheet and shared strings entries of XLSX output
+         * written through SSML on worker threads, pigz-style: the XML is cut
+         * into 128 KiB blocks, each deflated concurrently with the tail of
+         * the previous block as dictionary, and the results joined into one
+         * DEFLATE stream. Output stays a standard XLSX, within a fraction of
+         * a percent of the serial size. The thread count is set with
+         * {@link SpreadsheetFactory#setDeflateThreads(int)}; with one
+         * thread, entries are deflated serially.
+         *
+         * <p>Default: disabled.
+         */
+        PARALLEL_DEFLATE(false),
+        /**
+         * Compress and write XLSX output written through SSML on a separate
+         * thread, so that serialization goes on while earlier output is
+         * deflated. Generated XML is handed over in recycled 64 KiB buffers;
+         * serialization waits when eight of them are queued. A failure on
+         * the writing thread is thrown by the next write or on close.
+         * Combines with {@link #PARALLEL_DEFLATE}.
+         *
+         * <p>Default: disabled.
+         */
+        PIPELINED_WRITE(false),
+        /**
+         * Keep the package scaffold of XLSX output written through SSML in
+         * memory, per schema instance and sheet name, in
+         * {@link SpreadsheetFactory#getScaffoldCache()}. Later writes skip
+         * building styles, header comments and grid configuration and
+         * writing a temporary scaffold workbook; its entries are copied into
+         * the output still deflated. The workbook parts outside the sheet
+         * come from the first write, so this assumes the workbook provider
+         * returns equivalent workbooks; the creation time in
+         * {@code docProps/core.xml} is that of the first write.
+         *
+         * <p>Default: disabled.
+         */
+        SCAFFOLD_CACHE(false),
         ;
         final boolean _defaultState;
         final int _mask;
@@ -5,14 +5,27 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.util.CellAddress;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.cfg.MutableConfigOverride;
+import com.fasterxml.jackson.databind.introspect.VisibilityChecker;
+import com.fasterxml.jackson.databind.ser.SerializerFactory;
 
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetParser;
@@ -41,6 +54,7 @@ import io.github.scndry.jackson.dataformat.spreadsheet.ser.SheetOutput;
 public final class SpreadsheetMapper extends ObjectMapper {
 
     private transient SchemaGenerator _schemaGenerator;
+    private transient SchemaCache _schemaCache = new SchemaCache();
 
     public SpreadsheetMapper() {
         this(new SpreadsheetFactory());
@@ -147,7 +161,10 @@ public final class SpreadsheetMapper extends ObjectMapper {
 
     @Override
     public SpreadsheetMapper registerModule(final com.fasterxml.jackson.databind.Module module) {
-        return (SpreadsheetMapper) super.registerModule(module);
+        super.registerModule(module);
+        // Modules may add serializers, modifiers or mix-ins that shape generated schemas
+        _clearSchemaCache();
+        return this;
     }
 
     @Override
@@ -162,6 +179,85 @@ public final class SpreadsheetMapper extends ObjectMapper {
         return (SpreadsheetMapper) super.registerModules(modules);
     }
 
+    /*
+    /**********************************************************
+    /* Configuration, state shared by serialization configs
+    /**********************************************************
+     */
+
+    // Mix-ins, config overrides and the serializer factory are changed in
+    // place rather than through a new SerializationConfig, so the schema
+    // cache key cannot tell them apart; clear the cache instead.
+
+    @Override
+    public SpreadsheetMapper addMixIn(final Class<?> target, final Class<?> mixinSource) {
+        super.addMixIn(target, mixinSource);
+        _clearSchemaCache();
+        return this;
+    }
+
+    @Override
+    public SpreadsheetMapper setMixIns(final Map<Class<?>, Class<?>> sourceMixins) {
+        super.setMixIns(sourceMixins);
+        _clearSchemaCache();
+        return this;
+    }
+
+    /**
+     * Clears the schema cache, as the returned override is changed after
+     * this call; changing it once schemas were generated again needs
+     * {@code getSchemaCache().clear()}.
+     */
+    @Override
+    public MutableConfigOverride configOverride(final Class<?> type) {
+        _clearSchemaCache();
+        return super.configOverride(type);
+    }
+
+    @Override
+    public SpreadsheetMapper setDefaultPropertyInclusion(final JsonInclude.Value incl) {
+        super.setDefaultPropertyInclusion(incl);
+        _clearSchemaCache();
+        return this;
+    }
+
+    @Override
+    public SpreadsheetMapper setDefaultPropertyInclusion(final JsonInclude.Include incl) {
+        super.setDefaultPropertyInclusion(incl);
+        _clearSchemaCache();
+        return this;
+    }
+
+    @Override
+    public SpreadsheetMapper setDefaultVisibility(final JsonAutoDetect.Value vis) {
+        super.setDefaultVisibility(vis);
+        _clearSchemaCache();
+        return this;
+    }
+
+    @Override
+    public SpreadsheetMapper setVisibility(final VisibilityChecker<?> vc) {
+        super.setVisibility(vc);
+        _clearSchemaCache();
+        return this;
+    }
+
+    @Override
+    public SpreadsheetMapper setVisibility(
+            final PropertyAccessor forMethod,
+            final JsonAutoDetect.Visibility visibility) {
+        super.setVisibility(forMethod, visibility);
+        _clearSchemaCache();
+        return this;
+    }
+
+    @Override
+    public SpreadsheetMapper setSerializerFactory(final SerializerFactory f) {
+        super.setSerializerFactory(f);
+        _clearSchemaCache();
+        return this;
+    }
+
     /*
     /**********************************************************
     /* Factory methods for creating SheetGenerators
@@ -275,6 +371,30 @@ public final class SpreadsheetMapper extends ObjectMapper {
         return this;
     }
 
+    /*
+    /**********************************************************
+    /* Configuration, XLSX compression
+    /**********************************************************
+     */
+
+    /** @see SpreadsheetFactory#setCompressionLevel(int) */
+    public SpreadsheetMapper setCompressionLevel(final int level) {
+        tokenStreamFactory().setCompressionLevel(level);
+        return this;
+    }
+
+    /** @see SpreadsheetFactory#setDeflateThreads(int) */
+    public SpreadsheetMapper setDeflateThreads(final int threads) {
+        tokenStreamFactory().setDeflateThreads(threads);
+        return this;
+    }
+
+    /** @see SpreadsheetFactory#setRowIndexDirectory(File) */
+    public SpreadsheetMapper setRowIndexDirectory(final File dir) {
+        tokenStreamFactory().setRowIndexDirectory(dir);
+        return this;
+    }
+
     /*
     /**********************************************************
     /* Configuration, schema generation
@@ -288,9 +408,19 @@ public final class SpreadsheetMapper extends ObjectMapper {
     public SpreadsheetMapper setSchemaGenerator(final SchemaGenerator generator) {
         _assertNotNull("generator", generator);
         _schemaGenerator = generator;
+        _clearSchemaCache();
         return this;
     }
 
+    /**
+     * Returns the cache of schemas generated by {@link #sheetSchemaFor(Class)}
+     * and {@link #sheetSchemaForWithView(Class, Class)}. Repeated lookups for
+     * the same type, view and generator settings return the same instance.
+     */
+    public SchemaCache getSchemaCache() {
+        return _schemaCache;
+    }
+
     public SpreadsheetMapper setOrigin(final int row, final int column) {
         return setOrigin(new CellAddress(row, column));
     }
@@ -400,6 +530,85 @@ public final class SpreadsheetMapper extends ObjectMapper {
         return readValues(src.toFile(), valueType);
     }
 
+    /**
+     * Reads at most {@code limit} rows of one worksheet, starting
+     * {@code fromRow} rows below the first data row.
+     *
+     * @see SpreadsheetReader#readValues(SheetInput, int, int)
+     */
+    public <T> List<T> readValues(
+            final SheetInput<?> src,
+            final Class<T> valueType,
+            final int fromRow,
+            final int limit) throws IOException {
+        try (MappingIterator<T> iterator = sheetReaderFor(valueType).readValues(src, fromRow, limit)) {
+            return iterator.readAll();
+        }
+    }
+
+    public <T> List<T> readValues(
+            final File src,
+            final Class<T> valueType,
+            final int fromRow,
+            final int limit) throws IOException {
+        return readValues(SheetInput.source(src), valueType, fromRow, limit);
+    }
+
+    /**
+     * Opens {@code src} for reading several of its sheets while loading the
+     * package, shared string table and styles only once.
+     *
+     * @see SpreadsheetWorkbook
+     */
+    public SpreadsheetWorkbook openWorkbook(final File src) throws IOException {
+        return new SpreadsheetWorkbook(this, src);
+    }
+
+    public SpreadsheetWorkbook openWorkbook(final Path src) throws IOException {
+        return openWorkbook(src.toFile());
+    }
+
+    /**
+     * Reads several worksheets of one workbook concurrently, each into a list
+     * of its own value type; results are keyed by sheet name, in the order of
+     * {@code sheetTypes}.
+     * <p>
+     * The workbook package is opened once and its shared string table is
+     * loaded once, up front, into a read-only table that every sheet resolves
+     * against. Each sheet is then parsed and bound as one task on
+     * {@code executor}. This method returns once every task has finished; if
+     * any failed, the first failure in sheet order is thrown with the others
+     * suppressed. Sources not read through SSML, or read with file-backed
+     * shared strings, are read one independent task per sheet.
+     *
+     * @throws IllegalArgumentException if a named sheet does not exist
+     */
+    public Map<String, List<?>> readSheets(
+            final File src,
+            final Map<String, Class<?>> sheetTypes,
+            final Executor executor) throws IOException {
+        try (SpreadsheetWorkbook workbook = openWorkbook(src)) {
+            final Map<String, Callable<List<?>>> reads = new LinkedHashMap<>();
+            for (final Map.Entry<String, Class<?>> entry : sheetTypes.entrySet()) {
+                final String sheetName = entry.getKey();
+                final SpreadsheetReader reader = sheetReaderFor(entry.getValue());
+                reads.put(sheetName, () -> {
+                    try (SheetMappingIterator<?> it = workbook.readValues(reader, sheetName)) {
+                        return it.readAll();
+                    }
+                });
+            }
+            return _runAll(reads, executor);
+        }
+    }
+
+    public Map<String, List<?>> readSheets(
+            final Path src,
+            final Map<String, Class<?>> sheetTypes,
+            final Executor executor) throws IOException {
+        return readSheets(src.toFile(), sheetTypes, executor);
+    }
+
     /*
     /**********************************************************
     /* Public API: serialization
@@ -536,19 +745,13 @@ public final class SpreadsheetMapper extends ObjectMapper {
      */
 
     public SpreadsheetSchema sheetSchemaFor(final Class<?> type) throws JsonMappingException {
-        return _schemaGenerator.generate(
-                constructType(type),
-                _serializerProvider(_serializationConfig),
-                _serializerFactory);
+        return _sheetSchemaFor(constructType(type), null);
     }
 
     public SpreadsheetSchema sheetSchemaForWithView(
             final Class<?> type,
             final Class<?> view) throws JsonMappingException {
-        return _schemaGenerator.generate(
-                constructType(type),
-                _serializerProvider(_serializationConfig.withView(view)),
-                _serializerFactory);
+        return _sheetSchemaFor(constructType(type), view);
     }
 
     /*
@@ -557,6 +760,31 @@ public final class SpreadsheetMapper extends ObjectMapper {
     /**********************************************************
      */
 
+    private SpreadsheetSchema _sheetSchemaFor(
+            final JavaType type,
+            final Class<?> view) throws JsonMappingException {
+        final SchemaGenerator generator = _schemaGenerator;
+        final SchemaCache.Key key = new SchemaCache.Key(
+                type, view, generator.settings(), _serializationConfig);
+        final SpreadsheetSchema cached = _schemaCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final SerializationConfig config = view == null
+                ? _serializationConfig
+                : _serializationConfig.withView(view);
+        return _schemaCache.put(key, generator.generate(
+                type,
+                _serializerProvider(config),
+                _serializerFactory));
+    }
+
+    private void _clearSchemaCache() {
+        if (_schemaCache != null) {
+            _schemaCache.clear();
+        }
+    }
+
     private void _verifyValueType(final Object value) {
         // Type can NOT be a Collection or array type
         final JavaType type = constructType(value.getClass());
@@ -567,6 +795,54 @@ public final class SpreadsheetMapper extends ObjectMapper {
         }
     }
 
+    // Runs every read on the executor and waits for all of them, so that
+    // nothing still reads from the workbook once the caller closes it
+    private static Map<String, List<?>> _runAll(
+            final Map<String, Callable<List<?>>> reads,
+            final Executor executor) throws IOException {
+        final Map<String, CompletableFuture<List<?>>> futures = new LinkedHashMap<>();
+        for (final Map.Entry<String, Callable<List<?>>> entry : reads.entrySet()) {
+            final Callable<List<?>> read = entry.getValue();
+            CompletableFuture<List<?>> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return read.call();
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor);
+            } catch (RuntimeException e) {
+                // Rejected by the executor
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            futures.put(entry.getKey(), future);
+        }
+        final Map<String, List<?>> results = new LinkedHashMap<>();
+        Throwable failure = null;
+        for (final Map.Entry<String, CompletableFuture<List<?>>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException | CancellationException e) {
+                final Throwable cause = e instanceof CompletionException && e.getCause() != null
+                        ? e.getCause() : e;
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure instanceof IOException) throw (IOException) failure;
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        if (failure != null) throw new IOException(failure);
+        return results;
+    }
+
     public static final class Builder extends MapperBuilder<SpreadsheetMapper, Builder> {
 
         private Builder(final SpreadsheetMapper mapper) {
@@ -603,6 +879,21 @@ public final class SpreadsheetMapper extends ObjectMapper {
             return _this();
         }
 
+        public Builder compressionLevel(final int level) {
+            _mapper.setCompressionLevel(level);
+            return _this();
+        }
+
+        public Builder deflateThreads(final int threads) {
+            _mapper.setDeflateThreads(threads);
+            return _this();
+        }
+
+        public Builder rowIndexDirectory(final File dir) {
+            _mapper.setRowIndexDirectory(dir);
+            return _this();
+        }
+
         public Builder schemaGenerator(final SchemaGenerator generator) {
             _mapper.setSchemaGenerator(generator);
             return _this();
@@ -3,9 +3,10 @@ package io.github.scndry.jackson.dataformat.spreadsheet;
 import com.fasterxml.jackson.core.Version;
 
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.DataGridBeanDeserializer;
+import io.github.scndry.jackson.dataformat.spreadsheet.ser.DirectRowSerializer;
 
 /**
- * Jackson {@link com.fasterxml.jackson.databind.Module} that registers spreadsheet-specific deserializer modifiers.
+ * Jackson {@link com.fasterxml.jackson.databind.Module} that registers spreadsheet-specific serializer and deserializer modifiers.
  */
 final class SpreadsheetModule extends com.fasterxml.jackson.databind.Module {
 
@@ -24,5 +25,6 @@ final class SpreadsheetModule extends com.fasterxml.jackson.databind.Module {
     @Override
     public void setupModule(final SetupContext context) {
         context.addBeanDeserializerModifier(new DataGridBeanDeserializer.Modifier());
+        context.addBeanSerializerModifier(new DirectRowSerializer.Modifier());
     }
 }
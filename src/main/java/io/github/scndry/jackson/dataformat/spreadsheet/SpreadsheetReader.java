@@ -6,6 +6,7 @@ import java.io.InputStream;
 
 import org.apache.poi.ss.usermodel.Sheet;
 
+import com.fasterxml.jackson.core.FormatFeature;
 import com.fasterxml.jackson.core.FormatSchema;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
@@ -13,8 +14,16 @@ import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.DataFormatReaders;
 
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.CellPredicate;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.DirectRowDeserializer;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.RowFilter;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetParser;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetReader;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.SSMLSheetChunks;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.ColumnPointer;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SchemaAnchorInspector;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
 
 /**
  * {@link ObjectReader} extension that adds spreadsheet-specific
@@ -27,8 +36,11 @@ import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetParser;
  */
 public final class SpreadsheetReader extends ObjectReader {
 
+    private final RowFilter _rowFilter;
+
     SpreadsheetReader(final SpreadsheetMapper mapper, final DeserializationConfig config) {
         super(mapper, config);
+        _rowFilter = null;
     }
 
     SpreadsheetReader(final SpreadsheetMapper mapper,
@@ -38,6 +50,7 @@ public final class SpreadsheetReader extends ObjectReader {
             final FormatSchema schema,
             final InjectableValues injectableValues) {
         super(mapper, config, valueType, valueToUpdate, schema, injectableValues);
+        _rowFilter = null;
     }
 
     @SuppressWarnings("java:S107")
@@ -58,14 +71,22 @@ public final class SpreadsheetReader extends ObjectReader {
                 schema,
                 injectableValues,
                 dataFormatReaders);
+        _rowFilter = base._rowFilter;
     }
 
     private SpreadsheetReader(final SpreadsheetReader base, final DeserializationConfig config) {
         super(base, config);
+        _rowFilter = base._rowFilter;
     }
 
     private SpreadsheetReader(final SpreadsheetReader base, final SpreadsheetFactory f) {
         super(base, f);
+        _rowFilter = base._rowFilter;
+    }
+
+    private SpreadsheetReader(final SpreadsheetReader base, final RowFilter rowFilter) {
+        super(base, base._config);
+        _rowFilter = rowFilter;
     }
 
     @Override
@@ -113,11 +134,28 @@ public final class SpreadsheetReader extends ObjectReader {
                 _valueType,
                 p,
                 ctxt,
-                deser,
+                DirectRowDeserializer.forRows(deser, p),
                 parserManaged,
                 _valueToUpdate);
     }
 
+    @Override
+    protected JsonParser _considerFilter(final JsonParser p, final boolean multiValue) {
+        if (_rowFilter != null && p instanceof SheetParser) {
+            try {
+                ((SheetParser) p).setRowFilter(_rowFilter);
+            } catch (RuntimeException e) {
+                try {
+                    p.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        }
+        return super._considerFilter(p, multiValue);
+    }
+
     /*
     /**********************************************************
     /* Life-cycle, fluent factory methods, other
@@ -129,6 +167,52 @@ public final class SpreadsheetReader extends ObjectReader {
         return (SpreadsheetReader) super.forType(valueType);
     }
 
+    @Override
+    public SpreadsheetReader with(final FormatFeature feature) {
+        return (SpreadsheetReader) super.with(feature);
+    }
+
+    @Override
+    public SpreadsheetReader without(final FormatFeature feature) {
+        return (SpreadsheetReader) super.without(feature);
+    }
+
+    /**
+     * Reader that only reads the data rows whose cell in {@code column}
+     * (a header name) meets {@code predicate}, in addition to any filter
+     * already set. Rows are tested on raw cell values and rejected ones are
+     * skipped before binding, so binding cost follows the rows read rather
+     * than the size of the sheet. Text predicates on shared strings are
+     * tested once per distinct string.
+     * <p>
+     * Only flat schemas (no {@code @DataColumnGroup} lists or anchors) can
+     * be filtered; reading with a filter otherwise fails with
+     * {@link IllegalStateException}.
+     *
+     * @see RowFilter
+     * @see CellPredicate
+     */
+    public SpreadsheetReader withRowFilter(final String column, final CellPredicate predicate) {
+        return new SpreadsheetReader(this, _rowFilter == null
+                ? RowFilter.where(column, predicate)
+                : _rowFilter.and(column, predicate));
+    }
+
+    /** As {@link #withRowFilter(String, CellPredicate)}, with the column given by pointer. */
+    public SpreadsheetReader withRowFilter(final ColumnPointer column, final CellPredicate predicate) {
+        return new SpreadsheetReader(this, _rowFilter == null
+                ? RowFilter.where(column, predicate)
+                : _rowFilter.and(column, predicate));
+    }
+
+    public SpreadsheetReader withRowFilter(final RowFilter filter) {
+        return _rowFilter == filter ? this : new SpreadsheetReader(this, filter);
+    }
+
+    public SpreadsheetReader withoutRowFilter() {
+        return withRowFilter((RowFilter) null);
+    }
+
     /*
     /**********************************************************
     /* Factory methods for creating SheetParsers
@@ -205,6 +289,114 @@ public final class SpreadsheetReader extends ObjectReader {
         return (SheetMappingIterator<T>) super.readValues(src);
     }
 
+    /**
+     * Reads at most {@code limit} rows of one worksheet, starting
+     * {@code fromRow} rows below the first data row, as one page of a
+     * longer listing. Rows are counted as they lie in the sheet, blank ones
+     * included, so page {@code n} of size {@code k} is
+     * {@code readValues(src, n * k, k)} whether or not earlier pages were
+     * read. Header rows are still read, so columns are matched by header
+     * as for a full read; {@link SheetParser.Feature#BREAK_ON_BLANK_ROW}
+     * only sees the rows of the range.
+     * <p>
+     * Only flat schemas (no {@code @DataColumnGroup} lists or anchors) can
+     * be read by range, as a value of any other may span several rows.
+     *
+     * @throws IllegalStateException if the schema is not flat
+     * @see SpreadsheetFactory.Feature#ROW_RANGE_INDEX
+     */
+    @SuppressWarnings({"unchecked", "RedundantSuppression"})
+    public <T> SheetMappingIterator<T> readValues(
+            final SheetInput<?> src,
+            final int fromRow,
+            final int limit) throws IOException {
+        if (fromRow < 0 || limit < 0) {
+            throw new IllegalArgumentException("Negative row range: fromRow " + fromRow + ", limit " + limit);
+        }
+        if (!_isSplittable()) {
+            throw new IllegalStateException("Row range reads need a flat schema, without lists or anchors");
+        }
+        final int dataRow = ((SpreadsheetSchemaImpl) _schema).getDataRow();
+        final int from = (int) Math.min((long) dataRow + fromRow, Integer.MAX_VALUE);
+        final int to = (int) Math.min((long) from + limit, Integer.MAX_VALUE);
+        final SheetParser p = (SheetParser) _config.initialize(
+                parserFactory().createParser(src, dataRow, from, to), _schema);
+        return (SheetMappingIterator<T>) _bindAndReadValues(_considerFilter(p, true));
+    }
+
+    public <T> SheetMappingIterator<T> readValues(
+            final File src,
+            final int fromRow,
+            final int limit) throws IOException {
+        return readValues(SheetInput.source(src), fromRow, limit);
+    }
+
+    /**
+     * Reads the rows of one worksheet with {@code parallelism} threads
+     * binding row ranges concurrently; rows are returned in sheet order.
+     * <p>
+     * The sheet is split only for flat schemas (no {@code @DataColumnGroup}
+     * lists or anchors) read through SSML from a file, without
+     * {@link SheetParser.Feature#BREAK_ON_BLANK_ROW} or file-backed shared
+     * strings; otherwise, and for {@code parallelism <= 1}, rows are read on
+     * the calling thread as by {@link #readValues(SheetInput)}.
+     *
+     * @see ParallelSheetIterator
+     */
+    public <T> ParallelSheetIterator<T> readValuesInParallel(
+            final SheetInput<?> src,
+            final int parallelism) throws IOException {
+        return readValuesInParallel(src, parallelism, SSMLSheetChunks.DEFAULT_CHUNK_SIZE);
+    }
+
+    public <T> ParallelSheetIterator<T> readValuesInParallel(
+            final File src,
+            final int parallelism) throws IOException {
+        return readValuesInParallel(SheetInput.source(src), parallelism);
+    }
+
+    <T> ParallelSheetIterator<T> readValuesInParallel(
+            final SheetInput<?> src,
+            final int parallelism,
+            final int chunkSize) throws IOException {
+        if (parallelism > 1 && _isSplittable()) {
+            final SpreadsheetSchemaImpl schema = (SpreadsheetSchemaImpl) _schema;
+            final SSMLSheetChunks chunks = parserFactory().openSheetChunks(src, schema.getDataRow(), chunkSize);
+            if (chunks != null) {
+                try {
+                    final SheetMappingIterator<T> head = readValues(chunks.next());
+                    if (!head.getParser().isEnabled(SheetParser.Feature.BREAK_ON_BLANK_ROW)) {
+                        return new ParallelSheetIterator<>(this, chunks, head, parallelism);
+                    }
+                    head.close();
+                    chunks.close();
+                } catch (IOException | RuntimeException e) {
+                    chunks.close();
+                    throw e;
+                }
+            }
+        }
+        return new ParallelSheetIterator<>(this.<T>readValues(src));
+    }
+
+    // Binds rows of an already opened worksheet, such as one row range of a
+    // split read (see ParallelSheetIterator) or one sheet of a multi-sheet read
+    <T> SheetMappingIterator<T> readValues(final SheetReader src) throws IOException {
+        return readValues(src, _schema);
+    }
+
+    @SuppressWarnings({"unchecked", "RedundantSuppression"})
+    <T> SheetMappingIterator<T> readValues(final SheetReader src, final FormatSchema schema) throws IOException {
+        final SheetParser p = (SheetParser) _config.initialize(parserFactory().createParser(src), schema);
+        return (SheetMappingIterator<T>) _bindAndReadValues(_considerFilter(p, true));
+    }
+
+    private boolean _isSplittable() {
+        if (!(_schema instanceof SpreadsheetSchemaImpl)) return false;
+        final SpreadsheetSchemaImpl schema = (SpreadsheetSchemaImpl) _schema;
+        return schema.flatTokenProgram() != null && !SchemaAnchorInspector.hasAnchor(schema);
+    }
+
     /*
     /**********************************************************
     /* Other public methods
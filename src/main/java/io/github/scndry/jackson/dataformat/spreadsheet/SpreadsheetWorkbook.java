@@ -0,0 +1,124 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetReader;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.SSMLWorkbookReader;
+
+/**
+ * A workbook file held open across several sheet reads.
+ * <p>
+ * The package, shared string table and styles are loaded once, when the
+ * workbook is opened, and every read parses only its own worksheet. Reads
+ * may run one after another or concurrently from several threads. Iterators
+ * returned here read from the open package, so they must be consumed
+ * before the workbook is closed.
+ * <p>
+ * Files not read through SSML, or read with
+ * {@link SpreadsheetFactory.Feature#FILE_BACKED_SHARED_STRINGS}, are opened
+ * again for each read.
+ *
+ * <pre>{@code
+ * try (SpreadsheetWorkbook workbook = mapper.openWorkbook(file)) {
+ *     List<Order> orders = workbook.readValues("Orders", Order.class);
+ *     List<Customer> customers = workbook.readValues("Customers", Customer.class);
+ * }
+ * }</pre>
+ *
+ * @see SpreadsheetMapper#openWorkbook(File)
+ */
+public final class SpreadsheetWorkbook implements Closeable {
+
+    private final SpreadsheetMapper _mapper;
+    private final File _source;
+    private final SSMLWorkbookReader _workbook;
+    private volatile boolean _closed;
+
+    SpreadsheetWorkbook(final SpreadsheetMapper mapper, final File source) throws IOException {
+        _mapper = mapper;
+        _source = source;
+        _workbook = mapper.tokenStreamFactory().openWorkbookReader(source);
+    }
+
+    /*
+    /**********************************************************
+    /* Reading
+    /**********************************************************
+     */
+
+    public <T> List<T> readValues(final String sheetName, final Class<T> valueType) throws IOException {
+        return _readAll(readValues(_mapper.sheetReaderFor(valueType), sheetName));
+    }
+
+    public <T> List<T> readValues(final int sheetIndex, final Class<T> valueType) throws IOException {
+        return _readAll(readValues(_mapper.sheetReaderFor(valueType), sheetIndex));
+    }
+
+    /**
+     * Reads the named sheet with {@code reader}, which may be configured
+     * beyond {@link SpreadsheetMapper#sheetReaderFor(Class)}.
+     * <p>
+     * The shared string table and styles are those loaded when the workbook
+     * was opened, with the mapper's factory features; the worksheet itself is
+     * parsed with the features of {@link SpreadsheetReader#parserFactory()}.
+     * A reader whose factory would not share the package (e.g. with
+     * {@link SpreadsheetFactory.Feature#FILE_BACKED_SHARED_STRINGS}) opens the
+     * file again.
+     *
+     * @throws IllegalArgumentException if the sheet does not exist
+     */
+    public <T> SheetMappingIterator<T> readValues(
+            final SpreadsheetReader reader,
+            final String sheetName) throws IOException {
+        return _readValues(reader, SheetInput.source(_source, sheetName));
+    }
+
+    public <T> SheetMappingIterator<T> readValues(
+            final SpreadsheetReader reader,
+            final int sheetIndex) throws IOException {
+        return _readValues(reader, SheetInput.source(_source, sheetIndex));
+    }
+
+    /*
+    /**********************************************************
+    /* Lifecycle
+    /**********************************************************
+     */
+
+    @Override
+    public void close() throws IOException {
+        if (_closed) return;
+        _closed = true;
+        if (_workbook != null) _workbook.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    private <T> SheetMappingIterator<T> _readValues(
+            final SpreadsheetReader reader,
+            final SheetInput<File> sheet) throws IOException {
+        if (_closed) {
+            throw new IllegalStateException("Workbook is closed: " + _source);
+        }
+        final SheetReader sheetReader = _workbook == null
+                ? null : reader.parserFactory().openSheet(_workbook, sheet);
+        if (sheetReader == null) {
+            return reader.readValues(sheet);
+        }
+        return reader.readValues(sheetReader);
+    }
+
+    private static <T> List<T> _readAll(final SheetMappingIterator<T> iterator) throws IOException {
+        try (SheetMappingIterator<T> it = iterator) {
+            return it.readAll();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+import java.util.Objects;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * Test on the raw value of one cell, used by a {@link RowFilter} to decide
+ * whether a row is read at all.
+ * <p>
+ * The value passed to {@link #test(CellValue)} may be a reused instance that
+ * is only valid during the call; a row without a cell in the tested column
+ * is tested with {@link CellValue#BLANK}.
+ *
+ * @see RowFilter
+ */
+@FunctionalInterface
+public interface CellPredicate {
+
+    boolean test(CellValue value);
+
+    /**
+     * Matches STRING cells whose text satisfies {@code predicate}. The result
+     * may be remembered per shared string, so {@code predicate} must depend
+     * on the text alone.
+     */
+    static CellPredicate text(final Predicate<? super String> predicate) {
+        return new TextCellPredicate(Objects.requireNonNull(predicate, "predicate"));
+    }
+
+    /** Matches STRING cells whose text equals {@code text}. */
+    static CellPredicate equalTo(final String text) {
+        Objects.requireNonNull(text, "text");
+        return text(text::equals);
+    }
+
+    /** Matches NUMERIC cells whose value satisfies {@code predicate}. */
+    static CellPredicate number(final DoublePredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return value -> value.getCellType() == CellType.NUMERIC && predicate.test(value.getNumberValue());
+    }
+}
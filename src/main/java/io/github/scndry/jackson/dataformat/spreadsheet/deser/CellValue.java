@@ -1,12 +1,18 @@
 package io.github.scndry.jackson.dataformat.spreadsheet.deser;
 
+import java.math.BigDecimal;
+
 import org.apache.poi.ss.formula.eval.ErrorEval;
 import org.apache.poi.ss.usermodel.CellType;
 
 /**
- * Immutable wrapper for a typed spreadsheet cell value. Holds a
- * {@link CellType} together with its numeric, boolean, or string
- * representation.
+ * Wrapper for a typed spreadsheet cell value. Holds a {@link CellType}
+ * together with its numeric, boolean, or string representation.
+ * <p>
+ * Instances of this class are immutable, but a reader may hand out a
+ * subclass that it refills for every cell (see
+ * {@link SheetReader#getTransientCellValue()}). Only values returned by
+ * {@link SheetReader#getCellValue()} are stable and may be kept.
  *
  * @see SheetReader
  * @see SheetParser
@@ -68,10 +74,61 @@ public class CellValue {
         return _textValue;
     }
 
+    /**
+     * Integral value of a NUMERIC cell, truncating any fraction. Subclasses
+     * that keep the cell's decimal text override this to avoid the
+     * {@code double} round-trip.
+     */
+    public long getLongValue() {
+        return (long) getNumberValue();
+    }
+
+    /**
+     * Exact decimal value of a NUMERIC cell, parsed from {@link #getRawText()}
+     * when it holds a plain number and otherwise derived from
+     * {@link #getNumberValue()}.
+     */
+    public BigDecimal getDecimalValue() {
+        final String s = getRawText();
+        if (s != null) {
+            try {
+                return new BigDecimal(s);
+            } catch (NumberFormatException ignored) {
+                // non-numeric cell format (e.g., currency, percentage) — fall through
+            }
+        }
+        return BigDecimal.valueOf(getNumberValue());
+    }
+
     public String getRawText() {
         return getStringValue();
     }
 
+    /**
+     * Whether {@link #getStringValue()} is backed by a character buffer that
+     * {@link #getTextCharacters()} exposes without copying.
+     */
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+    /**
+     * Backing characters of the string value when {@link #hasTextCharacters()},
+     * valid from {@link #getTextOffset()} for {@link #getTextLength()};
+     * otherwise {@code null}. Callers must not modify the array.
+     */
+    public char[] getTextCharacters() {
+        return null;
+    }
+
+    public int getTextOffset() {
+        return 0;
+    }
+
+    public int getTextLength() {
+        return 0;
+    }
+
     protected final String _textValue() {
         return _textValue;
     }
@@ -89,7 +146,7 @@ public class CellValue {
     }
 
     public String toString() {
-        return _cellType + " [" + formatAsString() + "]";
+        return getCellType() + " [" + formatAsString() + "]";
     }
 
     public String formatAsString() {
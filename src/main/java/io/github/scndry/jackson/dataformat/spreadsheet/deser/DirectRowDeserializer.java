@@ -0,0 +1,326 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.cfg.CoercionAction;
+import com.fasterxml.jackson.databind.cfg.CoercionInputShape;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.deser.impl.PropertyValueBuffer;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.FlatTokenProgram;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
+
+/**
+ * Bean deserializer for {@link SheetParser.Feature#DIRECT_ROW_BINDING} that
+ * binds a row straight from {@link SheetParser#nextRowCell()}: each cell is
+ * matched to its property by column position instead of by a
+ * {@code FIELD_NAME} token, and {@code int}, {@code long}, {@code double},
+ * {@code boolean}, {@code String} and {@code BigDecimal} values (primitive or
+ * boxed) are written through a {@link MethodHandle} on the setter or field,
+ * or buffered for the properties-based creator.
+ * <p>
+ * A cell whose token is not the natural one for its property, or whose
+ * property has a custom or polymorphic deserializer, is handed to the
+ * property with its value token current, exactly as on the token path.
+ * Rows of a schema with a column the bean has no property for are read
+ * through the token stream.
+ *
+ * @see #forRows
+ */
+public final class DirectRowDeserializer extends BeanDeserializer {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Object NOT_DIRECT = new Object();
+
+    private static final int OTHER = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int BOOLEAN = 4;
+    private static final int STRING = 5;
+    private static final int DECIMAL = 6;
+
+    private final boolean _dataGrid;
+    // Slots of the last schema seen; reordering by header yields a new program
+    private transient Slots _slots;
+
+    private DirectRowDeserializer(final BeanDeserializer src, final boolean dataGrid) {
+        super(src);
+        _dataGrid = dataGrid;
+    }
+
+    /**
+     * Returns a direct binder for the root deserializer {@code deser} when
+     * {@code p} has {@link SheetParser.Feature#DIRECT_ROW_BINDING} enabled,
+     * its schema {@linkplain SheetParser#canReadRowCells() allows it} and the
+     * bean is plain enough; otherwise returns {@code deser} unchanged.
+     */
+    public static JsonDeserializer<?> forRows(final JsonDeserializer<?> deser, final JsonParser p) {
+        if (!(p instanceof SheetParser)) return deser;
+        final SheetParser parser = (SheetParser) p;
+        if (!parser.isEnabled(SheetParser.Feature.DIRECT_ROW_BINDING) || !parser.canReadRowCells()) {
+            return deser;
+        }
+        final boolean dataGrid = deser instanceof DataGridBeanDeserializer;
+        final JsonDeserializer<?> bean = dataGrid ? ((DataGridBeanDeserializer) deser).getDelegatee() : deser;
+        if (bean == null || bean.getClass() != BeanDeserializer.class) return deser;
+        final DirectRowDeserializer direct = new DirectRowDeserializer((BeanDeserializer) bean, dataGrid);
+        return direct._isBindable() ? direct : deser;
+    }
+
+    // Object ids, injection, unwrapping, external type ids, delegating creators and views keep the token path
+    private boolean _isBindable() {
+        if (_objectIdReader != null || _injectables != null || _unwrappedPropertyHandler != null
+                || _externalTypeIdHandler != null || _delegateDeserializer != null
+                || _arrayDelegateDeserializer != null || _needViewProcesing || _beanType.isAbstract()) {
+            return false;
+        }
+        if (_propertyBasedCreator == null) {
+            return _valueInstantiator.canCreateUsingDefault();
+        }
+        for (final SettableBeanProperty prop : _propertyBasedCreator.properties()) {
+            if (prop.getInjectableValueId() != null) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Object deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        final JsonToken t = p.currentToken();
+        if (_dataGrid && t == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (t == JsonToken.START_OBJECT && p instanceof SheetParser) {
+            final SheetParser parser = (SheetParser) p;
+            final Slot[] slots = _slots(parser, ctxt);
+            if (slots != null) {
+                return _propertyBasedCreator != null
+                        ? _bindWithCreator(parser, ctxt, slots)
+                        : _bindBean(parser, ctxt, slots);
+            }
+        }
+        return super.deserialize(p, ctxt);
+    }
+
+    private Object _bindBean(final SheetParser p, final DeserializationContext ctxt,
+                             final Slot[] slots) throws IOException {
+        final Object bean = _valueInstantiator.createUsingDefault(ctxt);
+        p.assignCurrentValue(bean);
+        int position;
+        while ((position = p.nextRowCell()) >= 0) {
+            final Slot slot = slots[position];
+            try {
+                if (!slot.set(p, bean)) {
+                    slot.prop.deserializeAndSet(p, ctxt, bean);
+                }
+            } catch (final Throwable e) {
+                wrapAndThrow(e, bean, slot.prop.getName(), ctxt);
+            }
+        }
+        return bean;
+    }
+
+    private Object _bindWithCreator(final SheetParser p, final DeserializationContext ctxt,
+                                    final Slot[] slots) throws IOException {
+        final PropertyValueBuffer buffer = _propertyBasedCreator.startBuilding(p, ctxt, _objectIdReader);
+        int position;
+        while ((position = p.nextRowCell()) >= 0) {
+            final Slot slot = slots[position];
+            Object value = null;
+            try {
+                value = slot.value(p);
+                if (value == NOT_DIRECT) {
+                    value = slot.prop.deserialize(p, ctxt);
+                }
+            } catch (final Exception e) {
+                wrapAndThrow(e, _beanType.getRawClass(), slot.prop.getName(), ctxt);
+            }
+            if (slot.creator) {
+                buffer.assignParameter(slot.prop, value);
+            } else {
+                buffer.bufferProperty(slot.prop, value);
+            }
+        }
+        try {
+            return _propertyBasedCreator.build(ctxt, buffer);
+        } catch (final Exception e) {
+            wrapInstantiationProblem(e, ctxt);
+            return null;
+        }
+    }
+
+    private Slot[] _slots(final SheetParser p, final DeserializationContext ctxt) {
+        final FlatTokenProgram program = ((SpreadsheetSchemaImpl) p.getSchema()).flatTokenProgram();
+        Slots slots = _slots;
+        if (slots == null || slots.program != program) {
+            slots = new Slots(program, _resolve(program, ctxt));
+            _slots = slots;
+        }
+        return slots.byPosition;
+    }
+
+    // Null when a column has no property, so unknown-property handling stays with the token path
+    private Slot[] _resolve(final FlatTokenProgram program, final DeserializationContext ctxt) {
+        final Slot[] slots = new Slot[program.size()];
+        for (int i = 0; i < slots.length; i++) {
+            final String name = program.fieldName(i);
+            if (name == null) continue;
+            SettableBeanProperty prop = _propertyBasedCreator == null
+                    ? null : _propertyBasedCreator.findCreatorProperty(name);
+            final boolean creator = prop != null;
+            if (prop == null) prop = _beanProperties.find(name);
+            if (prop == null) return null;
+            slots[i] = new Slot(prop, creator, _kind(prop, ctxt), creator ? null : _setter(prop));
+        }
+        return slots;
+    }
+
+    private static int _kind(final SettableBeanProperty prop, final DeserializationContext ctxt) {
+        if (prop.hasValueTypeDeserializer() || !ClassUtil.isJacksonStdImpl(prop.getValueDeserializer())) {
+            return OTHER;
+        }
+        final Class<?> raw = prop.getType().getRawClass();
+        if (raw == int.class || raw == Integer.class) return INT;
+        if (raw == long.class || raw == Long.class) return LONG;
+        if (raw == boolean.class || raw == Boolean.class) return BOOLEAN;
+        if (raw == String.class) return STRING;
+        // Whole-number cells are only read directly under the default int-to-float coercion
+        final boolean fromInt = ctxt.findCoercionAction(LogicalType.Float, raw,
+                CoercionInputShape.Integer) == CoercionAction.TryConvert;
+        if (raw == double.class || raw == Double.class) return fromInt ? DOUBLE : OTHER;
+        if (raw == BigDecimal.class) return fromInt ? DECIMAL : OTHER;
+        return OTHER;
+    }
+
+    // Plain setter or field of a non-creator property, adapted to (Object, value)void
+    private static MethodHandle _setter(final SettableBeanProperty prop) {
+        if (prop.getClass() != MethodProperty.class && prop.getClass() != FieldProperty.class) {
+            return null;
+        }
+        final Member member = prop.getMember().getMember();
+        final Class<?> raw = prop.getType().getRawClass();
+        final Class<?> valueType;
+        if (raw == int.class || raw == Integer.class) {
+            valueType = int.class;
+        } else if (raw == long.class || raw == Long.class) {
+            valueType = long.class;
+        } else if (raw == double.class || raw == Double.class) {
+            valueType = double.class;
+        } else if (raw == boolean.class || raw == Boolean.class) {
+            valueType = boolean.class;
+        } else {
+            valueType = Object.class;
+        }
+        try {
+            final MethodHandle handle = member instanceof Method
+                    ? MethodHandles.lookup().unreflect((Method) member)
+                    : MethodHandles.lookup().unreflectSetter((Field) member);
+            return handle.asType(MethodType.methodType(void.class, Object.class, valueType));
+        } catch (final IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class Slots {
+
+        final FlatTokenProgram program;
+        final Slot[] byPosition;
+
+        Slots(final FlatTokenProgram program, final Slot[] byPosition) {
+            this.program = program;
+            this.byPosition = byPosition;
+        }
+    }
+
+    private static final class Slot {
+
+        final SettableBeanProperty prop;
+        final boolean creator;
+        final int kind;
+        final MethodHandle setter;
+
+        Slot(final SettableBeanProperty prop, final boolean creator, final int kind,
+             final MethodHandle setter) {
+            this.prop = prop;
+            this.creator = creator;
+            this.kind = kind;
+            this.setter = setter;
+        }
+
+        /**
+         * Writes the current value through {@link #setter} when its token is
+         * the natural one for {@link #kind}; returns {@code false} otherwise.
+         */
+        boolean set(final JsonParser p, final Object bean) throws Throwable {
+            if (setter == null) return false;
+            final JsonToken t = p.currentToken();
+            switch (kind) {
+                case INT:
+                    if (t != JsonToken.VALUE_NUMBER_INT) return false;
+                    setter.invokeExact(bean, p.getIntValue());
+                    return true;
+                case LONG:
+                    if (t != JsonToken.VALUE_NUMBER_INT) return false;
+                    setter.invokeExact(bean, p.getLongValue());
+                    return true;
+                case DOUBLE:
+                    if (t != JsonToken.VALUE_NUMBER_FLOAT && t != JsonToken.VALUE_NUMBER_INT) return false;
+                    setter.invokeExact(bean, p.getDoubleValue());
+                    return true;
+                case BOOLEAN:
+                    if (t != JsonToken.VALUE_TRUE && t != JsonToken.VALUE_FALSE) return false;
+                    setter.invokeExact(bean, t == JsonToken.VALUE_TRUE);
+                    return true;
+                case STRING:
+                case DECIMAL:
+                    final Object value = value(p);
+                    if (value == NOT_DIRECT) return false;
+                    setter.invokeExact(bean, value);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        /** Boxed current value for {@link #kind}, or {@link #NOT_DIRECT}. */
+        Object value(final JsonParser p) throws IOException {
+            final JsonToken t = p.currentToken();
+            switch (kind) {
+                case INT:
+                    return t == JsonToken.VALUE_NUMBER_INT ? (Object) p.getIntValue() : NOT_DIRECT;
+                case LONG:
+                    return t == JsonToken.VALUE_NUMBER_INT ? (Object) p.getLongValue() : NOT_DIRECT;
+                case DOUBLE:
+                    return t == JsonToken.VALUE_NUMBER_FLOAT || t == JsonToken.VALUE_NUMBER_INT
+                            ? (Object) p.getDoubleValue() : NOT_DIRECT;
+                case BOOLEAN:
+                    return t == JsonToken.VALUE_TRUE || t == JsonToken.VALUE_FALSE
+                            ? (Object) (t == JsonToken.VALUE_TRUE) : NOT_DIRECT;
+                case STRING:
+                    return t == JsonToken.VALUE_STRING ? p.getText() : NOT_DIRECT;
+                case DECIMAL:
+                    return t == JsonToken.VALUE_NUMBER_FLOAT || t == JsonToken.VALUE_NUMBER_INT
+                            ? p.getDecimalValue() : NOT_DIRECT;
+                default:
+                    return NOT_DIRECT;
+            }
+        }
+    }
+}
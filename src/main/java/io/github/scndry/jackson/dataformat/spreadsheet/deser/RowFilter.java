@@ -0,0 +1,96 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.ColumnPointer;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
+
+/**
+ * Immutable set of conditions a data row must meet to be read, each a
+ * {@link CellPredicate} on the cell of one schema column, named by header
+ * name or by {@link ColumnPointer}. A row is read only if every condition
+ * holds.
+ * <p>
+ * {@link SheetParser} tests the conditions on raw cell values before any
+ * token of the row is produced, so rows that fail are never bound.
+ *
+ * @see SheetParser#setRowFilter(RowFilter)
+ */
+public final class RowFilter {
+
+    private final List<Condition> _conditions;
+
+    private RowFilter(final List<Condition> conditions) {
+        _conditions = conditions;
+    }
+
+    public static RowFilter where(final String column, final CellPredicate predicate) {
+        return new RowFilter(Collections.emptyList()).and(column, predicate);
+    }
+
+    public static RowFilter where(final ColumnPointer column, final CellPredicate predicate) {
+        return new RowFilter(Collections.emptyList()).and(column, predicate);
+    }
+
+    public RowFilter and(final String column, final CellPredicate predicate) {
+        return _and(new Condition(Objects.requireNonNull(column, "column"), null, predicate));
+    }
+
+    public RowFilter and(final ColumnPointer column, final CellPredicate predicate) {
+        return _and(new Condition(null, Objects.requireNonNull(column, "column"), predicate));
+    }
+
+    private RowFilter _and(final Condition condition) {
+        final List<Condition> conditions = new ArrayList<>(_conditions.size() + 1);
+        conditions.addAll(_conditions);
+        conditions.add(condition);
+        return new RowFilter(Collections.unmodifiableList(conditions));
+    }
+
+    int size() {
+        return _conditions.size();
+    }
+
+    CellPredicate predicate(final int index) {
+        return _conditions.get(index)._predicate;
+    }
+
+    /** Sheet column of condition {@code index} in {@code schema}; {@code -1} if it has none. */
+    int column(final int index, final SpreadsheetSchemaImpl schema) {
+        final Condition condition = _conditions.get(index);
+        return condition._name != null
+                ? schema.columnIndex(condition._name)
+                : schema.columnIndexOf(condition._pointer);
+    }
+
+    String columnKey(final int index) {
+        final Condition condition = _conditions.get(index);
+        return condition._name != null ? condition._name : condition._pointer.toString();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("RowFilter[");
+        for (int i = 0; i < _conditions.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(columnKey(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    private static final class Condition {
+
+        private final String _name;
+        private final ColumnPointer _pointer;
+        private final CellPredicate _predicate;
+
+        Condition(final String name, final ColumnPointer pointer, final CellPredicate predicate) {
+            _name = name;
+            _pointer = pointer;
+            _predicate = Objects.requireNonNull(predicate, "predicate");
+        }
+    }
+}
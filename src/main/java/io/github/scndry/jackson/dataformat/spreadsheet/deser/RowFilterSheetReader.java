@@ -0,0 +1,291 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.util.CellAddress;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
+
+/**
+ * {@link SheetReader} that passes on only the data rows of another that meet
+ * a {@link RowFilter}; header rows pass unchanged.
+ * <p>
+ * A data row is read ahead cell by cell only until every condition is
+ * decided: a rejected row is then skipped without reading the rest of its
+ * values, and an accepted one is replayed from the cells read so far. Of the
+ * cells that precede the last tested column, a shared string keeps only its
+ * index until it is replayed; other values are copied. For
+ * {@link TextCellPredicate}s the verdict on a shared string is kept by its
+ * index, so each distinct string is tested once and later cells compare the
+ * index alone.
+ */
+final class RowFilterSheetReader implements SharedStringSheetReader {
+
+    private static final byte ACCEPT = 1;
+    private static final byte REJECT = 2;
+
+    private final SheetReader _delegate;
+    private final SharedStringSheetReader _sharedStrings;
+    private final RowFilter _filter;
+    private final int _firstRow;
+    private final boolean _keepEmptyRows;
+    private final byte[][] _verdicts;
+    private SpreadsheetSchemaImpl _schema;
+    // Conditions in ascending column order, and their sheet columns
+    private Integer[] _order;
+    private int[] _columns;
+    // Cells of the current row read ahead of the deciding one
+    private int _row = -1;
+    private int[] _bufferedColumns = new int[8];
+    // Shared string index, or -1 with the value copied
+    private int[] _bufferedStrings = new int[8];
+    private CellValue[] _bufferedValues = new CellValue[8];
+    private int _buffered;
+    private boolean _replaying;
+    private int _replayed;
+    private int _replayNext;
+    private SheetToken _pending;
+
+    /**
+     * @param firstRow      first row the filter applies to
+     * @param keepEmptyRows pass rows without any cell in a schema column as
+     *                      they are, so blank row handling still sees them
+     */
+    RowFilterSheetReader(
+            final SheetReader delegate,
+            final RowFilter filter,
+            final SpreadsheetSchemaImpl schema,
+            final int firstRow,
+            final boolean keepEmptyRows) {
+        _delegate = delegate;
+        _sharedStrings = delegate instanceof SharedStringSheetReader ? (SharedStringSheetReader) delegate : null;
+        _filter = filter;
+        _firstRow = firstRow;
+        _keepEmptyRows = keepEmptyRows;
+        _verdicts = new byte[filter.size()][];
+        for (int i = 0; i < filter.size(); i++) {
+            if (filter.column(i, schema) < 0) {
+                throw new IllegalArgumentException("No column for '" + filter.columnKey(i) + "' in schema");
+            }
+        }
+        resolve(schema);
+    }
+
+    /**
+     * Resolves the condition columns against {@code schema}, as reordered by
+     * the header; a column the sheet lacks reads as blank in every row.
+     */
+    void resolve(final SpreadsheetSchemaImpl schema) {
+        final int size = _filter.size();
+        final int[] columns = new int[size];
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            columns[i] = _filter.column(i, schema);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(columns[a], columns[b]));
+        _schema = schema;
+        _columns = columns;
+        _order = order;
+    }
+
+    @Override
+    public SpreadsheetVersion getSpreadsheetVersion() {
+        return _delegate.getSpreadsheetVersion();
+    }
+
+    @Override
+    public boolean isDate1904() {
+        return _delegate.isDate1904();
+    }
+
+    @Override
+    public CellAddress getReference() {
+        if (!_replaying) return _delegate.getReference();
+        return _replayed < 0 ? null : new CellAddress(_row, _bufferedColumns[_replayed]);
+    }
+
+    @Override
+    public CellValue getCellValue() {
+        if (!_replaying) return _delegate.getCellValue();
+        return _replayedValue();
+    }
+
+    @Override
+    public CellValue getTransientCellValue() {
+        if (!_replaying) return _delegate.getTransientCellValue();
+        return _replayedValue();
+    }
+
+    @Override
+    public int getSharedStringIndex() {
+        if (!_replaying) return _delegateStringIndex();
+        return _replayed < 0 ? -1 : _bufferedStrings[_replayed];
+    }
+
+    @Override
+    public CellValue getSharedStringValue(final int index) {
+        return _sharedStrings.getSharedStringValue(index);
+    }
+
+    @Override
+    public int getEstimatedLastRow() {
+        return _delegate.getEstimatedLastRow();
+    }
+
+    @Override
+    public int getEstimatedColumnCount() {
+        return _delegate.getEstimatedColumnCount();
+    }
+
+    @Override
+    public int getRow() {
+        return _replaying ? _row : _delegate.getRow();
+    }
+
+    @Override
+    public int getColumn() {
+        if (!_replaying) return _delegate.getColumn();
+        return _replayed < 0 ? -1 : _bufferedColumns[_replayed];
+    }
+
+    @Override
+    public boolean isClosed() {
+        return _delegate.isClosed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _delegate.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return _replaying || _delegate.hasNext();
+    }
+
+    @Override
+    public SheetToken next() {
+        if (_replaying) return _nextReplayed();
+        if (!_delegate.hasNext()) throw new NoSuchElementException();
+        SheetToken token = _delegate.next();
+        while (token == SheetToken.ROW_START && _delegate.getRow() >= _firstRow) {
+            if (_accept()) {
+                _replaying = true;
+                _replayed = -1;
+                _replayNext = 0;
+                return token;
+            }
+            token = _delegate.next();
+        }
+        return token;
+    }
+
+    private SheetToken _nextReplayed() {
+        if (_replayNext < _buffered) {
+            _replayed = _replayNext++;
+            return SheetToken.CELL_VALUE;
+        }
+        _clearBuffer();
+        _replaying = false;
+        return _pending;
+    }
+
+    private CellValue _replayedValue() {
+        if (_replayed < 0) return null;
+        CellValue value = _bufferedValues[_replayed];
+        if (value == null) {
+            value = _sharedStrings.getSharedStringValue(_bufferedStrings[_replayed]);
+            _bufferedValues[_replayed] = value;
+        }
+        return value;
+    }
+
+    private void _clearBuffer() {
+        Arrays.fill(_bufferedValues, 0, _buffered, null);
+        _buffered = 0;
+    }
+
+    // Reads the row just started until every condition is decided. Returns
+    // with the delegate on ROW_END for a rejected row, and on _pending for an
+    // accepted one, with the cells before it buffered.
+    private boolean _accept() {
+        _row = _delegate.getRow();
+        _clearBuffer();
+        final int size = _order.length;
+        int next = 0;
+        boolean empty = true;
+        while (true) {
+            final SheetToken token = _delegate.next();
+            if (token != SheetToken.CELL_VALUE) {
+                if (!(empty && _keepEmptyRows)) {
+                    while (next < size) {
+                        if (!_test(_order[next++], false)) return false;
+                    }
+                }
+                _pending = token;
+                return true;
+            }
+            final int column = _delegate.getColumn();
+            // As for the parser, a row with cells outside the schema only is empty
+            if (empty && _schema.findColumn(column) != null) empty = false;
+            while (next < size && _columns[_order[next]] <= column) {
+                final int condition = _order[next++];
+                if (!_test(condition, _columns[condition] == column)) {
+                    _skipRow();
+                    return false;
+                }
+            }
+            if (next == size) {
+                _pending = token;
+                return true;
+            }
+            _buffer(column);
+        }
+    }
+
+    private boolean _test(final int condition, final boolean present) {
+        final CellPredicate predicate = _filter.predicate(condition);
+        if (!present) return predicate.test(CellValue.BLANK);
+        final int index = predicate instanceof TextCellPredicate ? _delegateStringIndex() : -1;
+        if (index < 0) return predicate.test(_delegate.getTransientCellValue());
+        byte[] verdicts = _verdicts[condition];
+        if (verdicts == null || verdicts.length <= index) {
+            final int length = Math.max(index + 1, verdicts == null ? 64 : verdicts.length * 2);
+            verdicts = _verdicts[condition] = verdicts == null
+                    ? new byte[length]
+                    : Arrays.copyOf(verdicts, length);
+        }
+        if (verdicts[index] == 0) {
+            verdicts[index] = predicate.test(_delegate.getTransientCellValue()) ? ACCEPT : REJECT;
+        }
+        return verdicts[index] == ACCEPT;
+    }
+
+    private void _buffer(final int column) {
+        if (_buffered == _bufferedColumns.length) {
+            _bufferedColumns = Arrays.copyOf(_bufferedColumns, _buffered * 2);
+            _bufferedStrings = Arrays.copyOf(_bufferedStrings, _buffered * 2);
+            _bufferedValues = Arrays.copyOf(_bufferedValues, _buffered * 2);
+        }
+        final int index = _delegateStringIndex();
+        _bufferedColumns[_buffered] = column;
+        _bufferedStrings[_buffered] = index;
+        _bufferedValues[_buffered] = index < 0 ? _delegate.getCellValue() : null;
+        _buffered++;
+    }
+
+    private int _delegateStringIndex() {
+        return _sharedStrings == null ? -1 : _sharedStrings.getSharedStringIndex();
+    }
+
+    private void _skipRow() {
+        SheetToken token;
+        do {
+            token = _delegate.next();
+        } while (token != SheetToken.ROW_END);
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.util.CellAddress;
+
+/**
+ * {@link SheetReader} that passes on the header rows of another and only
+ * the data rows of a given range: rows above {@code firstDataRow} pass
+ * unchanged, rows from {@code firstDataRow} up to {@code fromRow} are
+ * skipped without reading their cells, and the sheet ends at the first
+ * row at or past {@code toRow}.
+ */
+public final class RowRangeSheetReader implements SharedStringSheetReader {
+
+    private final SheetReader _delegate;
+    private final SharedStringSheetReader _sharedStrings;
+    private final int _firstDataRow;
+    private final int _fromRow;
+    private final int _toRow;
+    private boolean _ended;
+
+    /**
+     * @param fromRow first zero-based sheet row of the range
+     * @param toRow   row after the last of the range
+     */
+    public RowRangeSheetReader(
+            final SheetReader delegate,
+            final int firstDataRow,
+            final int fromRow,
+            final int toRow) {
+        _delegate = delegate;
+        _sharedStrings = delegate instanceof SharedStringSheetReader ? (SharedStringSheetReader) delegate : null;
+        _firstDataRow = firstDataRow;
+        _fromRow = fromRow;
+        _toRow = toRow;
+    }
+
+    @Override
+    public SpreadsheetVersion getSpreadsheetVersion() {
+        return _delegate.getSpreadsheetVersion();
+    }
+
+    @Override
+    public boolean isDate1904() {
+        return _delegate.isDate1904();
+    }
+
+    @Override
+    public CellAddress getReference() {
+        return _delegate.getReference();
+    }
+
+    @Override
+    public CellValue getCellValue() {
+        return _delegate.getCellValue();
+    }
+
+    @Override
+    public CellValue getTransientCellValue() {
+        return _delegate.getTransientCellValue();
+    }
+
+    @Override
+    public int getSharedStringIndex() {
+        return _sharedStrings == null ? -1 : _sharedStrings.getSharedStringIndex();
+    }
+
+    @Override
+    public CellValue getSharedStringValue(final int index) {
+        return _sharedStrings.getSharedStringValue(index);
+    }
+
+    /** Unknown: the declared used range does not describe the range read. */
+    @Override
+    public int getEstimatedLastRow() {
+        return -1;
+    }
+
+    @Override
+    public int getEstimatedColumnCount() {
+        return _delegate.getEstimatedColumnCount();
+    }
+
+    @Override
+    public int getRow() {
+        return _delegate.getRow();
+    }
+
+    @Override
+    public int getColumn() {
+        return _delegate.getColumn();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return _delegate.isClosed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _delegate.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !_ended && _delegate.hasNext();
+    }
+
+    @Override
+    public SheetToken next() {
+        if (_ended) throw new NoSuchElementException();
+        SheetToken token = _delegate.next();
+        while (token == SheetToken.ROW_START) {
+            final int row = _delegate.getRow();
+            if (row >= _toRow) {
+                token = SheetToken.SHEET_DATA_END;
+                break;
+            }
+            if (row < _firstDataRow || row >= _fromRow) break;
+            do {
+                token = _delegate.next();
+            } while (token != SheetToken.ROW_END);
+            token = _delegate.next();
+        }
+        if (token == SheetToken.SHEET_DATA_END) {
+            _ended = true;
+        }
+        return token;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache of shared string item {@code String}s by table index, so
+ * that repeated references to an item return one instance.
+ * <p>
+ * Direct-mapped: an item replaces whichever item last used its slot, so
+ * memory stays at {@link #CAPACITY} entries however large the table, and a
+ * low-cardinality column keeps hitting its few slots. Owned by one parser,
+ * so it needs no synchronization, and the shared strings lookup is never
+ * written to.
+ *
+ * @see SheetParser.Feature#INTERN_SHARED_STRINGS
+ */
+final class SharedStringInterner {
+
+    static final int CAPACITY = 1024;
+
+    private final int[] _indices = new int[CAPACITY];
+    private final String[] _strings = new String[CAPACITY];
+
+    SharedStringInterner() {
+        Arrays.fill(_indices, -1);
+    }
+
+    /**
+     * Returns the cached text of item {@code index}, or caches that of
+     * {@code value}, which must hold the item.
+     */
+    String intern(final int index, final CellValue value) {
+        final int slot = index & (CAPACITY - 1);
+        if (_indices[slot] == index) return _strings[slot];
+        final String text = value.getStringValue();
+        _indices[slot] = index;
+        _strings[slot] = text;
+        return text;
+    }
+}
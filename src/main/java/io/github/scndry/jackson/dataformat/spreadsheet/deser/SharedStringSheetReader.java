@@ -0,0 +1,24 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+/**
+ * {@link SheetReader} over a workbook with a shared strings table, which
+ * reports the table index of the current cell and resolves indices it
+ * reported, so that callers may keep an index instead of a value.
+ *
+ * @see SheetParser.Feature#INTERN_SHARED_STRINGS
+ */
+public interface SharedStringSheetReader extends SheetReader {
+
+    /**
+     * Index of the current cell's value in the workbook's shared strings
+     * table, or {@code -1} if the cell does not reference a shared string.
+     * Cells with the same index hold the same text.
+     */
+    int getSharedStringIndex();
+
+    /**
+     * The value {@link #getCellValue()} returns for a cell whose
+     * {@link #getSharedStringIndex()} is {@code index}.
+     */
+    CellValue getSharedStringValue(int index);
+}
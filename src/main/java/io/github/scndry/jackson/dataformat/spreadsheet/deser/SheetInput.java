@@ -2,6 +2,8 @@ package io.github.scndry.jackson.dataformat.spreadsheet.deser;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 
 import lombok.EqualsAndHashCode;
@@ -11,7 +13,8 @@ import io.github.scndry.jackson.dataformat.spreadsheet.annotation.Incubating;
 
 /**
  * Immutable descriptor for a spreadsheet read source. Wraps a
- * {@link File} or {@link InputStream} together with an optional
+ * {@link File}, {@link InputStream}, {@link ByteBuffer} or
+ * {@link SeekableByteChannel} together with an optional
  * sheet selector (by name or by zero-based index).
  * <p>
  * Use the {@code source} factory methods to create instances.
@@ -115,6 +118,60 @@ public final class SheetInput<T> implements SheetContent<T> {
         return new SheetInput<>(raw, sheetName);
     }
 
+    /**
+     * Creates a {@code SheetInput} reading the bytes between the position
+     * and the limit of the given buffer, targeting the first sheet
+     * (index 0). A {@link java.nio.MappedByteBuffer} reads a file without
+     * copying it; use {@link ByteBuffer#wrap(byte[])} for an array.
+     */
+    public static SheetInput<ByteBuffer> source(final ByteBuffer raw) {
+        return new SheetInput<>(raw, 0);
+    }
+
+    /**
+     * Creates a {@code SheetInput} reading the bytes of the given
+     * buffer, targeting the sheet at the specified index.
+     */
+    public static SheetInput<ByteBuffer> source(final ByteBuffer raw, final int sheetIndex) {
+        return new SheetInput<>(raw, sheetIndex);
+    }
+
+    /**
+     * Creates a {@code SheetInput} reading the bytes of the given
+     * buffer, targeting the sheet with the specified name.
+     */
+    public static SheetInput<ByteBuffer> source(final ByteBuffer raw, final String sheetName) {
+        return new SheetInput<>(raw, sheetName);
+    }
+
+    /**
+     * Creates a {@code SheetInput} reading from the given channel,
+     * targeting the first sheet (index 0). Only the parts of an XLSX
+     * package that the sheet needs are read, which suits channels over
+     * range-readable remote storage. The whole channel, from position 0,
+     * is the source; it is closed after reading per
+     * {@link com.fasterxml.jackson.core.StreamReadFeature#AUTO_CLOSE_SOURCE}.
+     */
+    public static SheetInput<SeekableByteChannel> source(final SeekableByteChannel raw) {
+        return new SheetInput<>(raw, 0);
+    }
+
+    /**
+     * Creates a {@code SheetInput} reading from the given
+     * channel, targeting the sheet at the specified index.
+     */
+    public static SheetInput<SeekableByteChannel> source(final SeekableByteChannel raw, final int sheetIndex) {
+        return new SheetInput<>(raw, sheetIndex);
+    }
+
+    /**
+     * Creates a {@code SheetInput} reading from the given
+     * channel, targeting the sheet with the specified name.
+     */
+    public static SheetInput<SeekableByteChannel> source(final SeekableByteChannel raw, final String sheetName) {
+        return new SheetInput<>(raw, sheetName);
+    }
+
     /**
      * Returns a copy with the given password for OOXML file-level
      * decryption. Pass {@code null} to clear.
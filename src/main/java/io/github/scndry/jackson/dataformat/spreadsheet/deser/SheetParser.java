@@ -28,6 +28,7 @@ import io.github.scndry.jackson.dataformat.spreadsheet.schema.Column;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.ColumnPointer;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.SpreadsheetSchema;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.BackWriteProjection;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.FlatTokenProgram;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.NestedAnchorValidator;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SchemaAnchorInspector;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
@@ -46,11 +47,13 @@ import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.Spreadshe
 public final class SheetParser extends ParserMinimalBase {
 
     private final IOContext _ioContext;
-    private final SheetReader _reader;
+    private SheetReader _reader;
+    // _reader when it reports shared string indices, otherwise null
+    private SharedStringSheetReader _sharedStrings;
     private final Deque<JsonToken> _nextTokens;
     private final Deque<String> _nextNames = new ArrayDeque<>();
     private final Deque<CellValue> _nextValues = new ArrayDeque<>();
-    private final int _formatFeatures;
+    private int _formatFeatures;
     private boolean _closed;
     private boolean _ended;
     private ObjectCodec _objectCodec;
@@ -61,7 +64,16 @@ public final class SheetParser extends ParserMinimalBase {
     private int _referenceRow = -1;
     private int _referenceColumn = -1;
     private CellValue _value;
+    // Shared string table index of _value, or -1
+    private int _valueStringIndex = -1;
+    private SharedStringInterner _interner;
     private boolean _headerProcessed;
+    private RowFilterSheetReader _rowFilter;
+    // Flat path: token run leading to the current cell, followed by _runValueToken
+    private FlatTokenProgram.Run _run;
+    private int _runPos;
+    private JsonToken _runValueToken;
+    private int _lastPosition = FlatTokenProgram.ROW_START;
 
     public SheetParser(
             final IOContext ctxt,
@@ -74,6 +86,7 @@ public final class SheetParser extends ParserMinimalBase {
         _objectCodec = codec;
         _formatFeatures = formatFeatures;
         _reader = reader;
+        _sharedStrings = _sharedStringReader(reader);
         _nextTokens = new ArrayDeque<>();
     }
 
@@ -86,6 +99,12 @@ public final class SheetParser extends ParserMinimalBase {
         return _formatFeatures;
     }
 
+    @Override
+    public JsonParser overrideFormatFeatures(final int values, final int mask) {
+        _formatFeatures = (_formatFeatures & ~mask) | (values & mask);
+        return this;
+    }
+
     @Override
     public Version version() {
         return PackageVersion.VERSION;
@@ -133,6 +152,33 @@ public final class SheetParser extends ParserMinimalBase {
         }
     }
 
+    /**
+     * Reads only the data rows that meet {@code filter}; the others are
+     * skipped before any of their tokens is produced. Rows without any cell
+     * in a schema column are still passed on, so
+     * {@link Feature#BREAK_ON_BLANK_ROW} ends the read at the first of them.
+     * Must be called after the schema is set and before the first token is
+     * read.
+     *
+     * @throws IllegalStateException    if the schema is not flat
+     * @throws IllegalArgumentException if a filtered column is not in the schema
+     */
+    public void setRowFilter(final RowFilter filter) {
+        if (_schema == null) {
+            throw new IllegalStateException("No schema set");
+        }
+        if (_schema.flatTokenProgram() == null || SchemaAnchorInspector.hasAnchor(_schema)) {
+            throw new IllegalStateException("Row filters need a flat schema, without lists or anchors");
+        }
+        if (_rowFilter != null) {
+            throw new IllegalStateException("Row filter already set");
+        }
+        _rowFilter = new RowFilterSheetReader(_reader, filter, _schema,
+                _schema.getDataRow(), isEnabled(Feature.BREAK_ON_BLANK_ROW));
+        _reader = _rowFilter;
+        _sharedStrings = _rowFilter;
+    }
+
     @Override
     public boolean canUseSchema(final FormatSchema schema) {
         return schema instanceof SpreadsheetSchema;
@@ -142,16 +188,49 @@ public final class SheetParser extends ParserMinimalBase {
         return _reader.isDate1904();
     }
 
+    /**
+     * Estimated number of data rows, counted from the schema's data row to
+     * the last row the sheet declares (the {@code <dimension>} of an XLSX
+     * worksheet); {@code -1} if the sheet declares none. The declaration may
+     * be stale, so use this only to size buffers.
+     */
+    public int getEstimatedRowCount() {
+        final int lastRow = _reader.getEstimatedLastRow();
+        if (lastRow < 0) return -1;
+        final int dataRow = _schema == null ? 0 : _schema.getDataRow();
+        return Math.max(0, lastRow + 1 - dataRow);
+    }
+
+    /**
+     * Estimated number of columns the sheet uses, or {@code -1} if it
+     * declares none; an estimate only, as {@link #getEstimatedRowCount()}.
+     */
+    public int getEstimatedColumnCount() {
+        return _reader.getEstimatedColumnCount();
+    }
+
     @Override
     public JsonToken nextToken() throws IOException {
         _checkSchemaSet();
         _prepareDeterministicNext();
-        if (_nextTokens.isEmpty()) {
+        final JsonToken token;
+        String runName = null;
+        if (!_nextTokens.isEmpty()) {
+            token = _nextTokens.removeFirst();
+        } else if (_run != null) {
+            if (_runPos < _run.size()) {
+                token = _run.token(_runPos);
+                runName = _run.name(_runPos);
+                _runPos++;
+            } else {
+                token = _runValueToken;
+                _run = null;
+            }
+        } else {
             _currToken = null;
             if (log.isTraceEnabled()) log.trace("null");
             return null;
         }
-        final JsonToken token = _nextTokens.removeFirst();
         if (log.isTraceEnabled()) {
             log.trace("{}", token);
         }
@@ -167,7 +246,9 @@ public final class SheetParser extends ParserMinimalBase {
                 _parsingContext = _parsingContext.clearAndGetParent();
                 break;
             case FIELD_NAME:
-                if (_recordBuffer != null) {
+                if (runName != null) {
+                    _parsingContext.setCurrentName(runName);
+                } else if (_recordBuffer != null) {
                     _parsingContext.setCurrentName(_nextNames.removeFirst());
                 } else {
                     final Column column = _schema.column(_referenceColumn);
@@ -184,6 +265,7 @@ public final class SheetParser extends ParserMinimalBase {
             case VALUE_NULL:
                 if (_recordBuffer != null && !_nextValues.isEmpty()) {
                     _value = _nextValues.removeFirst();
+                    _valueStringIndex = -1;
                 }
                 break;
             case NOT_AVAILABLE:
@@ -193,8 +275,75 @@ public final class SheetParser extends ParserMinimalBase {
         return _currToken;
     }
 
+    /**
+     * Whether {@link #nextRowCell()} can read rows of the current schema:
+     * the schema has no anchors or lists and every column is a direct
+     * property of the row object.
+     */
+    public boolean canReadRowCells() {
+        if (_schema == null || _recordBuffer != null) return false;
+        final FlatTokenProgram program = _schema.flatTokenProgram();
+        return program != null && program.isShallow();
+    }
+
+    /**
+     * Reads the next cell of the current row without the {@code FIELD_NAME}
+     * token in between, for binders that map cells to properties themselves.
+     * <p>
+     * Must be called with the row's {@code START_OBJECT}, or the value of a
+     * previous call, as the current token. Makes the cell's scalar value the
+     * current token, sets the field name on the parsing context and returns
+     * the column position relative to the schema origin. At the end of the
+     * row {@code END_OBJECT} becomes the current token and {@code -1} is
+     * returned. Only valid when {@link #canReadRowCells()}.
+     */
+    public int nextRowCell() throws IOException {
+        final int position;
+        if (_run != null) {
+            // First cell was read ahead when START_OBJECT was emitted
+            position = _lastPosition;
+            _run = null;
+            _currToken = _runValueToken;
+        } else {
+            final SheetToken token = _nextRowCellToken();
+            if (token != SheetToken.CELL_VALUE) {
+                if (token == null) _ended = true;
+                _parsingContext = _parsingContext.clearAndGetParent();
+                _currToken = JsonToken.END_OBJECT;
+                return -1;
+            }
+            position = _referenceColumn - _schema.getOriginColumn();
+            _lastPosition = position;
+            _currToken = _scalarValueToken();
+        }
+        _parsingContext.setCurrentName(_schema.flatTokenProgram().fieldName(position));
+        return position;
+    }
+
+    // Advances to the next mapped cell of the row, or to ROW_END (null at end of input)
+    private SheetToken _nextRowCellToken() {
+        while (true) {
+            final SheetToken token = _readNext();
+            if (token != SheetToken.CELL_VALUE) return token;
+            _referenceRow = _reader.getRow();
+            _referenceColumn = _reader.getColumn();
+            if (_schema.findColumn(_referenceColumn) == null) continue;
+            _readTransientValue();
+            return token;
+        }
+    }
+
+    private void _readTransientValue() {
+        _value = _reader.getTransientCellValue();
+        _valueStringIndex = _sharedStrings == null ? -1 : _sharedStrings.getSharedStringIndex();
+    }
+
+    private static SharedStringSheetReader _sharedStringReader(final SheetReader reader) {
+        return reader instanceof SharedStringSheetReader ? (SharedStringSheetReader) reader : null;
+    }
+
     private void _prepareDeterministicNext() throws StreamReadException {
-        while (!_ended && (_nextTokens.isEmpty() || _isStartObject())) {
+        while (!_ended && _run == null && (_nextTokens.isEmpty() || _isStartObject())) {
             _prepareNext();
             _handleEmptyObject();
         }
@@ -225,20 +374,34 @@ public final class SheetParser extends ParserMinimalBase {
             case ROW_START:
                 _referenceRow = _reader.getRow();
                 _referenceColumn = -1;
+                _lastPosition = FlatTokenProgram.ROW_START;
                 _nextTokens.add(JsonToken.START_OBJECT);
                 break;
             case CELL_VALUE:
                 _referenceRow = _reader.getRow();
                 _referenceColumn = _reader.getColumn();
-                _value = _reader.getCellValue();
+                // Flat tokens are consumed before the next cell is read, so a reused value is safe
+                _readTransientValue();
                 final Column column = _schema.findColumn(_referenceColumn);
                 if (column == null) break; // unmatched column (reordering)
+                final FlatTokenProgram program = _schema.flatTokenProgram();
+                if (program != null) {
+                    final int position = _referenceColumn - _schema.getOriginColumn();
+                    _runValueToken = _scalarValueToken();
+                    _run = program.transition(_lastPosition, position);
+                    _runPos = 0;
+                    _lastPosition = position;
+                    break;
+                }
                 _emitScopeTokens(column);
                 _nextTokens.add(JsonToken.FIELD_NAME);
                 _nextTokens.add(_scalarValueToken());
                 break;
             case ROW_END:
-                final int depth = _parsingContext.currentPointer().depth();
+                final FlatTokenProgram closing = _schema.flatTokenProgram();
+                final int depth = closing != null
+                        ? closing.closeCount(_lastPosition)
+                        : _parsingContext.currentPointer().depth();
                 for (int i = 0; i < depth; i++) {
                     _nextTokens.add(JsonToken.END_OBJECT);
                 }
@@ -335,7 +498,7 @@ public final class SheetParser extends ParserMinimalBase {
     }
 
     private void _reorderSchemaByHeader() {
-        final List<String> headers = new ArrayList<>();
+        final List<String> headers = new ArrayList<>(Math.max(_schema.size(), getEstimatedColumnCount()));
         while (_reader.hasNext()) {
             final SheetToken t = _reader.next();
             if (t == SheetToken.CELL_VALUE) {
@@ -348,6 +511,9 @@ public final class SheetParser extends ParserMinimalBase {
             }
         }
         _schema = _schema.reorderColumns(headers);
+        if (_rowFilter != null) {
+            _rowFilter.resolve(_schema);
+        }
     }
 
     private JsonToken _scalarValueToken() throws StreamReadException {
@@ -445,17 +611,23 @@ public final class SheetParser extends ParserMinimalBase {
 
     @Override
     public String getText() throws IOException {
+        if (_valueStringIndex >= 0 && isEnabled(Feature.INTERN_SHARED_STRINGS)) {
+            if (_interner == null) _interner = new SharedStringInterner();
+            return _interner.intern(_valueStringIndex, _value);
+        }
         return _value.getStringValue();
     }
 
     @Override
     public char[] getTextCharacters() throws IOException {
-        throw new UnsupportedOperationException();
+        if (_hasValueCharacters()) return _value.getTextCharacters();
+        final String text = getText();
+        return text == null ? null : text.toCharArray();
     }
 
     @Override
     public boolean hasTextCharacters() {
-        return false;
+        return _hasValueCharacters();
     }
 
     @Override
@@ -466,7 +638,7 @@ public final class SheetParser extends ParserMinimalBase {
     @Override
     public NumberType getNumberType() throws IOException {
         if (_value.noFractionalPart()) {
-            final long v = (long) _value.getNumberValue();
+            final long v = _value.getLongValue();
             return (v <= Integer.MAX_VALUE && v >= Integer.MIN_VALUE)
                     ? NumberType.INT : NumberType.LONG;
         }
@@ -480,20 +652,12 @@ public final class SheetParser extends ParserMinimalBase {
 
     @Override
     public long getLongValue() throws IOException {
-        return (long) _value.getNumberValue();
+        return _value.getLongValue();
     }
 
     @Override
     public BigInteger getBigIntegerValue() throws IOException {
-        final String s = _value.getRawText();
-        if (s != null) {
-            try {
-                return new BigDecimal(s).toBigIntegerExact();
-            } catch (NumberFormatException ignored) {
-                // non-numeric cell format (e.g., currency, percentage) — fall through
-            }
-        }
-        return BigDecimal.valueOf(_value.getNumberValue()).toBigIntegerExact();
+        return _value.getDecimalValue().toBigIntegerExact();
     }
 
     @Override
@@ -508,25 +672,19 @@ public final class SheetParser extends ParserMinimalBase {
 
     @Override
     public BigDecimal getDecimalValue() throws IOException {
-        final String s = _value.getRawText();
-        if (s != null) {
-            try {
-                return new BigDecimal(s);
-            } catch (NumberFormatException ignored) {
-                // non-numeric cell format (e.g., currency, percentage) — fall through
-            }
-        }
-        return BigDecimal.valueOf(_value.getNumberValue());
+        return _value.getDecimalValue();
     }
 
     @Override
     public int getTextLength() throws IOException {
-        throw new UnsupportedOperationException();
+        if (_hasValueCharacters()) return _value.getTextLength();
+        final String text = getText();
+        return text == null ? 0 : text.length();
     }
 
     @Override
     public int getTextOffset() throws IOException {
-        throw new UnsupportedOperationException();
+        return _hasValueCharacters() ? _value.getTextOffset() : 0;
     }
 
     @Override
@@ -534,6 +692,10 @@ public final class SheetParser extends ParserMinimalBase {
         throw new UnsupportedOperationException();
     }
 
+    private boolean _hasValueCharacters() {
+        return _currToken == JsonToken.VALUE_STRING && _value != null && _value.hasTextCharacters();
+    }
+
     private ContentReference _contentReference() {
         if (StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION.enabledIn(_features)) {
             return _ioContext.contentReference();
@@ -556,6 +718,8 @@ public final class SheetParser extends ParserMinimalBase {
      *     for blank rows (enabled by default).</li>
      * <li>{@link #BREAK_ON_BLANK_ROW} -- stops iteration
      *     when a blank row is encountered.</li>
+     * <li>{@link #DIRECT_ROW_BINDING} -- binds flat POJO rows
+     *     straight from cell values, skipping the token stream.</li>
      * </ul>
      */
     public enum Feature implements FormatFeature {
@@ -563,6 +727,22 @@ public final class SheetParser extends ParserMinimalBase {
         BLANK_ROW_AS_NULL(true),
         /** Stop iteration on the first blank row. */
         BREAK_ON_BLANK_ROW(false),
+        /**
+         * Bind rows of flat bean types directly from cell values instead of
+         * through {@code FIELD_NAME}/value tokens (default: off). Types with
+         * custom deserializers, delegating creators, polymorphic handling or
+         * nested columns keep using the token stream.
+         *
+         * @see DirectRowDeserializer
+         */
+        DIRECT_ROW_BINDING(false),
+        /**
+         * Return the same {@code String} for repeated references to a shared
+         * string, such as a status or category column (default: off). Items
+         * are kept by table index in a cache of 1024 entries per parser, so
+         * a frequent item may still be rebuilt after others displace it.
+         */
+        INTERN_SHARED_STRINGS(false),
         ;
         final boolean _defaultState;
         final int _mask;
@@ -24,6 +24,32 @@ public interface SheetReader extends AutoCloseable, Iterator<SheetToken> {
 
     CellValue getCellValue();
 
+    /**
+     * Same as {@link #getCellValue()}, but the result is only valid until the
+     * reader advances and may be a reused instance. Callers that keep values
+     * across cells must use {@link #getCellValue()}.
+     */
+    default CellValue getTransientCellValue() {
+        return getCellValue();
+    }
+
+    /**
+     * Zero-based index of the last row the sheet declares it uses, or
+     * {@code -1} if it declares none. Only an estimate, for sizing buffers:
+     * the declaration may be stale, so rows may end before or after it.
+     */
+    default int getEstimatedLastRow() {
+        return -1;
+    }
+
+    /**
+     * Number of columns the sheet declares it uses, or {@code -1} if it
+     * declares none. Only an estimate, as {@link #getEstimatedLastRow()}.
+     */
+    default int getEstimatedColumnCount() {
+        return -1;
+    }
+
     int getRow();
 
     int getColumn();
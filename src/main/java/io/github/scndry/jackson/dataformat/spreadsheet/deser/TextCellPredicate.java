@@ -0,0 +1,26 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+import java.util.function.Predicate;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * {@link CellPredicate} on the text of STRING cells; its result for a shared
+ * string holds for every cell referencing it, so {@link RowFilterSheetReader}
+ * remembers it by shared string index.
+ *
+ * @see CellPredicate#text(Predicate)
+ */
+final class TextCellPredicate implements CellPredicate {
+
+    private final Predicate<? super String> _predicate;
+
+    TextCellPredicate(final Predicate<? super String> predicate) {
+        _predicate = predicate;
+    }
+
+    @Override
+    public boolean test(final CellValue value) {
+        return value.getCellType() == CellType.STRING && _predicate.test(value.getStringValue());
+    }
+}
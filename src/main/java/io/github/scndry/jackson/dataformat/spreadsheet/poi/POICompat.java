@@ -81,7 +81,17 @@ public final class POICompat {
      * needed so the tracker entry is removed.
      */
     public static Path createSecureTempFile(final String prefix, final String suffix) throws IOException {
-        final Path dir = tempDir().toPath();
+        return createSecureTempFile(tempDir().toPath(), prefix, suffix);
+    }
+
+    /**
+     * As {@link #createSecureTempFile(String, String)}, but in {@code dir},
+     * so that the file can be moved atomically to a name next to it.
+     */
+    public static Path createSecureTempFile(
+            final Path dir,
+            final String prefix,
+            final String suffix) throws IOException {
         Path path;
         try {
             path = Files.createTempFile(dir, prefix, suffix,
@@ -95,6 +105,15 @@ public final class POICompat {
         return path;
     }
 
+    /**
+     * Adds a file placed in {@link #tempDir()} other than through
+     * {@link #createSecureTempFile}, such as by renaming one, to the
+     * shutdown-time cleanup.
+     */
+    public static void trackTempFile(final Path path) {
+        TRACKED.add(path);
+    }
+
     /**
      * Deletes the temp file and removes it from the shutdown tracker.
      * Safe to call on a path that was never tracked or already released.
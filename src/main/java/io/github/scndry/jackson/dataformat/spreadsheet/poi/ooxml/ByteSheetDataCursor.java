@@ -0,0 +1,189 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+
+/**
+ * {@link SheetDataCursor} backed by {@link XmlByteScanner}.
+ * <p>
+ * Decodes row numbers, cell references, style indices and cell types
+ * straight from the attribute bytes and keeps {@code <v>} text in the
+ * scanner's reusable buffer, so ordinary cells allocate nothing.
+ * A missing {@code r} attribute continues from the previous row or column,
+ * as allowed by ECMA-376.
+ */
+final class ByteSheetDataCursor implements SheetDataCursor {
+
+    private static final byte[] DIMENSION = XmlByteScanner.name(SpreadsheetML.DIMENSION);
+    private static final byte[] SHEET_DATA = XmlByteScanner.name(SpreadsheetML.SHEET_DATA);
+    private static final byte[] ROW = XmlByteScanner.name(SpreadsheetML.ROW);
+    private static final byte[] CELL = XmlByteScanner.name(SpreadsheetML.CELL);
+    private static final byte[] VALUE = XmlByteScanner.name(SpreadsheetML.VALUE);
+    private static final byte[] FORMULA = XmlByteScanner.name(SpreadsheetML.FORMULA);
+    private static final byte[] INLINE_STRING = XmlByteScanner.name(SpreadsheetML.INLINE_STRING);
+    private static final byte[] ATTR_REF = XmlByteScanner.name(SpreadsheetML.ATTR_REF);
+    private static final byte[] ATTR_RANGE_REF = XmlByteScanner.name(SpreadsheetML.ATTR_RANGE_REF);
+    private static final byte[] ATTR_TYPE = XmlByteScanner.name(SpreadsheetML.ATTR_TYPE);
+    private static final byte[] ATTR_STYLE = XmlByteScanner.name(SpreadsheetML.ATTR_STYLE);
+
+    private static final byte[] TYPE_SHARED_STRING = {'s'};
+    private static final byte[] TYPE_NUMBER = {'n'};
+    private static final byte[] TYPE_BOOLEAN = {'b'};
+    private static final byte[] TYPE_ERROR = {'e'};
+    private static final byte[] TYPE_FORMULA_STRING = {'s', 't', 'r'};
+    private static final byte[] TYPE_INLINE_STRING = XmlByteScanner.name("inlineStr");
+    private static final byte[] FORMULA_SHARED = XmlByteScanner.name("shared");
+
+    private final XmlByteScanner _scanner;
+    private final CTCell _cell = new CTCell();
+    private final CellRangeAddress _dimension;
+    private int _rowIndex = -1;
+    private int _column;
+    private STCellType _type;
+    private int _style;
+
+    ByteSheetDataCursor(final XmlByteScanner scanner) {
+        _scanner = scanner;
+        _dimension = _skipToSheetData();
+    }
+
+    /**
+     * Cursor over a fragment of a worksheet (see {@link SheetDataSlicer})
+     * whose rows follow {@code previousRow}. The fragment carries the sheet's
+     * {@code <dimension>}, which does not describe the fragment, so it is not
+     * reported.
+     */
+    ByteSheetDataCursor(final XmlByteScanner scanner, final int previousRow) {
+        _scanner = scanner;
+        _dimension = null;
+        _rowIndex = previousRow;
+        _scanner.nextStartElement(SHEET_DATA);
+    }
+
+    @Override
+    public CellRangeAddress getDimension() {
+        return _dimension;
+    }
+
+    @Override
+    public boolean nextRow() {
+        while (true) {
+            switch (_scanner.next()) {
+                case XmlByteScanner.START_ELEMENT:
+                    if (_scanner.isLocalName(ROW)) {
+                        _rowIndex = _scanner.intAttribute(ATTR_REF, _rowIndex + 2) - 1;
+                        _column = -1;
+                        return true;
+                    }
+                    break;
+                case XmlByteScanner.END_ELEMENT:
+                    if (_scanner.isLocalName(SHEET_DATA)) return false;
+                    break;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    @Override
+    public int getRowIndex() {
+        return _rowIndex;
+    }
+
+    @Override
+    public boolean nextCell() {
+        while (true) {
+            switch (_scanner.next()) {
+                case XmlByteScanner.START_ELEMENT:
+                    if (_scanner.isLocalName(CELL)) {
+                        _readCellAttributes();
+                        return true;
+                    }
+                    break;
+                case XmlByteScanner.END_ELEMENT:
+                    if (_scanner.isLocalName(ROW)) return false;
+                    break;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    @Override
+    public CTCell collectCell() {
+        final XmlByteScanner scanner = _scanner;
+        boolean hasValue = false;
+        STCellFormulaType ft = null;
+        String is = null;
+        if (scanner.isEmptyElement()) {
+            scanner.next();
+        } else {
+            while (scanner.next() == XmlByteScanner.START_ELEMENT) {
+                if (scanner.isLocalName(VALUE)) {
+                    scanner.readElementText(false);
+                    hasValue = true;
+                } else if (scanner.isLocalName(FORMULA)) {
+                    ft = _formulaType();
+                    scanner.skipElement();
+                } else if (scanner.isLocalName(INLINE_STRING)) {
+                    scanner.readStringContent();
+                    is = scanner.textAsString();
+                } else {
+                    scanner.skipElement();
+                }
+            }
+        }
+        _cell.set(_column, _type, _style,
+                hasValue ? scanner.text() : null, hasValue ? scanner.textLength() : 0, ft, is);
+        return _cell;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return _scanner.isClosed();
+    }
+
+    @Override
+    public void close() {
+        _scanner.close();
+    }
+
+    // Positions the scanner at <sheetData>, returning the <dimension> seen on the way
+    private CellRangeAddress _skipToSheetData() {
+        final XmlByteScanner scanner = _scanner;
+        CellRangeAddress dimension = null;
+        int event;
+        while ((event = scanner.next()) != XmlByteScanner.END_DOCUMENT) {
+            if (event != XmlByteScanner.START_ELEMENT) continue;
+            if (scanner.isLocalName(SHEET_DATA)) break;
+            if (scanner.isLocalName(DIMENSION)) {
+                dimension = SheetDataCursor.dimension(scanner.attribute(ATTR_RANGE_REF));
+            }
+        }
+        return dimension;
+    }
+
+    private void _readCellAttributes() {
+        final XmlByteScanner scanner = _scanner;
+        _column = scanner.findAttribute(ATTR_REF) ? scanner.columnOfValue() : _column + 1;
+        _style = scanner.intAttribute(ATTR_STYLE, 0);
+        _type = scanner.findAttribute(ATTR_TYPE) ? _cellType() : STCellType.NUMBER;
+    }
+
+    private STCellType _cellType() {
+        final XmlByteScanner scanner = _scanner;
+        if (scanner.valueEquals(TYPE_SHARED_STRING)) return STCellType.SHARED_STRING;
+        if (scanner.valueEquals(TYPE_NUMBER)) return STCellType.NUMBER;
+        if (scanner.valueEquals(TYPE_BOOLEAN)) return STCellType.BOOLEAN;
+        if (scanner.valueEquals(TYPE_FORMULA_STRING)) return STCellType.FORMULA_STRING;
+        if (scanner.valueEquals(TYPE_INLINE_STRING)) return STCellType.INLINE_STRING;
+        if (scanner.valueEquals(TYPE_ERROR)) return STCellType.ERROR;
+        return STCellType.of(scanner.attribute(ATTR_TYPE));
+    }
+
+    private STCellFormulaType _formulaType() {
+        final XmlByteScanner scanner = _scanner;
+        if (!scanner.findAttribute(ATTR_TYPE)) return STCellFormulaType.NORMAL;
+        if (scanner.valueEquals(FORMULA_SHARED)) return STCellFormulaType.SHARED;
+        return STCellFormulaType.of(scanner.attribute(ATTR_TYPE));
+    }
+}
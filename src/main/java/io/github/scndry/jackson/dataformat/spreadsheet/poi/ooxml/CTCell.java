@@ -12,22 +12,45 @@ package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
  *   <li>{@code ft} — formula type from {@code <f t="...">} ({@link STCellFormulaType})</li>
  *   <li>{@code is} — inline string text from {@code <is>}</li>
  * </ul>
+ * The byte-level scanner fills the decoded column index directly and keeps
+ * {@code v} as a slice of its reusable text buffer; {@link #getV()}
+ * materializes a {@code String} only on demand.
  */
 final class CTCell {
 
     private String _r;
+    private int _column;
     private STCellType _t;
     private int _s;
     private String _v;
+    private char[] _vChars;
+    private int _vLength;
+    private char[] _scratch;
     private STCellFormulaType _ft;
     private String _is;
 
     void set(final String r, final STCellType t, final int s, final String v,
              final STCellFormulaType ft, final String is) {
         _r = r;
+        _column = -1;
         _t = t;
         _s = s;
         _v = v;
+        _vChars = null;
+        _vLength = 0;
+        _ft = ft;
+        _is = is;
+    }
+
+    void set(final int column, final STCellType t, final int s, final char[] v, final int vLength,
+             final STCellFormulaType ft, final String is) {
+        _r = null;
+        _column = column;
+        _t = t;
+        _s = s;
+        _v = null;
+        _vChars = v;
+        _vLength = vLength;
         _ft = ft;
         _is = is;
     }
@@ -35,7 +58,80 @@ final class CTCell {
     String getR() { return _r; }
     STCellType getT() { return _t; }
     int getS() { return _s; }
-    String getV() { return _v; }
     STCellFormulaType getFt() { return _ft; }
     String getIs() { return _is; }
+
+    String getV() {
+        if (_v == null && _vChars != null) {
+            _v = new String(_vChars, 0, _vLength);
+        }
+        return _v;
+    }
+
+    /** Zero-based column index, decoded from {@code r} when not set directly. */
+    int getColumn() {
+        if (_column < 0 && _r != null) {
+            _column = parseColumn(_r);
+        }
+        return _column;
+    }
+
+    /**
+     * Characters of {@code v}, valid up to {@link #getVLength()} until the next
+     * {@code set}. A {@code String} value is copied into a reusable buffer.
+     */
+    char[] getVChars() {
+        if (_vChars == null && _v != null) {
+            final int len = _v.length();
+            if (_scratch == null || _scratch.length < len) {
+                _scratch = new char[Math.max(len, 32)];
+            }
+            _v.getChars(0, len, _scratch, 0);
+            _vChars = _scratch;
+            _vLength = len;
+        }
+        return _vChars;
+    }
+
+    int getVLength() {
+        return _vChars == null && _v != null ? _v.length() : _vLength;
+    }
+
+    boolean hasV() {
+        return _v != null || _vChars != null;
+    }
+
+    /** Compares {@code v} with {@code expected} without materializing a {@code String}. */
+    boolean isV(final String expected) {
+        if (_vChars == null) return expected.equals(_v);
+        if (_vLength != expected.length()) return false;
+        for (int i = 0; i < _vLength; i++) {
+            if (_vChars[i] != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /** Parses {@code v} as a non-negative index (e.g. shared string index). */
+    int getVAsIndex() {
+        if (_vChars == null) return Integer.parseInt(_v);
+        if (_vLength == 0) throw new NumberFormatException("Empty index value");
+        int value = 0;
+        for (int i = 0; i < _vLength; i++) {
+            final int d = _vChars[i] - '0';
+            if (d < 0 || d > 9) return Integer.parseInt(getV());
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    static int parseColumn(final String ref) {
+        int col = 0;
+        final int len = ref.length();
+        for (int i = 0; i < len; i++) {
+            final char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            col = col * 26 + (c - 'A' + 1);
+        }
+        return col - 1;
+    }
 }
@@ -0,0 +1,67 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.XmlElementReader.Matcher;
+
+/**
+ * Content types of the parts of an OPC package, parsed from its
+ * {@code [Content_Types].xml} (ECMA-376 Part 2, §10.1.2): an override per
+ * part name, else a default per extension. Both are matched
+ * case-insensitively.
+ */
+final class ContentTypes {
+
+    /** Entry name of the content types stream */
+    static final String ENTRY = "[Content_Types].xml";
+
+    private static final String DEFAULT = "Default";
+    private static final String OVERRIDE = "Override";
+    private static final String ATTR_EXTENSION = "Extension";
+    private static final String ATTR_PART_NAME = "PartName";
+    private static final String ATTR_CONTENT_TYPE = "ContentType";
+
+    private static final Matcher START_DEFAULT = Matcher.startElement(DEFAULT);
+    private static final Matcher START_OVERRIDE = Matcher.startElement(OVERRIDE);
+
+    private final Map<String, String> _defaults;
+    private final Map<String, String> _overrides;
+
+    private ContentTypes(final Map<String, String> defaults, final Map<String, String> overrides) {
+        _defaults = defaults;
+        _overrides = overrides;
+    }
+
+    /** Parses {@code [Content_Types].xml} from {@code in}, without closing it. */
+    static ContentTypes parse(final InputStream in) {
+        final Map<String, String> defaults = new HashMap<>();
+        final Map<String, String> overrides = new HashMap<>();
+        try (XmlElementReader reader = new XmlElementReader(in)) {
+            Matcher hit;
+            while ((hit = reader.nextUntil(START_DEFAULT, START_OVERRIDE)) != null) {
+                final String type = reader.attribute(ATTR_CONTENT_TYPE);
+                if (hit == START_DEFAULT) {
+                    defaults.put(_key(reader.attribute(ATTR_EXTENSION)), type);
+                } else {
+                    overrides.put(_key(PartRelationships.resolve("", reader.attribute(ATTR_PART_NAME))), type);
+                }
+            }
+        }
+        return new ContentTypes(defaults, overrides);
+    }
+
+    /** Content type of the part stored as {@code entry}, or {@code null} if none applies. */
+    String of(final String entry) {
+        final String override = _overrides.get(_key(entry));
+        if (override != null) return override;
+        final int dot = entry.lastIndexOf('.');
+        return dot < entry.lastIndexOf('/') || dot < 0 ? null : _defaults.get(_key(entry.substring(dot + 1)));
+    }
+
+    private static String _key(final String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.math.BigInteger;
+
+/**
+ * Encoder of a {@code double} into the text of a numeric {@code <v>} element
+ * ({@code xsd:double} lexical form), the counterpart of {@link NumberText}.
+ * <p>
+ * The digits are the shortest that read back as the same {@code double},
+ * found with Giulietti's Schubfach algorithm on {@code long} arithmetic, and
+ * are written into a {@code byte[]} without allocating. Integral values below
+ * 2<sup>53</sup> skip the search and are written as plain integers. Other
+ * values use plain notation for decimal exponents in {@code [-7, 21)} and
+ * {@code 1.5E-8} style scientific notation outside it, so {@code 1.0} is
+ * written as {@code 1} and {@code 1.0E-5} as {@code 0.00001}.
+ *
+ * @see XmlByteBuffer#append(double)
+ */
+final class DoubleText {
+
+    /** Longest text written, as for {@code -0.00000012345678901234566}. */
+    static final int MAX_LENGTH = 26;
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << P - 1;
+    private static final long C_TINY = 3;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final int BQ_MASK = 0x7FF;
+    private static final long T_MASK = C_MIN - 1;
+    private static final long MASK_63 = Long.MAX_VALUE;
+    private static final long MAX_EXACT_INTEGER = 1L << P;
+
+    private static final int MIN_PLAIN_EXPONENT = -7;
+    private static final int MAX_PLAIN_EXPONENT = 21;
+
+    private static final byte[] NAN = XmlByteBuffer.ascii("NaN");
+    private static final byte[] INFINITY = XmlByteBuffer.ascii("Infinity");
+
+    // 126-bit approximations g1 * 2^63 + g0 of 10^-k, scaled into [2^125, 2^126)
+    private static final long[] G1 = new long[K_MAX - K_MIN + 1];
+    private static final long[] G0 = new long[K_MAX - K_MIN + 1];
+
+    static {
+        final BigInteger mask63 = BigInteger.valueOf(MASK_63);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            final int r = _flog2pow10(-k) - 125;
+            BigInteger num = BigInteger.TEN.pow(Math.max(-k, 0));
+            BigInteger den = BigInteger.TEN.pow(Math.max(k, 0));
+            if (r < 0) {
+                num = num.shiftLeft(-r);
+            } else {
+                den = den.shiftLeft(r);
+            }
+            final BigInteger g = num.divide(den).add(BigInteger.ONE);
+            G1[k - K_MIN] = g.shiftRight(63).longValue();
+            G0[k - K_MIN] = g.and(mask63).longValue();
+        }
+    }
+
+    private DoubleText() {
+    }
+
+    /**
+     * Writes {@code value} at {@code buf[pos]}, which must have room for
+     * {@link #MAX_LENGTH} bytes, and returns the position after it.
+     */
+    static int write(final double value, final byte[] buf, int pos) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final long t = bits & T_MASK;
+        final int bq = (int) (bits >>> P - 1) & BQ_MASK;
+        if (bq == BQ_MASK) {
+            if (t != 0) return _copy(NAN, buf, pos);
+            if (bits < 0) buf[pos++] = '-';
+            return _copy(INFINITY, buf, pos);
+        }
+        if (bits < 0) buf[pos++] = '-';
+        final double abs = Math.abs(value);
+        if (abs < MAX_EXACT_INTEGER) {
+            final long l = (long) abs;
+            if (l == abs) return _writeInteger(l, buf, pos);
+        }
+        if (bq != 0) return _toDecimal(Q_MIN - 1 + bq, C_MIN | t, 0, buf, pos);
+        return t < C_TINY
+                ? _toDecimal(Q_MIN, 10 * t, -1, buf, pos)
+                : _toDecimal(Q_MIN, t, 0, buf, pos);
+    }
+
+    // Finds the shortest decimal f * 10^e in the rounding interval of c * 2^q
+    private static int _toDecimal(final int q, final long c, final int dk, final byte[] buf, final int pos) {
+        final int out = (int) c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = _flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = _flog10threeQuartersPow2(q);
+        }
+        final int h = q + _flog2pow10(-k) + 2;
+        final long g1 = G1[k - K_MIN];
+        final long g0 = G0[k - K_MIN];
+        final long vb = _rop(g1, g0, cb << h);
+        final long vbl = _rop(g1, g0, cbl << h);
+        final long vbr = _rop(g1, g0, cbr << h);
+
+        final long s = vb >> 2;
+        if (s >= 100) {
+            final long sp10 = s / 10 * 10;
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) return _writeDecimal(upin ? sp10 : tp10, k, buf, pos);
+        }
+        final long sp1 = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (sp1 << 2) + out <= vbr;
+        if (uin != win) return _writeDecimal(uin ? s : sp1, k + dk, buf, pos);
+        final long cmp = vb - (s + sp1 << 1);
+        return _writeDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : sp1, k + dk, buf, pos);
+    }
+
+    // Rounds to odd the top 64 bits of the 190-bit product g * cp
+    private static long _rop(final long g1, final long g0, final long cp) {
+        final long x1 = _multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = _multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    // Math.multiplyHigh, which Java 8 lacks
+    private static long _multiplyHigh(final long x, final long y) {
+        final long x1 = x >> 32;
+        final long x2 = x & 0xFFFFFFFFL;
+        final long y1 = y >> 32;
+        final long y2 = y & 0xFFFFFFFFL;
+        final long z2 = x2 * y2;
+        final long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        final long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    // floor(q * log10(2))
+    private static int _flog10pow2(final int q) {
+        return (int) (q * 661_971_961_083L >> 41);
+    }
+
+    // floor(q * log10(2) + log10(3/4))
+    private static int _flog10threeQuartersPow2(final int q) {
+        return (int) (q * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    // floor(e * log2(10))
+    private static int _flog2pow10(final int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    // Writes f * 10^e, f > 0, in plain or scientific notation
+    private static int _writeDecimal(long f, int e, final byte[] buf, int pos) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        final int len = _digits(f);
+        final int exponent = e + len - 1;
+        if (exponent < MIN_PLAIN_EXPONENT || exponent >= MAX_PLAIN_EXPONENT) {
+            // d[.ddd]E[-]n
+            if (len > 1) {
+                pos += len + 1;
+                _writeDigits(f, buf, pos);
+                buf[pos - len - 1] = buf[pos - len];
+                buf[pos - len] = '.';
+            } else {
+                buf[pos++] = XmlByteBuffer.DIGIT_ONES[(int) f];
+            }
+            buf[pos++] = 'E';
+            int x = exponent;
+            if (x < 0) {
+                buf[pos++] = '-';
+                x = -x;
+            }
+            final int xlen = x >= 100 ? 3 : x >= 10 ? 2 : 1;
+            _writeDigits(x, buf, pos + xlen);
+            return pos + xlen;
+        }
+        if (e >= 0) {
+            // ddd000
+            final int end = pos + len;
+            _writeDigits(f, buf, end);
+            pos = end;
+            for (int i = 0; i < e; i++) {
+                buf[pos++] = '0';
+            }
+            return pos;
+        }
+        if (exponent >= 0) {
+            // ddd.ddd
+            final int end = pos + len + 1;
+            final int point = pos + exponent + 1;
+            _writeDigits(f, buf, end);
+            System.arraycopy(buf, pos + 1, buf, pos, point - pos);
+            buf[point] = '.';
+            return end;
+        }
+        // 0.000ddd
+        buf[pos++] = '0';
+        buf[pos++] = '.';
+        for (int i = -1; i > exponent; i--) {
+            buf[pos++] = '0';
+        }
+        _writeDigits(f, buf, pos + len);
+        return pos + len;
+    }
+
+    private static int _writeInteger(final long value, final byte[] buf, final int pos) {
+        final int end = pos + _digits(value);
+        _writeDigits(value, buf, end);
+        return end;
+    }
+
+    // Writes the digits of value >= 0 backwards, ending just before buf[end]
+    private static void _writeDigits(long value, final byte[] buf, int end) {
+        while (value >= 100) {
+            final long q = value / 100;
+            final int r = (int) (value - q * 100);
+            buf[--end] = XmlByteBuffer.DIGIT_ONES[r];
+            buf[--end] = XmlByteBuffer.DIGIT_TENS[r];
+            value = q;
+        }
+        final int v = (int) value;
+        buf[--end] = XmlByteBuffer.DIGIT_ONES[v];
+        if (v >= 10) buf[--end] = XmlByteBuffer.DIGIT_TENS[v];
+    }
+
+    private static int _digits(final long value) {
+        int digits = 1;
+        for (long bound = 10; digits < 19 && value >= bound; bound *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int _copy(final byte[] fragment, final byte[] buf, final int pos) {
+        System.arraycopy(fragment, 0, buf, pos, fragment.length);
+        return pos + fragment.length;
+    }
+}
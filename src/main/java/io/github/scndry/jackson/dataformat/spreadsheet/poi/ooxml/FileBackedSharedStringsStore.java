@@ -95,6 +95,12 @@ final class FileBackedSharedStringsStore implements SharedStringsStore {
         return _value(index).charAt(offset);
     }
 
+    @Override
+    public void getChars(final int index, final char[] dst, final int dstBegin) {
+        final String value = _value(index);
+        value.getChars(0, value.length(), dst, dstBegin);
+    }
+
     @Override
     public void close() throws IOException {
         try {
@@ -1,6 +1,7 @@
 package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 
 import org.apache.poi.openxml4j.opc.PackagePart;
@@ -8,19 +9,29 @@ import org.apache.poi.openxml4j.opc.PackagePart;
 import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.XmlElementReader.Matcher;
 
 /**
- * Lazy, streaming shared string table that reads entries on demand via StAX.
+ * Lazy, streaming shared string table that reads entries on demand via StAX,
+ * or via {@link XmlByteScanner} when byte-level scanning is enabled, decoding
+ * {@code <si>} text straight into the character slab.
  * <p>
  * Uses Structure of Array (SoA) layout: all character data in a single {@code char[]} buffer
  * with separate {@code int[]} arrays for offsets and lengths.
  * Eliminates per-String object overhead (~56 bytes each).
+ * <p>
+ * The slab is exposed through {@link #getItemChars} for zero-copy access;
+ * {@link #getItemAt} creates a new {@code String} on every call and keeps
+ * none, so the lookup is only written to while items are loaded.
  */
 final class InMemorySharedStringsLookup implements SharedStringsLookup {
 
     private static final Matcher START_SI = Matcher.startElement(SpreadsheetML.STRING_ITEM);
+    private static final byte[] SST = XmlByteScanner.name(SpreadsheetML.SST);
+    private static final byte[] STRING_ITEM = XmlByteScanner.name(SpreadsheetML.STRING_ITEM);
+    private static final byte[] ATTR_UNIQUE_COUNT = XmlByteScanner.name(SpreadsheetML.ATTR_UNIQUE_COUNT);
 
     private static final int INITIAL_DATA_CAPACITY = 4096;
 
     private final XmlElementReader _reader;
+    private final XmlByteScanner _scanner;
 
     private char[] _data;
     private int[] _offsets;
@@ -29,23 +40,106 @@ final class InMemorySharedStringsLookup implements SharedStringsLookup {
     private int _dataPos;
 
     InMemorySharedStringsLookup(final PackagePart part) throws IOException {
-        _reader = new XmlElementReader(part.getInputStream());
-        _reader.navigateTo(SpreadsheetML.SST);
-        final String uc = _reader.attribute(SpreadsheetML.ATTR_UNIQUE_COUNT);
-        final int _uniqueCount = uc != null ? Integer.parseInt(uc) : 0;
-        _offsets = new int[_uniqueCount];
-        _lengths = new int[_uniqueCount];
-        _data = new char[Math.max(INITIAL_DATA_CAPACITY, _uniqueCount * 16)];
+        this(part, false);
+    }
+
+    InMemorySharedStringsLookup(final PackagePart part, final boolean scanBytes) throws IOException {
+        this(part.getInputStream(), scanBytes);
+    }
+
+    InMemorySharedStringsLookup(final InputStream in, final boolean scanBytes) {
+        final int uniqueCount;
+        final XmlByteScanner scanner = scanBytes ? new XmlByteScanner(in) : null;
+        if (scanner != null && scanner.isPlainUtf8()) {
+            _scanner = scanner;
+            _reader = null;
+            if (!_scanner.nextStartElement(SST)) {
+                throw new IllegalStateException("Element <" + SpreadsheetML.SST + "> not found");
+            }
+            uniqueCount = _scanner.intAttribute(ATTR_UNIQUE_COUNT, 0);
+        } else {
+            _scanner = null;
+            _reader = new XmlElementReader(scanner != null ? scanner.detach() : in);
+            _reader.navigateTo(SpreadsheetML.SST);
+            final String uc = _reader.attribute(SpreadsheetML.ATTR_UNIQUE_COUNT);
+            uniqueCount = uc != null ? Integer.parseInt(uc) : 0;
+        }
+        _offsets = new int[uniqueCount];
+        _lengths = new int[uniqueCount];
+        _data = new char[Math.max(INITIAL_DATA_CAPACITY, uniqueCount * 16)];
     }
 
     @Override
     public String getItemAt(final int idx) {
+        _load(idx);
+        return new String(_data, _offsets[idx], _lengths[idx]);
+    }
+
+    @Override
+    public char[] getItemChars(final int idx) {
+        _load(idx);
+        return _data;
+    }
+
+    @Override
+    public int getItemOffset(final int idx) {
+        return _offsets[idx];
+    }
+
+    @Override
+    public int getItemLength(final int idx) {
+        return _lengths[idx];
+    }
+
+    private void _load(final int idx) {
         while (idx >= _size) {
-            _reader.nextUntil(START_SI);
-            final String text = _reader.readStringContent();
-            _appendString(text != null ? text : "");
+            if (_scanner != null) {
+                _scanItem();
+            } else {
+                _reader.nextUntil(START_SI);
+                final String text = _reader.readStringContent();
+                _appendString(text != null ? text : "");
+            }
         }
-        return new String(_data, _offsets[idx], _lengths[idx]);
+    }
+
+    /**
+     * Loads every remaining item, closes the XML source and returns an
+     * immutable view of the table that may be shared between threads. This
+     * lookup must not be used afterwards.
+     */
+    SharedStringsLookup freeze() {
+        if (_scanner != null) {
+            while (_scanner.nextStartElement(STRING_ITEM)) {
+                _appendScannedItem();
+            }
+        } else {
+            while (_reader.nextUntil(START_SI) != null) {
+                final String text = _reader.readStringContent();
+                _appendString(text != null ? text : "");
+            }
+        }
+        close();
+        return new Frozen(_data, _offsets, _lengths, _size);
+    }
+
+    private void _scanItem() {
+        if (!_scanner.nextStartElement(STRING_ITEM)) {
+            throw new IllegalStateException("Shared string table has fewer than " + (_size + 1) + " items");
+        }
+        _appendScannedItem();
+    }
+
+    private void _appendScannedItem() {
+        _scanner.readStringContent();
+        final int len = _scanner.textLength();
+        _ensureDataCapacity(len);
+        _ensureIndexCapacity();
+        System.arraycopy(_scanner.text(), 0, _data, _dataPos, len);
+        _offsets[_size] = _dataPos;
+        _lengths[_size] = len;
+        _dataPos += len;
+        _size++;
     }
 
     private void _appendString(final String value) {
@@ -76,6 +170,62 @@ final class InMemorySharedStringsLookup implements SharedStringsLookup {
 
     @Override
     public void close() {
-        _reader.close();
+        if (_scanner != null) {
+            _scanner.close();
+        } else {
+            _reader.close();
+        }
+    }
+
+    /**
+     * Fully loaded table; read-only, so lookups need no synchronization.
+     * Item {@code String}s are not cached; a parser interns them itself.
+     */
+    private static final class Frozen implements SharedStringsLookup {
+
+        private final char[] _data;
+        private final int[] _offsets;
+        private final int[] _lengths;
+        private final int _size;
+
+        Frozen(final char[] data, final int[] offsets, final int[] lengths, final int size) {
+            _data = data;
+            _offsets = offsets;
+            _lengths = lengths;
+            _size = size;
+        }
+
+        @Override
+        public String getItemAt(final int idx) {
+            _check(idx);
+            return new String(_data, _offsets[idx], _lengths[idx]);
+        }
+
+        @Override
+        public char[] getItemChars(final int idx) {
+            _check(idx);
+            return _data;
+        }
+
+        @Override
+        public int getItemOffset(final int idx) {
+            return _offsets[idx];
+        }
+
+        @Override
+        public int getItemLength(final int idx) {
+            return _lengths[idx];
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+        private void _check(final int idx) {
+            if (idx >= _size) {
+                throw new IllegalStateException("Shared string table has fewer than " + (idx + 1) + " items");
+            }
+        }
     }
 }
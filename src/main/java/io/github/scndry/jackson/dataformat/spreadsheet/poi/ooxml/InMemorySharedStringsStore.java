@@ -85,6 +85,11 @@ final class InMemorySharedStringsStore implements SharedStringsStore {
         return _data[_offsets[index] + offset];
     }
 
+    @Override
+    public void getChars(final int index, final char[] dst, final int dstBegin) {
+        System.arraycopy(_data, _offsets[index], dst, dstBegin, _lengths[index]);
+    }
+
     @Override
     public void close() {
         // no-op
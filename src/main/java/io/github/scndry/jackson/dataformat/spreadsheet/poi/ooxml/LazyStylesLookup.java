@@ -1,6 +1,7 @@
 package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -36,6 +37,21 @@ final class LazyStylesLookup implements StylesLookup {
         _stylesPart = stylesPart;
     }
 
+    /** Parses {@code styles.xml} from {@code in} now, without closing it. */
+    LazyStylesLookup(final InputStream in) {
+        _stylesPart = null;
+        _parse(in);
+    }
+
+    /**
+     * Parses {@code styles.xml} now; lookups afterwards only read and may be
+     * shared between threads.
+     */
+    LazyStylesLookup loaded() {
+        _init();
+        return this;
+    }
+
     @Override
     public int getNumFmtId(final int xfIdx) {
         _init();
@@ -52,9 +68,17 @@ final class LazyStylesLookup implements StylesLookup {
 
     private void _init() {
         if (_initialized) return;
+        try (InputStream in = _stylesPart.getInputStream()) {
+            _parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void _parse(final InputStream in) {
         final List<Integer> xfNumFmtIds = new ArrayList<>();
         final Map<Integer, String> userFormats = new HashMap<>();
-        try (XmlElementReader reader = new XmlElementReader(_stylesPart.getInputStream())) {
+        try (XmlElementReader reader = new XmlElementReader(in)) {
             reader.navigateTo(SpreadsheetML.STYLE_SHEET);
             while (true) {
                 final Matcher hit = reader.nextUntil(START_NUM_FMTS, START_CELL_XFS, END_STYLE_SHEET);
@@ -65,8 +89,6 @@ final class LazyStylesLookup implements StylesLookup {
                     _collectCellXfs(reader, xfNumFmtIds);
                 }
             }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
         }
         _xfNumFmtId = new int[xfNumFmtIds.size()];
         for (int i = 0; i < _xfNumFmtId.length; i++) {
@@ -0,0 +1,170 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.math.BigDecimal;
+
+/**
+ * Reusable decoder for the text of a numeric {@code <v>} element
+ * ({@code xsd:double} lexical form) held in a {@code char[]} slice.
+ * <p>
+ * Values with at most 18 significant digits are decoded into an exact
+ * {@code unscaled × 10^-scale} pair without creating a {@code String}.
+ * Those are also converted to {@code double} exactly when both parts fit
+ * the range where a single IEEE multiplication or division is correctly
+ * rounded; everything else is left to {@link Double#parseDouble(String)}.
+ *
+ * @see SSMLCellValue#of
+ * @see ReusableCellValue
+ */
+final class NumberText {
+
+    static final int MAX_DIGITS = 18;
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_EXACT_POWER = 22;
+    private static final int MAX_EXPONENT = 999;
+
+    private static final long[] LONG_POWERS = new long[MAX_DIGITS + 1];
+    private static final double[] DOUBLE_POWERS = new double[MAX_EXACT_POWER + 1];
+
+    static {
+        long l = 1;
+        for (int i = 0; i <= MAX_DIGITS; i++) {
+            LONG_POWERS[i] = l;
+            l *= 10;
+        }
+        double d = 1;
+        for (int i = 0; i <= MAX_EXACT_POWER; i++) {
+            DOUBLE_POWERS[i] = d;
+            d *= 10;
+        }
+    }
+
+    private long _unscaled;
+    private int _scale;
+    private boolean _canonical;
+
+    /**
+     * Decodes {@code buf[0, len)}. Returns {@code false} when the text is not
+     * a plain decimal literal with at most {@value #MAX_DIGITS} significant
+     * digits (including negative zero, whose sign only {@code double} keeps);
+     * the accessors are undefined in that case.
+     */
+    boolean parse(final char[] buf, final int len) {
+        int i = 0;
+        boolean negative = false;
+        boolean signed = false;
+        if (len > 0 && (buf[0] == '-' || buf[0] == '+')) {
+            negative = buf[0] == '-';
+            signed = !negative;
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        final int intStart = i;
+        char c;
+        while (i < len && (c = buf[i]) >= '0' && c <= '9') {
+            if (digits > 0 || c != '0') {
+                if (++digits > MAX_DIGITS) return false;
+                unscaled = unscaled * 10 + (c - '0');
+            }
+            i++;
+        }
+        final int intDigits = i - intStart;
+        int fracDigits = 0;
+        boolean point = false;
+        if (i < len && buf[i] == '.') {
+            point = true;
+            final int fracStart = ++i;
+            while (i < len && (c = buf[i]) >= '0' && c <= '9') {
+                if (digits > 0 || c != '0') {
+                    if (++digits > MAX_DIGITS) return false;
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                i++;
+            }
+            fracDigits = i - fracStart;
+        }
+        if (intDigits + fracDigits == 0) return false;
+        int exponent = 0;
+        boolean hasExponent = false;
+        if (i < len && (buf[i] == 'e' || buf[i] == 'E')) {
+            hasExponent = true;
+            i++;
+            boolean negativeExponent = false;
+            if (i < len && (buf[i] == '-' || buf[i] == '+')) {
+                negativeExponent = buf[i] == '-';
+                i++;
+            }
+            final int expStart = i;
+            while (i < len && (c = buf[i]) >= '0' && c <= '9') {
+                exponent = exponent * 10 + (c - '0');
+                if (exponent > MAX_EXPONENT) return false;
+                i++;
+            }
+            if (i == expStart) return false;
+            if (negativeExponent) exponent = -exponent;
+        }
+        if (i != len) return false;
+        if (negative && unscaled == 0) return false;
+        _unscaled = negative ? -unscaled : unscaled;
+        _scale = fracDigits - exponent;
+        // Canonical text is exactly what BigDecimal#toPlainString rebuilds from the pair
+        _canonical = !signed && !hasExponent
+                && intDigits > 0 && !(intDigits > 1 && buf[intStart] == '0')
+                && !(point && fracDigits == 0);
+        return true;
+    }
+
+    long unscaled() {
+        return _unscaled;
+    }
+
+    int scale() {
+        return _scale;
+    }
+
+    /**
+     * Whether the parsed text can be rebuilt from {@link #unscaled()} and
+     * {@link #scale()} (no sign prefix, exponent or redundant zeros), so the
+     * caller need not keep it.
+     */
+    boolean isCanonical() {
+        return _canonical;
+    }
+
+    /** Whether {@link #doubleValue()} is exact for the parsed pair. */
+    boolean isExactDouble() {
+        return Math.abs(_unscaled) <= MAX_EXACT_MANTISSA
+                && _scale >= -MAX_EXACT_POWER && _scale <= MAX_EXACT_POWER;
+    }
+
+    /** Correctly rounded value; only valid when {@link #isExactDouble()}. */
+    double doubleValue() {
+        final double mantissa = (double) _unscaled;
+        return _scale >= 0
+                ? mantissa / DOUBLE_POWERS[_scale]
+                : mantissa * DOUBLE_POWERS[-_scale];
+    }
+
+    // --- Accessors over a decoded (unscaled, scale) pair ---
+
+    /** Truncated integral value, exact when the pair allows it. */
+    static long longValue(final long unscaled, final int scale, final double value) {
+        if (scale == 0) return unscaled;
+        if (scale > 0 && scale <= MAX_DIGITS) return unscaled / LONG_POWERS[scale];
+        return (long) value;
+    }
+
+    static boolean isIntegral(final long unscaled, final int scale, final double value) {
+        if (scale <= 0) return true;
+        if (scale <= MAX_DIGITS) return unscaled % LONG_POWERS[scale] == 0;
+        return value % 1 == 0;
+    }
+
+    /** Text of a pair decoded from a {@linkplain #isCanonical() canonical} literal. */
+    static String canonicalText(final long unscaled, final int scale) {
+        return scale == 0
+                ? Long.toString(unscaled)
+                : BigDecimal.valueOf(unscaled, scale).toPlainString();
+    }
+}
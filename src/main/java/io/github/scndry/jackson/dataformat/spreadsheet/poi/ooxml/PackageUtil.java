@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
@@ -37,6 +39,32 @@ public final class PackageUtil {
         }
     }
 
+    public static boolean isOOXML(final ByteBuffer source) {
+        final byte[] header = new byte[Math.min(8, source.remaining())];
+        source.duplicate().get(header);
+        return FileMagic.valueOf(header) == FileMagic.OOXML;
+    }
+
+    // Reads the first bytes of the channel; its position is restored
+    public static boolean isOOXML(final SeekableByteChannel source) {
+        final ByteBuffer header = ByteBuffer.allocate(8);
+        try {
+            final long position = source.position();
+            source.position(0);
+            try {
+                while (header.hasRemaining() && source.read(header) >= 0) {
+                    // until full or at the end of the channel
+                }
+            } finally {
+                source.position(position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        header.flip();
+        return isOOXML(header);
+    }
+
     public static OPCPackage open(final File source) {
         try {
             return OPCPackage.open(source, PackageAccess.READ);
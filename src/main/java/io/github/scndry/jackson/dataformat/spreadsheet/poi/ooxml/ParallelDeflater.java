@@ -0,0 +1,199 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * Raw DEFLATE compressor that splits its input into {@link #BLOCK_SIZE}
+ * blocks and deflates them concurrently on a pool of worker threads, in the
+ * manner of pigz.
+ * <p>
+ * Each block is deflated on its own with the last 32 KiB of the block before
+ * it as preset dictionary, so back-references reach across block boundaries
+ * as they would in a serial stream, and ends in a sync flush, which leaves it
+ * byte aligned; the last block of a stream ends in a final block instead. The
+ * compressed blocks are written in input order, so their concatenation is a
+ * single valid DEFLATE stream. At most two blocks per thread are in flight:
+ * a writer that runs ahead of the workers waits for the oldest block.
+ * <p>
+ * The worker pool is started with the first full block, so a stream shorter
+ * than one block is deflated on the calling thread alone. {@link #close()}
+ * stops the pool and releases the deflaters.
+ */
+final class ParallelDeflater implements Closeable {
+
+    static final int BLOCK_SIZE = 128 << 10;
+
+    private static final int DICTIONARY_SIZE = 32 << 10;
+    private static final int BLOCKS_PER_THREAD = 2;
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final int _level;
+    private final int _threads;
+    private final ConcurrentLinkedQueue<Deflater> _deflaters = new ConcurrentLinkedQueue<>();
+    private final Deque<Future<Compressed>> _pending = new ArrayDeque<>();
+    private ExecutorService _workers;
+
+    // Stream in progress
+    private OutputStream _out;
+    private byte[] _block;
+    private int _blockLength;
+    private byte[] _previous;
+
+    ParallelDeflater(final int level, final int threads) {
+        _level = level;
+        _threads = threads;
+    }
+
+    /** Starts a stream whose compressed blocks are written to {@code out}. */
+    void begin(final OutputStream out) {
+        _out = out;
+        _block = new byte[BLOCK_SIZE];
+        _blockLength = 0;
+        _previous = null;
+    }
+
+    void write(final byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            final int n = Math.min(len, BLOCK_SIZE - _blockLength);
+            System.arraycopy(b, off, _block, _blockLength, n);
+            _blockLength += n;
+            off += n;
+            len -= n;
+            if (_blockLength == BLOCK_SIZE) {
+                _submit();
+            }
+        }
+    }
+
+    /** Deflates the rest of the stream as its final block and writes out every block. */
+    void finish() throws IOException {
+        // The final block is deflated here while the workers finish theirs
+        final Compressed last = _deflate(_block, _blockLength, _previous, true);
+        while (!_pending.isEmpty()) {
+            _writeOldest();
+        }
+        _out.write(last._data, 0, last._length);
+        _out = null;
+        _block = null;
+        _previous = null;
+    }
+
+    @Override
+    public void close() {
+        for (final Future<Compressed> future : _pending) {
+            future.cancel(false);
+        }
+        _pending.clear();
+        if (_workers != null) {
+            _workers.shutdown();
+            _workers = null;
+        }
+        Deflater deflater;
+        while ((deflater = _deflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+
+    private void _submit() throws IOException {
+        if (_workers == null) {
+            _workers = Executors.newFixedThreadPool(_threads, _threadFactory());
+        }
+        while (_pending.size() >= _threads * BLOCKS_PER_THREAD) {
+            _writeOldest();
+        }
+        final byte[] block = _block;
+        final byte[] previous = _previous;
+        _pending.addLast(_workers.submit(() -> _deflate(block, BLOCK_SIZE, previous, false)));
+        _previous = block;
+        _block = new byte[BLOCK_SIZE];
+        _blockLength = 0;
+        while (!_pending.isEmpty() && _pending.peekFirst().isDone()) {
+            _writeOldest();
+        }
+    }
+
+    private void _writeOldest() throws IOException {
+        final Compressed compressed;
+        try {
+            compressed = _pending.peekFirst().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while deflating");
+        } catch (ExecutionException | CancellationException e) {
+            final Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Failed to deflate block", cause);
+        }
+        _pending.removeFirst();
+        _out.write(compressed._data, 0, compressed._length);
+    }
+
+    private Compressed _deflate(final byte[] block, final int length, final byte[] previous, final boolean last) {
+        Deflater deflater = _deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(_level, true);
+        }
+        try {
+            if (previous != null) {
+                deflater.setDictionary(previous, BLOCK_SIZE - DICTIONARY_SIZE, DICTIONARY_SIZE);
+            }
+            deflater.setInput(block, 0, length);
+            byte[] data = new byte[length / 2 + 64];
+            int size = 0;
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    if (size == data.length) data = Arrays.copyOf(data, data.length * 2);
+                    size += deflater.deflate(data, size, data.length - size);
+                }
+            } else {
+                // A sync flush is complete once it leaves room in the output
+                while (true) {
+                    if (size == data.length) data = Arrays.copyOf(data, data.length * 2);
+                    size += deflater.deflate(data, size, data.length - size, Deflater.SYNC_FLUSH);
+                    if (size < data.length) break;
+                }
+            }
+            return new Compressed(data, size);
+        } finally {
+            deflater.reset();
+            _deflaters.offer(deflater);
+        }
+    }
+
+    private static ThreadFactory _threadFactory() {
+        final int pool = POOL_SEQUENCE.incrementAndGet();
+        final AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            final Thread t = new Thread(r, "spreadsheet-deflate-" + pool + "-" + sequence.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static final class Compressed {
+
+        final byte[] _data;
+        final int _length;
+
+        Compressed(final byte[] data, final int length) {
+            _data = data;
+            _length = length;
+        }
+    }
+}
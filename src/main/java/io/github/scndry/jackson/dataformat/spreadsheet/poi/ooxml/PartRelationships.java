@@ -0,0 +1,120 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.XmlElementReader.Matcher;
+
+/**
+ * Internal relationships of one OPC part, parsed from its {@code .rels} part
+ * (ECMA-376 Part 2, §9.3), with targets resolved to ZIP entry names.
+ * <p>
+ * Used where parts are read straight from the archive rather than through
+ * POI's {@code OPCPackage}. External relationships are ignored.
+ */
+final class PartRelationships {
+
+    /** Relationships part of the package itself */
+    static final String PACKAGE_RELS = "_rels/.rels";
+
+    private static final String RELATIONSHIP = "Relationship";
+    private static final String ATTR_ID = "Id";
+    private static final String ATTR_TYPE = "Type";
+    private static final String ATTR_TARGET = "Target";
+    private static final String ATTR_TARGET_MODE = "TargetMode";
+    private static final String EXTERNAL = "External";
+
+    private static final Matcher START_RELATIONSHIP = Matcher.startElement(RELATIONSHIP);
+
+    private final List<String[]> _entries;
+
+    private PartRelationships(final List<String[]> entries) {
+        _entries = entries;
+    }
+
+    /**
+     * Parses the relationships of {@code sourceEntry} (the package itself for
+     * {@code ""}) from {@code in}, without closing it.
+     */
+    static PartRelationships parse(final InputStream in, final String sourceEntry) {
+        final List<String[]> entries = new ArrayList<>();
+        try (XmlElementReader reader = new XmlElementReader(in)) {
+            while (reader.nextUntil(START_RELATIONSHIP) != null) {
+                if (EXTERNAL.equals(reader.attribute(ATTR_TARGET_MODE))) continue;
+                entries.add(new String[] {
+                        reader.attribute(ATTR_ID),
+                        reader.attribute(ATTR_TYPE),
+                        resolve(sourceEntry, reader.attribute(ATTR_TARGET))});
+            }
+        }
+        return new PartRelationships(entries);
+    }
+
+    /** No relationships, for a part without a {@code .rels} part. */
+    static PartRelationships none() {
+        return new PartRelationships(Collections.emptyList());
+    }
+
+    /** Entry name of the target with relationship id {@code id}, or {@code null}. */
+    String targetById(final String id) {
+        for (final String[] e : _entries) {
+            if (e[0].equals(id)) return e[2];
+        }
+        return null;
+    }
+
+    /**
+     * Entry name of the target with relationship id {@code id} if it is of
+     * relationship {@code type}, given in its Transitional form and matched
+     * in either form; {@code null} otherwise.
+     */
+    String targetById(final String id, final String type) {
+        final String strict = OoxmlNamespace.toStrict(type);
+        for (final String[] e : _entries) {
+            if (e[0].equals(id)) return type.equals(e[1]) || strict.equals(e[1]) ? e[2] : null;
+        }
+        return null;
+    }
+
+    /**
+     * Entry name of the first target of relationship {@code type}, given in
+     * its Transitional form and matched in either form; {@code null} if none.
+     */
+    String targetByType(final String type) {
+        final String strict = OoxmlNamespace.toStrict(type);
+        for (final String[] e : _entries) {
+            if (type.equals(e[1]) || strict.equals(e[1])) return e[2];
+        }
+        return null;
+    }
+
+    /** Entry name of the relationships part of {@code entry}. */
+    static String relsEntry(final String entry) {
+        final int slash = entry.lastIndexOf('/');
+        return entry.substring(0, slash + 1) + "_rels/" + entry.substring(slash + 1) + ".rels";
+    }
+
+    /**
+     * Resolves {@code target}, relative to the folder of {@code sourceEntry}
+     * unless absolute, into a normalized entry name without a leading slash.
+     */
+    static String resolve(final String sourceEntry, final String target) {
+        final String path = target.startsWith("/")
+                ? target
+                : sourceEntry.substring(0, sourceEntry.lastIndexOf('/') + 1) + target;
+        final Deque<String> segments = new ArrayDeque<>();
+        for (final String segment : path.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) continue;
+            if ("..".equals(segment)) {
+                segments.pollLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+}
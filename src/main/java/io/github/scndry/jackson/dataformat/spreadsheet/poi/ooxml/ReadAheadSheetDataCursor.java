@@ -0,0 +1,317 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+
+/**
+ * {@link SheetDataCursor} that runs another cursor on a background thread,
+ * so that inflating and tokenizing the worksheet overlaps with binding on
+ * the reading thread.
+ * <p>
+ * The producer thread copies rows and cells into a fixed ring of
+ * {@link CellBatch}es — parallel primitive arrays of row, column, type and
+ * style plus a character slab for values. A full ring blocks the producer
+ * until the reader hands a batch back. Values are copied out of a batch on
+ * {@link #collectCell()}, so the batch can be recycled as soon as the cursor
+ * moves past it.
+ * <p>
+ * A failure on the producer thread is rethrown by the reader when it reaches
+ * the point of failure. {@link #close()} asks the producer to stop and hands
+ * back every batch until it has published its last one, then waits for it
+ * to close the underlying cursor. The producer is never interrupted, since
+ * that would close an interruptible channel the source reads from, and with
+ * it a channel the caller still owns.
+ */
+final class ReadAheadSheetDataCursor implements SheetDataCursor {
+
+    static final int RING_SIZE = 4;
+    static final int BATCH_CELLS = 4096;
+
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+    private static final STCellType[] CELL_TYPES = STCellType.values();
+    private static final STCellFormulaType[] FORMULA_TYPES = STCellFormulaType.values();
+
+    private final BlockingQueue<CellBatch> _free;
+    private final BlockingQueue<CellBatch> _full;
+    private final Thread _producer;
+    private final CellRangeAddress _dimension;
+    private final CTCell _cell = new CTCell();
+    private char[] _value = new char[64];
+    private CellBatch _batch;
+    private int _pos;
+    private int _cellPos = -1;
+    private int _rowIndex = -1;
+    private boolean _closed;
+    private volatile boolean _stopped;
+
+    ReadAheadSheetDataCursor(final SheetDataCursor source) {
+        this(source, RING_SIZE, BATCH_CELLS);
+    }
+
+    ReadAheadSheetDataCursor(final SheetDataCursor source, final int ringSize, final int batchCells) {
+        // Read on open by the source, before the producer takes it over
+        _dimension = source.getDimension();
+        _free = new ArrayBlockingQueue<>(ringSize);
+        _full = new ArrayBlockingQueue<>(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            _free.add(new CellBatch(batchCells));
+        }
+        _producer = new Thread(() -> _produce(source),
+                "spreadsheet-read-ahead-" + THREAD_SEQUENCE.incrementAndGet());
+        _producer.setDaemon(true);
+        _producer.start();
+    }
+
+    @Override
+    public CellRangeAddress getDimension() {
+        return _dimension;
+    }
+
+    @Override
+    public boolean nextRow() {
+        while (_available()) {
+            if (_batch.column[_pos] == CellBatch.ROW) {
+                _rowIndex = _batch.row[_pos++];
+                return true;
+            }
+            _pos++;
+        }
+        return false;
+    }
+
+    @Override
+    public int getRowIndex() {
+        return _rowIndex;
+    }
+
+    @Override
+    public boolean nextCell() {
+        if (!_available() || _batch.column[_pos] == CellBatch.ROW) return false;
+        _cellPos = _pos++;
+        return true;
+    }
+
+    @Override
+    public CTCell collectCell() {
+        final CellBatch b = _batch;
+        final int i = _cellPos;
+        final int len = b.valueLength[i];
+        if (len > _value.length) {
+            _value = new char[Math.max(len, _value.length * 2)];
+        }
+        if (len > 0) {
+            System.arraycopy(b.chars, b.valueOffset[i], _value, 0, len);
+        }
+        _cell.set(b.column[i], CELL_TYPES[b.type[i]], b.style[i],
+                len >= 0 ? _value : null, Math.max(len, 0),
+                b.formula[i] < 0 ? null : FORMULA_TYPES[b.formula[i]],
+                b.inline[i]);
+        return _cell;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return _closed;
+    }
+
+    @Override
+    public void close() {
+        if (_closed) return;
+        _closed = true;
+        _stopped = true;
+        boolean interrupted = false;
+        // Recycle batches so a producer waiting for one sees the stop
+        CellBatch batch = _batch;
+        _batch = null;
+        while (batch == null || !batch.last) {
+            if (batch != null) {
+                batch.clear();
+                _free.add(batch);
+            }
+            try {
+                batch = _full.take();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                batch = null;
+            }
+        }
+        while (_producer.isAlive()) {
+            try {
+                _producer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // ---------------------------------------------------------------
+    // Reader side
+    // ---------------------------------------------------------------
+
+    // Ensures _batch has an entry at _pos; false once the last batch is drained
+    private boolean _available() {
+        if (_closed) return false;
+        while (_batch == null || _pos >= _batch.size) {
+            if (_batch != null) {
+                if (_batch.last) {
+                    if (_batch.failure != null) _rethrow(_batch.failure);
+                    return false;
+                }
+                _batch.clear();
+                _free.add(_batch);
+                _batch = null;
+            }
+            try {
+                _batch = _full.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for worksheet rows", e);
+            }
+            _pos = 0;
+        }
+        return true;
+    }
+
+    private static void _rethrow(final Throwable failure) {
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        throw new IllegalStateException(failure);
+    }
+
+    // ---------------------------------------------------------------
+    // Producer side
+    // ---------------------------------------------------------------
+
+    // Always ends by publishing a last batch; the ring holds every batch, so
+    // that never blocks
+    private void _produce(final SheetDataCursor source) {
+        CellBatch batch = null;
+        try {
+            batch = _takeFree();
+            rows:
+            while (!_stopped && source.nextRow()) {
+                if (batch.isFull()) {
+                    batch = _publish(batch);
+                    if (_stopped) break;
+                }
+                batch.addRow(source.getRowIndex());
+                while (source.nextCell()) {
+                    if (batch.isFull()) {
+                        batch = _publish(batch);
+                        if (_stopped) break rows;
+                    }
+                    batch.addCell(source.collectCell());
+                }
+            }
+            batch.last = true;
+            _full.add(batch);
+        } catch (Throwable t) {
+            if (batch != null) {
+                batch.failure = t;
+                batch.last = true;
+                _full.add(batch);
+            }
+        } finally {
+            source.close();
+        }
+    }
+
+    private CellBatch _publish(final CellBatch batch) {
+        _full.add(batch);
+        return _takeFree();
+    }
+
+    // The producer only stops on close(); an interrupt is restored, not acted on
+    private CellBatch _takeFree() {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return _free.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Rows and cells in document order. An entry whose column is {@link #ROW}
+     * starts a row; the others are cells of the latest row.
+     */
+    static final class CellBatch {
+
+        static final int ROW = Integer.MIN_VALUE;
+
+        final int[] row;
+        final int[] column;
+        final byte[] type;
+        final int[] style;
+        final byte[] formula;
+        // Offset into chars, and length or -1 without <v>
+        final int[] valueOffset;
+        final int[] valueLength;
+        final String[] inline;
+        char[] chars = new char[1024];
+        int charCount;
+        int size;
+        boolean last;
+        Throwable failure;
+
+        CellBatch(final int capacity) {
+            row = new int[capacity];
+            column = new int[capacity];
+            type = new byte[capacity];
+            style = new int[capacity];
+            formula = new byte[capacity];
+            valueOffset = new int[capacity];
+            valueLength = new int[capacity];
+            inline = new String[capacity];
+        }
+
+        boolean isFull() {
+            return size == row.length;
+        }
+
+        void addRow(final int rowIndex) {
+            row[size] = rowIndex;
+            column[size] = ROW;
+            size++;
+        }
+
+        void addCell(final CTCell cell) {
+            final int i = size;
+            column[i] = cell.getColumn();
+            type[i] = (byte) cell.getT().ordinal();
+            style[i] = cell.getS();
+            formula[i] = cell.getFt() == null ? -1 : (byte) cell.getFt().ordinal();
+            inline[i] = cell.getIs();
+            if (cell.hasV()) {
+                final int len = cell.getVLength();
+                if (charCount + len > chars.length) {
+                    chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + len));
+                }
+                System.arraycopy(cell.getVChars(), 0, chars, charCount, len);
+                valueOffset[i] = charCount;
+                valueLength[i] = len;
+                charCount += len;
+            } else {
+                valueLength[i] = -1;
+            }
+            size = i + 1;
+        }
+
+        void clear() {
+            Arrays.fill(inline, 0, size, null);
+            size = 0;
+            charCount = 0;
+        }
+    }
+}
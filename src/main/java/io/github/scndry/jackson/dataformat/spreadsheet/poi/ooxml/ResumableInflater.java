@@ -0,0 +1,428 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Raw DEFLATE decoder (RFC 1951) that can report and resume at block
+ * boundaries, in the manner of zlib's {@code zran} example.
+ * <p>
+ * {@link java.util.zip.Inflater} can neither stop at a block boundary nor
+ * be primed with a bit offset and a window, so this decoder does both in
+ * Java: at the start of each block it tells the {@link BlockListener} the
+ * absolute bit position in the compressed data and the number of bytes
+ * inflated so far, and {@link #window()} returns the preceding 32 KiB of
+ * output. Decoding can later restart at that block from those three values
+ * alone, through {@link #ResumableInflater(InputStream, int, byte[], long)},
+ * without inflating anything before it.
+ * <p>
+ * Huffman codes are decoded through a single table indexed by the next
+ * bits of input; literals and matches go through a circular window. Not
+ * thread-safe.
+ *
+ * @see SheetRowIndex
+ */
+final class ResumableInflater extends InputStream {
+
+    /** Size of the DEFLATE window; also the most history a checkpoint needs. */
+    static final int WINDOW_SIZE = 1 << 15;
+
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+    private static final int READ_SIZE = 64 * 1024;
+
+    private static final int STATE_HEADER = 0;
+    private static final int STATE_STORED = 1;
+    private static final int STATE_CODES = 2;
+    private static final int STATE_DONE = 3;
+
+    private static final int END_OF_BLOCK = 256;
+    private static final int[] LENGTH_BASE = {
+            3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31,
+            35, 43, 51, 59, 67, 83, 99, 115, 131, 163, 195, 227, 258};
+    private static final int[] LENGTH_EXTRA = {
+            0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2,
+            3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0};
+    private static final int[] DISTANCE_BASE = {
+            1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193,
+            257, 385, 513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577};
+    private static final int[] DISTANCE_EXTRA = {
+            0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6,
+            7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12, 13, 13};
+    // Order of the code length code lengths in a dynamic block header
+    private static final int[] CODE_LENGTH_ORDER = {
+            16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+
+    private static final Huffman FIXED_LITERALS;
+    private static final Huffman FIXED_DISTANCES;
+
+    static {
+        final int[] lengths = new int[288 + 30];
+        for (int i = 0; i < 144; i++) lengths[i] = 8;
+        for (int i = 144; i < 256; i++) lengths[i] = 9;
+        for (int i = 256; i < 280; i++) lengths[i] = 7;
+        for (int i = 280; i < 288; i++) lengths[i] = 8;
+        for (int i = 288; i < lengths.length; i++) lengths[i] = 5;
+        try {
+            FIXED_LITERALS = Huffman.build(lengths, 0, 288);
+            FIXED_DISTANCES = Huffman.build(lengths, 288, 30);
+        } catch (ZipException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Notified at the start of every block, before its header is read. */
+    interface BlockListener {
+
+        /**
+         * @param bitPosition bits of compressed input consumed before the block,
+         *                    counted from the start of the decoder's stream
+         * @param out         bytes inflated before the block
+         */
+        void blockStart(long bitPosition, long out) throws IOException;
+    }
+
+    private final InputStream _in;
+    private final byte[] _inBuf = new byte[READ_SIZE];
+    private int _inPos;
+    private int _inLimit;
+    // Compressed bytes consumed before _inBuf[0]
+    private long _inBase;
+    private long _bitBuf;
+    private int _bitCount;
+    private int _skipBits;
+
+    private final byte[] _window = new byte[WINDOW_SIZE];
+    private int _windowPos;
+    private long _out;
+
+    private int _state = STATE_HEADER;
+    private boolean _lastBlock;
+    private int _storedLeft;
+    private Huffman _literals;
+    private Huffman _distances;
+    // Match not yet copied out in full
+    private int _copyLength;
+    private int _copyDistance;
+    private BlockListener _listener;
+
+    /** Decoder over raw DEFLATE data from its first byte. */
+    ResumableInflater(final InputStream in) {
+        _in = in;
+    }
+
+    /**
+     * Decoder resuming at a block boundary. {@code in} starts at the byte
+     * holding the first bit of the block, of which {@code bitOffset} low
+     * bits belong to the previous block; {@code window} holds the output
+     * preceding the block, up to {@link #WINDOW_SIZE} bytes, and
+     * {@code out} its total length, so that {@link #getBytesWritten()}
+     * continues from there.
+     */
+    ResumableInflater(final InputStream in, final int bitOffset, final byte[] window, final long out) {
+        if (bitOffset < 0 || bitOffset > 7 || window.length > WINDOW_SIZE) {
+            throw new IllegalArgumentException("Invalid resume point");
+        }
+        _in = in;
+        _skipBits = bitOffset;
+        System.arraycopy(window, 0, _window, 0, window.length);
+        _windowPos = window.length & WINDOW_MASK;
+        _out = out;
+    }
+
+    void setBlockListener(final BlockListener listener) {
+        _listener = listener;
+    }
+
+    /** Total bytes inflated, including any before the resume point. */
+    long getBytesWritten() {
+        return _out;
+    }
+
+    /** The last {@link #WINDOW_SIZE} bytes inflated, or all of them if fewer. */
+    byte[] window() {
+        final int length = (int) Math.min(_out, WINDOW_SIZE);
+        final byte[] window = new byte[length];
+        final int start = (_windowPos - length) & WINDOW_MASK;
+        final int first = Math.min(length, WINDOW_SIZE - start);
+        System.arraycopy(_window, start, window, 0, first);
+        System.arraycopy(_window, 0, window, first, length - first);
+        return window;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) return 0;
+        if (_skipBits > 0) {
+            _bits(_skipBits);
+            _skipBits = 0;
+        }
+        int n = 0;
+        while (n < len) {
+            if (_copyLength > 0) {
+                n += _copy(b, off + n, len - n);
+                continue;
+            }
+            switch (_state) {
+                case STATE_HEADER:
+                    if (_lastBlock) {
+                        _state = STATE_DONE;
+                        break;
+                    }
+                    _blockHeader();
+                    break;
+                case STATE_STORED:
+                    if (_storedLeft == 0) {
+                        _state = STATE_HEADER;
+                        break;
+                    }
+                    b[off + n++] = _emit((byte) _bits(8));
+                    _storedLeft--;
+                    break;
+                case STATE_CODES:
+                    n += _codes(b, off + n, len - n);
+                    break;
+                default:
+                    return n == 0 ? -1 : n;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        _in.close();
+    }
+
+    // ---------------------------------------------------------------
+    // Blocks
+    // ---------------------------------------------------------------
+
+    private void _blockHeader() throws IOException {
+        if (_listener != null) {
+            _listener.blockStart((_inBase + _inPos) * 8 - _bitCount, _out);
+        }
+        _lastBlock = _bits(1) == 1;
+        switch (_bits(2)) {
+            case 0:
+                _bits(_bitCount & 7);
+                final int length = _bits(16);
+                if ((length ^ 0xFFFF) != _bits(16)) {
+                    throw new ZipException("Invalid stored block length");
+                }
+                _storedLeft = length;
+                _state = STATE_STORED;
+                break;
+            case 1:
+                _literals = FIXED_LITERALS;
+                _distances = FIXED_DISTANCES;
+                _state = STATE_CODES;
+                break;
+            case 2:
+                _dynamicTables();
+                _state = STATE_CODES;
+                break;
+            default:
+                throw new ZipException("Invalid block type");
+        }
+    }
+
+    private void _dynamicTables() throws IOException {
+        final int literals = _bits(5) + 257;
+        final int distances = _bits(5) + 1;
+        final int codeLengths = _bits(4) + 4;
+        if (literals > 286 || distances > 30) {
+            throw new ZipException("Too many length or distance symbols");
+        }
+        final int[] lengths = new int[literals + distances];
+        final int[] codeLengthLengths = new int[CODE_LENGTH_ORDER.length];
+        for (int i = 0; i < codeLengths; i++) {
+            codeLengthLengths[CODE_LENGTH_ORDER[i]] = _bits(3);
+        }
+        final Huffman lengthCodes = Huffman.build(codeLengthLengths, 0, codeLengthLengths.length);
+        int i = 0;
+        while (i < lengths.length) {
+            final int symbol = _decode(lengthCodes);
+            if (symbol < 16) {
+                lengths[i++] = symbol;
+                continue;
+            }
+            final int value;
+            final int repeat;
+            if (symbol == 16) {
+                if (i == 0) throw new ZipException("Invalid bit length repeat");
+                value = lengths[i - 1];
+                repeat = 3 + _bits(2);
+            } else if (symbol == 17) {
+                value = 0;
+                repeat = 3 + _bits(3);
+            } else {
+                value = 0;
+                repeat = 11 + _bits(7);
+            }
+            if (i + repeat > lengths.length) throw new ZipException("Invalid bit length repeat");
+            for (int k = 0; k < repeat; k++) {
+                lengths[i++] = value;
+            }
+        }
+        if (lengths[END_OF_BLOCK] == 0) {
+            throw new ZipException("Missing end-of-block code");
+        }
+        _literals = Huffman.build(lengths, 0, literals);
+        _distances = Huffman.build(lengths, literals, distances);
+    }
+
+    // Decodes symbols of a compressed block into b until it is full or the block ends
+    private int _codes(final byte[] b, final int off, final int len) throws IOException {
+        int n = 0;
+        while (n < len) {
+            final int symbol = _decode(_literals);
+            if (symbol < END_OF_BLOCK) {
+                b[off + n++] = _emit((byte) symbol);
+                continue;
+            }
+            if (symbol == END_OF_BLOCK) {
+                _state = STATE_HEADER;
+                return n;
+            }
+            final int lengthCode = symbol - 257;
+            if (lengthCode >= LENGTH_BASE.length) throw new ZipException("Invalid literal/length code");
+            final int length = LENGTH_BASE[lengthCode] + _bits(LENGTH_EXTRA[lengthCode]);
+            final int distanceCode = _decode(_distances);
+            if (distanceCode >= DISTANCE_BASE.length) throw new ZipException("Invalid distance code");
+            final int distance = DISTANCE_BASE[distanceCode] + _bits(DISTANCE_EXTRA[distanceCode]);
+            if (distance > Math.min(_out, WINDOW_SIZE)) {
+                throw new ZipException("Invalid distance too far back");
+            }
+            _copyLength = length;
+            _copyDistance = distance;
+            n += _copy(b, off + n, len - n);
+        }
+        return n;
+    }
+
+    private int _copy(final byte[] b, final int off, final int len) {
+        final int n = Math.min(_copyLength, len);
+        for (int i = 0; i < n; i++) {
+            b[off + i] = _emit(_window[(_windowPos - _copyDistance) & WINDOW_MASK]);
+        }
+        _copyLength -= n;
+        return n;
+    }
+
+    private byte _emit(final byte value) {
+        _window[_windowPos] = value;
+        _windowPos = (_windowPos + 1) & WINDOW_MASK;
+        _out++;
+        return value;
+    }
+
+    // ---------------------------------------------------------------
+    // Bits
+    // ---------------------------------------------------------------
+
+    private int _bits(final int n) throws IOException {
+        if (n == 0) return 0;
+        if (_bitCount < n && !_fill(n)) throw _truncated();
+        final int value = (int) (_bitBuf & ((1L << n) - 1));
+        _bitBuf >>>= n;
+        _bitCount -= n;
+        return value;
+    }
+
+    private int _decode(final Huffman code) throws IOException {
+        if (_bitCount < code.bits) {
+            // Near the end of input the last code may be shorter than the table width
+            _fill(code.bits);
+        }
+        final int entry = code.table[(int) (_bitBuf & ((1L << code.bits) - 1))];
+        final int length = entry & 0xF;
+        if (length == 0) throw new ZipException("Invalid Huffman code");
+        if (length > _bitCount) throw _truncated();
+        _bitBuf >>>= length;
+        _bitCount -= length;
+        return entry >>> 4;
+    }
+
+    // Tops the bit buffer up to at least n bits; false if input ends first
+    private boolean _fill(final int n) throws IOException {
+        while (_bitCount < n) {
+            if (_inPos == _inLimit) {
+                _inBase += _inLimit;
+                _inPos = 0;
+                _inLimit = 0;
+                final int read = _in.read(_inBuf, 0, _inBuf.length);
+                if (read <= 0) return false;
+                _inLimit = read;
+            }
+            while (_bitCount <= 56 && _inPos < _inLimit) {
+                _bitBuf |= (long) (_inBuf[_inPos++] & 0xFF) << _bitCount;
+                _bitCount += 8;
+            }
+        }
+        return true;
+    }
+
+    private static EOFException _truncated() {
+        return new EOFException("Unexpected end of DEFLATE data");
+    }
+
+    /**
+     * Canonical Huffman code as one lookup table indexed by the next
+     * {@link #bits} of input, low bit first. Each entry holds the symbol
+     * shifted left by four over the code length; a zero length marks a bit
+     * pattern no code starts with.
+     */
+    private static final class Huffman {
+
+        final int[] table;
+        final int bits;
+
+        private Huffman(final int[] table, final int bits) {
+            this.table = table;
+            this.bits = bits;
+        }
+
+        static Huffman build(final int[] lengths, final int offset, final int count) throws ZipException {
+            final int[] perLength = new int[16];
+            int bits = 0;
+            for (int i = 0; i < count; i++) {
+                final int length = lengths[offset + i];
+                perLength[length]++;
+                bits = Math.max(bits, length);
+            }
+            if (bits == 0) {
+                // No codes at all, as for the distances of a literal-only block
+                return new Huffman(new int[2], 1);
+            }
+            int left = 1;
+            for (int length = 1; length < 16; length++) {
+                left = (left << 1) - perLength[length];
+                if (left < 0) throw new ZipException("Over-subscribed Huffman code");
+            }
+            final int[] next = new int[16];
+            int code = 0;
+            for (int length = 1; length < 16; length++) {
+                code = (code + (length == 1 ? 0 : perLength[length - 1])) << 1;
+                next[length] = code;
+            }
+            final int[] table = new int[1 << bits];
+            for (int symbol = 0; symbol < count; symbol++) {
+                final int length = lengths[offset + symbol];
+                if (length == 0) continue;
+                final int reversed = Integer.reverse(next[length]++) >>> (32 - length);
+                for (int i = reversed; i < table.length; i += 1 << length) {
+                    table[i] = symbol << 4 | length;
+                }
+            }
+            return new Huffman(table, bits);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.math.BigDecimal;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.CellValue;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetReader;
+
+/**
+ * Mutable {@link CellValue} that {@link SSMLSheetReader} refills for every
+ * STRING and NUMERIC cell handed out through
+ * {@link SheetReader#getTransientCellValue()}.
+ * <p>
+ * A NUMERIC value references the reader's {@code <v>} buffer directly, so
+ * neither the raw text nor the formatted text is created unless asked for.
+ * A shared string exposes the lookup's character slab through
+ * {@link #getTextCharacters()} and fetches its {@code String} lazily.
+ * The instance is only valid until the reader advances.
+ *
+ * @see SSMLCellValue
+ */
+final class ReusableCellValue extends CellValue {
+
+    private final StylesLookup _styles;
+    private final DataFormatter _formatter;
+    private CellType _type = CellType.BLANK;
+    private String _text;
+    private double _numberValue;
+    private boolean _hasDecimal;
+    private long _unscaled;
+    private int _scale;
+    private char[] _chars;
+    private int _length;
+    private int _styleIndex;
+    private SharedStringsLookup _strings;
+    private int _stringIndex;
+    private char[] _stringChars;
+    private String _lazyText;
+    private boolean _computed;
+
+    ReusableCellValue(final StylesLookup styles, final DataFormatter formatter) {
+        super(0.0);
+        _styles = styles;
+        _formatter = formatter;
+    }
+
+    CellValue setString(final String text) {
+        _type = CellType.STRING;
+        _text = text;
+        _chars = null;
+        _stringChars = null;
+        return this;
+    }
+
+    /**
+     * Refills as STRING with shared string {@code idx}; the {@code String} is
+     * only requested from {@code strings} when {@link #getStringValue()} is
+     * called, and the lookup's buffer backs {@link #getTextCharacters()}.
+     */
+    CellValue setSharedString(final SharedStringsLookup strings, final int idx) {
+        _type = CellType.STRING;
+        _chars = null;
+        _strings = strings;
+        _stringIndex = idx;
+        _stringChars = strings.getItemChars(idx);
+        _text = _stringChars == null ? strings.getItemAt(idx) : null;
+        return this;
+    }
+
+    /**
+     * Refills as NUMERIC from {@code v[0, len)}, which must stay untouched
+     * until the next refill.
+     */
+    CellValue setNumber(final char[] v, final int len, final NumberText number, final int styleIndex) {
+        _type = CellType.NUMERIC;
+        _text = null;
+        _stringChars = null;
+        _chars = v;
+        _length = len;
+        _styleIndex = styleIndex;
+        _lazyText = null;
+        _computed = false;
+        _hasDecimal = number.parse(v, len);
+        if (_hasDecimal) {
+            _unscaled = number.unscaled();
+            _scale = number.scale();
+            _numberValue = number.isExactDouble()
+                    ? number.doubleValue()
+                    : Double.parseDouble(getRawText());
+        } else {
+            _numberValue = Double.parseDouble(getRawText());
+        }
+        return this;
+    }
+
+    @Override
+    public CellType getCellType() {
+        return _type;
+    }
+
+    @Override
+    public double getNumberValue() {
+        return _numberValue;
+    }
+
+    /** Never a BOOLEAN value, so not supported. */
+    @Override
+    public boolean getBooleanValue() {
+        throw new IllegalStateException("Not a BOOLEAN cell value: " + _type);
+    }
+
+    @Override
+    public String getStringValue() {
+        if (_type != CellType.NUMERIC) {
+            if (_text == null && _stringChars != null) {
+                _text = _strings.getItemAt(_stringIndex);
+            }
+            return _text;
+        }
+        if (!_computed) {
+            _lazyText = _formattedString();
+            _computed = true;
+        }
+        return _lazyText;
+    }
+
+    @Override
+    public String getRawText() {
+        if (_type != CellType.NUMERIC) return getStringValue();
+        if (_text == null && _chars != null) {
+            _text = new String(_chars, 0, _length);
+        }
+        return _text;
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return _stringChars != null;
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        return _stringChars;
+    }
+
+    @Override
+    public int getTextOffset() {
+        return _stringChars == null ? 0 : _strings.getItemOffset(_stringIndex);
+    }
+
+    @Override
+    public int getTextLength() {
+        return _stringChars == null ? 0 : _strings.getItemLength(_stringIndex);
+    }
+
+    @Override
+    public long getLongValue() {
+        if (_hasDecimal && _type == CellType.NUMERIC) {
+            return NumberText.longValue(_unscaled, _scale, _numberValue);
+        }
+        return super.getLongValue();
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() {
+        if (_hasDecimal && _type == CellType.NUMERIC) {
+            return BigDecimal.valueOf(_unscaled, _scale);
+        }
+        return super.getDecimalValue();
+    }
+
+    @Override
+    public boolean noFractionalPart() {
+        if (_hasDecimal && _type == CellType.NUMERIC) {
+            return NumberText.isIntegral(_unscaled, _scale, _numberValue);
+        }
+        return super.noFractionalPart();
+    }
+
+    @Override
+    public String formatAsString() {
+        return _type == CellType.NUMERIC
+                ? String.valueOf(_numberValue)
+                : '"' + getStringValue() + '"';
+    }
+
+    private String _formattedString() {
+        final int numFmtId = _styles.getNumFmtId(_styleIndex);
+        final String fmt = _styles.getFormatString(numFmtId);
+        if (fmt == null) return getRawText();
+        return _formatter.formatRawCellContents(_numberValue, numFmtId, fmt);
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
 
+import java.math.BigDecimal;
+
 import org.apache.poi.ss.usermodel.DataFormatter;
 
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.CellValue;
@@ -7,26 +9,77 @@ import io.github.scndry.jackson.dataformat.spreadsheet.deser.CellValue;
 /**
  * {@link CellValue} for SSML-mode NUMERIC cells that defers
  * {@link DataFormatter#formatRawCellContents} until {@link #getStringValue()}.
+ * <p>
+ * When created through {@link #of}, the {@code <v>} text is kept as an
+ * exact {@code unscaled × 10^-scale} pair so {@link #getLongValue()} and
+ * {@link #getDecimalValue()} avoid the {@code double} round-trip, and the
+ * raw text is only materialized when asked for.
  *
  * @see SSMLSheetReader
+ * @see NumberText
  */
 final class SSMLCellValue extends CellValue {
 
     private final int _styleIndex;
     private final StylesLookup _styles;
     private final DataFormatter _formatter;
+    private final boolean _hasDecimal;
+    private final long _unscaled;
+    private final int _scale;
+    private String _rawText;
     private String _lazyText;
     private boolean _computed;
 
     SSMLCellValue(final double numberValue, final String rawText,
                   final int styleIndex, final StylesLookup styles,
                   final DataFormatter formatter) {
-        super(numberValue, rawText);
+        super(numberValue);
+        _rawText = rawText;
+        _hasDecimal = false;
+        _unscaled = 0;
+        _scale = 0;
+        _styleIndex = styleIndex;
+        _styles = styles;
+        _formatter = formatter;
+    }
+
+    private SSMLCellValue(final double numberValue, final long unscaled, final int scale,
+                          final String rawText, final int styleIndex, final StylesLookup styles,
+                          final DataFormatter formatter) {
+        super(numberValue);
+        _rawText = rawText;
+        _hasDecimal = true;
+        _unscaled = unscaled;
+        _scale = scale;
         _styleIndex = styleIndex;
         _styles = styles;
         _formatter = formatter;
     }
 
+    /**
+     * Creates a value from the {@code <v>} text in {@code v[0, len)}, decoding
+     * it with the caller's reusable {@code number}. Falls back to
+     * {@link Double#parseDouble(String)} for text {@link NumberText} rejects.
+     */
+    static SSMLCellValue of(final char[] v, final int len, final NumberText number,
+                            final int styleIndex, final StylesLookup styles,
+                            final DataFormatter formatter) {
+        if (!number.parse(v, len)) {
+            final String text = new String(v, 0, len);
+            return new SSMLCellValue(Double.parseDouble(text), text, styleIndex, styles, formatter);
+        }
+        String text = number.isCanonical() ? null : new String(v, 0, len);
+        final double d;
+        if (number.isExactDouble()) {
+            d = number.doubleValue();
+        } else {
+            if (text == null) text = new String(v, 0, len);
+            d = Double.parseDouble(text);
+        }
+        return new SSMLCellValue(d, number.unscaled(), number.scale(), text,
+                styleIndex, styles, formatter);
+    }
+
     @Override
     public String getStringValue() {
         if (!_computed) {
@@ -38,13 +91,40 @@ final class SSMLCellValue extends CellValue {
 
     @Override
     public String getRawText() {
-        return _textValue();
+        if (_rawText == null && _hasDecimal) {
+            _rawText = NumberText.canonicalText(_unscaled, _scale);
+        }
+        return _rawText;
+    }
+
+    @Override
+    public long getLongValue() {
+        if (_hasDecimal) {
+            return NumberText.longValue(_unscaled, _scale, getNumberValue());
+        }
+        return super.getLongValue();
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() {
+        if (_hasDecimal) {
+            return BigDecimal.valueOf(_unscaled, _scale);
+        }
+        return super.getDecimalValue();
+    }
+
+    @Override
+    public boolean noFractionalPart() {
+        if (_hasDecimal) {
+            return NumberText.isIntegral(_unscaled, _scale, getNumberValue());
+        }
+        return super.noFractionalPart();
     }
 
     private String _formattedString() {
         final int numFmtId = _styles.getNumFmtId(_styleIndex);
         final String fmt = _styles.getFormatString(numFmtId);
-        if (fmt == null) return _textValue();
+        if (fmt == null) return getRawText();
         return _formatter.formatRawCellContents(
                 getNumberValue(),
                 numFmtId,
@@ -0,0 +1,85 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.IOException;
+
+import org.apache.poi.openxml4j.opc.PackagePart;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetReader;
+
+/**
+ * Splits one worksheet into independently readable row ranges.
+ * <p>
+ * The worksheet stream is cut at {@code <row>} boundaries by a
+ * {@link SheetDataSlicer}; each range is handed out as a {@link SheetReader}
+ * that tokenizes its bytes with the byte-level scanner and resolves values
+ * through the shared string table and styles of one {@link SSMLWorkbookReader}.
+ * {@link #next()} must be called from one thread at a time, but the readers it
+ * returns may each be consumed on a different thread.
+ *
+ * @see SSMLSheetReader
+ */
+public final class SSMLSheetChunks implements AutoCloseable {
+
+    /** Default uncompressed size of a range, in bytes. */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final SSMLWorkbookReader _workbook;
+    private final SheetDataSlicer _slicer;
+
+    private SSMLSheetChunks(final SSMLWorkbookReader workbook, final SheetDataSlicer slicer) {
+        _workbook = workbook;
+        _slicer = slicer;
+    }
+
+    /**
+     * Opens {@code worksheet} for chunked reading, or returns {@code null}
+     * when the worksheet XML cannot be sliced (see {@link SheetDataSlicer});
+     * the workbook is closed in that case. The first range holds the rows
+     * above {@code firstDataRow}.
+     *
+     * @param scanBytes parse the shared strings with the byte-level scanner;
+     *                  ranges always are
+     */
+    public static SSMLSheetChunks open(
+            final SSMLWorkbook workbook,
+            final PackagePart worksheet,
+            final boolean scanBytes,
+            final int firstDataRow,
+            final int chunkSize) throws IOException {
+        final SheetDataSlicer slicer;
+        try {
+            slicer = SheetDataSlicer.open(worksheet.getInputStream(), firstDataRow, chunkSize);
+            if (slicer == null) {
+                workbook.close();
+                return null;
+            }
+        } catch (IOException | RuntimeException e) {
+            workbook.close();
+            throw e;
+        }
+        try {
+            return new SSMLSheetChunks(SSMLWorkbookReader.open(workbook, scanBytes), slicer);
+        } catch (IOException | RuntimeException e) {
+            slicer.close();
+            throw e;
+        }
+    }
+
+    /** Returns a reader over the next range, or {@code null} after the last one. */
+    public SheetReader next() {
+        final SheetDataSlicer.Slice slice = _slicer.next();
+        if (slice == null) return null;
+        final SheetDataCursor cursor = new ByteSheetDataCursor(
+                new XmlByteScanner(slice.open()), slice.previousRow);
+        return _workbook.newReader(cursor);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            _slicer.close();
+        } finally {
+            _workbook.close();
+        }
+    }
+}
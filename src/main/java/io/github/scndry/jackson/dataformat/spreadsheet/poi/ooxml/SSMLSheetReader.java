@@ -1,5 +1,6 @@
 package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.NoSuchElementException;
@@ -11,34 +12,37 @@ import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.FormulaError;
 import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
 
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.CellValue;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SharedStringSheetReader;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetReader;
 import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetToken;
-import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.XmlElementReader.Matcher;
 
 /**
  * Streaming SpreadsheetML {@link SheetReader} implementation.
- * Parses worksheet XML via {@link XmlElementReader} and resolves shared strings without POI's User Model.
+ * Parses worksheet XML via a {@link SheetDataCursor} — StAX by default, or the
+ * byte-level {@link XmlByteScanner} when enabled — and resolves shared strings
+ * without POI's User Model.
  *
  * @see io.github.scndry.jackson.dataformat.spreadsheet.poi.ss.POISheetReader
  * @see XmlElementReader
+ * @see XmlByteScanner
  */
 @Slf4j
-public final class SSMLSheetReader implements SheetReader {
-
-    private static final Matcher START_SHEET_DATA = Matcher.startElement(SpreadsheetML.SHEET_DATA);
-    private static final Matcher START_ROW = Matcher.startElement(SpreadsheetML.ROW);
-    private static final Matcher END_ROW = Matcher.endElement(SpreadsheetML.ROW);
-    private static final Matcher START_CELL = Matcher.startElement(SpreadsheetML.CELL);
-    private static final Matcher END_SHEET_DATA = Matcher.endElement(SpreadsheetML.SHEET_DATA);
+public final class SSMLSheetReader implements SharedStringSheetReader {
 
     private final SharedStringsLookup _strings;
     private final StylesLookup _styles;
     private final DataFormatter _formatter = new DataFormatter();
-    private final XmlElementReader _reader;
+    private final NumberText _number = new NumberText();
+    private final ReusableCellValue _reusable;
+    private final SheetDataCursor _cursor;
+    private final boolean _date1904;
+    // Owned resources; null for a reader over shared parts (see SSMLSheetChunks)
     private final SSMLWorkbook _workbook;
     private final PackagePart _sheet;
+    private final Closeable _source;
     private SheetToken _next;
     private CTCell _cell;
     private int _rowIndex = -1;
@@ -49,8 +53,37 @@ public final class SSMLSheetReader implements SheetReader {
             final SSMLWorkbook workbook,
             final boolean fileBackedSharedStrings,
             final boolean encryptFileBacked) {
+        this(worksheetPart, workbook, fileBackedSharedStrings, encryptFileBacked, false);
+    }
+
+    /**
+     * @param scanBytes parse worksheet and shared strings XML with the byte-level
+     *                  {@link XmlByteScanner} instead of StAX
+     */
+    public SSMLSheetReader(
+            final PackagePart worksheetPart,
+            final SSMLWorkbook workbook,
+            final boolean fileBackedSharedStrings,
+            final boolean encryptFileBacked,
+            final boolean scanBytes) {
+        this(worksheetPart, workbook, fileBackedSharedStrings, encryptFileBacked, scanBytes, false);
+    }
+
+    /**
+     * @param readAhead inflate and tokenize the worksheet on a background
+     *                  thread ({@link ReadAheadSheetDataCursor}) while the
+     *                  caller binds
+     */
+    public SSMLSheetReader(
+            final PackagePart worksheetPart,
+            final SSMLWorkbook workbook,
+            final boolean fileBackedSharedStrings,
+            final boolean encryptFileBacked,
+            final boolean scanBytes,
+            final boolean readAhead) {
         _sheet = worksheetPart;
         _workbook = workbook;
+        _source = null;
         try {
             final PackagePart sharedStrings = _workbook.getSharedStringsPart();
             if (sharedStrings == null) {
@@ -58,17 +91,52 @@ public final class SSMLSheetReader implements SheetReader {
             } else if (fileBackedSharedStrings) {
                 _strings = new FileBackedSharedStringsLookup(sharedStrings, encryptFileBacked);
             } else {
-                _strings = new InMemorySharedStringsLookup(sharedStrings);
+                _strings = new InMemorySharedStringsLookup(sharedStrings, scanBytes);
             }
             final PackagePart stylesPart = _workbook.getStylesPart();
             _styles = stylesPart == null
                     ? BlankStylesLookup.INSTANCE
                     : new LazyStylesLookup(stylesPart);
-            _reader = new XmlElementReader(_sheet.getInputStream());
-            _reader.nextUntil(START_SHEET_DATA);
+            final SheetDataCursor cursor = SheetDataCursor.open(_sheet.getInputStream(), scanBytes);
+            _cursor = readAhead ? new ReadAheadSheetDataCursor(cursor) : cursor;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        _date1904 = _workbook.isDate1904();
+        _reusable = new ReusableCellValue(_styles, _formatter);
+        _next = SheetToken.SHEET_DATA_START;
+    }
+
+    /**
+     * Reader over {@code cursor} that resolves values through lookups it does
+     * not own; {@link #close()} only closes the cursor.
+     */
+    SSMLSheetReader(
+            final SheetDataCursor cursor,
+            final SharedStringsLookup strings,
+            final StylesLookup styles,
+            final boolean date1904) {
+        this(cursor, strings, styles, date1904, null);
+    }
+
+    /**
+     * As above, and also closes {@code source} after the cursor; used when
+     * the reader is the only user of the archive (see {@link ZipStreamSheets}).
+     */
+    SSMLSheetReader(
+            final SheetDataCursor cursor,
+            final SharedStringsLookup strings,
+            final StylesLookup styles,
+            final boolean date1904,
+            final Closeable source) {
+        _sheet = null;
+        _workbook = null;
+        _source = source;
+        _strings = strings;
+        _styles = styles;
+        _cursor = cursor;
+        _date1904 = date1904;
+        _reusable = new ReusableCellValue(_styles, _formatter);
         _next = SheetToken.SHEET_DATA_START;
     }
 
@@ -79,7 +147,7 @@ public final class SSMLSheetReader implements SheetReader {
 
     @Override
     public boolean isDate1904() {
-        return _workbook.isDate1904();
+        return _date1904;
     }
 
     @Override
@@ -89,31 +157,36 @@ public final class SSMLSheetReader implements SheetReader {
 
     @Override
     public CellValue getCellValue() {
-        if (_cell == null) return null;
-        final String value = _cell.getV();
+        return _cellValue(false);
+    }
 
-        switch (_cell.getT()) {
-            case BOOLEAN:
-                return CellValue.valueOf("1".equals(value));
-            case NUMBER:
-                if (value == null) return CellValue.BLANK;
-                if (_cell.getFt() == null || _cell.getFt() == STCellFormulaType.SHARED) {
-                    return new SSMLCellValue(
-                            Double.parseDouble(value), value, _cell.getS(), _styles, _formatter);
-                }
-                throw new UnsupportedOperationException("Unexpected formula type: " +
-                        _cell.getFt());
-            case ERROR:
-                return CellValue.getError(FormulaError.forString(value).getCode());
-            case SHARED_STRING:
-                return new CellValue(_strings.getItemAt(Integer.parseInt(value)));
-            case FORMULA_STRING:
-                return new CellValue(value);
-            case INLINE_STRING:
-                return _cell.getIs() != null ? new CellValue(_cell.getIs()) : new CellValue(value);
-            default:
-                throw new IllegalStateException();
-        }
+    @Override
+    public CellValue getTransientCellValue() {
+        return _cellValue(true);
+    }
+
+    @Override
+    public int getSharedStringIndex() {
+        return _cell != null && _cell.getT() == STCellType.SHARED_STRING ? _cell.getVAsIndex() : -1;
+    }
+
+    @Override
+    public CellValue getSharedStringValue(final int index) {
+        return new CellValue(_strings.getItemAt(index));
+    }
+
+    /** The last row of the worksheet's {@code <dimension>}. */
+    @Override
+    public int getEstimatedLastRow() {
+        final CellRangeAddress dimension = _cursor.getDimension();
+        return dimension == null ? -1 : dimension.getLastRow();
+    }
+
+    /** The column span of the worksheet's {@code <dimension>}. */
+    @Override
+    public int getEstimatedColumnCount() {
+        final CellRangeAddress dimension = _cursor.getDimension();
+        return dimension == null ? -1 : dimension.getLastColumn() - dimension.getFirstColumn() + 1;
     }
 
     @Override
@@ -128,23 +201,29 @@ public final class SSMLSheetReader implements SheetReader {
 
     @Override
     public boolean isClosed() {
-        return _reader.isClosed();
+        return _cursor.isClosed();
     }
 
     @Override
     public void close() throws IOException {
-        try {
-            _strings.close();
-        } catch (Exception e) {
-            throw new IOException("Failed to close shared strings", e);
+        // Cursor first: a read-ahead cursor may still be reading the package
+        _cursor.close();
+        if (_source != null) {
+            _source.close();
         }
-        _workbook.close();
-        try {
-            _sheet.close();
-        } catch (InvalidOperationException e) {
-            // PackagePart.close() throws if the package is already closed by _workbook.close()
+        if (_workbook != null) {
+            try {
+                _strings.close();
+            } catch (Exception e) {
+                throw new IOException("Failed to close shared strings", e);
+            }
+            _workbook.close();
+            try {
+                _sheet.close();
+            } catch (InvalidOperationException e) {
+                // PackagePart.close() throws if the package is already closed by _workbook.close()
+            }
         }
-        _reader.close();
     }
 
     @Override
@@ -158,25 +237,21 @@ public final class SSMLSheetReader implements SheetReader {
         final SheetToken token = _next;
         switch (token) {
             case SHEET_DATA_START:
-                _next = _matched(
-                        START_ROW,
-                        END_SHEET_DATA) ? SheetToken.ROW_START : SheetToken.SHEET_DATA_END;
+                _next = _cursor.nextRow() ? SheetToken.ROW_START : SheetToken.SHEET_DATA_END;
                 break;
             case ROW_START:
-                _rowIndex = _reader.intAttribute(SpreadsheetML.ATTR_REF) - 1;
-                _next = _matched(START_CELL, END_ROW) ? SheetToken.CELL_VALUE : SheetToken.ROW_END;
+                _rowIndex = _cursor.getRowIndex();
+                _next = _cursor.nextCell() ? SheetToken.CELL_VALUE : SheetToken.ROW_END;
                 break;
             case CELL_VALUE:
-                _cell = _reader.collectCell();
-                _columnIndex = _parseColumnFromRef(_cell.getR());
-                _next = _matched(START_CELL, END_ROW) ? SheetToken.CELL_VALUE : SheetToken.ROW_END;
+                _cell = _cursor.collectCell();
+                _columnIndex = _cell.getColumn();
+                _next = _cursor.nextCell() ? SheetToken.CELL_VALUE : SheetToken.ROW_END;
                 break;
             case ROW_END:
                 _cell = null;
                 _columnIndex = -1;
-                _next = _matched(
-                        START_ROW,
-                        END_SHEET_DATA) ? SheetToken.ROW_START : SheetToken.SHEET_DATA_END;
+                _next = _cursor.nextRow() ? SheetToken.ROW_START : SheetToken.SHEET_DATA_END;
                 break;
             case SHEET_DATA_END:
                 _next = null;
@@ -192,19 +267,38 @@ public final class SSMLSheetReader implements SheetReader {
         return token;
     }
 
-    private boolean _matched(final Matcher start, final Matcher end) {
-        final Matcher hit = _reader.nextUntil(start, end);
-        return hit != null && !hit.isEndElement();
+    private CellValue _cellValue(final boolean reuse) {
+        if (_cell == null) return null;
+        switch (_cell.getT()) {
+            case BOOLEAN:
+                return CellValue.valueOf(_cell.isV("1"));
+            case NUMBER:
+                if (!_cell.hasV()) return CellValue.BLANK;
+                if (_cell.getFt() == null || _cell.getFt() == STCellFormulaType.SHARED) {
+                    if (reuse) {
+                        return _reusable.setNumber(
+                                _cell.getVChars(), _cell.getVLength(), _number, _cell.getS());
+                    }
+                    return SSMLCellValue.of(_cell.getVChars(), _cell.getVLength(), _number,
+                            _cell.getS(), _styles, _formatter);
+                }
+                throw new UnsupportedOperationException("Unexpected formula type: " +
+                        _cell.getFt());
+            case ERROR:
+                return CellValue.getError(FormulaError.forString(_cell.getV()).getCode());
+            case SHARED_STRING:
+                if (reuse) return _reusable.setSharedString(_strings, _cell.getVAsIndex());
+                return new CellValue(_strings.getItemAt(_cell.getVAsIndex()));
+            case FORMULA_STRING:
+                return _stringValue(_cell.getV(), reuse);
+            case INLINE_STRING:
+                return _stringValue(_cell.getIs() != null ? _cell.getIs() : _cell.getV(), reuse);
+            default:
+                throw new IllegalStateException();
+        }
     }
 
-    private static int _parseColumnFromRef(final String ref) {
-        int col = 0;
-        final int len = ref.length();
-        for (int i = 0; i < len; i++) {
-            final char c = ref.charAt(i);
-            if (c < 'A' || c > 'Z') break;
-            col = col * 26 + (c - 'A' + 1);
-        }
-        return col - 1;
+    private CellValue _stringValue(final String text, final boolean reuse) {
+        return reuse ? _reusable.setString(text) : new CellValue(text);
     }
 }
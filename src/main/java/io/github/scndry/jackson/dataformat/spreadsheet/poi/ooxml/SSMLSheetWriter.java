@@ -1,16 +1,25 @@
 package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +41,7 @@ import io.github.scndry.jackson.dataformat.spreadsheet.schema.HeaderLayoutVisito
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.Styles;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.BackWriteProjection;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.HeaderComments;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SchemaAnchorInspector;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
 import io.github.scndry.jackson.dataformat.spreadsheet.ser.SheetWriter;
 
@@ -44,43 +54,80 @@ import io.github.scndry.jackson.dataformat.spreadsheet.ser.SheetWriter;
  * across back-write into past rows. Buffered cells are emitted in row order on every forward row
  * jump (outside an array scope) and once more on {@code write()} for the trailing record.
  *
+ * <p>The worksheet {@code <dimension>} precedes the cells, so the part is held back until the
+ * used range is known: in memory up to 4 MB, then in a deflated spill file, and written out with
+ * the exact range on {@code write()}. A root list of known size ({@link #expectRows}) over a
+ * schema without nested lists fixes the range up front instead, and the part streams as before.
+ * Each {@code <row>} carries its {@code spans}.
+ *
+ * <p>Package entries are deflated at a configurable level. With more than one deflate thread, the
+ * worksheet and sharedStrings entries are deflated block by block on worker threads
+ * ({@link ParallelDeflater}) while XML generation goes on. A pipelined writer moves all package
+ * output, checksums and compression included, to a {@link WritePipeline} thread, so that the
+ * caller only generates XML.
+ *
+ * <p>With a {@link ScaffoldCache}, the scaffold is built in memory once per schema and sheet, and
+ * later writes copy its entries into the package still deflated, without a temporary file.
+ *
  * @see io.github.scndry.jackson.dataformat.spreadsheet.poi.ss.POISheetWriter
  */
 @Slf4j
 public final class SSMLSheetWriter implements SheetWriter {
 
+    /** DEFLATE level of package entries unless configured otherwise. */
+    public static final int DEFAULT_COMPRESSION_LEVEL = 4;
+
     private static final String XML_DECL =
             "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
 
     private static final int BUFFER_SIZE = 64 * 1024;
     private static final int FLUSH_THRESHOLD = 1024;
+    private static final int HELD_SHEET_XML_LIMIT = 4 * 1024 * 1024;
+
+    private static final byte[] SI_OPEN = XmlByteBuffer.ascii("<si><t>");
+    private static final byte[] SI_OPEN_PRESERVE = XmlByteBuffer.ascii("<si><t xml:space=\"preserve\">");
+    private static final byte[] SI_CLOSE = XmlByteBuffer.ascii("</t></si>");
 
     private final String _entrySheet;
     private final String _entrySst;
 
-    private final ZipOutputStream _zip;
-    private final StringBuilder _sb = new StringBuilder(BUFFER_SIZE);
+    private final ZipArchiveWriter _zip;
+    private final XmlByteBuffer _out = new XmlByteBuffer(BUFFER_SIZE);
 
     private SpreadsheetSchemaImpl _schema;
-    private CellAddress _reference;
+    private int _row;
+    private int _column;
     private SheetDataBuffer _data;
     private int _arrayScopeDepth;
 
     // SharedStrings
     private final SharedStringsStore _sst;
+    private char[] _chars = new char[256];
 
     // Styles — resolved from POI XSSFWorkbook
     private XSSFWorkbook _wb;
     private File _scaffold;
-    private Styles _styles;
+    private final ScaffoldCache _scaffoldCache;
+    private List<SheetScaffold.RawEntry> _scaffoldEntries;
     private int[] _columnStyleIndex;
     private int[] _headerColumnStyleIndex;
+    private Map<String, Integer> _groupHeaderStyleIndex;
     private final List<MergeRange> _mergeRanges = new ArrayList<>();
     private XSSFSheet _sheet;
     private boolean _sheetDataStarted;
+    // Scaffold sheet XML before <dimension>, between it and <sheetData>, and after </sheetData>
+    private String _sheetXmlHead;
     private String _sheetXmlPrefix;
     private String _sheetXmlSuffix;
 
+    // Sheet XML past the head until the <dimension> ref is known
+    private boolean _sheetXmlHeadWritten;
+    private String _expectedDimension;
+    private ByteArrayOutputStream _held = new ByteArrayOutputStream(BUFFER_SIZE);
+    private Path _spillFile;
+    private Deflater _spillDeflater;
+    private OutputStream _spill;
+
     public SSMLSheetWriter(final OutputStream os, final Sheet sheet) {
         this(os, sheet, false, false);
     }
@@ -90,8 +137,57 @@ public final class SSMLSheetWriter implements SheetWriter {
             final Sheet sheet,
             final boolean fileBackedSharedStrings,
             final boolean encryptFileBackedStore) {
-        _zip = new ZipOutputStream(os);
-        _zip.setLevel(4);
+        this(os, sheet, fileBackedSharedStrings, encryptFileBackedStore, DEFAULT_COMPRESSION_LEVEL, 1);
+    }
+
+    /**
+     * @param compressionLevel DEFLATE level of every package entry
+     * @param deflateThreads   threads deflating the worksheet and shared
+     *                         strings entries in parallel; below 2 they are
+     *                         deflated on the writing thread
+     */
+    public SSMLSheetWriter(
+            final OutputStream os,
+            final Sheet sheet,
+            final boolean fileBackedSharedStrings,
+            final boolean encryptFileBackedStore,
+            final int compressionLevel,
+            final int deflateThreads) {
+        this(os, sheet, fileBackedSharedStrings, encryptFileBackedStore, compressionLevel, deflateThreads, false);
+    }
+
+    /**
+     * @param pipelined whether package output is compressed and written on
+     *                  a separate thread while XML is generated
+     */
+    public SSMLSheetWriter(
+            final OutputStream os,
+            final Sheet sheet,
+            final boolean fileBackedSharedStrings,
+            final boolean encryptFileBackedStore,
+            final int compressionLevel,
+            final int deflateThreads,
+            final boolean pipelined) {
+        this(os, sheet, fileBackedSharedStrings, encryptFileBackedStore, compressionLevel, deflateThreads, pipelined,
+                null);
+    }
+
+    /**
+     * @param scaffoldCache cache of scaffolds to take this writer's from and
+     *                      add it to, or {@code null} to build a scaffold
+     *                      for this writer alone
+     */
+    public SSMLSheetWriter(
+            final OutputStream os,
+            final Sheet sheet,
+            final boolean fileBackedSharedStrings,
+            final boolean encryptFileBackedStore,
+            final int compressionLevel,
+            final int deflateThreads,
+            final boolean pipelined,
+            final ScaffoldCache scaffoldCache) {
+        _zip = new ZipArchiveWriter(os, compressionLevel, deflateThreads, pipelined);
+        _scaffoldCache = scaffoldCache;
         _sheet = (XSSFSheet) sheet;
         _sst = _createSharedStringsStore(fileBackedSharedStrings, encryptFileBackedStore);
         final PackagePart sheetPackagePart = _sheet.getPackagePart();
@@ -113,17 +209,18 @@ public final class SSMLSheetWriter implements SheetWriter {
         _data = new SheetDataBuffer(schema.getOriginColumn() + schema.size());
         try {
             _wb = _sheet.getWorkbook();
-            _styles = _schema.buildStyles(_wb);
-            HeaderComments.apply(_sheet, _schema);
-            _schema.configureSheet(_sheet, _styles, -1);
-            _writeScaffoldWorkbook();
-            _splitScaffoldSheetXml();
-            _columnStyleIndex = _resolveColumnStyleIndices(_styles, false);
-            _headerColumnStyleIndex = _resolveColumnStyleIndices(_styles, true);
+            if (_scaffoldCache != null) {
+                _useCachedScaffold();
+            } else {
+                final Styles styles = _configureScaffold();
+                _writeScaffoldWorkbook();
+                _splitScaffoldSheetXml();
+                _resolveStyleIndices(styles);
+            }
             _wb.close();
             _wb = null;
             _sheet = null;
-            _startSheetXmlEntry();
+            _append(_sheetXmlPrefix);
             _appendFixedColumns();
             _startSheetData();
             _warnIfAutoSizeUsed();
@@ -145,7 +242,8 @@ public final class SSMLSheetWriter implements SheetWriter {
 
     @Override
     public void setReference(final CellAddress reference) {
-        _reference = reference;
+        _row = reference.getRow();
+        _column = reference.getColumn();
     }
 
     @Override
@@ -161,13 +259,13 @@ public final class SSMLSheetWriter implements SheetWriter {
             public void visitGroupCell(final int row, final int firstCol, final int lastCol,
                                        final DataColumnGroup.Value group) {
                 setReference(new CellAddress(row, firstCol));
-                final CellStyle gs = _styles.resolve(group.getHeaderStyle(), null);
+                final Integer gs = _groupHeaderStyleIndex.get(group.getHeaderStyle());
                 final int anchorStyleIdx;
                 if (gs == null) {
                     writeString(group.getName());
                     anchorStyleIdx = _headerStyleIndexForColumn(firstCol);
                 } else {
-                    anchorStyleIdx = gs.getIndex();
+                    anchorStyleIdx = gs;
                     final int sstIdx = _cacheString(group.getName());
                     _flushIfForwardJump();
                     _data.appendString(row, firstCol, anchorStyleIdx, sstIdx);
@@ -189,30 +287,58 @@ public final class SSMLSheetWriter implements SheetWriter {
 
     @Override
     public void writeNumeric(final double value) {
+        writeNumeric(_row, _column, value);
+    }
+
+    @Override
+    public void writeString(final String value) {
+        writeString(_row, _column, value);
+    }
+
+    @Override
+    public void writeBoolean(final boolean value) {
+        writeBoolean(_row, _column, value);
+    }
+
+    @Override
+    public void writeBlank() {
+        writeBlank(_row, _column);
+    }
+
+    @Override
+    public void writeNumeric(final int row, final int col, final double value) {
+        _row = row;
+        _column = col;
         _flushIfForwardJump();
-        _data.appendNumeric(_reference.getRow(), _reference.getColumn(), _resolveStyleIndex(), value);
+        _data.appendNumeric(row, col, _resolveStyleIndex(), value);
         _checkBufferLimitInArrayScope();
     }
 
     @Override
-    public void writeString(final String value) {
+    public void writeString(final int row, final int col, final String value) {
+        _row = row;
+        _column = col;
         final int index = _cacheString(value);
         _flushIfForwardJump();
-        _data.appendString(_reference.getRow(), _reference.getColumn(), _resolveStyleIndex(), index);
+        _data.appendString(row, col, _resolveStyleIndex(), index);
         _checkBufferLimitInArrayScope();
     }
 
     @Override
-    public void writeBoolean(final boolean value) {
+    public void writeBoolean(final int row, final int col, final boolean value) {
+        _row = row;
+        _column = col;
         _flushIfForwardJump();
-        _data.appendBoolean(_reference.getRow(), _reference.getColumn(), _resolveStyleIndex(), value);
+        _data.appendBoolean(row, col, _resolveStyleIndex(), value);
         _checkBufferLimitInArrayScope();
     }
 
     @Override
-    public void writeBlank() {
+    public void writeBlank(final int row, final int col) {
+        _row = row;
+        _column = col;
         _flushIfForwardJump();
-        _data.appendBlank(_reference.getRow(), _reference.getColumn(), _resolveStyleIndex());
+        _data.appendBlank(row, col, _resolveStyleIndex());
         _checkBufferLimitInArrayScope();
     }
 
@@ -223,9 +349,9 @@ public final class SSMLSheetWriter implements SheetWriter {
     private void _flushIfForwardJump() {
         if (_arrayScopeDepth > 0) return;
         if (_data.isEmpty()) return;
-        if (_reference.getRow() <= _data.maxRowSeen()) return;
+        if (_row <= _data.maxRowSeen()) return;
         try {
-            _data.flushTo(_sb, this::_checkSbFlush);
+            _data.flushTo(_out, this::_checkFlush);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
@@ -255,6 +381,38 @@ public final class SSMLSheetWriter implements SheetWriter {
         // no-op
     }
 
+    /** Fixes the {@code <dimension>} from the rows a root list will take,
+     *  when every value takes one row; ignored once sheet XML has spilled. */
+    @Override
+    public void expectRows(final int firstRow, final int count) {
+        if (_sheetXmlHeadWritten || _spill != null) return;
+        if (SchemaAnchorInspector.hasNestedList(_schema)) return;
+        int firstCol = -1;
+        int lastCol = -1;
+        int col = _schema.getOriginColumn();
+        for (final Column column : _schema) {
+            if (column != null) {
+                if (firstCol < 0) firstCol = col;
+                lastCol = col;
+            }
+            col++;
+        }
+        if (count == 0 || firstCol < 0) {
+            if (!_data.hasUsedRange()) return;
+            _expectedDimension = _rangeRef(_data.firstRowUsed(), _data.firstColumnUsed(),
+                    _data.lastRowUsed(), _data.lastColumnUsed());
+            return;
+        }
+        final int lastRow = firstRow + count - 1;
+        if (!_data.hasUsedRange()) {
+            _expectedDimension = _rangeRef(firstRow, firstCol, lastRow, lastCol);
+            return;
+        }
+        _expectedDimension = _rangeRef(
+                Math.min(firstRow, _data.firstRowUsed()), Math.min(firstCol, _data.firstColumnUsed()),
+                Math.max(lastRow, _data.lastRowUsed()), Math.max(lastCol, _data.lastColumnUsed()));
+    }
+
     @Override
     public void enterArrayScope() {
         _arrayScopeDepth++;
@@ -346,6 +504,11 @@ public final class SSMLSheetWriter implements SheetWriter {
         } catch (IOException e) {
             failure = _mergeFailure(failure, e);
         }
+        try {
+            _releaseSpill();
+        } catch (IOException e) {
+            failure = _mergeFailure(failure, e);
+        }
         if (_scaffold != null) {
             try {
                 POICompat.releaseTempFile(_scaffold.toPath());
@@ -370,6 +533,12 @@ public final class SSMLSheetWriter implements SheetWriter {
     // ----------------------------------------------------------------
 
     private void _copyScaffoldEntries() throws IOException {
+        if (_scaffoldEntries != null) {
+            for (final SheetScaffold.RawEntry entry : _scaffoldEntries) {
+                _zip.putRawEntry(entry._name, entry._deflated, entry._crc, entry._size);
+            }
+            return;
+        }
         final byte[] buf = new byte[8192];
         try (ZipInputStream zin = new ZipInputStream(Files.newInputStream(_scaffold.toPath()))) {
             ZipEntry entry;
@@ -378,7 +547,7 @@ public final class SSMLSheetWriter implements SheetWriter {
                     zin.closeEntry();
                     continue;
                 }
-                _zip.putNextEntry(new ZipEntry(entry.getName()));
+                _zip.putNextEntry(entry.getName());
                 int len;
                 while ((len = zin.read(buf)) > 0) {
                     _zip.write(buf, 0, len);
@@ -390,24 +559,111 @@ public final class SSMLSheetWriter implements SheetWriter {
     }
 
     // ----------------------------------------------------------------
-    // StringBuilder streaming
+    // UTF-8 byte streaming
     // ----------------------------------------------------------------
 
-    private StringBuilder _append(final String s) throws IOException {
-        _sb.append(s);
-        _checkSbFlush();
-        return _sb;
+    private XmlByteBuffer _append(final String s) throws IOException {
+        _out.append(s);
+        _checkFlush();
+        return _out;
     }
 
-    private void _checkSbFlush() throws IOException {
-        if (_sb.capacity() - _sb.length() < FLUSH_THRESHOLD) {
+    private void _checkFlush() throws IOException {
+        if (_out.remaining() < FLUSH_THRESHOLD) {
             _flush();
         }
     }
 
     private void _flush() throws IOException {
-        _zip.write(_sb.toString().getBytes(StandardCharsets.UTF_8));
-        _sb.setLength(0);
+        if (_sheetXmlHeadWritten) {
+            _out.writeTo(_zip);
+        } else if (_expectedDimension != null) {
+            _writeSheetXmlHead(_expectedDimension);
+            _out.writeTo(_zip);
+        } else {
+            if (_spill == null) {
+                if (_held.size() + _out.size() <= HELD_SHEET_XML_LIMIT) {
+                    _out.writeTo(_held);
+                    _out.reset();
+                    return;
+                }
+                _openSpill();
+            }
+            _out.writeTo(_spill);
+        }
+        _out.reset();
+    }
+
+    // ----------------------------------------------------------------
+    // Held sheet XML
+    // ----------------------------------------------------------------
+
+    private void _openSpill() throws IOException {
+        _spillFile = POICompat.createSecureTempFile("jackson-spreadsheet-sheet-", ".xml.deflate");
+        // Sheet XML deflates ~10x even at BEST_SPEED, cutting the spill's disk I/O accordingly
+        _spillDeflater = new Deflater(Deflater.BEST_SPEED, true);
+        _spill = new DeflaterOutputStream(Files.newOutputStream(_spillFile), _spillDeflater, BUFFER_SIZE);
+        _held.writeTo(_spill);
+        _held = null;
+        if (log.isDebugEnabled()) {
+            log.debug("Spilling sheet XML to {} until its dimension is known", _spillFile);
+        }
+    }
+
+    /** Starts the sheet entry with the scaffold head and {@code dimension},
+     *  followed by the sheet XML held or spilled so far. */
+    private void _writeSheetXmlHead(final String dimension) throws IOException {
+        _zip.putNextEntry(_entrySheet, true);
+        final String head = _sheetXmlHead + "<dimension ref=\"" + dimension + "\"/>";
+        _zip.write(head.getBytes(StandardCharsets.UTF_8));
+        _sheetXmlHeadWritten = true;
+        if (_held != null) {
+            _held.writeTo(_zip);
+            _held = null;
+            return;
+        }
+        _spill.close();
+        _spill = null;
+        final Inflater inflater = new Inflater(true);
+        try (InputStream in = new InflaterInputStream(Files.newInputStream(_spillFile), inflater, BUFFER_SIZE)) {
+            final byte[] buf = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                _zip.write(buf, 0, n);
+            }
+        } finally {
+            inflater.end();
+        }
+        _releaseSpill();
+    }
+
+    private void _releaseSpill() throws IOException {
+        if (_spillFile == null) return;
+        try {
+            if (_spill != null) {
+                _spill.close();
+                _spill = null;
+            }
+        } finally {
+            _spillDeflater.end();
+            _spillDeflater = null;
+            POICompat.releaseTempFile(_spillFile);
+            _spillFile = null;
+        }
+    }
+
+    /** The used range of every cell written, as POI formats it; {@code A1} for none. */
+    private String _usedRange() {
+        if (_data == null || !_data.hasUsedRange()) return "A1";
+        return _rangeRef(_data.firstRowUsed(), _data.firstColumnUsed(),
+                _data.lastRowUsed(), _data.lastColumnUsed());
+    }
+
+    private static String _rangeRef(final int firstRow, final int firstCol,
+                                    final int lastRow, final int lastCol) {
+        final String first = _cellRef(firstRow, firstCol);
+        if (firstRow == lastRow && firstCol == lastCol) return first;
+        return first + ":" + _cellRef(lastRow, lastCol);
     }
 
     private static String _cellRef(final int row, final int col) {
@@ -416,9 +672,9 @@ public final class SSMLSheetWriter implements SheetWriter {
 
     private int _resolveStyleIndex() {
         if (_columnStyleIndex == null) return 0;
-        final int idx = _reference.getColumn() - _schema.getOriginColumn();
+        final int idx = _column - _schema.getOriginColumn();
         if (idx < 0 || idx >= _columnStyleIndex.length) return 0;
-        if (_reference.getRow() < _schema.getDataRow()) {
+        if (_row < _schema.getDataRow()) {
             if (_headerColumnStyleIndex == null || idx >= _headerColumnStyleIndex.length) {
                 return _columnStyleIndex[idx];
             }
@@ -447,11 +703,6 @@ public final class SSMLSheetWriter implements SheetWriter {
         return part.getPartName().getName().substring(1);
     }
 
-    private void _startSheetXmlEntry() throws IOException {
-        _zip.putNextEntry(new ZipEntry(_entrySheet));
-        _append(_sheetXmlPrefix);
-    }
-
     private void _startSheetData() throws IOException {
         if (_sheetDataStarted) {
             return;
@@ -463,20 +714,95 @@ public final class SSMLSheetWriter implements SheetWriter {
     private void _finishSheetXmlEntry() throws IOException {
         _startSheetData();
         if (_data != null && !_data.isEmpty()) {
-            _data.flushTo(_sb, this::_checkSbFlush);
+            _data.flushTo(_out, this::_checkFlush);
         }
         _append("</sheetData>");
         _appendMergeCellsIntoSuffix();
+        if (!_sheetXmlHeadWritten) {
+            // Every cell is known: the used range beats a range expected up front
+            _writeSheetXmlHead(_usedRange());
+        }
         _flush();
         _zip.closeEntry();
     }
 
     private void _writeSharedStringsEntry() throws IOException {
-        _zip.putNextEntry(new ZipEntry(_entrySst));
+        _zip.putNextEntry(_entrySst, true);
         _writeSharedStrings();
         _zip.closeEntry();
     }
 
+    /** Applies styles, header comments and grid configuration to the scaffold sheet. */
+    private Styles _configureScaffold() {
+        final Styles styles = _schema.buildStyles(_wb);
+        HeaderComments.apply(_sheet, _schema);
+        _schema.configureSheet(_sheet, styles, -1);
+        return styles;
+    }
+
+    private void _resolveStyleIndices(final Styles styles) {
+        _columnStyleIndex = _resolveColumnStyleIndices(styles, false);
+        _headerColumnStyleIndex = _resolveColumnStyleIndices(styles, true);
+        _groupHeaderStyleIndex = _resolveGroupHeaderStyleIndices(styles);
+    }
+
+    private void _useCachedScaffold() throws IOException {
+        final ScaffoldCache.Key key = new ScaffoldCache.Key(_schema, _sheet.getSheetName(), _entrySheet);
+        SheetScaffold scaffold = _scaffoldCache.get(key);
+        if (scaffold == null) {
+            scaffold = _scaffoldCache.put(key, _buildScaffold());
+        }
+        _sheetXmlHead = scaffold._sheetXmlHead;
+        _sheetXmlPrefix = scaffold._sheetXmlPrefix;
+        _sheetXmlSuffix = scaffold._sheetXmlSuffix;
+        _columnStyleIndex = scaffold._columnStyleIndex;
+        _headerColumnStyleIndex = scaffold._headerColumnStyleIndex;
+        _groupHeaderStyleIndex = scaffold._groupHeaderStyleIndex;
+        _scaffoldEntries = scaffold._entries;
+    }
+
+    /** Builds the scaffold in memory, keeping every entry but the worksheet and sharedStrings deflated. */
+    private SheetScaffold _buildScaffold() throws IOException {
+        _resolveStyleIndices(_configureScaffold());
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        _wb.write(bos);
+        final List<SheetScaffold.RawEntry> entries = new ArrayList<>();
+        try (ZipArchive zip = ZipArchive.open(ByteBuffer.wrap(bos.toByteArray()))) {
+            final InputStream sheetXml = zip.getInputStream(_entrySheet);
+            if (sheetXml == null) {
+                throw new IOException("Sheet entry '" + _entrySheet + "' not found in scaffold");
+            }
+            _splitSheetXml(new String(_readFully(sheetXml), StandardCharsets.UTF_8));
+            for (final String name : zip.names()) {
+                if (_shouldSkipEntry(name)) continue;
+                InputStream deflated = zip.getRawInputStream(name, 0);
+                if (deflated == null) {
+                    // Not deflated in the scaffold: deflate it once here
+                    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                    try (OutputStream dos = new DeflaterOutputStream(out, deflater)) {
+                        dos.write(_readFully(zip.getInputStream(name)));
+                    } finally {
+                        deflater.end();
+                    }
+                    deflated = new ByteArrayInputStream(out.toByteArray());
+                }
+                entries.add(new SheetScaffold.RawEntry(
+                        name, _readFully(deflated), zip.getCrc(name), zip.getSize(name)));
+            }
+        }
+        return new SheetScaffold(_sheetXmlHead, _sheetXmlPrefix, _sheetXmlSuffix,
+                _columnStyleIndex, _headerColumnStyleIndex, _groupHeaderStyleIndex, entries);
+    }
+
+    private static byte[] _readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[8192];
+        int n;
+        while ((n = in.read(buf)) != -1) out.write(buf, 0, n);
+        return out.toByteArray();
+    }
+
     private void _writeScaffoldWorkbook() throws IOException {
         _scaffold = POICompat.createSecureTempFile("jackson-spreadsheet-scaffold-", ".xlsx").toFile();
         try (OutputStream fos = Files.newOutputStream(_scaffold.toPath())) {
@@ -505,6 +831,21 @@ public final class SSMLSheetWriter implements SheetWriter {
         return columnStyleIndex;
     }
 
+    private Map<String, Integer> _resolveGroupHeaderStyleIndices(final Styles styles) {
+        final Map<String, Integer> groupStyleIndex = new HashMap<>();
+        _schema.forEachHeaderCell(new HeaderLayoutVisitor() {
+            @Override
+            public void visitGroupCell(final int row, final int firstCol, final int lastCol,
+                                       final DataColumnGroup.Value group) {
+                final CellStyle cs = styles.resolve(group.getHeaderStyle(), null);
+                if (cs != null) {
+                    groupStyleIndex.put(group.getHeaderStyle(), (int) cs.getIndex());
+                }
+            }
+        });
+        return groupStyleIndex;
+    }
+
     private boolean _shouldSkipEntry(final String entryName) {
         return _entrySheet.equals(entryName) || _entrySst.equals(entryName);
     }
@@ -514,26 +855,7 @@ public final class SSMLSheetWriter implements SheetWriter {
             ZipEntry entry;
             while ((entry = zin.getNextEntry()) != null) {
                 if (_entrySheet.equals(entry.getName())) {
-                    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                    final byte[] buf = new byte[8192];
-                    int n;
-                    while ((n = zin.read(buf)) != -1) bos.write(buf, 0, n);
-                    final String sheetXml = bos.toString("UTF-8");
-                    final int sdStart = sheetXml.indexOf("<sheetData");
-                    if (sdStart < 0) {
-                        throw new IOException("Scaffold sheet XML missing <sheetData> element");
-                    }
-                    _sheetXmlPrefix = sheetXml.substring(0, sdStart);
-                    final int sdEnd = sheetXml.indexOf("</sheetData>");
-                    if (sdEnd >= 0) {
-                        _sheetXmlSuffix = sheetXml.substring(sdEnd + "</sheetData>".length());
-                    } else {
-                        final int selfClose = sheetXml.indexOf("/>", sdStart);
-                        if (selfClose < 0) {
-                            throw new IOException("Malformed scaffold sheet XML: unclosed <sheetData> element");
-                        }
-                        _sheetXmlSuffix = sheetXml.substring(selfClose + 2);
-                    }
+                    _splitSheetXml(new String(_readFully(zin), StandardCharsets.UTF_8));
                     return;
                 }
                 zin.closeEntry();
@@ -542,6 +864,72 @@ public final class SSMLSheetWriter implements SheetWriter {
         throw new IOException("Sheet entry '" + _entrySheet + "' not found in scaffold");
     }
 
+    private void _splitSheetXml(final String sheetXml) throws IOException {
+        final int sdStart = sheetXml.indexOf("<sheetData");
+        if (sdStart < 0) {
+            throw new IOException("Scaffold sheet XML missing <sheetData> element");
+        }
+        _splitSheetXmlPrefix(sheetXml.substring(0, sdStart));
+        final int sdEnd = sheetXml.indexOf("</sheetData>");
+        if (sdEnd >= 0) {
+            _sheetXmlSuffix = sheetXml.substring(sdEnd + "</sheetData>".length());
+        } else {
+            final int selfClose = sheetXml.indexOf("/>", sdStart);
+            if (selfClose < 0) {
+                throw new IOException("Malformed scaffold sheet XML: unclosed <sheetData> element");
+            }
+            _sheetXmlSuffix = sheetXml.substring(selfClose + 2);
+        }
+    }
+
+    // ECMA-376 CT_Worksheet elements between <dimension> and <sheetData>, in xsd:sequence order
+    private static final String[] POST_DIMENSION_ELEMENTS = {
+            "<sheetViews", "<sheetFormatPr", "<cols"
+    };
+
+    /** Cuts the scaffold's {@code <dimension>} out of the XML before
+     *  {@code <sheetData>}; without one, splits where it would go. */
+    private void _splitSheetXmlPrefix(final String prefix) throws IOException {
+        final int start = _findTag(prefix, "<dimension");
+        if (start < 0) {
+            int at = prefix.length();
+            for (final String tag : POST_DIMENSION_ELEMENTS) {
+                final int pos = _findTag(prefix, tag);
+                if (pos >= 0 && pos < at) at = pos;
+            }
+            _sheetXmlHead = prefix.substring(0, at);
+            _sheetXmlPrefix = prefix.substring(at);
+            return;
+        }
+        final int close = prefix.indexOf('>', start);
+        if (close < 0) {
+            throw new IOException("Malformed scaffold sheet XML: unclosed <dimension> element");
+        }
+        int end = close + 1;
+        if (prefix.charAt(close - 1) != '/') {
+            final int endTag = prefix.indexOf("</dimension>", close);
+            if (endTag < 0) {
+                throw new IOException("Malformed scaffold sheet XML: unclosed <dimension> element");
+            }
+            end = endTag + "</dimension>".length();
+        }
+        _sheetXmlHead = prefix.substring(0, start);
+        _sheetXmlPrefix = prefix.substring(end);
+    }
+
+    private static int _findTag(final String xml, final String tag) {
+        int from = 0;
+        int pos;
+        while ((pos = xml.indexOf(tag, from)) >= 0) {
+            final int end = pos + tag.length();
+            if (end >= xml.length() || _isTagDelimiter(xml.charAt(end))) {
+                return pos;
+            }
+            from = end;
+        }
+        return -1;
+    }
+
     private void _appendMergeCellsIntoSuffix() throws IOException {
         if (_mergeRanges.isEmpty()) {
             _append(_sheetXmlSuffix);
@@ -585,15 +973,8 @@ public final class SSMLSheetWriter implements SheetWriter {
 
     private static int _findMergeCellsInsertPos(final String suffix) {
         for (final String tag : POST_MERGE_CELLS_ELEMENTS) {
-            int from = 0;
-            int pos;
-            while ((pos = suffix.indexOf(tag, from)) >= 0) {
-                final int end = pos + tag.length();
-                if (end >= suffix.length() || _isTagDelimiter(suffix.charAt(end))) {
-                    return pos;
-                }
-                from = end;
-            }
+            final int pos = _findTag(suffix, tag);
+            if (pos >= 0) return pos;
         }
         return suffix.length();
     }
@@ -611,14 +992,14 @@ public final class SSMLSheetWriter implements SheetWriter {
     }
 
     private void _writeSharedStrings() throws IOException {
-        _sb.setLength(0);
+        _out.reset();
         _append(XML_DECL);
         _append("<sst xmlns=\"").append(XSSFRelation.NS_SPREADSHEETML)
             .append("\" count=\"").append(_sst.size())
             .append("\" uniqueCount=\"").append(_sst.size()).append("\">");
         for (int i = 0; i < _sst.size(); i++) {
             _appendSharedStringItem(i);
-            _checkSbFlush();
+            _checkFlush();
         }
         _append("</sst>");
         _flush();
@@ -626,42 +1007,16 @@ public final class SSMLSheetWriter implements SheetWriter {
 
     private void _appendSharedStringItem(final int index) throws IOException {
         final int len = _sst.length(index);
-        _sb.append("<si><t");
-        if (len == 0
-                || Character.isWhitespace(_sst.charAt(index, 0))
-                || Character.isWhitespace(_sst.charAt(index, len - 1))) {
-            _sb.append(" xml:space=\"preserve\"");
-        }
-        _sb.append(">");
-        _appendEscapedSharedString(index, len);
-        _sb.append("</t></si>");
-    }
-
-    private void _appendEscapedSharedString(final int index, final int len) {
-        for (int i = 0; i < len; i++) {
-            final char c = _sst.charAt(index, i);
-            switch (c) {
-                case '<':
-                    _sb.append("&lt;");
-                    break;
-                case '>':
-                    _sb.append("&gt;");
-                    break;
-                case '&':
-                    _sb.append("&amp;");
-                    break;
-                case '\'':
-                    _sb.append("&apos;");
-                    break;
-                case '"':
-                    _sb.append("&quot;");
-                    break;
-                default:
-                    if (c >= 0x20 || c == 0x9 || c == 0xA || c == 0xD) {
-                        _sb.append(c);
-                    }
-            }
+        if (_chars.length < len) {
+            _chars = new char[Math.max(len, _chars.length * 2)];
         }
+        _sst.getChars(index, _chars, 0);
+        final boolean preserve = len == 0
+                || Character.isWhitespace(_chars[0])
+                || Character.isWhitespace(_chars[len - 1]);
+        _out.append(preserve ? SI_OPEN_PRESERVE : SI_OPEN);
+        _out.appendEscaped(_chars, len);
+        _out.append(SI_CLOSE);
     }
 
     private void _appendFixedColumns() throws IOException {
@@ -0,0 +1,95 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.apache.poi.openxml4j.opc.PackagePart;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetReader;
+
+/**
+ * Opens any number of worksheets of one workbook over a single package,
+ * shared string table and styles.
+ * <p>
+ * The shared string table is loaded in full and styles are parsed when this
+ * reader is opened; both are read-only afterwards, so sheet readers created
+ * here may be consumed on different threads at the same time. Sheet readers
+ * do not own the package: closing one only releases its worksheet stream,
+ * and {@link #close()} releases the rest.
+ *
+ * @see SSMLSheetReader
+ */
+public final class SSMLWorkbookReader implements AutoCloseable {
+
+    private final SSMLWorkbook _workbook;
+    private final SharedStringsLookup _strings;
+    private final StylesLookup _styles;
+
+    private SSMLWorkbookReader(
+            final SSMLWorkbook workbook,
+            final SharedStringsLookup strings,
+            final StylesLookup styles) {
+        _workbook = workbook;
+        _strings = strings;
+        _styles = styles;
+    }
+
+    /**
+     * Loads the shared parts of {@code workbook}, which this reader then
+     * owns; the workbook is closed if loading fails.
+     *
+     * @param scanBytes parse the shared strings with the byte-level scanner
+     */
+    public static SSMLWorkbookReader open(final SSMLWorkbook workbook, final boolean scanBytes) throws IOException {
+        try {
+            final PackagePart sharedStrings = workbook.getSharedStringsPart();
+            final SharedStringsLookup strings = sharedStrings == null
+                    ? BlankSharedStringsLookup.INSTANCE
+                    : new InMemorySharedStringsLookup(sharedStrings, scanBytes).freeze();
+            final PackagePart stylesPart = workbook.getStylesPart();
+            final StylesLookup styles = stylesPart == null
+                    ? BlankStylesLookup.INSTANCE
+                    : new LazyStylesLookup(stylesPart).loaded();
+            return new SSMLWorkbookReader(workbook, strings, styles);
+        } catch (IOException | RuntimeException e) {
+            workbook.close();
+            throw e;
+        }
+    }
+
+    public SSMLWorkbook getWorkbook() {
+        return _workbook;
+    }
+
+    /**
+     * Reader over {@code worksheet}, a part of this workbook.
+     *
+     * @param scanBytes parse the worksheet with the byte-level scanner
+     * @param readAhead tokenize on a background thread
+     *                  ({@link ReadAheadSheetDataCursor})
+     */
+    public SheetReader openSheet(final PackagePart worksheet, final boolean scanBytes, final boolean readAhead) {
+        final SheetDataCursor cursor;
+        try {
+            cursor = SheetDataCursor.open(worksheet.getInputStream(), scanBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return newReader(readAhead ? new ReadAheadSheetDataCursor(cursor) : cursor);
+    }
+
+    SSMLSheetReader newReader(final SheetDataCursor cursor) {
+        return new SSMLSheetReader(cursor, _strings, _styles, _workbook.isDate1904());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            _strings.close();
+        } catch (Exception e) {
+            throw new IOException("Failed to close shared strings", e);
+        } finally {
+            _workbook.close();
+        }
+    }
+}
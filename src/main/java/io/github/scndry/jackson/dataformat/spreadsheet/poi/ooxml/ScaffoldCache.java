@@ -0,0 +1,100 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.util.Objects;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.CountingLruCache;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
+
+/**
+ * Bounded, concurrent cache of the package scaffolds {@link SSMLSheetWriter}
+ * builds around the worksheet it streams, owned by a
+ * {@code SpreadsheetFactory} with
+ * {@code SpreadsheetFactory.Feature#SCAFFOLD_CACHE} enabled.
+ * <p>
+ * Entries are keyed by schema instance, which carries the styles and grid
+ * configuration, by sheet name and by worksheet part. A cached scaffold
+ * holds the split worksheet XML, the resolved style indices and the
+ * remaining package entries already deflated, so a hit neither builds
+ * styles nor writes, reads or recompresses a scaffold workbook. Each write
+ * counts as one lookup.
+ */
+public final class ScaffoldCache {
+
+    static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final CountingLruCache<Key, SheetScaffold> _cache;
+
+    public ScaffoldCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ScaffoldCache(final int maxEntries) {
+        _cache = new CountingLruCache<>(maxEntries);
+    }
+
+    SheetScaffold get(final Key key) {
+        return _cache.get(key);
+    }
+
+    SheetScaffold put(final Key key, final SheetScaffold scaffold) {
+        return _cache.put(key, scaffold);
+    }
+
+    /**
+     * Number of writes served from the cache.
+     */
+    public long hitCount() {
+        return _cache.hitCount();
+    }
+
+    /**
+     * Number of writes that built a scaffold.
+     */
+    public long missCount() {
+        return _cache.missCount();
+    }
+
+    public int size() {
+        return _cache.size();
+    }
+
+    public void clear() {
+        _cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return _cache.toString("ScaffoldCache");
+    }
+
+    static final class Key {
+
+        private final SpreadsheetSchemaImpl _schema;
+        private final String _sheetName;
+        private final String _sheetEntry;
+        private final int _hashCode;
+
+        Key(final SpreadsheetSchemaImpl schema, final String sheetName, final String sheetEntry) {
+            _schema = schema;
+            _sheetName = sheetName;
+            _sheetEntry = sheetEntry;
+            _hashCode = Objects.hash(System.identityHashCode(schema), sheetName, sheetEntry);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key other = (Key) o;
+            // The mapper hands out one schema instance per configuration
+            return _schema == other._schema
+                && _sheetName.equals(other._sheetName)
+                && _sheetEntry.equals(other._sheetEntry);
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+    }
+}
@@ -9,6 +9,23 @@ interface SharedStringsLookup extends AutoCloseable {
 
     String getItemAt(int idx);
 
+    /**
+     * Character array holding item {@code idx} at {@link #getItemOffset} for
+     * {@link #getItemLength}, loading the item if needed, or {@code null} when
+     * items are not kept in a shared buffer. Callers must not modify it.
+     */
+    default char[] getItemChars(final int idx) {
+        return null;
+    }
+
+    default int getItemOffset(final int idx) {
+        return 0;
+    }
+
+    default int getItemLength(final int idx) {
+        return 0;
+    }
+
     @Override
     void close() throws Exception;
 }
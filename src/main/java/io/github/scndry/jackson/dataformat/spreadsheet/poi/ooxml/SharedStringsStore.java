@@ -16,6 +16,9 @@ interface SharedStringsStore extends AutoCloseable {
 
     char charAt(int index, int offset);
 
+    /** Copies the characters of item {@code index} into {@code dst} from {@code dstBegin}. */
+    void getChars(int index, char[] dst, int dstBegin);
+
     String get(int index);
 
     @Override
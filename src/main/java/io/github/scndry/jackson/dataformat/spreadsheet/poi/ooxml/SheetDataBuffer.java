@@ -49,6 +49,17 @@ final class SheetDataBuffer {
     // without grow, while keeping idle buffers minimal.
     private static final int DEFAULT_CAPACITY = 16;
 
+    private static final byte[] ROW_OPEN = XmlByteBuffer.ascii("<row r=\"");
+    private static final byte[] ROW_SPANS = XmlByteBuffer.ascii("\" spans=\"");
+    private static final byte[] TAG_CLOSE = XmlByteBuffer.ascii("\">");
+    private static final byte[] ROW_CLOSE = XmlByteBuffer.ascii("</row>");
+    private static final byte[] CELL_STYLE = XmlByteBuffer.ascii("\" s=\"");
+    private static final byte[] CELL_NUMERIC = XmlByteBuffer.ascii("\" t=\"n\"><v>");
+    private static final byte[] CELL_STRING = XmlByteBuffer.ascii("\" t=\"s\"><v>");
+    private static final byte[] CELL_BOOLEAN = XmlByteBuffer.ascii("\" t=\"b\"><v>");
+    private static final byte[] CELL_VALUE_CLOSE = XmlByteBuffer.ascii("</v></c>");
+    private static final byte[] CELL_EMPTY_CLOSE = XmlByteBuffer.ascii("\"/>");
+
     private static final long[] EMPTY_LONG_ARRAY = new long[0];
     private static final int[] EMPTY_INT_ARRAY = new int[0];
 
@@ -77,14 +88,21 @@ final class SheetDataBuffer {
     private int[] _rowHead = EMPTY_INT_ARRAY;
     private int[] _rowTail = EMPTY_INT_ARRAY;
 
-    private final String[] _colLetters;
+    // Bounds of every cell appended since construction; not cleared by flushes
+    private int _firstRow = Integer.MAX_VALUE;
+    private int _lastRow = -1;
+    private int _firstCol = Integer.MAX_VALUE;
+    private int _lastCol = -1;
+
+    // Per column: the encoded "<c r=\"" + column letters every cell tag starts with
+    private final byte[][] _colLetters;
 
     SheetDataBuffer(final int colLetterCacheSize) {
         if (colLetterCacheSize < 1) {
             throw new IllegalArgumentException(
                     "colLetterCacheSize must be >= 1, got " + colLetterCacheSize);
         }
-        _colLetters = new String[colLetterCacheSize];
+        _colLetters = new byte[colLetterCacheSize][];
     }
 
     void appendNumeric(final int row, final int col, final int style, final double value) {
@@ -116,6 +134,31 @@ final class SheetDataBuffer {
         return _rowSpan == 0 ? -1 : _rowBase + _rowSpan - 1;
     }
 
+    /** Whether any cell has been appended since construction, flushed or not. */
+    boolean hasUsedRange() {
+        return _lastRow >= 0;
+    }
+
+    /** First row of every cell appended so far, flushed or not. */
+    int firstRowUsed() {
+        return _firstRow;
+    }
+
+    /** Last row of every cell appended so far, flushed or not. */
+    int lastRowUsed() {
+        return _lastRow;
+    }
+
+    /** First column of every cell appended so far, flushed or not. */
+    int firstColumnUsed() {
+        return _firstCol;
+    }
+
+    /** Last column of every cell appended so far, flushed or not. */
+    int lastColumnUsed() {
+        return _lastCol;
+    }
+
     /** Upper-bound heap footprint of the cell SoA arrays and row directory.
      *  Used by the back-write runtime monitor as a fail-fast guard against
      *  unbounded accumulation while flush is suspended. The output XML is a
@@ -127,7 +170,7 @@ final class SheetDataBuffer {
                 + (long) _rowSpan * BackWriteProjection.ROW_MEMORY_BYTES;
     }
 
-    /** Sink invoked after each XML fragment is appended to {@code sb} so
+    /** Sink invoked after each XML fragment is appended to {@code out} so
      *  the writer can keep its buffer within its flush threshold. Matches
      *  the existing fragment-level check pattern in
      *  {@code SSMLSheetWriter._append}. */
@@ -141,30 +184,37 @@ final class SheetDataBuffer {
     /** Convenience overload for callers that do not need per-fragment
      *  draining (tests, in-memory accumulation). */
     void flushTo(final StringBuilder sb) {
+        final XmlByteBuffer out = new XmlByteBuffer(Math.max(64, _size * 48));
         try {
-            flushTo(sb, NO_OP_SINK);
+            flushTo(out, NO_OP_SINK);
         } catch (IOException e) {
             throw new AssertionError("NO_OP_SINK never throws", e);
         }
+        sb.append(out);
     }
 
-    /** Emit all buffered cells, row by row, into {@code sb}, invoking
+    /** Emit all buffered cells, row by row and each row with the
+     *  {@code spans} of its cells, into {@code out}, invoking
      *  {@code sink} after each cell or row-tag fragment so callers can
-     *  drain {@code sb} before it exceeds its flush threshold. Resets
+     *  drain {@code out} before it exceeds its flush threshold. Resets
      *  the buffer on return. */
-    void flushTo(final StringBuilder sb, final FlushSink sink) throws IOException {
+    void flushTo(final XmlByteBuffer out, final FlushSink sink) throws IOException {
         for (int offset = 0; offset < _rowSpan; offset++) {
             int cellIdx = _rowHead[offset];
             if (cellIdx < 0) continue;
             final int row = _rowBase + offset;
-            sb.append("<row r=\"").append(row + 1).append("\">");
+            // Cells are linked in column order: the head and tail bound the row's spans
+            out.append(ROW_OPEN).append(row + 1)
+                    .append(ROW_SPANS).append(_col(_packed[cellIdx]) + 1)
+                    .append(':').append(_col(_packed[_rowTail[offset]]) + 1)
+                    .append(TAG_CLOSE);
             sink.afterFragment();
             while (cellIdx >= 0) {
-                _appendCell(sb, _packed[cellIdx], _values[cellIdx]);
+                _appendCell(out, _packed[cellIdx], _values[cellIdx]);
                 sink.afterFragment();
                 cellIdx = _next[cellIdx];
             }
-            sb.append("</row>");
+            out.append(ROW_CLOSE);
             sink.afterFragment();
         }
         _reset();
@@ -178,6 +228,11 @@ final class SheetDataBuffer {
                         | ((long) style << STYLE_SHIFT)
                         | ((long) type << TYPE_SHIFT);
 
+        if (row < _firstRow) _firstRow = row;
+        if (row > _lastRow) _lastRow = row;
+        if (col < _firstCol) _firstCol = col;
+        if (col > _lastCol) _lastCol = col;
+
         final int cellIdx = _size;
         _ensureCellCapacity(cellIdx + 1);
         _packed[cellIdx] = packed;
@@ -240,51 +295,54 @@ final class SheetDataBuffer {
         _size++;
     }
 
-    private void _appendCell(final StringBuilder sb, final long packed, final long value) {
+    private void _appendCell(final XmlByteBuffer out, final long packed, final long value) {
         final int row = (int) ((packed >>> ROW_SHIFT) & ROW_MASK);
         final int col = (int) ((packed >>> COL_SHIFT) & COL_MASK);
         final int style = (int) ((packed >>> STYLE_SHIFT) & STYLE_MASK);
         final byte type = (byte) ((packed >>> TYPE_SHIFT) & TYPE_MASK);
 
-        sb.append("<c r=\"")
-                .append(_colLetter(col))
+        out.append(_cellOpen(col))
                 .append(row + 1)
-                .append("\" s=\"")
+                .append(CELL_STYLE)
                 .append(style);
         switch (type) {
             case TYPE_NUMERIC:
-                sb.append("\" t=\"n\"><v>")
+                out.append(CELL_NUMERIC)
                         .append(Double.longBitsToDouble(value))
-                        .append("</v></c>");
+                        .append(CELL_VALUE_CLOSE);
                 break;
             case TYPE_STRING:
-                sb.append("\" t=\"s\"><v>")
+                out.append(CELL_STRING)
                         .append((int) value)
-                        .append("</v></c>");
+                        .append(CELL_VALUE_CLOSE);
                 break;
             case TYPE_BOOLEAN:
-                sb.append("\" t=\"b\"><v>")
+                out.append(CELL_BOOLEAN)
                         .append(value == 0L ? '0' : '1')
-                        .append("</v></c>");
+                        .append(CELL_VALUE_CLOSE);
                 break;
             case TYPE_BLANK:
-                sb.append("\"/>");
+                out.append(CELL_EMPTY_CLOSE);
                 break;
             default:
                 throw new IllegalStateException("Unknown cell type code " + type);
         }
     }
 
-    private String _colLetter(final int col) {
+    private static int _col(final long packed) {
+        return (int) ((packed >>> COL_SHIFT) & COL_MASK);
+    }
+
+    private byte[] _cellOpen(final int col) {
         if (col < 0 || col >= _colLetters.length) {
-            return CellReference.convertNumToColString(col);
+            return XmlByteBuffer.ascii("<c r=\"" + CellReference.convertNumToColString(col));
         }
-        String letter = _colLetters[col];
-        if (letter == null) {
-            letter = CellReference.convertNumToColString(col);
-            _colLetters[col] = letter;
+        byte[] open = _colLetters[col];
+        if (open == null) {
+            open = XmlByteBuffer.ascii("<c r=\"" + CellReference.convertNumToColString(col));
+            _colLetters[col] = open;
         }
-        return letter;
+        return open;
     }
 
     private void _reset() {
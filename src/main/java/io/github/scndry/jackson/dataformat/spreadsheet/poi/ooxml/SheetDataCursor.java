@@ -0,0 +1,81 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.InputStream;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+/**
+ * Forward-only cursor over the {@code <row>}/{@code <c>} structure of a
+ * worksheet's {@code <sheetData>} (ECMA-376 §18.3.1.80).
+ * <p>
+ * {@link SSMLSheetReader} drives the cursor; implementations decide how the
+ * XML is tokenized.
+ *
+ * @see StaxSheetDataCursor
+ * @see ByteSheetDataCursor
+ */
+interface SheetDataCursor extends AutoCloseable {
+
+    /**
+     * Opens a cursor positioned at {@code <sheetData>}. With {@code scanBytes}
+     * the byte-level scanner is used unless the document prolog requires a full
+     * XML parser (non-UTF-8 encoding, DTD), in which case StAX is used.
+     */
+    static SheetDataCursor open(final InputStream worksheet, final boolean scanBytes) {
+        if (scanBytes) {
+            final XmlByteScanner scanner = new XmlByteScanner(worksheet);
+            if (scanner.isPlainUtf8()) {
+                return new ByteSheetDataCursor(scanner);
+            }
+            return new StaxSheetDataCursor(new XmlElementReader(scanner.detach()));
+        }
+        return new StaxSheetDataCursor(new XmlElementReader(worksheet));
+    }
+
+    /**
+     * Parses the {@code ref} of a {@code <dimension>}; {@code null} if it is
+     * missing or not a range within the EXCEL2007 grid.
+     */
+    static CellRangeAddress dimension(final String ref) {
+        if (ref == null || ref.isEmpty()) return null;
+        final CellRangeAddress range;
+        try {
+            range = CellRangeAddress.valueOf(ref);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        final SpreadsheetVersion version = SpreadsheetVersion.EXCEL2007;
+        if (range.getFirstRow() < 0 || range.getLastRow() < range.getFirstRow()
+                || range.getLastRow() > version.getLastRowIndex()
+                || range.getFirstColumn() < 0 || range.getLastColumn() < range.getFirstColumn()
+                || range.getLastColumn() > version.getLastColumnIndex()) {
+            return null;
+        }
+        return range;
+    }
+
+    /**
+     * The used range the worksheet declares in its {@code <dimension>}, read
+     * on open; {@code null} if it declares none. Writers may leave it stale,
+     * so it is only an estimate.
+     */
+    CellRangeAddress getDimension();
+
+    /** Advances to the next {@code <row>}; {@code false} at {@code </sheetData>}. */
+    boolean nextRow();
+
+    /** Zero-based index of the current row. */
+    int getRowIndex();
+
+    /** Advances to the next {@code <c>} of the current row; {@code false} at {@code </row>}. */
+    boolean nextCell();
+
+    /** Reads the current cell into a reusable {@link CTCell}. */
+    CTCell collectCell();
+
+    boolean isClosed();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,363 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cuts the {@code <sheetData>} of a worksheet stream into fragments at
+ * {@code <row>} boundaries without parsing cells, so that each fragment can be
+ * tokenized on its own.
+ * <p>
+ * Each {@link Slice} is a well-formed worksheet: the original bytes up to and
+ * including the {@code <sheetData>} start tag, a run of complete rows, and the
+ * closing {@code </sheetData>} and root end tags. The first slice holds only the
+ * rows above {@code firstDataRow} (header rows) and is always returned, even
+ * when empty; later slices hold whole rows and are cut once they reach the
+ * requested size.
+ * <p>
+ * Only byte-level markup is recognized: comments, CDATA sections and processing
+ * instructions are stepped over, every other {@code <} opens a tag. Documents
+ * the byte scanner does not handle (non-UTF-8, DTD) are rejected by
+ * {@link #open}.
+ *
+ * @see SSMLSheetChunks
+ */
+final class SheetDataSlicer implements AutoCloseable {
+
+    private static final int READ_SIZE = 64 * 1024;
+    private static final byte[] COMMENT_START = XmlByteScanner.name("<!--");
+    private static final byte[] COMMENT_END = XmlByteScanner.name("-->");
+    private static final byte[] CDATA_START = XmlByteScanner.name("<![CDATA[");
+    private static final byte[] CDATA_END = XmlByteScanner.name("]]>");
+    private static final byte[] PI_END = XmlByteScanner.name("?>");
+    private static final byte[] SHEET_DATA = XmlByteScanner.name(SpreadsheetML.SHEET_DATA);
+    private static final byte[] ROW = XmlByteScanner.name(SpreadsheetML.ROW);
+    private static final byte[] ATTR_REF = XmlByteScanner.name(SpreadsheetML.ATTR_REF);
+
+    private final InputStream _in;
+    private final int _firstDataRow;
+    private final int _chunkSize;
+    private byte[] _header;
+    private byte[] _trailer;
+    private byte[] _buf = new byte[READ_SIZE];
+    private int _limit;
+    private boolean _eof;
+    // Bytes of the stream dropped from the front of _buf
+    private long _offset;
+    // Scan position and start of the slice being collected, both in _buf
+    private int _pos;
+    private int _start;
+    private int _previousRow = -1;
+    private int _firstRow = -1;
+    private int _lastRow = -1;
+    private boolean _head = true;
+    private boolean _hasRow;
+    private boolean _done;
+
+    private SheetDataSlicer(final InputStream in, final int firstDataRow, final int chunkSize) {
+        _in = in;
+        _firstDataRow = firstDataRow;
+        _chunkSize = chunkSize;
+    }
+
+    /**
+     * Opens a slicer over {@code worksheet}, or returns {@code null} (closing
+     * the stream) when the document cannot be sliced: not plain UTF-8, a DTD,
+     * or no non-empty {@code <sheetData>}.
+     */
+    static SheetDataSlicer open(final InputStream worksheet, final int firstDataRow, final int chunkSize) {
+        final SheetDataSlicer slicer = new SheetDataSlicer(worksheet, firstDataRow, chunkSize);
+        boolean ok = false;
+        try {
+            ok = slicer._readHeader();
+            return ok ? slicer : null;
+        } finally {
+            if (!ok) slicer.close();
+        }
+    }
+
+    /** Returns the next slice, or {@code null} after the last one. */
+    Slice next() {
+        if (_done) return null;
+        _compact();
+        while (true) {
+            final int lt = _findTagStart(_pos);
+            if (lt < 0) throw _unexpectedEnd();
+            if (_startsWith(lt, COMMENT_START)) {
+                _pos = _skipPast(COMMENT_END, lt + COMMENT_START.length);
+            } else if (_startsWith(lt, CDATA_START)) {
+                _pos = _skipPast(CDATA_END, lt + CDATA_START.length);
+            } else if (_byteAt(lt + 1) == '?') {
+                _pos = _skipPast(PI_END, lt + 2);
+            } else if (_byteAt(lt + 1) == '/') {
+                final int nameEnd = _nameEnd(lt + 2);
+                if (_isLocalName(lt + 2, nameEnd, SHEET_DATA)) {
+                    _done = true;
+                    return _head || _hasRow ? _cut(lt) : null;
+                }
+                _pos = nameEnd;
+            } else {
+                final int nameEnd = _nameEnd(lt + 1);
+                if (_isLocalName(lt + 1, nameEnd, ROW)) {
+                    final int tagEnd = _tagEnd(nameEnd);
+                    final int ref = _rowRef(nameEnd, tagEnd);
+                    final int row = ref > 0 ? ref - 1 : _lastRow + 1;
+                    final boolean cut = _head
+                            ? row >= _firstDataRow
+                            : _hasRow && lt - _start >= _chunkSize;
+                    final Slice slice = cut ? _cut(lt) : null;
+                    if (!_hasRow) _firstRow = row;
+                    _lastRow = row;
+                    _hasRow = true;
+                    _pos = tagEnd + 1;
+                    if (slice != null) return slice;
+                } else {
+                    _pos = nameEnd;
+                }
+            }
+        }
+    }
+
+    /**
+     * The worksheet bytes up to and including the {@code <sheetData>} start
+     * tag, which every slice begins with.
+     */
+    byte[] header() {
+        return _header;
+    }
+
+    @Override
+    public void close() {
+        try {
+            _in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A fragment of the worksheet; {@link #previousRow} is the zero-based index
+     * of the row preceding its first row, or {@code -1}, {@link #firstRow} the
+     * index of its first row, or {@code -1} for a slice without rows, and
+     * {@link #offset} the position of its first byte in the worksheet stream.
+     */
+    final class Slice {
+
+        private final byte[] _rows;
+        final int previousRow;
+        final int firstRow;
+        final long offset;
+
+        private Slice(final byte[] rows, final int previousRow, final int firstRow, final long offset) {
+            _rows = rows;
+            this.previousRow = previousRow;
+            this.firstRow = firstRow;
+            this.offset = offset;
+        }
+
+        /** The fragment as a complete worksheet document. */
+        InputStream open() {
+            return new SequenceInputStream(
+                    new SequenceInputStream(new ByteArrayInputStream(_header), new ByteArrayInputStream(_rows)),
+                    new ByteArrayInputStream(_trailer));
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Header
+    // ---------------------------------------------------------------
+
+    private boolean _readHeader() {
+        _ensure(XmlByteScanner.MAX_PROLOG_SIZE + 4);
+        if (!new XmlByteScanner(new ByteArrayInputStream(_buf, 0, _limit)).isPlainUtf8()) return false;
+        String root = null;
+        int pos = 0;
+        while (true) {
+            final int lt = _findTagStart(pos);
+            if (lt < 0) return false;
+            if (_startsWith(lt, COMMENT_START)) {
+                pos = _skipPast(COMMENT_END, lt + COMMENT_START.length);
+            } else if (_byteAt(lt + 1) == '?') {
+                pos = _skipPast(PI_END, lt + 2);
+            } else if (_byteAt(lt + 1) == '!') {
+                return false;
+            } else if (_byteAt(lt + 1) == '/') {
+                pos = lt + 2;
+            } else {
+                final int nameEnd = _nameEnd(lt + 1);
+                final int tagEnd = _tagEnd(nameEnd);
+                final String name = new String(_buf, lt + 1, nameEnd - lt - 1, StandardCharsets.UTF_8);
+                if (root == null) {
+                    root = name;
+                } else if (_isLocalName(lt + 1, nameEnd, SHEET_DATA)) {
+                    if (_buf[tagEnd - 1] == '/') return false;
+                    _header = Arrays.copyOfRange(_buf, 0, tagEnd + 1);
+                    _trailer = ("</" + name + "></" + root + ">").getBytes(StandardCharsets.UTF_8);
+                    _pos = tagEnd + 1;
+                    _start = _pos;
+                    return true;
+                }
+                pos = tagEnd + 1;
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Slices
+    // ---------------------------------------------------------------
+
+    private Slice _cut(final int end) {
+        final Slice slice = new Slice(Arrays.copyOfRange(_buf, _start, end), _previousRow,
+                _hasRow ? _firstRow : -1, _offset + _start);
+        _start = end;
+        _previousRow = _lastRow;
+        _head = false;
+        _hasRow = false;
+        return slice;
+    }
+
+    // Moves the slice being collected to the front of the buffer
+    private void _compact() {
+        if (_start == 0) return;
+        System.arraycopy(_buf, _start, _buf, 0, _limit - _start);
+        _offset += _start;
+        _limit -= _start;
+        _pos -= _start;
+        _start = 0;
+    }
+
+    // ---------------------------------------------------------------
+    // Markup
+    // ---------------------------------------------------------------
+
+    private int _nameEnd(final int from) {
+        int i = from;
+        while (true) {
+            if (!_ensure(i + 1)) throw _unexpectedEnd();
+            final byte b = _buf[i];
+            if (b == '>' || b == '/' || _isWhitespace(b)) return i;
+            i++;
+        }
+    }
+
+    // Index of the '>' closing the tag, honoring quoted attribute values
+    private int _tagEnd(final int from) {
+        int i = from;
+        byte quote = 0;
+        while (true) {
+            if (!_ensure(i + 1)) throw _unexpectedEnd();
+            final byte b = _buf[i];
+            if (quote != 0) {
+                if (b == quote) quote = 0;
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '>') {
+                return i;
+            }
+            i++;
+        }
+    }
+
+    // Value of the r attribute within [from, end), or 0 when absent
+    private int _rowRef(final int from, final int end) {
+        int i = from;
+        while (i < end) {
+            while (i < end && _isWhitespace(_buf[i])) i++;
+            final int nameStart = i;
+            while (i < end && _buf[i] != '=' && !_isWhitespace(_buf[i])) i++;
+            final int nameEnd = i;
+            while (i < end && _buf[i] != '"' && _buf[i] != '\'') i++;
+            if (i >= end) return 0;
+            final byte quote = _buf[i++];
+            final int valueStart = i;
+            while (i < end && _buf[i] != quote) i++;
+            if (nameEnd - nameStart == ATTR_REF.length && _buf[nameStart] == ATTR_REF[0]) {
+                return XmlByteScanner.parseInt(_buf, valueStart, i);
+            }
+            i++;
+        }
+        return 0;
+    }
+
+    private boolean _isLocalName(final int start, final int end, final byte[] localName) {
+        int s = start;
+        for (int i = start; i < end; i++) {
+            if (_buf[i] == ':') s = i + 1;
+        }
+        if (end - s != localName.length) return false;
+        for (int i = 0; i < localName.length; i++) {
+            if (_buf[s + i] != localName[i]) return false;
+        }
+        return true;
+    }
+
+    private int _skipPast(final byte[] terminator, final int from) {
+        int i = from;
+        while (true) {
+            if (!_ensure(i + terminator.length)) throw _unexpectedEnd();
+            if (_startsWith(i, terminator)) return i + terminator.length;
+            i++;
+        }
+    }
+
+    private boolean _startsWith(final int at, final byte[] prefix) {
+        if (!_ensure(at + prefix.length)) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (_buf[at + i] != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private int _byteAt(final int at) {
+        return _ensure(at + 1) ? _buf[at] : -1;
+    }
+
+    private int _findTagStart(final int from) {
+        int i = from;
+        while (true) {
+            for (; i < _limit; i++) {
+                if (_buf[i] == '<') return i;
+            }
+            if (!_ensure(_limit + 1)) return -1;
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Buffer
+    // ---------------------------------------------------------------
+
+    // Makes at least n bytes available in _buf; false at end of stream
+    private boolean _ensure(final int n) {
+        while (_limit < n) {
+            if (_eof) return false;
+            if (_limit + READ_SIZE > _buf.length) {
+                _buf = Arrays.copyOf(_buf, Math.max(_buf.length * 2, _limit + READ_SIZE));
+            }
+            final int read;
+            try {
+                read = _in.read(_buf, _limit, READ_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (read < 0) {
+                _eof = true;
+                return false;
+            }
+            _limit += read;
+        }
+        return true;
+    }
+
+    private static boolean _isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static IllegalStateException _unexpectedEnd() {
+        return new IllegalStateException("Unexpected end of worksheet XML");
+    }
+}
@@ -0,0 +1,518 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.POICompat;
+
+/**
+ * Seek index over the deflated worksheet entry of an XLSX file, so that a
+ * read can start near any row without inflating the rows before it.
+ * <p>
+ * The index pairs two kinds of entries, both collected in one pass over
+ * the worksheet on first use. Inflate checkpoints, one per
+ * {@link #CHECKPOINT_SPAN} bytes of XML, record where a DEFLATE block
+ * starts — bit position and bytes inflated — together with the 32 KiB of
+ * XML before it, from which a {@link ResumableInflater} restarts. Row
+ * entries, one per {@link #ROW_SPAN} bytes of rows, record where a
+ * {@code <row>} starts in the XML, its index and the index of the row
+ * before it, as {@link SheetDataSlicer} cuts them. Seeking to a row
+ * resumes at the checkpoint preceding the row entry at or before it,
+ * inflates up to that entry and tokenizes from there, so that reaching
+ * any row costs at most one span of each.
+ * <p>
+ * The index is saved as a file with owner-only permissions and reused
+ * while the file's size and modification time and the entry's CRC-32 and
+ * sizes are unchanged. It is kept in the directory the caller names, across
+ * runs, or else in {@link POICompat#tempDir()} and removed at JVM exit, as
+ * it copies worksheet content that should not outlive the process unless
+ * asked to. Shared strings are not checkpointed: they are loaded whole
+ * for every read, as for any other.
+ *
+ * @see ZipArchiveSheets#openRows
+ */
+@Slf4j
+final class SheetRowIndex {
+
+    /** Bytes of worksheet XML between inflate checkpoints. */
+    static final long CHECKPOINT_SPAN = 1 << 20;
+    /** Bytes of rows between row entries. */
+    static final int ROW_SPAN = 256 << 10;
+
+    private static final int MAGIC = 0x4A535249;
+    private static final int VERSION = 1;
+
+    private final byte[] _header;
+    private final long[] _checkpointBits;
+    private final long[] _checkpointOut;
+    // Deflated windows and their inflated lengths
+    private final byte[][] _windows;
+    private final int[] _windowLengths;
+    private final long[] _rowOffsets;
+    private final int[] _firstRows;
+    private final int[] _previousRows;
+
+    private SheetRowIndex(
+            final byte[] header,
+            final long[] checkpointBits,
+            final long[] checkpointOut,
+            final byte[][] windows,
+            final int[] windowLengths,
+            final long[] rowOffsets,
+            final int[] firstRows,
+            final int[] previousRows) {
+        _header = header;
+        _checkpointBits = checkpointBits;
+        _checkpointOut = checkpointOut;
+        _windows = windows;
+        _windowLengths = windowLengths;
+        _rowOffsets = rowOffsets;
+        _firstRows = firstRows;
+        _previousRows = previousRows;
+    }
+
+    /**
+     * Index of worksheet {@code entry} of {@code zip}, read from {@code file},
+     * loaded from its saved copy or else built and saved, in {@code dir} or,
+     * if {@code null}, until JVM exit in the temporary directory; {@code null}
+     * if the entry is not deflated or the byte scanner does not handle its
+     * XML.
+     */
+    static SheetRowIndex load(
+            final ZipArchive zip,
+            final File file,
+            final String entry,
+            final File dir) throws IOException {
+        if (zip.getRawInputStream(entry, 0) == null) return null;
+        final Key key = new Key(file, entry, zip);
+        final Path path = key.path(dir == null ? POICompat.tempDir() : dir);
+        SheetRowIndex index = _read(path, key);
+        if (index != null) return index;
+        index = _build(zip, entry);
+        if (index != null) {
+            _write(path, key, index, dir == null);
+        }
+        return index;
+    }
+
+    /**
+     * Cursor over the worksheet {@code head} reads from its start: it
+     * returns the rows above {@code firstDataRow} from {@code head}, then
+     * continues at the last row entry at or before {@code row} when that
+     * skips rows, dropping {@code head}. Rows between that entry and
+     * {@code row} are still returned; callers skip them.
+     */
+    SheetDataCursor seek(
+            final SheetDataCursor head,
+            final ZipArchive zip,
+            final String entry,
+            final int firstDataRow,
+            final int row) {
+        final int i = _find(row);
+        if (i < 0 || _firstRows[i] <= firstDataRow) return head;
+        return new SeekingCursor(head, firstDataRow, _firstRows[i], () -> _open(zip, entry, i));
+    }
+
+    // Last row entry at or before row; -1 if none
+    private int _find(final int row) {
+        int lo = 0;
+        int hi = _firstRows.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (_firstRows[mid] <= row) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    // Rows from row entry i on, inflated from the checkpoint before it
+    private SheetDataCursor _open(final ZipArchive zip, final String entry, final int i) throws IOException {
+        final long offset = _rowOffsets[i];
+        int c = Arrays.binarySearch(_checkpointOut, offset);
+        if (c < 0) c = -c - 2;
+        final long bits = _checkpointBits[c];
+        final InputStream raw = zip.getRawInputStream(entry, bits >>> 3);
+        final ResumableInflater inflater = new ResumableInflater(
+                raw, (int) (bits & 7), _inflate(_windows[c], _windowLengths[c]), _checkpointOut[c]);
+        long skip = offset - _checkpointOut[c];
+        final byte[] buf = new byte[8192];
+        while (skip > 0) {
+            final int n = inflater.read(buf, 0, (int) Math.min(buf.length, skip));
+            if (n < 0) throw new EOFException("Worksheet ends before its indexed row " + _firstRows[i]);
+            skip -= n;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Resuming {} at row {}, {} bytes past checkpoint {}",
+                    entry, _firstRows[i], offset - _checkpointOut[c], c);
+        }
+        final InputStream xml = new SequenceInputStream(new ByteArrayInputStream(_header), inflater);
+        return new ByteSheetDataCursor(new XmlByteScanner(xml), _previousRows[i]);
+    }
+
+    // ---------------------------------------------------------------
+    // Build
+    // ---------------------------------------------------------------
+
+    private static SheetRowIndex _build(final ZipArchive zip, final String entry) throws IOException {
+        final ResumableInflater inflater = new ResumableInflater(zip.getRawInputStream(entry, 0));
+        final List<long[]> checkpoints = new ArrayList<>();
+        final List<byte[]> windows = new ArrayList<>();
+        final List<Integer> windowLengths = new ArrayList<>();
+        inflater.setBlockListener((bitPosition, out) -> {
+            if (!checkpoints.isEmpty() && out - checkpoints.get(checkpoints.size() - 1)[1] < CHECKPOINT_SPAN) {
+                return;
+            }
+            final byte[] window = inflater.window();
+            checkpoints.add(new long[]{bitPosition, out});
+            windows.add(_deflate(window));
+            windowLengths.add(window.length);
+        });
+        final SheetDataSlicer slicer = SheetDataSlicer.open(inflater, 0, ROW_SPAN);
+        if (slicer == null) return null;
+        final byte[] header;
+        // Offset, first row and previous row of each slice with rows
+        final List<long[]> rows = new ArrayList<>();
+        try {
+            header = slicer.header();
+            SheetDataSlicer.Slice slice;
+            while ((slice = slicer.next()) != null) {
+                if (slice.firstRow >= 0) rows.add(new long[]{slice.offset, slice.firstRow, slice.previousRow});
+            }
+        } finally {
+            slicer.close();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Indexed {}: {} checkpoints over {} bytes, {} row entries",
+                    entry, checkpoints.size(), inflater.getBytesWritten(), rows.size());
+        }
+        final int n = checkpoints.size();
+        final long[] checkpointBits = new long[n];
+        final long[] checkpointOut = new long[n];
+        final int[] lengths = new int[n];
+        for (int i = 0; i < n; i++) {
+            checkpointBits[i] = checkpoints.get(i)[0];
+            checkpointOut[i] = checkpoints.get(i)[1];
+            lengths[i] = windowLengths.get(i);
+        }
+        final long[] rowOffsets = new long[rows.size()];
+        final int[] firstRows = new int[rows.size()];
+        final int[] previousRows = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            rowOffsets[i] = rows.get(i)[0];
+            firstRows[i] = (int) rows.get(i)[1];
+            previousRows[i] = (int) rows.get(i)[2];
+        }
+        return new SheetRowIndex(header, checkpointBits, checkpointOut,
+                windows.toArray(new byte[0][]), lengths, rowOffsets, firstRows, previousRows);
+    }
+
+    private static byte[] _deflate(final byte[] window) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(window);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(window.length / 4 + 64);
+            final byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] _inflate(final byte[] deflated, final int length) throws IOException {
+        final Inflater inflater = new Inflater(true);
+        try {
+            // A nowrap inflater may need one byte past the data to finish
+            inflater.setInput(Arrays.copyOf(deflated, deflated.length + 1));
+            final byte[] window = new byte[length];
+            int n = 0;
+            while (n < length) {
+                final int read = inflater.inflate(window, n, length - n);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) break;
+                n += read;
+            }
+            if (n != length) throw new IOException("Corrupt row index window");
+            return window;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt row index window", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Persistence
+    // ---------------------------------------------------------------
+
+    // Saved copy if it matches key; null if absent, stale or unreadable
+    private static SheetRowIndex _read(final Path path, final Key key) {
+        if (!Files.isRegularFile(path)) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.matches(in)) {
+                log.debug("Row index {} is stale", path);
+                return null;
+            }
+            final long size = Files.size(path);
+            final byte[] header = new byte[_count(in, size)];
+            in.readFully(header);
+            final int checkpoints = _count(in, size);
+            final long[] checkpointBits = new long[checkpoints];
+            final long[] checkpointOut = new long[checkpoints];
+            final byte[][] windows = new byte[checkpoints][];
+            final int[] windowLengths = new int[checkpoints];
+            for (int i = 0; i < checkpoints; i++) {
+                checkpointBits[i] = in.readLong();
+                checkpointOut[i] = in.readLong();
+                windowLengths[i] = in.readInt();
+                windows[i] = new byte[_count(in, size)];
+                in.readFully(windows[i]);
+            }
+            final int rows = _count(in, size);
+            final long[] rowOffsets = new long[rows];
+            final int[] firstRows = new int[rows];
+            final int[] previousRows = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                rowOffsets[i] = in.readLong();
+                firstRows[i] = in.readInt();
+                previousRows[i] = in.readInt();
+            }
+            return new SheetRowIndex(header, checkpointBits, checkpointOut,
+                    windows, windowLengths, rowOffsets, firstRows, previousRows);
+        } catch (IOException | RuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Ignoring unreadable row index {}: {}", path, e.toString());
+            }
+            return null;
+        }
+    }
+
+    // A length or count, which cannot exceed the size of the file it is read from
+    private static int _count(final DataInputStream in, final long size) throws IOException {
+        final int count = in.readInt();
+        if (count < 0 || count > size) throw new IOException("Corrupt row index");
+        return count;
+    }
+
+    // Best effort: a failure only costs the next read a rebuild
+    private static void _write(final Path path, final Key key, final SheetRowIndex index, final boolean temporary) {
+        Path temp = null;
+        try {
+            Files.createDirectories(path.getParent());
+            temp = POICompat.createSecureTempFile(path.getParent(), "jackson-spreadsheet-index-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                key.writeTo(out);
+                out.writeInt(index._header.length);
+                out.write(index._header);
+                out.writeInt(index._checkpointBits.length);
+                for (int i = 0; i < index._checkpointBits.length; i++) {
+                    out.writeLong(index._checkpointBits[i]);
+                    out.writeLong(index._checkpointOut[i]);
+                    out.writeInt(index._windowLengths[i]);
+                    out.writeInt(index._windows[i].length);
+                    out.write(index._windows[i]);
+                }
+                out.writeInt(index._rowOffsets.length);
+                for (int i = 0; i < index._rowOffsets.length; i++) {
+                    out.writeLong(index._rowOffsets[i]);
+                    out.writeInt(index._firstRows[i]);
+                    out.writeInt(index._previousRows[i]);
+                }
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (temporary) {
+                POICompat.trackTempFile(path);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to save row index {}: {}", path, e.getMessage());
+            }
+        } finally {
+            if (temp != null) {
+                try {
+                    POICompat.releaseTempFile(temp);
+                } catch (IOException e) {
+                    log.debug("Failed to delete row index temp file {}", temp);
+                }
+            }
+        }
+    }
+
+    /** What a saved index was built from; any change makes it stale. */
+    private static final class Key {
+
+        private final String _file;
+        private final String _entry;
+        private final long _length;
+        private final long _lastModified;
+        private final long _crc;
+        private final long _compressedSize;
+        private final long _size;
+
+        Key(final File file, final String entry, final ZipArchive zip) throws IOException {
+            _file = file.getCanonicalPath();
+            _entry = entry;
+            _length = file.length();
+            _lastModified = file.lastModified();
+            _crc = zip.getCrc(entry);
+            _compressedSize = zip.getCompressedSize(entry);
+            _size = zip.getSize(entry);
+        }
+
+        // Named after a digest of the file and entry names
+        Path path(final File dir) {
+            final MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            final byte[] hash = digest.digest((_file + '\n' + _entry).getBytes(StandardCharsets.UTF_8));
+            final StringBuilder name = new StringBuilder("row-index-");
+            for (int i = 0; i < 16; i++) {
+                name.append(Character.forDigit(hash[i] >> 4 & 0xF, 16))
+                        .append(Character.forDigit(hash[i] & 0xF, 16));
+            }
+            return dir.toPath().resolve(name.append(".idx").toString());
+        }
+
+        void writeTo(final DataOutputStream out) throws IOException {
+            out.writeUTF(_file);
+            out.writeUTF(_entry);
+            out.writeLong(_length);
+            out.writeLong(_lastModified);
+            out.writeLong(_crc);
+            out.writeLong(_compressedSize);
+            out.writeLong(_size);
+        }
+
+        boolean matches(final DataInputStream in) throws IOException {
+            return _file.equals(in.readUTF())
+                    && _entry.equals(in.readUTF())
+                    && _length == in.readLong()
+                    && _lastModified == in.readLong()
+                    && _crc == in.readLong()
+                    && _compressedSize == in.readLong()
+                    && _size == in.readLong();
+        }
+    }
+
+    private interface CursorOpener {
+
+        SheetDataCursor open() throws IOException;
+    }
+
+    /**
+     * Header rows from one cursor, then the rows of another opened at the
+     * first data row; the dimension is the first cursor's.
+     */
+    private static final class SeekingCursor implements SheetDataCursor {
+
+        private final SheetDataCursor _head;
+        private final int _firstDataRow;
+        private final int _resumeRow;
+        private final CursorOpener _tail;
+        private final CellRangeAddress _dimension;
+        private SheetDataCursor _current;
+        private boolean _pastHead;
+
+        SeekingCursor(
+                final SheetDataCursor head,
+                final int firstDataRow,
+                final int resumeRow,
+                final CursorOpener tail) {
+            _head = head;
+            _firstDataRow = firstDataRow;
+            _resumeRow = resumeRow;
+            _tail = tail;
+            _dimension = head.getDimension();
+            _current = head;
+        }
+
+        @Override
+        public CellRangeAddress getDimension() {
+            return _dimension;
+        }
+
+        @Override
+        public boolean nextRow() {
+            if (_pastHead) return _current.nextRow();
+            if (!_head.nextRow()) return false;
+            if (_head.getRowIndex() < _firstDataRow) return true;
+            _pastHead = true;
+            if (_head.getRowIndex() >= _resumeRow) return true;
+            _head.close();
+            try {
+                _current = _tail.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return _current.nextRow();
+        }
+
+        @Override
+        public int getRowIndex() {
+            return _current.getRowIndex();
+        }
+
+        @Override
+        public boolean nextCell() {
+            return _current.nextCell();
+        }
+
+        @Override
+        public CTCell collectCell() {
+            return _current.collectCell();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return _current.isClosed();
+        }
+
+        @Override
+        public void close() {
+            if (!_head.isClosed()) _head.close();
+            if (_current != _head) _current.close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable scaffold of one {@link SSMLSheetWriter} configuration, as
+ * {@link ScaffoldCache} keeps it: the worksheet XML around
+ * {@code <dimension>} and {@code <sheetData>}, the style indices of the
+ * columns and group headers, and every other package entry as raw DEFLATE
+ * data, in scaffold order.
+ */
+final class SheetScaffold {
+
+    final String _sheetXmlHead;
+    final String _sheetXmlPrefix;
+    final String _sheetXmlSuffix;
+    final int[] _columnStyleIndex;
+    final int[] _headerColumnStyleIndex;
+    final Map<String, Integer> _groupHeaderStyleIndex;
+    final List<RawEntry> _entries;
+
+    SheetScaffold(
+            final String sheetXmlHead,
+            final String sheetXmlPrefix,
+            final String sheetXmlSuffix,
+            final int[] columnStyleIndex,
+            final int[] headerColumnStyleIndex,
+            final Map<String, Integer> groupHeaderStyleIndex,
+            final List<RawEntry> entries) {
+        _sheetXmlHead = sheetXmlHead;
+        _sheetXmlPrefix = sheetXmlPrefix;
+        _sheetXmlSuffix = sheetXmlSuffix;
+        _columnStyleIndex = columnStyleIndex;
+        _headerColumnStyleIndex = headerColumnStyleIndex;
+        _groupHeaderStyleIndex = groupHeaderStyleIndex;
+        _entries = entries;
+    }
+
+    static final class RawEntry {
+
+        final String _name;
+        final byte[] _deflated;
+        final long _crc;
+        final long _size;
+
+        RawEntry(final String name, final byte[] deflated, final long crc, final long size) {
+            _name = name;
+            _deflated = deflated;
+            _crc = crc;
+            _size = size;
+        }
+    }
+}
@@ -14,6 +14,8 @@ final class SpreadsheetML {
     // Element local names
     // ---------------------------------------------------------------
 
+    /** {@code <dimension>} — used range of a worksheet (§18.3.1.35) */
+    static final String DIMENSION = "dimension";
     /** {@code <sheetData>} — sheet data container (§18.3.1.80) */
     static final String SHEET_DATA = "sheetData";
     /** {@code <row>} — row element (§18.3.1.73) */
@@ -59,6 +61,8 @@ final class SpreadsheetML {
 
     /** {@code r} — cell reference on {@code <c>}, row index on {@code <row>} */
     static final String ATTR_REF = "r";
+    /** {@code ref} — cell range on {@code <dimension>} */
+    static final String ATTR_RANGE_REF = "ref";
     /** {@code t} — cell type on {@code <c>}, formula type on {@code <f>} */
     static final String ATTR_TYPE = "t";
     /** {@code s} — cell style (XF) index on {@code <c>} */
@@ -0,0 +1,71 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.XmlElementReader.Matcher;
+
+/**
+ * {@link SheetDataCursor} backed by {@link XmlElementReader} (StAX).
+ */
+final class StaxSheetDataCursor implements SheetDataCursor {
+
+    private static final Matcher START_DIMENSION = Matcher.startElement(SpreadsheetML.DIMENSION);
+    private static final Matcher START_SHEET_DATA = Matcher.startElement(SpreadsheetML.SHEET_DATA);
+    private static final Matcher START_ROW = Matcher.startElement(SpreadsheetML.ROW);
+    private static final Matcher END_ROW = Matcher.endElement(SpreadsheetML.ROW);
+    private static final Matcher START_CELL = Matcher.startElement(SpreadsheetML.CELL);
+    private static final Matcher END_SHEET_DATA = Matcher.endElement(SpreadsheetML.SHEET_DATA);
+
+    private final XmlElementReader _reader;
+    private final CellRangeAddress _dimension;
+
+    StaxSheetDataCursor(final XmlElementReader reader) {
+        _reader = reader;
+        if (_reader.nextUntil(START_DIMENSION, START_SHEET_DATA) == START_DIMENSION) {
+            _dimension = SheetDataCursor.dimension(_reader.attribute(SpreadsheetML.ATTR_RANGE_REF));
+            _reader.nextUntil(START_SHEET_DATA);
+        } else {
+            _dimension = null;
+        }
+    }
+
+    @Override
+    public CellRangeAddress getDimension() {
+        return _dimension;
+    }
+
+    @Override
+    public boolean nextRow() {
+        return _matched(START_ROW, END_SHEET_DATA);
+    }
+
+    @Override
+    public int getRowIndex() {
+        return _reader.intAttribute(SpreadsheetML.ATTR_REF) - 1;
+    }
+
+    @Override
+    public boolean nextCell() {
+        return _matched(START_CELL, END_ROW);
+    }
+
+    @Override
+    public CTCell collectCell() {
+        return _reader.collectCell();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return _reader.isClosed();
+    }
+
+    @Override
+    public void close() {
+        _reader.close();
+    }
+
+    private boolean _matched(final Matcher start, final Matcher end) {
+        final Matcher hit = _reader.nextUntil(start, end);
+        return hit != null && !hit.isEndElement();
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.XmlElementReader.Matcher;
+
+/**
+ * Sheet list and date1904 setting of a parsed {@code workbook.xml}, with each
+ * sheet resolved to the id of its worksheet relationship.
+ *
+ * @see SSMLWorkbook
+ */
+final class WorkbookXml {
+
+    private static final Matcher START_WORKBOOK_PR =
+            Matcher.startElement(SpreadsheetML.WORKBOOK_PR);
+    private static final Matcher START_SHEET = Matcher.startElement(SpreadsheetML.SHEET);
+    private static final Matcher END_SHEETS = Matcher.endElement(SpreadsheetML.SHEETS);
+
+    private final boolean _date1904;
+    private final List<SheetEntry> _sheets;
+
+    private WorkbookXml(final boolean date1904, final List<SheetEntry> sheets) {
+        _date1904 = date1904;
+        _sheets = sheets;
+    }
+
+    /** Parses {@code workbook.xml} from {@code in}, without closing it. */
+    static WorkbookXml parse(final InputStream in) {
+        final List<SheetEntry> sheets = new ArrayList<>();
+        boolean date1904 = false;
+        try (XmlElementReader reader = new XmlElementReader(in)) {
+            reader.navigateTo(SpreadsheetML.WORKBOOK);
+            final Matcher hit = reader.nextUntil(START_WORKBOOK_PR, START_SHEET, END_SHEETS);
+            if (hit == START_WORKBOOK_PR) {
+                final String val = reader.attribute(SpreadsheetML.ATTR_DATE_1904);
+                date1904 = "1".equals(val) || "true".equals(val);
+                final Matcher next = reader.nextUntil(START_SHEET, END_SHEETS);
+                if (next == START_SHEET) {
+                    sheets.add(_sheet(reader));
+                }
+            } else if (hit == START_SHEET) {
+                sheets.add(_sheet(reader));
+            }
+            while (true) {
+                final Matcher m = reader.nextUntil(START_SHEET, END_SHEETS);
+                if (m == null || m.isEndElement()) break;
+                sheets.add(_sheet(reader));
+            }
+        }
+        return new WorkbookXml(date1904, sheets);
+    }
+
+    boolean isDate1904() {
+        return _date1904;
+    }
+
+    // Index-based: throws on out of range (programming error, like List.get)
+    String relationshipIdAt(final int index) {
+        _validateSheetIndex(index);
+        return _sheets.get(index).relationshipId();
+    }
+
+    // Name-based: returns null if not found (lookup failure, like Map.get)
+    String relationshipId(final String name) {
+        for (final SheetEntry sheet : _sheets) {
+            if (sheet._name.equalsIgnoreCase(name)) {
+                return sheet.relationshipId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Entry name of the worksheet {@code src} selects, resolved through the
+     * workbook relationships {@code rels}.
+     *
+     * @throws IllegalArgumentException if the workbook has no such sheet, or
+     *                                  it is not a worksheet (a chartsheet)
+     */
+    String worksheetEntry(final PartRelationships rels, final SheetInput<?> src) {
+        final String id = src.isNamed() ? relationshipId(src.getName()) : relationshipIdAt(src.getIndex());
+        final String entry = id == null ? null : rels.targetById(id, XSSFRelation.WORKSHEET.getRelation());
+        if (entry == null) {
+            throw new IllegalArgumentException("No sheet for " + src);
+        }
+        return entry;
+    }
+
+    private static SheetEntry _sheet(final XmlElementReader reader) {
+        String rId = reader.attribute(SpreadsheetML.NS_REL_TRANSITIONAL, SpreadsheetML.ATTR_REL_ID);
+        if (rId == null) {
+            rId = reader.attribute(SpreadsheetML.NS_REL_STRICT, SpreadsheetML.ATTR_REL_ID);
+        }
+        return new SheetEntry(
+                reader.attribute(SpreadsheetML.ATTR_NAME),
+                reader.attribute(SpreadsheetML.ATTR_SHEET_ID),
+                rId);
+    }
+
+    private void _validateSheetIndex(final int index) {
+        final int lastSheetIx = _sheets.size() - 1;
+        if (index < 0 || index > lastSheetIx) {
+            String range = "(0.." + lastSheetIx + ")";
+            if (lastSheetIx == -1) {
+                range = "(no sheets)";
+            }
+            throw new IllegalArgumentException("Sheet index (" + index + ") is out of range " +
+                    range);
+        }
+    }
+
+    private static final class SheetEntry {
+        final String _name;
+        final String _sheetId;
+        final String _rId;
+
+        SheetEntry(final String name, final String sheetId, final String rId) {
+            _name = name;
+            _sheetId = sheetId;
+            _rId = rId;
+        }
+
+        String relationshipId() {
+            return _rId != null ? _rId : "rId" + _sheetId;
+        }
+    }
+}
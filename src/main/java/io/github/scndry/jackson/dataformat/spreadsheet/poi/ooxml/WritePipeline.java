@@ -0,0 +1,221 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the writes of one producer thread on a dedicated consumer thread, in
+ * order, so that the producer goes on while its output is compressed and
+ * written.
+ * <p>
+ * Data is copied into one of {@link #BUFFER_COUNT} recycled
+ * {@link #BUFFER_SIZE} buffers, and a full buffer is queued to the
+ * {@link Sink}; other operations ({@link #execute}) are queued in between.
+ * A producer that runs ahead of the consumer waits for a free buffer. A
+ * failure on the consumer thread skips every later operation and is thrown
+ * to the producer by its next call, or by {@link #close()} if none follows.
+ */
+final class WritePipeline implements Closeable {
+
+    static final int BUFFER_SIZE = 64 << 10;
+    static final int BUFFER_COUNT = 8;
+
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+    private static final Task END = new Task(null, 0, null);
+
+    /** Consumer side of queued data. */
+    interface Sink {
+        void write(byte[] b, int off, int len) throws IOException;
+    }
+
+    /** Operation queued between data. */
+    interface Action {
+        void run() throws IOException;
+    }
+
+    private final Sink _sink;
+    private final BlockingQueue<byte[]> _free = new ArrayBlockingQueue<>(BUFFER_COUNT);
+    private final BlockingQueue<Task> _tasks = new ArrayBlockingQueue<>(BUFFER_COUNT * 2);
+    private int _allocated;
+    private Thread _consumer;
+    private volatile Throwable _failure;
+    private boolean _failureThrown;
+    private boolean _closed;
+
+    // Buffer being filled
+    private byte[] _buffer;
+    private int _length;
+
+    WritePipeline(final Sink sink) {
+        _sink = sink;
+    }
+
+    void write(final byte[] b, int off, int len) throws IOException {
+        _ensureOpen();
+        while (len > 0) {
+            if (_buffer == null) {
+                _buffer = _acquire();
+                _length = 0;
+            }
+            final int n = Math.min(len, BUFFER_SIZE - _length);
+            System.arraycopy(b, off, _buffer, _length, n);
+            _length += n;
+            off += n;
+            len -= n;
+            if (_length == BUFFER_SIZE) {
+                _submitBuffer();
+            }
+        }
+    }
+
+    /** Queues {@code action} after the data written so far. */
+    void execute(final Action action) throws IOException {
+        _ensureOpen();
+        if (_buffer != null) {
+            _submitBuffer();
+        }
+        _put(new Task(null, 0, action));
+    }
+
+    /**
+     * Runs the operations queued so far and stops the consumer thread;
+     * throws a consumer failure not yet thrown to the producer.
+     */
+    @Override
+    public void close() throws IOException {
+        if (_closed) return;
+        _closed = true;
+        if (_consumer != null) {
+            if (_buffer != null && _failure == null) {
+                _putUninterruptibly(new Task(_buffer, _length, null));
+            }
+            _putUninterruptibly(END);
+            _joinUninterruptibly();
+        }
+        _buffer = null;
+        _checkFailure();
+    }
+
+    /** Whether an operation failed on the consumer thread. */
+    boolean isFailed() {
+        return _failure != null;
+    }
+
+    private void _ensureOpen() throws IOException {
+        if (_closed) throw new IOException("Write pipeline already closed");
+        _checkFailure();
+    }
+
+    private void _checkFailure() throws IOException {
+        final Throwable failure = _failure;
+        if (failure == null || _failureThrown) return;
+        _failureThrown = true;
+        throw new IOException("Failed to write on pipeline thread", failure);
+    }
+
+    private byte[] _acquire() throws IOException {
+        final byte[] buffer = _free.poll();
+        if (buffer != null) return buffer;
+        if (_allocated < BUFFER_COUNT) {
+            _allocated++;
+            return new byte[BUFFER_SIZE];
+        }
+        try {
+            return _free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a write buffer");
+        }
+    }
+
+    private void _submitBuffer() throws IOException {
+        final Task task = new Task(_buffer, _length, null);
+        _buffer = null;
+        _put(task);
+    }
+
+    private void _put(final Task task) throws IOException {
+        if (_consumer == null) {
+            _consumer = new Thread(this::_consume, "spreadsheet-write-" + THREAD_SEQUENCE.incrementAndGet());
+            _consumer.setDaemon(true);
+            _consumer.start();
+        }
+        try {
+            _tasks.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while queueing a write");
+        }
+    }
+
+    private void _putUninterruptibly(final Task task) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                _tasks.put(task);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void _joinUninterruptibly() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                _consumer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void _consume() {
+        while (true) {
+            final Task task;
+            try {
+                task = _tasks.take();
+            } catch (InterruptedException e) {
+                // Only the producer stops the consumer, with END
+                continue;
+            }
+            if (task == END) return;
+            try {
+                if (_failure == null) {
+                    if (task._buffer != null) {
+                        _sink.write(task._buffer, 0, task._length);
+                    } else {
+                        task._action.run();
+                    }
+                }
+            } catch (Throwable t) {
+                _failure = t;
+            } finally {
+                if (task._buffer != null) {
+                    _free.offer(task._buffer);
+                }
+            }
+        }
+    }
+
+    private static final class Task {
+
+        final byte[] _buffer;
+        final int _length;
+        final Action _action;
+
+        Task(final byte[] buffer, final int length, final Action action) {
+            _buffer = buffer;
+            _length = length;
+            _action = action;
+        }
+    }
+}
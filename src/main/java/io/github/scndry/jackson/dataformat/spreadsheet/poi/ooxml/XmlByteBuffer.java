@@ -0,0 +1,236 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable UTF-8 output buffer for SpreadsheetML that {@link SSMLSheetWriter}
+ * and {@link SheetDataBuffer} write into directly, so sheet XML reaches the
+ * ZIP stream without a {@code String} or a second copy in between.
+ * <p>
+ * Markup is appended as pre-encoded fragments ({@link #ascii(String)}),
+ * integers through a two-digit table, doubles through {@link DoubleText},
+ * and text either UTF-8 encoded as is ({@link #append(String)}) or escaped
+ * for element content ({@link #appendEscaped(char[], int)}), which copies
+ * runs of plain ASCII in one narrowing loop.
+ */
+final class XmlByteBuffer {
+
+    // "00" .. "99": two digits per lookup when formatting integers
+    static final byte[] DIGIT_TENS = new byte[100];
+    static final byte[] DIGIT_ONES = new byte[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (byte) ('0' + i / 10);
+            DIGIT_ONES[i] = (byte) ('0' + i % 10);
+        }
+    }
+
+    // Per ASCII char: 0 copies as is, 1 is dropped (not allowed in XML 1.0), else index of the entity
+    private static final byte[] TEXT_CLASS = new byte[128];
+    private static final byte[][] ENTITIES = {
+            null, null, ascii("&lt;"), ascii("&gt;"), ascii("&amp;"), ascii("&apos;"), ascii("&quot;")
+    };
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            TEXT_CLASS[c] = 1;
+        }
+        TEXT_CLASS['\t'] = 0;
+        TEXT_CLASS['\n'] = 0;
+        TEXT_CLASS['\r'] = 0;
+        TEXT_CLASS['<'] = 2;
+        TEXT_CLASS['>'] = 3;
+        TEXT_CLASS['&'] = 4;
+        TEXT_CLASS['\''] = 5;
+        TEXT_CLASS['"'] = 6;
+    }
+
+    private byte[] _buf;
+    private int _len;
+
+    XmlByteBuffer(final int capacity) {
+        _buf = new byte[capacity];
+    }
+
+    /** Bytes of an ASCII markup fragment, for appending with {@link #append(byte[])}. */
+    static byte[] ascii(final String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    int size() {
+        return _len;
+    }
+
+    /** Bytes that fit before the buffer has to grow. */
+    int remaining() {
+        return _buf.length - _len;
+    }
+
+    void reset() {
+        _len = 0;
+    }
+
+    XmlByteBuffer append(final byte[] fragment) {
+        final int n = fragment.length;
+        _ensure(n);
+        System.arraycopy(fragment, 0, _buf, _len, n);
+        _len += n;
+        return this;
+    }
+
+    /** Appends an ASCII character. */
+    XmlByteBuffer append(final char c) {
+        _ensure(1);
+        _buf[_len++] = (byte) c;
+        return this;
+    }
+
+    /** Appends {@code s} UTF-8 encoded, without escaping. */
+    XmlByteBuffer append(final String s) {
+        final int n = s.length();
+        _ensure(n);
+        int i = 0;
+        int len = _len;
+        final byte[] buf = _buf;
+        for (; i < n; i++) {
+            final char c = s.charAt(i);
+            if (c >= 0x80) break;
+            buf[len++] = (byte) c;
+        }
+        _len = len;
+        for (; i < n; i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                _ensure(1);
+                _buf[_len++] = (byte) c;
+            } else {
+                i = _appendNonAscii(c, i + 1 < n ? s.charAt(i + 1) : 0, i);
+            }
+        }
+        return this;
+    }
+
+    XmlByteBuffer append(final int value) {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) return append(Integer.toString(value));
+            append('-');
+            return append(-value);
+        }
+        final int digits = _digits(value);
+        _ensure(digits);
+        int pos = _len + digits;
+        int v = value;
+        final byte[] buf = _buf;
+        while (v >= 100) {
+            final int q = v / 100;
+            final int r = v - q * 100;
+            buf[--pos] = DIGIT_ONES[r];
+            buf[--pos] = DIGIT_TENS[r];
+            v = q;
+        }
+        buf[--pos] = DIGIT_ONES[v];
+        if (v >= 10) buf[--pos] = DIGIT_TENS[v];
+        _len += digits;
+        return this;
+    }
+
+    /** Appends {@code value} as {@link DoubleText} writes it. */
+    XmlByteBuffer append(final double value) {
+        _ensure(DoubleText.MAX_LENGTH);
+        _len = DoubleText.write(value, _buf, _len);
+        return this;
+    }
+
+    /**
+     * Appends {@code chars[0, len)} as XML element content: markup characters
+     * become entities and control characters XML 1.0 does not allow are
+     * dropped.
+     */
+    XmlByteBuffer appendEscaped(final char[] chars, final int len) {
+        // Worst case for the plain runs; entities and non-ASCII chars re-check
+        _ensure(len);
+        int i = 0;
+        while (i < len) {
+            final int start = i;
+            while (i < len) {
+                final char c = chars[i];
+                if (c >= 0x80 || TEXT_CLASS[c] != 0) break;
+                i++;
+            }
+            final int run = i - start;
+            if (run > 0) {
+                _ensure(run);
+                final byte[] buf = _buf;
+                final int at = _len;
+                for (int k = 0; k < run; k++) {
+                    buf[at + k] = (byte) chars[start + k];
+                }
+                _len = at + run;
+            }
+            if (i == len) break;
+            final char c = chars[i];
+            if (c < 0x80) {
+                final int cls = TEXT_CLASS[c];
+                if (cls > 1) append(ENTITIES[cls]);
+                i++;
+            } else {
+                i = _appendNonAscii(c, i + 1 < len ? chars[i + 1] : 0, i) + 1;
+            }
+        }
+        return this;
+    }
+
+    void writeTo(final OutputStream out) throws IOException {
+        out.write(_buf, 0, _len);
+    }
+
+    @Override
+    public String toString() {
+        return new String(_buf, 0, _len, StandardCharsets.UTF_8);
+    }
+
+    // Encodes c (and next, if c starts a surrogate pair); returns the index of
+    // the last char consumed. A lone surrogate is written as '?', as String.getBytes does.
+    private int _appendNonAscii(final char c, final char next, final int i) {
+        _ensure(4);
+        final byte[] buf = _buf;
+        int len = _len;
+        if (c < 0x800) {
+            buf[len++] = (byte) (0xC0 | (c >> 6));
+            buf[len++] = (byte) (0x80 | (c & 0x3F));
+        } else if (!Character.isSurrogate(c)) {
+            buf[len++] = (byte) (0xE0 | (c >> 12));
+            buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buf[len++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+            final int cp = Character.toCodePoint(c, next);
+            buf[len++] = (byte) (0xF0 | (cp >> 18));
+            buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[len++] = (byte) (0x80 | (cp & 0x3F));
+            _len = len;
+            return i + 1;
+        } else {
+            buf[len++] = '?';
+        }
+        _len = len;
+        return i;
+    }
+
+    private static int _digits(final int value) {
+        int digits = 1;
+        for (long bound = 10; digits < 10 && value >= bound; bound *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private void _ensure(final int n) {
+        if (_buf.length - _len >= n) return;
+        _buf = Arrays.copyOf(_buf, Math.max(_buf.length << 1, _len + n));
+    }
+}
@@ -0,0 +1,753 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Purpose-built pull scanner over UTF-8 encoded SpreadsheetML bytes.
+ * <p>
+ * Recognizes only what worksheet {@code <sheetData>} and shared string
+ * table content needs: start/end tags, attributes, character data with the
+ * predefined and numeric entities, CDATA sections, comments and processing
+ * instructions. Names are matched by local name, ignoring any prefix, like
+ * {@link XmlElementReader}. Documents declaring a non-UTF-8 encoding or a
+ * DTD are rejected by {@link #isPlainUtf8()} so callers can fall back to StAX.
+ * <p>
+ * Tag and attribute positions refer to the internal buffer and stay valid
+ * only until the next read operation.
+ */
+final class XmlByteScanner implements AutoCloseable {
+
+    static final int START_ELEMENT = 1;
+    static final int END_ELEMENT = 2;
+    static final int END_DOCUMENT = -1;
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    static final int MAX_PROLOG_SIZE = 64 * 1024;
+
+    private static final byte[] COMMENT_END = {'-', '-', '>'};
+    private static final byte[] PI_END = {'?', '>'};
+    private static final byte[] CDATA_START = {'<', '!', '[', 'C', 'D', 'A', 'T', 'A', '['};
+    private static final byte[] CDATA_END = {']', ']', '>'};
+    private static final byte[] TEXT = name(SpreadsheetML.TEXT);
+    private static final byte[] RICH_TEXT_RUN = name(SpreadsheetML.RICH_TEXT_RUN);
+
+    private final InputStream _in;
+    private byte[] _buf;
+    private int _pos;
+    private int _limit;
+    private boolean _eof;
+    private boolean _closed;
+
+    private int _nameStart;
+    private int _nameEnd;
+    private int _attrEnd;
+    private boolean _emptyElement;
+    private boolean _pendingEnd;
+
+    private int _valueStart;
+    private int _valueEnd;
+
+    private char[] _text = new char[256];
+    private int _textLength;
+
+    XmlByteScanner(final InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    XmlByteScanner(final InputStream in, final int bufferSize) {
+        _in = in;
+        _buf = new byte[bufferSize];
+    }
+
+    // ---------------------------------------------------------------
+    // Prolog
+    // ---------------------------------------------------------------
+
+    /**
+     * Checks the prolog up to the root element: the document must be UTF-8
+     * (BOM and declaration agree) and must not carry a DOCTYPE. Consumes
+     * nothing beyond an optional UTF-8 BOM.
+     */
+    boolean isPlainUtf8() {
+        _ensure(4);
+        if (_available() >= 3 && (_buf[_pos] & 0xFF) == 0xEF
+                && (_buf[_pos + 1] & 0xFF) == 0xBB && (_buf[_pos + 2] & 0xFF) == 0xBF) {
+            _pos += 3;
+        }
+        int i = 0;
+        while (true) {
+            if (!_ensure(i + 2)) return false;
+            if (i >= MAX_PROLOG_SIZE) return false;
+            final byte b = _buf[_pos + i];
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                i++;
+                continue;
+            }
+            if (b != '<') return false;
+            final byte c = _buf[_pos + i + 1];
+            if (c == '?') {
+                final int end = _indexOf(PI_END, i + 2, MAX_PROLOG_SIZE);
+                if (end < 0) return false;
+                if (!_isUtf8Declaration(_pos + i, _pos + end)) return false;
+                i = end + PI_END.length;
+            } else if (c == '!') {
+                if (!_ensure(i + 4)) return false;
+                if (_buf[_pos + i + 2] != '-' || _buf[_pos + i + 3] != '-') return false;
+                final int end = _indexOf(COMMENT_END, i + 4, MAX_PROLOG_SIZE);
+                if (end < 0) return false;
+                i = end + COMMENT_END.length;
+            } else {
+                return true;
+            }
+        }
+    }
+
+    /** Returns the unread bytes followed by the rest of the source stream. */
+    InputStream detach() {
+        final InputStream buffered = new ByteArrayInputStream(
+                Arrays.copyOfRange(_buf, _pos, _limit));
+        _pos = _limit;
+        return new SequenceInputStream(buffered, _in);
+    }
+
+    private boolean _isUtf8Declaration(final int start, final int end) {
+        final String decl = new String(_buf, start, end - start, StandardCharsets.ISO_8859_1);
+        if (!decl.startsWith("<?xml") || decl.length() < 6 || !_isWhitespace((byte) decl.charAt(5))) {
+            return true; // processing instruction, not the XML declaration
+        }
+        final int enc = decl.indexOf("encoding");
+        if (enc < 0) return true;
+        int q = enc + "encoding".length();
+        while (q < decl.length() && decl.charAt(q) != '"' && decl.charAt(q) != '\'') q++;
+        if (q >= decl.length()) return false;
+        final int close = decl.indexOf(decl.charAt(q), q + 1);
+        if (close < 0) return false;
+        final String name = decl.substring(q + 1, close);
+        return "UTF-8".equalsIgnoreCase(name) || "UTF8".equalsIgnoreCase(name);
+    }
+
+    // ---------------------------------------------------------------
+    // Navigation
+    // ---------------------------------------------------------------
+
+    /**
+     * Advances to the next start or end tag, skipping character data,
+     * comments, processing instructions and CDATA sections.
+     */
+    int next() {
+        if (_pendingEnd) {
+            _pendingEnd = false;
+            _emptyElement = false;
+            return END_ELEMENT;
+        }
+        while (true) {
+            if (!_skipTo((byte) '<')) {
+                return END_DOCUMENT;
+            }
+            if (!_ensure(2)) {
+                return END_DOCUMENT;
+            }
+            final byte c = _buf[_pos + 1];
+            if (c == '?') {
+                _skipPast(PI_END, 2);
+            } else if (c == '!') {
+                _skipMarkup();
+            } else {
+                return _readTag();
+            }
+        }
+    }
+
+    /** Advances to the next start element with the given local name. */
+    boolean nextStartElement(final byte[] localName) {
+        int event;
+        while ((event = next()) != END_DOCUMENT) {
+            if (event == START_ELEMENT && isLocalName(localName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isLocalName(final byte[] localName) {
+        final int len = _nameEnd - _nameStart;
+        if (len != localName.length) return false;
+        for (int i = 0; i < len; i++) {
+            if (_buf[_nameStart + i] != localName[i]) return false;
+        }
+        return true;
+    }
+
+    boolean isEmptyElement() {
+        return _emptyElement;
+    }
+
+    /** Skips the current start element and all of its children. */
+    void skipElement() {
+        if (_emptyElement) {
+            next();
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            switch (next()) {
+                case START_ELEMENT: depth++; break;
+                case END_ELEMENT:   depth--; break;
+                case END_DOCUMENT:  throw _unexpectedEnd();
+                default: break;
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Attribute access (current start tag)
+    // ---------------------------------------------------------------
+
+    /**
+     * Locates an attribute of the current start tag by local name.
+     * On success the raw value bounds are available through
+     * {@link #valueStart()} and {@link #valueEnd()}.
+     */
+    boolean findAttribute(final byte[] localName) {
+        int i = _nameEnd;
+        final int end = _attrEnd;
+        while (i < end) {
+            while (i < end && _isWhitespace(_buf[i])) i++;
+            if (i >= end) break;
+            final int nameStart = i;
+            int localStart = i;
+            while (i < end && _buf[i] != '=' && !_isWhitespace(_buf[i])) {
+                if (_buf[i] == ':') localStart = i + 1;
+                i++;
+            }
+            final int nameEnd = i;
+            while (i < end && _buf[i] != '=') i++;
+            i++;
+            while (i < end && _isWhitespace(_buf[i])) i++;
+            if (i >= end) break;
+            final byte quote = _buf[i++];
+            final int valueStart = i;
+            while (i < end && _buf[i] != quote) i++;
+            final int valueEnd = i++;
+            if (nameEnd - localStart == localName.length
+                    && _regionEquals(localStart, localName)
+                    && !_isNamespaceDeclaration(nameStart, nameEnd)) {
+                _valueStart = valueStart;
+                _valueEnd = valueEnd;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int valueStart() {
+        return _valueStart;
+    }
+
+    int valueEnd() {
+        return _valueEnd;
+    }
+
+    /** Parses a non-negative decimal attribute value, or returns {@code defaultValue} if absent. */
+    int intAttribute(final byte[] localName, final int defaultValue) {
+        if (!findAttribute(localName)) return defaultValue;
+        return parseInt(_buf, _valueStart, _valueEnd);
+    }
+
+    /** Decodes an attribute value to a {@code String}, or returns {@code null} if absent. */
+    String attribute(final byte[] localName) {
+        if (!findAttribute(localName)) return null;
+        _textLength = 0;
+        _decode(_valueStart, _valueEnd);
+        return new String(_text, 0, _textLength);
+    }
+
+    /** Compares the located attribute value with an ASCII literal. */
+    boolean valueEquals(final byte[] expected) {
+        return _valueEnd - _valueStart == expected.length && _regionEquals(_valueStart, expected);
+    }
+
+    /**
+     * Decodes the column part of a cell reference such as {@code "AB12"}
+     * from the located attribute value to a zero-based column index.
+     */
+    int columnOfValue() {
+        int col = 0;
+        for (int i = _valueStart; i < _valueEnd; i++) {
+            final int c = _buf[i];
+            if (c < 'A' || c > 'Z') break;
+            col = col * 26 + (c - 'A' + 1);
+        }
+        return col - 1;
+    }
+
+    // ---------------------------------------------------------------
+    // Character data
+    // ---------------------------------------------------------------
+
+    /**
+     * Reads the character data of the current element into the text buffer
+     * and consumes its end tag. Child elements are skipped. Appends to the
+     * existing text when {@code append} is set.
+     */
+    void readElementText(final boolean append) {
+        if (!append) _textLength = 0;
+        if (_emptyElement) {
+            next();
+            return;
+        }
+        while (true) {
+            final int start = _pos;
+            int i = start;
+            final int limit = _limit;
+            final byte[] buf = _buf;
+            // Fast path: plain ASCII run
+            while (i < limit) {
+                final byte b = buf[i];
+                if (b < 0 || b == '<' || b == '&' || b == '\r') break;
+                i++;
+            }
+            if (i > start) {
+                _appendAscii(start, i);
+                _pos = i;
+            }
+            if (i >= limit) {
+                if (!_ensure(1)) throw _unexpectedEnd();
+                continue;
+            }
+            final byte b = buf[i];
+            if (b == '<') {
+                if (!_ensure(2)) throw _unexpectedEnd();
+                final byte c = _buf[_pos + 1];
+                if (c == '/') {
+                    _readTag();
+                    return;
+                } else if (c == '?') {
+                    _skipPast(PI_END, 2);
+                } else if (c == '!') {
+                    if (_startsWith(CDATA_START)) {
+                        _readCData();
+                    } else {
+                        _skipMarkup();
+                    }
+                } else {
+                    _readTag();
+                    skipElement();
+                }
+            } else if (b == '&') {
+                _readEntity();
+            } else if (b == '\r') {
+                _pos++;
+                _appendChar('\n');
+                if (_ensure(1) && _buf[_pos] == '\n') _pos++;
+            } else {
+                _readUtf8();
+            }
+        }
+    }
+
+    /**
+     * Reads a {@code CT_Rst} string item (the content of {@code <si>} or
+     * {@code <is>}) into the text buffer: plain {@code <t>} or the
+     * {@code <t>} of each rich text run {@code <r>}. Phonetic runs and
+     * properties are skipped. Consumes the end tag of the current element.
+     */
+    void readStringContent() {
+        _textLength = 0;
+        _collectStringContent();
+    }
+
+    private void _collectStringContent() {
+        if (_emptyElement) {
+            next();
+            return;
+        }
+        while (true) {
+            final int event = next();
+            if (event == END_ELEMENT) return;
+            if (event == END_DOCUMENT) throw _unexpectedEnd();
+            if (isLocalName(TEXT)) {
+                readElementText(true);
+            } else if (isLocalName(RICH_TEXT_RUN)) {
+                _collectStringContent();
+            } else {
+                skipElement();
+            }
+        }
+    }
+
+    char[] text() {
+        return _text;
+    }
+
+    int textLength() {
+        return _textLength;
+    }
+
+    String textAsString() {
+        return new String(_text, 0, _textLength);
+    }
+
+    // ---------------------------------------------------------------
+    // Lifecycle
+    // ---------------------------------------------------------------
+
+    boolean isClosed() {
+        return _closed;
+    }
+
+    @Override
+    public void close() {
+        if (_closed) return;
+        _closed = true;
+        try {
+            _in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Utilities
+    // ---------------------------------------------------------------
+
+    /** Encodes an ASCII element or attribute name for matching. */
+    static byte[] name(final String localName) {
+        return localName.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static int parseInt(final byte[] buf, final int start, final int end) {
+        if (start >= end) throw new NumberFormatException("Empty integer value");
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            final int d = buf[i] - '0';
+            if (d < 0 || d > 9) {
+                throw new NumberFormatException(
+                        "For input string: \"" + new String(buf, start, end - start, StandardCharsets.UTF_8) + "\"");
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    // ---------------------------------------------------------------
+    // Internals: tags and markup
+    // ---------------------------------------------------------------
+
+    private int _readTag() {
+        // _pos at '<'; make sure the whole tag is buffered (quote-aware)
+        int i = 1;
+        byte quote = 0;
+        while (true) {
+            if (!_ensure(i + 1)) throw _unexpectedEnd();
+            final byte b = _buf[_pos + i];
+            if (quote != 0) {
+                if (b == quote) quote = 0;
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '>') {
+                break;
+            }
+            i++;
+        }
+        final int start = _pos;
+        final int close = _pos + i;
+        _pos = close + 1;
+        final boolean end = _buf[start + 1] == '/';
+        int n = end ? start + 2 : start + 1;
+        int localStart = n;
+        while (n < close) {
+            final byte b = _buf[n];
+            if (_isWhitespace(b) || b == '/' || b == '>') break;
+            if (b == ':') localStart = n + 1;
+            n++;
+        }
+        _nameStart = localStart;
+        _nameEnd = n;
+        if (end) {
+            _emptyElement = false;
+            _attrEnd = n;
+            return END_ELEMENT;
+        }
+        _emptyElement = _buf[close - 1] == '/';
+        _attrEnd = _emptyElement ? close - 1 : close;
+        _pendingEnd = _emptyElement;
+        return START_ELEMENT;
+    }
+
+    private void _skipMarkup() {
+        // _pos at "<!"
+        if (_ensure(4) && _buf[_pos + 2] == '-' && _buf[_pos + 3] == '-') {
+            _skipPast(COMMENT_END, 4);
+        } else if (_startsWith(CDATA_START)) {
+            _skipPast(CDATA_END, CDATA_START.length);
+        } else {
+            throw new IllegalStateException("Unsupported markup declaration in SpreadsheetML content");
+        }
+    }
+
+    private void _readCData() {
+        _pos += CDATA_START.length;
+        while (true) {
+            if (!_ensure(3)) throw _unexpectedEnd();
+            final byte b = _buf[_pos];
+            if (b == ']' && _buf[_pos + 1] == ']' && _buf[_pos + 2] == '>') {
+                _pos += 3;
+                return;
+            }
+            if (b >= 0) {
+                _appendChar(b == '\r' ? '\n' : (char) b);
+                _pos++;
+                if (b == '\r' && _ensure(1) && _buf[_pos] == '\n') _pos++;
+            } else {
+                _readUtf8();
+            }
+        }
+    }
+
+    private void _readEntity() {
+        int i = 1;
+        while (true) {
+            if (!_ensure(i + 1)) throw _unexpectedEnd();
+            if (_buf[_pos + i] == ';') break;
+            if (i > 12) throw new IllegalStateException("Malformed entity reference");
+            i++;
+        }
+        final int start = _pos + 1;
+        final int end = _pos + i;
+        _pos = end + 1;
+        _appendEntity(start, end);
+    }
+
+    private void _appendEntity(final int start, final int end) {
+        final int len = end - start;
+        if (len >= 2 && _buf[start] == '#') {
+            int cp = 0;
+            if (_buf[start + 1] == 'x') {
+                for (int j = start + 2; j < end; j++) {
+                    cp = (cp << 4) + Character.digit(_buf[j], 16);
+                }
+            } else {
+                for (int j = start + 1; j < end; j++) {
+                    cp = cp * 10 + (_buf[j] - '0');
+                }
+            }
+            if (cp < 0 || !Character.isValidCodePoint(cp)) {
+                throw new IllegalStateException("Invalid character reference");
+            }
+            _appendCodePoint(cp);
+        } else if (_regionIs(start, len, "lt")) {
+            _appendChar('<');
+        } else if (_regionIs(start, len, "gt")) {
+            _appendChar('>');
+        } else if (_regionIs(start, len, "amp")) {
+            _appendChar('&');
+        } else if (_regionIs(start, len, "quot")) {
+            _appendChar('"');
+        } else if (_regionIs(start, len, "apos")) {
+            _appendChar('\'');
+        } else {
+            throw new IllegalStateException("Undeclared entity '"
+                    + new String(_buf, start, len, StandardCharsets.UTF_8) + "'");
+        }
+    }
+
+    private void _readUtf8() {
+        final int b0 = _buf[_pos] & 0xFF;
+        final int n;
+        int cp;
+        if (b0 >= 0xF0) {
+            n = 4;
+            cp = b0 & 0x07;
+        } else if (b0 >= 0xE0) {
+            n = 3;
+            cp = b0 & 0x0F;
+        } else if (b0 >= 0xC0) {
+            n = 2;
+            cp = b0 & 0x1F;
+        } else {
+            _pos++;
+            _appendChar('\uFFFD');
+            return;
+        }
+        if (!_ensure(n)) throw _unexpectedEnd();
+        for (int k = 1; k < n; k++) {
+            cp = (cp << 6) | (_buf[_pos + k] & 0x3F);
+        }
+        _pos += n;
+        _appendCodePoint(cp);
+    }
+
+    /** Decodes a raw attribute value (entities, UTF-8) into the text buffer. */
+    private void _decode(final int start, final int end) {
+        int i = start;
+        while (i < end) {
+            final byte b = _buf[i];
+            if (b == '&') {
+                int semi = i + 1;
+                while (semi < end && _buf[semi] != ';') semi++;
+                _appendEntity(i + 1, semi);
+                i = semi + 1;
+            } else if (b >= 0) {
+                _appendChar((char) b);
+                i++;
+            } else {
+                final String s = new String(_buf, i, _utf8Length(b), StandardCharsets.UTF_8);
+                for (int k = 0; k < s.length(); k++) _appendChar(s.charAt(k));
+                i += _utf8Length(b);
+            }
+        }
+    }
+
+    private static int _utf8Length(final byte b) {
+        final int v = b & 0xFF;
+        return v >= 0xF0 ? 4 : v >= 0xE0 ? 3 : v >= 0xC0 ? 2 : 1;
+    }
+
+    // ---------------------------------------------------------------
+    // Internals: buffer
+    // ---------------------------------------------------------------
+
+    private int _available() {
+        return _limit - _pos;
+    }
+
+    /** Ensures at least {@code n} unread bytes are buffered; false at end of input. */
+    private boolean _ensure(final int n) {
+        if (_limit - _pos >= n) return true;
+        if (_eof) return false;
+        if (_pos > 0) {
+            final int remaining = _limit - _pos;
+            System.arraycopy(_buf, _pos, _buf, 0, remaining);
+            _pos = 0;
+            _limit = remaining;
+        }
+        if (n > _buf.length) {
+            _buf = Arrays.copyOf(_buf, Math.max(n, _buf.length * 2));
+        }
+        try {
+            while (_limit < n) {
+                final int read = _in.read(_buf, _limit, _buf.length - _limit);
+                if (read < 0) {
+                    _eof = true;
+                    return false;
+                }
+                _limit += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    /** Positions at the next occurrence of {@code b}; false at end of input. */
+    private boolean _skipTo(final byte b) {
+        while (true) {
+            final byte[] buf = _buf;
+            for (int i = _pos, limit = _limit; i < limit; i++) {
+                if (buf[i] == b) {
+                    _pos = i;
+                    return true;
+                }
+            }
+            _pos = _limit;
+            if (!_ensure(1)) return false;
+        }
+    }
+
+    /** Skips past {@code terminator}, searching from {@code offset} bytes after the current position. */
+    private void _skipPast(final byte[] terminator, final int offset) {
+        final int at = _indexOf(terminator, offset, Integer.MAX_VALUE);
+        if (at < 0) throw _unexpectedEnd();
+        _pos += at + terminator.length;
+    }
+
+    /** Returns the offset of {@code needle} relative to the current position, or -1. */
+    private int _indexOf(final byte[] needle, final int from, final int maxOffset) {
+        int i = from;
+        while (i <= maxOffset) {
+            if (!_ensure(i + needle.length)) return -1;
+            boolean match = true;
+            for (int k = 0; k < needle.length; k++) {
+                if (_buf[_pos + i + k] != needle[k]) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) return i;
+            i++;
+        }
+        return -1;
+    }
+
+    private boolean _startsWith(final byte[] prefix) {
+        if (!_ensure(prefix.length)) return false;
+        return _regionEquals(_pos, prefix);
+    }
+
+    private boolean _regionEquals(final int start, final byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (_buf[start + i] != expected[i]) return false;
+        }
+        return true;
+    }
+
+    private boolean _regionIs(final int start, final int len, final String ascii) {
+        if (len != ascii.length()) return false;
+        for (int i = 0; i < len; i++) {
+            if (_buf[start + i] != ascii.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private boolean _isNamespaceDeclaration(final int nameStart, final int nameEnd) {
+        return nameEnd - nameStart >= 5 && _regionIs(nameStart, 5, "xmlns");
+    }
+
+    private static boolean _isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    // ---------------------------------------------------------------
+    // Internals: text buffer
+    // ---------------------------------------------------------------
+
+    private void _appendAscii(final int start, final int end) {
+        final int len = end - start;
+        if (_textLength + len > _text.length) {
+            _text = Arrays.copyOf(_text, Math.max(_textLength + len, _text.length * 2));
+        }
+        final char[] text = _text;
+        int t = _textLength;
+        for (int i = start; i < end; i++) {
+            text[t++] = (char) _buf[i];
+        }
+        _textLength = t;
+    }
+
+    private void _appendChar(final char c) {
+        if (_textLength == _text.length) {
+            _text = Arrays.copyOf(_text, _text.length * 2);
+        }
+        _text[_textLength++] = c;
+    }
+
+    private void _appendCodePoint(final int cp) {
+        if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            _appendChar((char) cp);
+        } else {
+            _appendChar(Character.highSurrogate(cp));
+            _appendChar(Character.lowSurrogate(cp));
+        }
+    }
+
+    private static IllegalStateException _unexpectedEnd() {
+        return new IllegalStateException("Unexpected end of SpreadsheetML content");
+    }
+}
@@ -0,0 +1,534 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read-only ZIP archive over a {@link ByteBuffer} or a
+ * {@link SeekableByteChannel}, located through its central directory
+ * (APPNOTE.TXT §4.3.12, §4.3.16, with ZIP64 end records and extra fields).
+ * <p>
+ * Only the end of the archive, the central directory and the entries
+ * actually opened are read; no temporary file is written. A buffer is
+ * inflated from directly, through a duplicate, so its position and limit
+ * are left untouched. A channel is read in blocks of at least
+ * {@link #READ_AHEAD} bytes, so that a small part and its local header,
+ * or neighbouring small parts, cost a single read. Entry names are
+ * matched case-insensitively, as OPC part names are (ECMA-376 Part 2,
+ * §6.2.2.3).
+ */
+final class ZipArchive implements Closeable {
+
+    /** Minimum bytes fetched by one read of a channel. */
+    static final int READ_AHEAD = 256 << 10;
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int ZIP64_END_LOCATOR = 0x07064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+    private static final int ZIP64_EXTRA = 0x0001;
+
+    private static final int END_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_SIZE = 56;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int MAX_COMMENT = 0xFFFF;
+
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int FLAG_ENCRYPTED = 1;
+
+    private static final int U16_MAX = 0xFFFF;
+    private static final long U32_MAX = 0xFFFFFFFFL;
+
+    private final Storage _storage;
+    private final Map<String, Entry> _entries;
+
+    private ZipArchive(final Storage storage, final Map<String, Entry> entries) {
+        _storage = storage;
+        _entries = entries;
+    }
+
+    /**
+     * Reads the central directory of the archive held between the position
+     * and the limit of {@code buffer}.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a ZIP archive
+     */
+    static ZipArchive open(final ByteBuffer buffer) throws IOException {
+        return _open(new BufferStorage(buffer.slice().order(ByteOrder.LITTLE_ENDIAN)));
+    }
+
+    /**
+     * Reads the central directory of the archive in {@code channel}, which
+     * {@link #close()} closes if {@code closeChannel} is set. The channel's
+     * position is not restored.
+     *
+     * @throws IllegalArgumentException if the channel does not hold a ZIP archive
+     */
+    static ZipArchive open(final SeekableByteChannel channel, final boolean closeChannel) throws IOException {
+        return _open(new ChannelStorage(channel, closeChannel));
+    }
+
+    private static ZipArchive _open(final Storage storage) throws IOException {
+        final long size = storage.size();
+        final int tailLength = (int) Math.min(size, ZIP64_LOCATOR_SIZE + END_SIZE + MAX_COMMENT);
+        final long tailStart = size - tailLength;
+        final ByteBuffer tail = storage.read(tailStart, tailLength);
+        final int end = _findEnd(tail);
+        long entries = tail.getShort(end + 10) & U16_MAX;
+        long directorySize = tail.getInt(end + 12) & U32_MAX;
+        long directory = tail.getInt(end + 16) & U32_MAX;
+        if (entries == U16_MAX || directorySize == U32_MAX || directory == U32_MAX) {
+            final ByteBuffer zip64End = _zip64End(storage, tail, end);
+            entries = zip64End.getLong(32);
+            directorySize = zip64End.getLong(40);
+            directory = zip64End.getLong(48);
+        }
+        if (directory < 0 || directorySize < 0 || directorySize > Integer.MAX_VALUE
+                || directory + directorySize > size) {
+            throw new IllegalArgumentException("Corrupt ZIP central directory: out of range");
+        }
+        final ByteBuffer dir = directory >= tailStart
+                ? _slice(tail, (int) (directory - tailStart), (int) directorySize)
+                : storage.read(directory, (int) directorySize);
+        final Map<String, Entry> map = new LinkedHashMap<>();
+        int pos = 0;
+        for (long i = 0; i < entries; i++) {
+            if (pos > dir.limit() - CENTRAL_HEADER_SIZE || dir.getInt(pos) != CENTRAL_HEADER) {
+                throw new IllegalArgumentException("Corrupt ZIP central directory at entry " + i);
+            }
+            final int nameLength = dir.getShort(pos + 28) & U16_MAX;
+            final int extraLength = dir.getShort(pos + 30) & U16_MAX;
+            final int commentLength = dir.getShort(pos + 32) & U16_MAX;
+            final Entry entry = new Entry(
+                    _string(dir, pos + CENTRAL_HEADER_SIZE, nameLength),
+                    dir.getShort(pos + 8) & U16_MAX,
+                    dir.getShort(pos + 10) & U16_MAX,
+                    dir.getInt(pos + 16) & U32_MAX,
+                    dir.getInt(pos + 20) & U32_MAX,
+                    dir.getInt(pos + 24) & U32_MAX,
+                    dir.getInt(pos + 42) & U32_MAX);
+            entry.applyZip64(dir, pos + CENTRAL_HEADER_SIZE + nameLength, extraLength);
+            map.put(entry._name.toLowerCase(Locale.ROOT), entry);
+            pos += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return new ZipArchive(storage, map);
+    }
+
+    /** Entry names, as stored, in central directory order. */
+    List<String> names() {
+        final List<String> names = new ArrayList<>(_entries.size());
+        for (final Entry entry : _entries.values()) {
+            names.add(entry._name);
+        }
+        return names;
+    }
+
+    boolean contains(final String name) {
+        return _entries.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Uncompressed content of entry {@code name}, or {@code null} if the
+     * archive has no such entry.
+     *
+     * @throws IllegalArgumentException if the entry is encrypted, uses a
+     *                                  compression method other than stored
+     *                                  or deflated, or lies outside the archive
+     */
+    InputStream getInputStream(final String name) throws IOException {
+        final Entry entry = _entries.get(name.toLowerCase(Locale.ROOT));
+        if (entry == null) return null;
+        _checkReadable(entry);
+        if (entry._method != STORED && entry._method != DEFLATED) {
+            throw new IllegalArgumentException("Unsupported ZIP compression method "
+                    + entry._method + ": " + entry._name);
+        }
+        final InputStream raw = new RangeInputStream(_storage, _dataOffset(entry), entry._compressedSize);
+        return entry._method == STORED ? raw : new EntryInflaterInputStream(raw, entry._size);
+    }
+
+    /**
+     * Raw DEFLATE data of entry {@code name} from {@code offset} bytes into
+     * it, or {@code null} if the archive has no such entry or the entry is
+     * not deflated.
+     *
+     * @throws IllegalArgumentException if the entry is encrypted or lies
+     *                                  outside the archive
+     */
+    InputStream getRawInputStream(final String name, final long offset) throws IOException {
+        final Entry entry = _entries.get(name.toLowerCase(Locale.ROOT));
+        if (entry == null || entry._method != DEFLATED) return null;
+        _checkReadable(entry);
+        if (offset < 0 || offset > entry._compressedSize) {
+            throw new IllegalArgumentException("Offset " + offset + " outside ZIP entry: " + entry._name);
+        }
+        return new RangeInputStream(_storage, _dataOffset(entry) + offset, entry._compressedSize - offset);
+    }
+
+    /** CRC-32 of entry {@code name} as the central directory records it, or {@code -1} if absent. */
+    long getCrc(final String name) {
+        final Entry entry = _entries.get(name.toLowerCase(Locale.ROOT));
+        return entry == null ? -1 : entry._crc;
+    }
+
+    /** Compressed size of entry {@code name}, or {@code -1} if absent. */
+    long getCompressedSize(final String name) {
+        final Entry entry = _entries.get(name.toLowerCase(Locale.ROOT));
+        return entry == null ? -1 : entry._compressedSize;
+    }
+
+    /** Uncompressed size of entry {@code name}, or {@code -1} if absent. */
+    long getSize(final String name) {
+        final Entry entry = _entries.get(name.toLowerCase(Locale.ROOT));
+        return entry == null ? -1 : entry._size;
+    }
+
+    /** Closes the channel, if owned; a buffer needs no closing. */
+    @Override
+    public void close() throws IOException {
+        _storage.close();
+    }
+
+    private static void _checkReadable(final Entry entry) {
+        if ((entry._flags & FLAG_ENCRYPTED) != 0) {
+            throw new IllegalArgumentException("Encrypted ZIP entry: " + entry._name);
+        }
+    }
+
+    // Start of the entry's data, past its local header
+    private long _dataOffset(final Entry entry) throws IOException {
+        final long size = _storage.size();
+        if (entry._localHeader < 0 || entry._localHeader > size - LOCAL_HEADER_SIZE) {
+            throw new IllegalArgumentException("Corrupt ZIP local header: " + entry._name);
+        }
+        final ByteBuffer header = _storage.read(entry._localHeader, LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER) {
+            throw new IllegalArgumentException("Corrupt ZIP local header: " + entry._name);
+        }
+        final long data = entry._localHeader + LOCAL_HEADER_SIZE
+                + (header.getShort(26) & U16_MAX)
+                + (header.getShort(28) & U16_MAX);
+        if (entry._compressedSize < 0 || entry._compressedSize > size - data) {
+            throw new IllegalArgumentException("Truncated ZIP entry: " + entry._name);
+        }
+        return data;
+    }
+
+    // ---------------------------------------------------------------
+    // Central directory
+    // ---------------------------------------------------------------
+
+    // The end record is the last 22 bytes unless followed by a comment
+    private static int _findEnd(final ByteBuffer tail) {
+        final int last = tail.limit() - END_SIZE;
+        final int first = Math.max(0, last - MAX_COMMENT);
+        for (int pos = last; pos >= first; pos--) {
+            if (tail.getInt(pos) == END_OF_CENTRAL_DIRECTORY
+                    && pos + END_SIZE + (tail.getShort(pos + 20) & U16_MAX) == tail.limit()) {
+                return pos;
+            }
+        }
+        throw new IllegalArgumentException("Not a ZIP archive: no end of central directory record");
+    }
+
+    private static ByteBuffer _zip64End(final Storage storage, final ByteBuffer tail, final int end)
+            throws IOException {
+        final int locator = end - ZIP64_LOCATOR_SIZE;
+        if (locator < 0 || tail.getInt(locator) != ZIP64_END_LOCATOR) {
+            throw new IllegalArgumentException("Corrupt ZIP64 archive: no end of central directory locator");
+        }
+        final long offset = tail.getLong(locator + 8);
+        if (offset < 0 || offset > storage.size() - ZIP64_END_SIZE) {
+            throw new IllegalArgumentException("Corrupt ZIP64 archive: end of central directory out of range");
+        }
+        final ByteBuffer zip64End = storage.read(offset, ZIP64_END_SIZE);
+        if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY) {
+            throw new IllegalArgumentException("Corrupt ZIP64 archive: no end of central directory record");
+        }
+        return zip64End;
+    }
+
+    private static String _string(final ByteBuffer zip, final int pos, final int length) {
+        if (pos + length > zip.limit()) {
+            throw new IllegalArgumentException("Corrupt ZIP central directory: truncated entry name");
+        }
+        final byte[] bytes = new byte[length];
+        final ByteBuffer src = zip.duplicate();
+        src.position(pos);
+        src.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Little-endian view of length bytes of buffer from pos
+    private static ByteBuffer _slice(final ByteBuffer buffer, final int pos, final int length) {
+        final ByteBuffer slice = buffer.duplicate();
+        slice.position(pos).limit(pos + length);
+        return slice.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static final class Entry {
+
+        final String _name;
+        final int _flags;
+        final int _method;
+        final long _crc;
+        long _compressedSize;
+        long _size;
+        long _localHeader;
+
+        Entry(final String name, final int flags, final int method, final long crc,
+                final long compressedSize, final long size, final long localHeader) {
+            _name = name;
+            _flags = flags;
+            _method = method;
+            _crc = crc;
+            _compressedSize = compressedSize;
+            _size = size;
+            _localHeader = localHeader;
+        }
+
+        // Saturated fields are read from the ZIP64 extra field, in this order
+        void applyZip64(final ByteBuffer zip, final int extra, final int length) {
+            if (_size != U32_MAX && _compressedSize != U32_MAX && _localHeader != U32_MAX) return;
+            int pos = extra;
+            final int end = extra + length;
+            while (pos + 4 <= end) {
+                final int id = zip.getShort(pos) & U16_MAX;
+                final int size = zip.getShort(pos + 2) & U16_MAX;
+                if (id == ZIP64_EXTRA) {
+                    int field = pos + 4;
+                    if (_size == U32_MAX) {
+                        _size = zip.getLong(field);
+                        field += 8;
+                    }
+                    if (_compressedSize == U32_MAX) {
+                        _compressedSize = zip.getLong(field);
+                        field += 8;
+                    }
+                    if (_localHeader == U32_MAX) {
+                        _localHeader = zip.getLong(field);
+                    }
+                    return;
+                }
+                pos += 4 + size;
+            }
+            throw new IllegalArgumentException("Corrupt ZIP64 entry: no extended information for " + _name);
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Storage
+    // ---------------------------------------------------------------
+
+    /** Random access to the bytes of the archive. */
+    private interface Storage extends Closeable {
+
+        long size() throws IOException;
+
+        /** Little-endian view of exactly {@code length} bytes at {@code position}. */
+        ByteBuffer read(long position, int length) throws IOException;
+
+        /** Between one and {@code maxLength} bytes at {@code position}. */
+        ByteBuffer readSome(long position, int maxLength) throws IOException;
+    }
+
+    private static final class BufferStorage implements Storage {
+
+        private final ByteBuffer _buffer;
+
+        BufferStorage(final ByteBuffer buffer) {
+            _buffer = buffer;
+        }
+
+        @Override
+        public long size() {
+            return _buffer.limit();
+        }
+
+        @Override
+        public ByteBuffer read(final long position, final int length) {
+            return _slice(_buffer, (int) position, length);
+        }
+
+        @Override
+        public ByteBuffer readSome(final long position, final int maxLength) {
+            return _slice(_buffer, (int) position, Math.min(maxLength, _buffer.limit() - (int) position));
+        }
+
+        @Override
+        public void close() {
+            // the caller's buffer
+        }
+    }
+
+    /**
+     * Reads a channel a block at a time, serving reads that fall inside the
+     * last block from memory. Blocks are never reused, so slices handed out
+     * stay valid after the next read.
+     */
+    private static final class ChannelStorage implements Storage {
+
+        private final SeekableByteChannel _channel;
+        private final boolean _closeChannel;
+        private final long _size;
+        private ByteBuffer _block = ByteBuffer.allocate(0);
+        private long _blockStart;
+
+        ChannelStorage(final SeekableByteChannel channel, final boolean closeChannel) throws IOException {
+            _channel = channel;
+            _closeChannel = closeChannel;
+            _size = channel.size();
+        }
+
+        @Override
+        public long size() {
+            return _size;
+        }
+
+        @Override
+        public synchronized ByteBuffer read(final long position, final int length) throws IOException {
+            if (!_cached(position, length)) {
+                _fetch(position, Math.max(length, READ_AHEAD));
+            }
+            if (!_cached(position, length)) {
+                throw new EOFException("Unexpected end of ZIP archive at " + position);
+            }
+            return _slice(_block, (int) (position - _blockStart), length);
+        }
+
+        @Override
+        public synchronized ByteBuffer readSome(final long position, final int maxLength) throws IOException {
+            if (!_cached(position, 1)) {
+                _fetch(position, READ_AHEAD);
+            }
+            if (!_cached(position, 1)) {
+                throw new EOFException("Unexpected end of ZIP archive at " + position);
+            }
+            final int offset = (int) (position - _blockStart);
+            return _slice(_block, offset, Math.min(maxLength, _block.limit() - offset));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (_closeChannel) _channel.close();
+        }
+
+        private boolean _cached(final long position, final int length) {
+            return position >= _blockStart && position + length <= _blockStart + _block.limit();
+        }
+
+        private void _fetch(final long position, final int length) throws IOException {
+            final ByteBuffer block = ByteBuffer.allocate((int) Math.max(0, Math.min(length, _size - position)));
+            _channel.position(position);
+            while (block.hasRemaining()) {
+                if (_channel.read(block) < 0) {
+                    throw new EOFException("Unexpected end of ZIP archive at " + (position + block.position()));
+                }
+            }
+            block.flip();
+            _block = block;
+            _blockStart = position;
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Entry streams
+    // ---------------------------------------------------------------
+
+    /** Stored bytes of one entry, read from the storage a block at a time. */
+    private static final class RangeInputStream extends InputStream {
+
+        private final Storage _storage;
+        private long _position;
+        private long _remaining;
+        private ByteBuffer _chunk = ByteBuffer.allocate(0);
+
+        RangeInputStream(final Storage storage, final long position, final long length) {
+            _storage = storage;
+            _position = position;
+            _remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return _fill() ? _chunk.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) return 0;
+            if (!_fill()) return -1;
+            final int n = Math.min(len, _chunk.remaining());
+            _chunk.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return _chunk.remaining();
+        }
+
+        private boolean _fill() throws IOException {
+            if (_chunk.hasRemaining()) return true;
+            if (_remaining == 0) return false;
+            _chunk = _storage.readSome(_position, (int) Math.min(_remaining, Integer.MAX_VALUE));
+            _position += _chunk.remaining();
+            _remaining -= _chunk.remaining();
+            return true;
+        }
+    }
+
+    /**
+     * Raw inflater over one entry. Like {@code ZipFile}, feeds one dummy
+     * byte past the end of the data, which a {@code nowrap} inflater may
+     * need to finish, and releases the inflater on close.
+     */
+    private static final class EntryInflaterInputStream extends InflaterInputStream {
+
+        private boolean _eof;
+
+        EntryInflaterInputStream(final InputStream in, final long size) {
+            super(in, new Inflater(true), (int) Math.max(512, Math.min(size, 8192)));
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (_eof) {
+                throw new EOFException("Unexpected end of ZIP entry");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                buf[0] = 0;
+                len = 1;
+                _eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
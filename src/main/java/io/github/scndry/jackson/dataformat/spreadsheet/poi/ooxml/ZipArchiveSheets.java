@@ -0,0 +1,284 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+
+/**
+ * Opens one worksheet of an XLSX package held in a file, in memory or
+ * behind a {@link SeekableByteChannel}, read through a {@link ZipArchive}
+ * instead of POI's {@code OPCPackage}.
+ * <p>
+ * Only the parts the worksheet needs are read and inflated:
+ * {@code [Content_Types].xml}, the package and workbook relationships,
+ * {@code workbook.xml}, shared strings, styles and the worksheet itself, in
+ * that order. Other worksheets, drawings and media are never fetched, which
+ * matters for channels over remote storage, and no part model is built for
+ * the ones that are, which matters for small files. Relationship types are
+ * matched in their Transitional and Strict forms.
+ *
+ * @see ZipStreamSheets
+ * @see SSMLSheetReader
+ */
+@Slf4j
+public final class ZipArchiveSheets {
+
+    // Main part content types of the XML workbook kinds; anything else is left to POI
+    private static final Set<String> WORKBOOK_CONTENT_TYPES = new HashSet<>(Arrays.asList(
+            XSSFRelation.WORKBOOK.getContentType(),
+            XSSFRelation.MACROS_WORKBOOK.getContentType(),
+            XSSFRelation.TEMPLATE_WORKBOOK.getContentType(),
+            XSSFRelation.MACRO_TEMPLATE_WORKBOOK.getContentType(),
+            XSSFRelation.MACRO_ADDIN_WORKBOOK.getContentType()));
+
+    private ZipArchiveSheets() {
+    }
+
+    /**
+     * Reader over the worksheet {@code src} names in the archive held
+     * between the position and the limit of {@code buffer}. The buffer must
+     * not be modified while the reader is open.
+     *
+     * @param scanBytes parse the worksheet and shared strings with the
+     *                  byte-level scanner
+     * @param readAhead tokenize on a background thread
+     *                  ({@link ReadAheadSheetDataCursor})
+     * @throws IllegalArgumentException if the package has no such sheet or
+     *                                  is not a SpreadsheetML package
+     */
+    public static SSMLSheetReader open(
+            final ByteBuffer buffer,
+            final SheetInput<?> src,
+            final boolean scanBytes,
+            final boolean readAhead) throws IOException {
+        return _open(ZipArchive.open(buffer), src, scanBytes, readAhead, false, null);
+    }
+
+    /**
+     * Reader over the worksheet {@code src} names in the archive read from
+     * {@code channel}, which is repositioned freely. Closing the reader, or
+     * a failure to open it, closes the channel if {@code closeSource} is set.
+     *
+     * @param closeSource close {@code channel} along with the reader
+     * @param scanBytes parse the worksheet and shared strings with the
+     *                  byte-level scanner
+     * @param readAhead tokenize on a background thread
+     *                  ({@link ReadAheadSheetDataCursor})
+     * @throws IllegalArgumentException if the package has no such sheet or
+     *                                  is not a SpreadsheetML package
+     */
+    public static SSMLSheetReader open(
+            final SeekableByteChannel channel,
+            final SheetInput<?> src,
+            final boolean closeSource,
+            final boolean scanBytes,
+            final boolean readAhead) throws IOException {
+        return _open(channel, closeSource, src, scanBytes, readAhead, false, null);
+    }
+
+    /**
+     * Reader over the worksheet {@code src} names in {@code file}, or
+     * {@code null} if the package is not one this reader handles, so that
+     * the caller can fall back to {@code OPCPackage}: one without content
+     * types or package relationships, or whose main part is not an XML
+     * workbook. Closing the reader closes the file.
+     *
+     * @param scanBytes parse the worksheet and shared strings with the
+     *                  byte-level scanner
+     * @param readAhead tokenize on a background thread
+     *                  ({@link ReadAheadSheetDataCursor})
+     * @throws IllegalArgumentException if the workbook has no such sheet or
+     *                                  the file is not a ZIP archive
+     */
+    public static SSMLSheetReader open(
+            final File file,
+            final SheetInput<?> src,
+            final boolean scanBytes,
+            final boolean readAhead) throws IOException {
+        return _open(FileChannel.open(file.toPath(), StandardOpenOption.READ), true,
+                src, scanBytes, readAhead, true, null);
+    }
+
+    /**
+     * As {@link #open(File, SheetInput, boolean, boolean)}, but skipping
+     * ahead towards row {@code fromRow} through a {@link SheetRowIndex} of
+     * the worksheet, built and saved by the first such read. Rows above
+     * {@code firstDataRow} are read from the start of the sheet as usual;
+     * some rows from {@code firstDataRow} up to {@code fromRow} may still
+     * be returned, so the caller skips them. A worksheet the index does not
+     * cover (stored rather than deflated, or not plain UTF-8) is read from
+     * its start.
+     *
+     * @param indexDir directory keeping the index across runs, or
+     *                 {@code null} for the temporary directory
+     */
+    public static SSMLSheetReader openRows(
+            final File file,
+            final SheetInput<?> src,
+            final int firstDataRow,
+            final int fromRow,
+            final boolean scanBytes,
+            final boolean readAhead,
+            final File indexDir) throws IOException {
+        return _open(FileChannel.open(file.toPath(), StandardOpenOption.READ), true,
+                src, scanBytes, readAhead, true, (head, zip, entry) -> {
+                    final SheetRowIndex index = SheetRowIndex.load(zip, file, entry, indexDir);
+                    return index == null ? head : index.seek(head, zip, entry, firstDataRow, fromRow);
+                });
+    }
+
+    private static SSMLSheetReader _open(
+            final SeekableByteChannel channel,
+            final boolean closeSource,
+            final SheetInput<?> src,
+            final boolean scanBytes,
+            final boolean readAhead,
+            final boolean fallback,
+            final Seek seek) throws IOException {
+        final ZipArchive zip;
+        try {
+            zip = ZipArchive.open(channel, closeSource);
+        } catch (IOException | RuntimeException e) {
+            if (closeSource) {
+                try {
+                    channel.close();
+                } catch (IOException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+            }
+            throw e;
+        }
+        return _open(zip, src, scanBytes, readAhead, fallback, seek);
+    }
+
+    // Returns null, having closed the archive, for a package left to OPCPackage when fallback is set
+    private static SSMLSheetReader _open(
+            final ZipArchive zip,
+            final SheetInput<?> src,
+            final boolean scanBytes,
+            final boolean readAhead,
+            final boolean fallback,
+            final Seek seek) throws IOException {
+        InputStream sheet = null;
+        SheetDataCursor cursor = null;
+        try {
+            final String workbookEntry = _workbookEntry(zip);
+            if (workbookEntry == null) {
+                if (!fallback) {
+                    throw new IllegalArgumentException("Not a SpreadsheetML package: no XML workbook part");
+                }
+                log.debug("No XML workbook part; leaving the package to OPCPackage");
+                zip.close();
+                return null;
+            }
+            final WorkbookXml workbook;
+            try (InputStream in = _require(zip, workbookEntry)) {
+                workbook = WorkbookXml.parse(in);
+            }
+            final PartRelationships rels = _relationships(zip, workbookEntry);
+            final String sheetEntry = workbook.worksheetEntry(rels, src);
+            if (log.isDebugEnabled()) {
+                log.debug("Reading worksheet {} through the ZIP central directory", sheetEntry);
+            }
+
+            final SharedStringsLookup strings = _strings(zip, rels, scanBytes);
+            final StylesLookup styles = _styles(zip, rels);
+            sheet = _require(zip, sheetEntry);
+            cursor = SheetDataCursor.open(sheet, scanBytes);
+            if (seek != null) {
+                cursor = seek.apply(cursor, zip, sheetEntry);
+            }
+            final InputStream worksheet = sheet;
+            return new SSMLSheetReader(
+                    readAhead ? new ReadAheadSheetDataCursor(cursor) : cursor,
+                    strings, styles, workbook.isDate1904(), () -> {
+                        try {
+                            worksheet.close();
+                        } finally {
+                            zip.close();
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            try {
+                if (cursor != null) cursor.close();
+                if (sheet != null) sheet.close();
+                zip.close();
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    // The main part if the package relationships name one that is present
+    // and [Content_Types].xml declares it an XML workbook; null otherwise
+    private static String _workbookEntry(final ZipArchive zip) throws IOException {
+        if (!zip.contains(PartRelationships.PACKAGE_RELS) || !zip.contains(ContentTypes.ENTRY)) {
+            return null;
+        }
+        final String entry = _relationships(zip, "").targetByType(PackageRelationshipTypes.CORE_DOCUMENT);
+        if (entry == null || !zip.contains(entry)) return null;
+        final ContentTypes types;
+        try (InputStream in = zip.getInputStream(ContentTypes.ENTRY)) {
+            types = ContentTypes.parse(in);
+        }
+        return WORKBOOK_CONTENT_TYPES.contains(types.of(entry)) ? entry : null;
+    }
+
+    // The relationships of sourceEntry, empty when it has none
+    private static PartRelationships _relationships(final ZipArchive zip, final String sourceEntry)
+            throws IOException {
+        final String name = sourceEntry.isEmpty()
+                ? PartRelationships.PACKAGE_RELS : PartRelationships.relsEntry(sourceEntry);
+        if (!zip.contains(name)) return PartRelationships.none();
+        try (InputStream in = zip.getInputStream(name)) {
+            return PartRelationships.parse(in, sourceEntry);
+        }
+    }
+
+    private static SharedStringsLookup _strings(
+            final ZipArchive zip,
+            final PartRelationships rels,
+            final boolean scanBytes) throws IOException {
+        final String entry = rels.targetByType(XSSFRelation.SHARED_STRINGS.getRelation());
+        if (entry == null) return BlankSharedStringsLookup.INSTANCE;
+        try (InputStream in = _require(zip, entry)) {
+            return new InMemorySharedStringsLookup(in, scanBytes).freeze();
+        }
+    }
+
+    private static StylesLookup _styles(final ZipArchive zip, final PartRelationships rels) throws IOException {
+        final String entry = rels.targetByType(XSSFRelation.STYLES.getRelation());
+        if (entry == null) return BlankStylesLookup.INSTANCE;
+        try (InputStream in = _require(zip, entry)) {
+            return new LazyStylesLookup(in);
+        }
+    }
+
+    /** Repositions the cursor over a worksheet read from its start. */
+    private interface Seek {
+
+        SheetDataCursor apply(SheetDataCursor head, ZipArchive zip, String entry) throws IOException;
+    }
+
+    private static InputStream _require(final ZipArchive zip, final String entry) throws IOException {
+        final InputStream in = zip.getInputStream(entry);
+        if (in == null) {
+            throw new IllegalArgumentException("Part not found: " + entry);
+        }
+        return in;
+    }
+}
@@ -0,0 +1,469 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Write-only ZIP archive of DEFLATED entries, the counterpart of
+ * {@link ZipArchive}, used in place of {@code ZipOutputStream} so that an
+ * entry can be deflated by a {@link ParallelDeflater}.
+ * <p>
+ * Entries are written as {@code ZipOutputStream} writes them: a local header
+ * without sizes, the compressed data and a data descriptor (APPNOTE.TXT
+ * §4.3.9), with ZIP64 sizes, offsets and end records only where a value
+ * does not fit 32 bits. Data written between {@link #putNextEntry} and
+ * {@link #closeEntry()} is the entry's uncompressed content.
+ * <p>
+ * A pipelined writer hands every call over to a {@link WritePipeline}, so
+ * checksums, compression and output run on its thread while the caller
+ * goes on; a failure there surfaces on a later call or on {@link #close()}.
+ */
+final class ZipArchiveWriter extends OutputStream {
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int DATA_DESCRIPTOR = 0x08074b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int ZIP64_END_LOCATOR = 0x07064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+    private static final int ZIP64_EXTRA = 0x0001;
+
+    private static final int VERSION = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int DEFLATED = 8;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+    private static final int FLAG_UTF8 = 0x0800;
+
+    private static final int U16_MAX = 0xFFFF;
+    private static final long U32_MAX = 0xFFFFFFFFL;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CountingOutputStream _out;
+    private final int _level;
+    private final int _deflateThreads;
+    private final int _dosTime;
+    private final List<Entry> _entries = new ArrayList<>();
+    private final byte[] _header = new byte[64];
+    private final byte[] _one = new byte[1];
+
+    private Deflater _deflater;
+    private byte[] _deflated;
+    private ParallelDeflater _parallel;
+    private WritePipeline _pipeline;
+    private boolean _pipelineFailed;
+
+    // Entry in progress
+    private Entry _entry;
+    private boolean _entryParallel;
+    private final CRC32 _crc = new CRC32();
+    private long _size;
+    private long _dataStart;
+    private boolean _finished;
+
+    /**
+     * @param level          DEFLATE level of every entry
+     * @param deflateThreads worker threads for entries put with
+     *                       {@code parallel} set; below 2 they are deflated
+     *                       serially as well
+     */
+    ZipArchiveWriter(final OutputStream out, final int level, final int deflateThreads) {
+        this(out, level, deflateThreads, false);
+    }
+
+    /**
+     * @param pipelined whether entries are compressed and written on a
+     *                  {@link WritePipeline} thread
+     */
+    ZipArchiveWriter(final OutputStream out, final int level, final int deflateThreads, final boolean pipelined) {
+        _out = new CountingOutputStream(out);
+        _level = level;
+        _deflateThreads = deflateThreads;
+        _dosTime = _dosTime(LocalDateTime.now());
+        if (pipelined) {
+            _pipeline = new WritePipeline(this::_write);
+        }
+    }
+
+    void putNextEntry(final String name) throws IOException {
+        putNextEntry(name, false);
+    }
+
+    /**
+     * Starts the entry {@code name}, closing the one in progress; with
+     * {@code parallel} set, it is deflated on {@link ParallelDeflater}
+     * worker threads.
+     */
+    void putNextEntry(final String name, final boolean parallel) throws IOException {
+        if (_pipeline != null) {
+            _pipeline.execute(() -> _putNextEntry(name, parallel));
+            return;
+        }
+        _putNextEntry(name, parallel);
+    }
+
+    private void _putNextEntry(final String name, final boolean parallel) throws IOException {
+        final Entry entry = _startEntry(name);
+        _entry = entry;
+        _entryParallel = parallel && _deflateThreads > 1;
+        _crc.reset();
+        _size = 0;
+        _dataStart = _out.count();
+        if (_entryParallel) {
+            if (_parallel == null) {
+                _parallel = new ParallelDeflater(_level, _deflateThreads);
+            }
+            _parallel.begin(_out);
+        } else {
+            if (_deflater == null) {
+                _deflater = new Deflater(_level, true);
+                _deflated = new byte[BUFFER_SIZE];
+            } else {
+                _deflater.reset();
+            }
+        }
+    }
+
+    /**
+     * Writes the entry {@code name} from data already deflated, as raw
+     * DEFLATE, together with the CRC-32 and size of its uncompressed
+     * content; closes the entry in progress first. The array is read on
+     * the pipeline thread of a pipelined writer, so it must not change.
+     */
+    void putRawEntry(final String name, final byte[] deflated, final long crc, final long size)
+            throws IOException {
+        if (_pipeline != null) {
+            _pipeline.execute(() -> _putRawEntry(name, deflated, crc, size));
+            return;
+        }
+        _putRawEntry(name, deflated, crc, size);
+    }
+
+    private void _putRawEntry(final String name, final byte[] deflated, final long crc, final long size)
+            throws IOException {
+        final Entry entry = _startEntry(name);
+        _out.write(deflated);
+        entry._crc = crc;
+        entry._size = size;
+        entry._compressedSize = deflated.length;
+        _endEntry(entry);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        _one[0] = (byte) b;
+        write(_one, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (_pipeline != null) {
+            _pipeline.write(b, off, len);
+            return;
+        }
+        _write(b, off, len);
+    }
+
+    private void _write(final byte[] b, final int off, final int len) throws IOException {
+        if (_entry == null) throw new IOException("No ZIP entry in progress");
+        if (len == 0) return;
+        _crc.update(b, off, len);
+        _size += len;
+        if (_entryParallel) {
+            _parallel.write(b, off, len);
+            return;
+        }
+        _deflater.setInput(b, off, len);
+        while (!_deflater.needsInput()) {
+            _drainDeflater();
+        }
+    }
+
+    void closeEntry() throws IOException {
+        if (_pipeline != null) {
+            _pipeline.execute(this::_closeEntry);
+            return;
+        }
+        _closeEntry();
+    }
+
+    private void _closeEntry() throws IOException {
+        final Entry entry = _entry;
+        if (entry == null) return;
+        if (_entryParallel) {
+            _parallel.finish();
+        } else {
+            _deflater.finish();
+            while (!_deflater.finished()) {
+                _drainDeflater();
+            }
+        }
+        _entry = null;
+        entry._crc = _crc.getValue();
+        entry._size = _size;
+        entry._compressedSize = _out.count() - _dataStart;
+        _endEntry(entry);
+    }
+
+    /** Closes the entry in progress and writes the local header of entry {@code name}. */
+    private Entry _startEntry(final String name) throws IOException {
+        if (_finished) throw new IOException("ZIP archive already finished");
+        if (_entry != null) _closeEntry();
+        final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        final int flags = FLAG_DATA_DESCRIPTOR | (nameBytes.length != name.length() ? FLAG_UTF8 : 0);
+        final Entry entry = new Entry(nameBytes, flags, _out.count());
+        int p = 0;
+        p = _u32(_header, p, LOCAL_HEADER);
+        p = _u16(_header, p, VERSION);
+        p = _u16(_header, p, flags);
+        p = _u16(_header, p, DEFLATED);
+        p = _u32(_header, p, _dosTime);
+        p = _u32(_header, p, 0);
+        p = _u32(_header, p, 0);
+        p = _u32(_header, p, 0);
+        p = _u16(_header, p, nameBytes.length);
+        p = _u16(_header, p, 0);
+        _out.write(_header, 0, p);
+        _out.write(nameBytes);
+        return entry;
+    }
+
+    /** Records {@code entry} for the central directory and writes its data descriptor. */
+    private void _endEntry(final Entry entry) throws IOException {
+        _entries.add(entry);
+        int p = 0;
+        p = _u32(_header, p, DATA_DESCRIPTOR);
+        p = _u32(_header, p, (int) entry._crc);
+        if (entry._compressedSize >= U32_MAX || entry._size >= U32_MAX) {
+            p = _u64(_header, p, entry._compressedSize);
+            p = _u64(_header, p, entry._size);
+        } else {
+            p = _u32(_header, p, (int) entry._compressedSize);
+            p = _u32(_header, p, (int) entry._size);
+        }
+        _out.write(_header, 0, p);
+    }
+
+    /**
+     * Closes the entry in progress and writes the central directory; a
+     * pipelined writer returns once all of it is written.
+     */
+    void finish() throws IOException {
+        if (_pipeline != null) {
+            _pipeline.execute(this::_finish);
+            _closePipeline();
+            if (_pipelineFailed) throw new IOException("ZIP archive not finished after a failed write");
+            return;
+        }
+        _finish();
+    }
+
+    private void _finish() throws IOException {
+        if (_finished) return;
+        _closeEntry();
+        final long directoryStart = _out.count();
+        for (final Entry entry : _entries) {
+            _writeCentralHeader(entry);
+        }
+        final long directorySize = _out.count() - directoryStart;
+        final int count = _entries.size();
+        if (count >= U16_MAX || directoryStart >= U32_MAX || directorySize >= U32_MAX) {
+            final long zip64End = _out.count();
+            int p = 0;
+            p = _u32(_header, p, ZIP64_END_OF_CENTRAL_DIRECTORY);
+            p = _u64(_header, p, 44);
+            p = _u16(_header, p, VERSION_ZIP64);
+            p = _u16(_header, p, VERSION_ZIP64);
+            p = _u32(_header, p, 0);
+            p = _u32(_header, p, 0);
+            p = _u64(_header, p, count);
+            p = _u64(_header, p, count);
+            p = _u64(_header, p, directorySize);
+            p = _u64(_header, p, directoryStart);
+            p = _u32(_header, p, ZIP64_END_LOCATOR);
+            p = _u32(_header, p, 0);
+            p = _u64(_header, p, zip64End);
+            p = _u32(_header, p, 1);
+            _out.write(_header, 0, p);
+        }
+        int p = 0;
+        p = _u32(_header, p, END_OF_CENTRAL_DIRECTORY);
+        p = _u16(_header, p, 0);
+        p = _u16(_header, p, 0);
+        p = _u16(_header, p, Math.min(count, U16_MAX));
+        p = _u16(_header, p, Math.min(count, U16_MAX));
+        p = _u32(_header, p, (int) Math.min(directorySize, U32_MAX));
+        p = _u32(_header, p, (int) Math.min(directoryStart, U32_MAX));
+        p = _u16(_header, p, 0);
+        _out.write(_header, 0, p);
+        _out.flush();
+        _finished = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (_pipeline != null) {
+            _pipeline.execute(_out::flush);
+            return;
+        }
+        _out.flush();
+    }
+
+    /**
+     * Finishes the archive unless an entry failed midway or the pipeline
+     * failed, and closes the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (_pipeline != null) _closePipeline();
+            if (_entry == null && !_pipelineFailed) _finish();
+        } finally {
+            if (_deflater != null) {
+                _deflater.end();
+                _deflater = null;
+            }
+            if (_parallel != null) {
+                _parallel.close();
+                _parallel = null;
+            }
+            _out.close();
+        }
+    }
+
+    /**
+     * Runs what is queued on the pipeline and stops its thread, throwing a
+     * failure not yet thrown; a failure is remembered, so that
+     * {@link #close()} does not finish the archive a second time.
+     */
+    private void _closePipeline() throws IOException {
+        final WritePipeline pipeline = _pipeline;
+        _pipeline = null;
+        try {
+            pipeline.close();
+        } finally {
+            _pipelineFailed = pipeline.isFailed();
+        }
+    }
+
+    private void _drainDeflater() throws IOException {
+        final int n = _deflater.deflate(_deflated, 0, _deflated.length);
+        if (n > 0) {
+            _out.write(_deflated, 0, n);
+        }
+    }
+
+    private void _writeCentralHeader(final Entry entry) throws IOException {
+        final boolean zip64Size = entry._size >= U32_MAX || entry._compressedSize >= U32_MAX;
+        final boolean zip64Offset = entry._offset >= U32_MAX;
+        final int extraLength = zip64Size || zip64Offset
+                ? 4 + (zip64Size ? 16 : 0) + (zip64Offset ? 8 : 0) : 0;
+        final int version = extraLength > 0 ? VERSION_ZIP64 : VERSION;
+        int p = 0;
+        p = _u32(_header, p, CENTRAL_HEADER);
+        p = _u16(_header, p, version);
+        p = _u16(_header, p, version);
+        p = _u16(_header, p, entry._flags);
+        p = _u16(_header, p, DEFLATED);
+        p = _u32(_header, p, _dosTime);
+        p = _u32(_header, p, (int) entry._crc);
+        p = _u32(_header, p, zip64Size ? (int) U32_MAX : (int) entry._compressedSize);
+        p = _u32(_header, p, zip64Size ? (int) U32_MAX : (int) entry._size);
+        p = _u16(_header, p, entry._name.length);
+        p = _u16(_header, p, extraLength);
+        p = _u16(_header, p, 0);
+        p = _u16(_header, p, 0);
+        p = _u16(_header, p, 0);
+        p = _u32(_header, p, 0);
+        p = _u32(_header, p, zip64Offset ? (int) U32_MAX : (int) entry._offset);
+        _out.write(_header, 0, p);
+        _out.write(entry._name);
+        if (extraLength > 0) {
+            p = 0;
+            p = _u16(_header, p, ZIP64_EXTRA);
+            p = _u16(_header, p, extraLength - 4);
+            if (zip64Size) {
+                p = _u64(_header, p, entry._size);
+                p = _u64(_header, p, entry._compressedSize);
+            }
+            if (zip64Offset) {
+                p = _u64(_header, p, entry._offset);
+            }
+            _out.write(_header, 0, p);
+        }
+    }
+
+    private static int _dosTime(final LocalDateTime time) {
+        if (time.getYear() < 1980) return (1 << 21) | (1 << 16);
+        return (time.getYear() - 1980) << 25
+                | time.getMonthValue() << 21
+                | time.getDayOfMonth() << 16
+                | time.getHour() << 11
+                | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+    private static int _u16(final byte[] b, final int p, final int v) {
+        b[p] = (byte) v;
+        b[p + 1] = (byte) (v >>> 8);
+        return p + 2;
+    }
+
+    private static int _u32(final byte[] b, final int p, final int v) {
+        _u16(b, p, v);
+        return _u16(b, p + 2, v >>> 16);
+    }
+
+    private static int _u64(final byte[] b, final int p, final long v) {
+        _u32(b, p, (int) v);
+        return _u32(b, p + 4, (int) (v >>> 32));
+    }
+
+    private static final class Entry {
+
+        final byte[] _name;
+        final int _flags;
+        final long _offset;
+        long _crc;
+        long _size;
+        long _compressedSize;
+
+        Entry(final byte[] name, final int flags, final long offset) {
+            _name = name;
+            _flags = flags;
+            _offset = offset;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long _count;
+
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        long count() {
+            return _count;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            _count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            _count += len;
+        }
+    }
+}
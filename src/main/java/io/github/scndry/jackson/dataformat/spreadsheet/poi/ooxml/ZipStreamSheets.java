@@ -0,0 +1,359 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.POICompat;
+
+/**
+ * Opens one worksheet of an XLSX package read front to back from a
+ * {@link ZipInputStream}, without a seekable copy of the archive.
+ * <p>
+ * Entries are consumed in archive order. The package and workbook
+ * relationships and {@code workbook.xml} locate the worksheet, shared
+ * strings and styles; shared strings and styles are loaded as they pass.
+ * When the worksheet arrives after both, the returned reader parses it
+ * straight off the stream. Entries that arrive before they can be used —
+ * a worksheet ahead of the shared strings, or any part ahead of the
+ * relationships that identify it — are kept deflated in memory, spilling
+ * to a temporary file past {@link #MEMORY_LIMIT} bytes, and replayed once
+ * they can be. Entries known to be unneeded are skipped unread.
+ *
+ * @see SSMLSheetReader
+ */
+@Slf4j
+public final class ZipStreamSheets implements Closeable {
+
+    /** Deflated bytes of deferred entries held in memory before spilling to disk. */
+    static final int MEMORY_LIMIT = 16 << 20;
+
+    private final ZipInputStream _zip;
+    private final SheetInput<?> _src;
+    private final boolean _scanBytes;
+    private final Map<String, DeferredEntry> _deferred = new HashMap<>();
+    private long _memoryLeft = MEMORY_LIMIT;
+    // Learned as entries arrive
+    private String _workbookEntry;
+    private WorkbookXml _workbook;
+    private PartRelationships _workbookRels;
+    private boolean _resolved;
+    private String _sheetEntry;
+    private String _stringsEntry;
+    private String _stylesEntry;
+    private SharedStringsLookup _strings;
+    private StylesLookup _styles;
+
+    private ZipStreamSheets(final InputStream in, final SheetInput<?> src, final boolean scanBytes) {
+        _zip = new ZipInputStream(in);
+        _src = src;
+        _scanBytes = scanBytes;
+    }
+
+    /**
+     * Reads {@code in} up to the worksheet {@code src} names and returns a
+     * reader over it. Closing the reader releases any temporary file, and
+     * closes {@code in} if {@code closeSource} is set.
+     *
+     * @param closeSource close {@code in} along with the reader
+     * @param scanBytes parse the worksheet and shared strings with the
+     *                  byte-level scanner
+     * @param readAhead tokenize on a background thread
+     *                  ({@link ReadAheadSheetDataCursor})
+     * @throws IllegalArgumentException if the package has no such sheet or
+     *                                  is not a SpreadsheetML package
+     */
+    public static SSMLSheetReader open(
+            final InputStream in,
+            final SheetInput<?> src,
+            final boolean closeSource,
+            final boolean scanBytes,
+            final boolean readAhead) throws IOException {
+        final ZipStreamSheets sheets = new ZipStreamSheets(
+                closeSource ? in : new ShieldedInputStream(in), src, scanBytes);
+        try {
+            return sheets._open(readAhead);
+        } catch (IOException | RuntimeException e) {
+            try {
+                sheets.close();
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    /** Closes the archive stream and releases deferred entries. */
+    @Override
+    public void close() throws IOException {
+        try {
+            _zip.close();
+        } finally {
+            _releaseDeferred();
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Entry dispatch
+    // ---------------------------------------------------------------
+
+    private SSMLSheetReader _open(final boolean readAhead) throws IOException {
+        ZipEntry entry;
+        while ((entry = _zip.getNextEntry()) != null) {
+            if (entry.isDirectory()) continue;
+            final String name = entry.getName();
+            if (_resolved && name.equals(_sheetEntry) && _ready()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Reading worksheet {} directly from the archive stream", name);
+                }
+                _releaseDeferred();
+                return _reader(_zip, this, readAhead);
+            }
+            _accept(name, new ShieldedInputStream(_zip));
+            if (!_resolved) _resolve();
+            if (_resolved && _ready() && _deferred.containsKey(_sheetEntry)) break;
+        }
+        if (!_resolved) {
+            throw new IllegalArgumentException("Not a SpreadsheetML package: "
+                    + (_workbookEntry == null ? "no office document relationship" : "workbook part incomplete"));
+        }
+        _requirePresent(_stringsEntry, _strings);
+        _requirePresent(_stylesEntry, _styles);
+        final DeferredEntry sheet = _deferred.remove(_sheetEntry);
+        if (sheet == null) {
+            throw new IllegalArgumentException("Worksheet part not found: " + _sheetEntry);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Reading worksheet {} from a deferred copy", _sheetEntry);
+        }
+        close();
+        final InputStream in = sheet.open();
+        return _reader(in, () -> {
+            try {
+                in.close();
+            } finally {
+                sheet.release();
+            }
+        }, readAhead);
+    }
+
+    private void _accept(final String name, final InputStream in) throws IOException {
+        if (_resolved) {
+            _consume(name, in);
+        } else if (name.equals(PartRelationships.PACKAGE_RELS)) {
+            _onPackageRels(in);
+        } else if (name.equals(_workbookEntry)) {
+            _workbook = WorkbookXml.parse(in);
+        } else if (_workbookEntry != null && name.equals(PartRelationships.relsEntry(_workbookEntry))) {
+            _workbookRels = PartRelationships.parse(in, _workbookEntry);
+        } else if (name.endsWith(".xml") || name.endsWith(".rels")) {
+            _defer(name, in);
+        }
+    }
+
+    // Once resolved, only the shared strings, styles and worksheet matter
+    private void _consume(final String name, final InputStream in) throws IOException {
+        if (name.equals(_stringsEntry)) {
+            _strings = new InMemorySharedStringsLookup(in, _scanBytes).freeze();
+        } else if (name.equals(_stylesEntry)) {
+            _styles = new LazyStylesLookup(in);
+        } else if (name.equals(_sheetEntry)) {
+            _defer(name, in);
+        }
+    }
+
+    private void _onPackageRels(final InputStream in) {
+        final PartRelationships rels = PartRelationships.parse(in, "");
+        _workbookEntry = rels.targetByType(PackageRelationshipTypes.CORE_DOCUMENT);
+    }
+
+    // Replays deferred entries that became recognizable, until all three
+    // workbook-level parts are known
+    private void _resolve() throws IOException {
+        if (_workbookEntry == null) {
+            _replay(PartRelationships.PACKAGE_RELS);
+        }
+        if (_workbookEntry == null) return;
+        if (_workbook == null) {
+            _replay(_workbookEntry);
+        }
+        if (_workbookRels == null) {
+            _replay(PartRelationships.relsEntry(_workbookEntry));
+        }
+        if (_workbook == null || _workbookRels == null) return;
+
+        _sheetEntry = _workbook.worksheetEntry(_workbookRels, _src);
+        _stringsEntry = _workbookRels.targetByType(XSSFRelation.SHARED_STRINGS.getRelation());
+        _stylesEntry = _workbookRels.targetByType(XSSFRelation.STYLES.getRelation());
+        _resolved = true;
+        for (final String name : new ArrayList<>(_deferred.keySet())) {
+            if (!name.equals(_sheetEntry)) _replay(name);
+        }
+    }
+
+    private void _replay(final String name) throws IOException {
+        final DeferredEntry entry = _deferred.remove(name);
+        if (entry == null) return;
+        try (InputStream in = entry.open()) {
+            _accept(name, in);
+        } finally {
+            _memoryLeft += entry.memorySize();
+            entry.release();
+        }
+    }
+
+    private boolean _ready() {
+        return (_stringsEntry == null || _strings != null)
+                && (_stylesEntry == null || _styles != null);
+    }
+
+    private static void _requirePresent(final String entry, final Object loaded) {
+        if (entry != null && loaded == null) {
+            throw new IllegalArgumentException("Part not found: " + entry);
+        }
+    }
+
+    private SSMLSheetReader _reader(final InputStream sheet, final Closeable source, final boolean readAhead) {
+        final SheetDataCursor cursor = SheetDataCursor.open(sheet, _scanBytes);
+        return new SSMLSheetReader(
+                readAhead ? new ReadAheadSheetDataCursor(cursor) : cursor,
+                _strings != null ? _strings : BlankSharedStringsLookup.INSTANCE,
+                _styles != null ? _styles : BlankStylesLookup.INSTANCE,
+                _workbook.isDate1904(),
+                source);
+    }
+
+    // ---------------------------------------------------------------
+    // Deferred entries
+    // ---------------------------------------------------------------
+
+    private void _defer(final String name, final InputStream in) throws IOException {
+        final DeferredEntry entry = new DeferredEntry();
+        _deferred.put(name, entry);
+        _memoryLeft -= entry.write(in, _memoryLeft);
+    }
+
+    private void _releaseDeferred() throws IOException {
+        final List<DeferredEntry> entries = new ArrayList<>(_deferred.values());
+        _deferred.clear();
+        for (final DeferredEntry entry : entries) {
+            entry.release();
+        }
+    }
+
+    /** One entry re-deflated into memory, or into a temporary file once over budget. */
+    private static final class DeferredEntry {
+
+        private byte[] _bytes;
+        private File _file;
+
+        // Returns the number of bytes kept in memory
+        long write(final InputStream in, final long memoryLimit) throws IOException {
+            final SpillingOutputStream sink = new SpillingOutputStream(memoryLimit);
+            final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream out = new DeflaterOutputStream(sink, deflater)) {
+                final byte[] buf = new byte[8192];
+                int n;
+                while ((n = in.read(buf)) != -1) {
+                    out.write(buf, 0, n);
+                }
+            } finally {
+                deflater.end();
+                _file = sink._file;
+            }
+            _bytes = sink._memory == null ? null : sink._memory.toByteArray();
+            return _bytes == null ? 0 : _bytes.length;
+        }
+
+        long memorySize() {
+            return _bytes == null ? 0 : _bytes.length;
+        }
+
+        InputStream open() throws IOException {
+            return new InflaterInputStream(_file != null
+                    ? new FileInputStream(_file) : new ByteArrayInputStream(_bytes));
+        }
+
+        void release() throws IOException {
+            _bytes = null;
+            if (_file != null) {
+                POICompat.releaseTempFile(_file.toPath());
+                _file = null;
+            }
+        }
+    }
+
+    private static final class SpillingOutputStream extends OutputStream {
+
+        private final long _limit;
+        private ByteArrayOutputStream _memory = new ByteArrayOutputStream();
+        private OutputStream _disk;
+        File _file;
+
+        SpillingOutputStream(final long limit) {
+            _limit = limit;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (_disk == null && _memory.size() + len > _limit) {
+                _file = POICompat.createSecureTempFile("jackson-spreadsheet-entry-", ".deflate").toFile();
+                _disk = new FileOutputStream(_file);
+                _memory.writeTo(_disk);
+                _memory = null;
+            }
+            if (_disk != null) {
+                _disk.write(b, off, len);
+            } else {
+                _memory.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (_disk != null) _disk.close();
+        }
+    }
+
+    /**
+     * Leaves the wrapped stream open on close: the caller's stream, or the
+     * archive while one of its entries is parsed.
+     */
+    private static final class ShieldedInputStream extends FilterInputStream {
+
+        ShieldedInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // for an entry, the next getNextEntry() skips whatever is left
+        }
+    }
+}
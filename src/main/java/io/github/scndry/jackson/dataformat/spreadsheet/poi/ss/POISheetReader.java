@@ -77,6 +77,11 @@ public final class POISheetReader implements SheetReader {
         throw new IllegalStateException("Unexpected cell value type: " + type);
     }
 
+    @Override
+    public int getEstimatedLastRow() {
+        return _sheet.getPhysicalNumberOfRows() == 0 ? -1 : _sheet.getLastRowNum();
+    }
+
     @Override
     public int getRow() {
         return _rowIndex;
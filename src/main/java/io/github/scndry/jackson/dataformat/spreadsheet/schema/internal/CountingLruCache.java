@@ -0,0 +1,69 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.schema.internal;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.util.LRUMap;
+
+/**
+ * Bounded, concurrent LRU map that counts its hits and misses; held by the
+ * schema and scaffold caches, which expose its statistics.
+ *
+ * <p>Not part of the public API. Classes under
+ * {@code io.github.scndry.jackson.dataformat.spreadsheet.schema.internal}
+ * may change without notice between releases — do not invoke directly
+ * from application code.
+ *
+ * @param <K> key type
+ * @param <V> cached value type
+ */
+public final class CountingLruCache<K, V> {
+
+    private final LRUMap<K, V> _cache;
+    private final LongAdder _hits = new LongAdder();
+    private final LongAdder _misses = new LongAdder();
+
+    public CountingLruCache(final int maxEntries) {
+        _cache = new LRUMap<>(Math.min(16, maxEntries), maxEntries);
+    }
+
+    /** Returns the cached value, or {@code null}, counting a hit or a miss. */
+    public V get(final K key) {
+        final V value = _cache.get(key);
+        if (value == null) {
+            _misses.increment();
+        } else {
+            _hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Caches {@code value} unless another thread got there first; returns
+     * the value that is cached.
+     */
+    public V put(final K key, final V value) {
+        final V existing = _cache.putIfAbsent(key, value);
+        return existing == null ? value : existing;
+    }
+
+    public long hitCount() {
+        return _hits.sum();
+    }
+
+    public long missCount() {
+        return _misses.sum();
+    }
+
+    public int size() {
+        return _cache.size();
+    }
+
+    public void clear() {
+        _cache.clear();
+    }
+
+    /** Statistics as {@code name[size=…, hits=…, misses=…]}. */
+    public String toString(final String name) {
+        return name + "[size=" + size() + ", hits=" + hitCount() + ", misses=" + missCount() + "]";
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.schema.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.Column;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.ColumnPointer;
+
+/**
+ * Token program for reading a schema without anchors or nested lists,
+ * precomputed from the column pointers so the parser does no per-cell
+ * pointer arithmetic.
+ * <p>
+ * For every pair of column positions the program holds the run of
+ * {@code END_OBJECT} / {@code FIELD_NAME} / {@code START_OBJECT} tokens
+ * that leads from the scope of the previous cell into the scope of the
+ * next one, ending with the next cell's {@code FIELD_NAME}. Field names
+ * are shared, interned instances. Runs are built on first use; adjacent
+ * transitions live in an array and the rest (gaps, reordered sheets) in a
+ * map capped at a few runs per column, past which a run is rebuilt on every
+ * use, so memory stays linear in the column count.
+ *
+ * <p>Not part of the public API. Classes under
+ * {@code io.github.scndry.jackson.dataformat.spreadsheet.schema.internal}
+ * may change without notice between releases — do not invoke directly
+ * from application code.
+ *
+ * @see SpreadsheetSchemaImpl#flatTokenProgram()
+ */
+public final class FlatTokenProgram {
+
+    /** Position of a row with no cell emitted yet. */
+    public static final int ROW_START = -1;
+
+    private final ColumnPointer[] _pointers;
+    private final Run[] _adjacentRuns;
+    private final Map<Integer, Run> _otherRuns = new ConcurrentHashMap<>();
+    private final int _maxOtherRuns;
+    private final int[] _closeCounts;
+    private final Map<String, String> _names = new ConcurrentHashMap<>();
+    // Leaf field names by position when every column is a direct property of the row
+    private final String[] _shallowNames;
+
+    private FlatTokenProgram(final ColumnPointer[] pointers) {
+        _pointers = pointers;
+        _adjacentRuns = new Run[pointers.length];
+        _maxOtherRuns = 16 + 2 * pointers.length;
+        _closeCounts = new int[pointers.length + 1];
+        _closeCounts[0] = ColumnPointer.empty().depth();
+        String[] shallowNames = new String[pointers.length];
+        for (int i = 0; i < pointers.length; i++) {
+            _closeCounts[i + 1] = pointers[i] == null ? 0 : pointers[i].depth();
+            if (pointers[i] == null || shallowNames == null) continue;
+            if (pointers[i].depth() == 1) {
+                shallowNames[i] = _intern(pointers[i].head().name());
+            } else {
+                shallowNames = null;
+            }
+        }
+        _shallowNames = shallowNames;
+    }
+
+    /**
+     * Compiles {@code columns}, or returns {@code null} when a column lives
+     * inside a list and the token sequence therefore depends on row content.
+     */
+    static FlatTokenProgram compile(final List<Column> columns) {
+        final ColumnPointer[] pointers = new ColumnPointer[columns.size()];
+        for (int i = 0; i < pointers.length; i++) {
+            final Column col = columns.get(i);
+            if (col == null) continue;
+            if (col.getPointer().contains(ColumnPointer.array())) return null;
+            pointers[i] = col.getPointer();
+        }
+        return new FlatTokenProgram(pointers);
+    }
+
+    /**
+     * Run leading from column position {@code from} ({@link #ROW_START} at
+     * the start of a row) to column position {@code to}; positions are
+     * relative to the schema origin.
+     */
+    public Run transition(final int from, final int to) {
+        if (to == from + 1) {
+            Run run = _adjacentRuns[to];
+            if (run == null) {
+                run = _compileRun(from, to);
+                _adjacentRuns[to] = run;
+            }
+            return run;
+        }
+        final Integer key = (from + 1) * _pointers.length + to;
+        final Run run = _otherRuns.get(key);
+        if (run != null) return run;
+        if (_otherRuns.size() >= _maxOtherRuns) return _compileRun(from, to);
+        return _otherRuns.computeIfAbsent(key, k -> _compileRun(from, to));
+    }
+
+    /** Number of {@code END_OBJECT} tokens that close a row after {@code from}. */
+    public int closeCount(final int from) {
+        return _closeCounts[from + 1];
+    }
+
+    /** Number of column positions, including unmapped ones. */
+    public int size() {
+        return _pointers.length;
+    }
+
+    /**
+     * Whether every column is a direct property of the row object, so a row
+     * is one {@code START_OBJECT}, a {@code FIELD_NAME} and value per cell,
+     * and one {@code END_OBJECT}.
+     */
+    public boolean isShallow() {
+        return _shallowNames != null;
+    }
+
+    /**
+     * Field name of the column at {@code position}; only valid when
+     * {@link #isShallow()}. Returns {@code null} for an unmapped position.
+     */
+    public String fieldName(final int position) {
+        return _shallowNames[position];
+    }
+
+    /** Number of non-adjacent runs held; bounded by the column count. */
+    int otherRunCount() {
+        return _otherRuns.size();
+    }
+
+    private Run _compileRun(final int from, final int to) {
+        final ColumnPointer fromScope = from == ROW_START
+                ? ColumnPointer.empty() : _pointers[from].getParent();
+        final ColumnPointer target = _pointers[to];
+        final ColumnPointer toScope = target.getParent();
+        final ColumnPointer path = fromScope.relativize(toScope);
+        int size = 1;
+        for (final ColumnPointer p : path) {
+            size += p.isParent() ? 1 : 2;
+        }
+        final JsonToken[] tokens = new JsonToken[size];
+        final String[] names = new String[size];
+        int i = 0;
+        for (final ColumnPointer p : path) {
+            if (p.isParent()) {
+                tokens[i++] = JsonToken.END_OBJECT;
+            } else {
+                names[i] = _intern(p.name());
+                tokens[i++] = JsonToken.FIELD_NAME;
+                tokens[i++] = JsonToken.START_OBJECT;
+            }
+        }
+        names[i] = _intern(toScope.relativize(target).head().name());
+        tokens[i] = JsonToken.FIELD_NAME;
+        return new Run(tokens, names);
+    }
+
+    private String _intern(final String name) {
+        return _names.computeIfAbsent(name, String::intern);
+    }
+
+    /**
+     * Immutable token run; {@code names[i]} is set where {@code tokens[i]}
+     * is {@link JsonToken#FIELD_NAME}.
+     */
+    public static final class Run {
+
+        private final JsonToken[] _tokens;
+        private final String[] _names;
+
+        Run(final JsonToken[] tokens, final String[] names) {
+            _tokens = tokens;
+            _names = names;
+        }
+
+        public int size() {
+            return _tokens.length;
+        }
+
+        public JsonToken token(final int i) {
+            return _tokens[i];
+        }
+
+        public String name(final int i) {
+            return _names[i];
+        }
+    }
+}
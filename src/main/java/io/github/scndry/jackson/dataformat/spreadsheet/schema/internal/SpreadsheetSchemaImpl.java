@@ -26,6 +26,8 @@ import io.github.scndry.jackson.dataformat.spreadsheet.schema.style.StylesBuilde
  */
 public final class SpreadsheetSchemaImpl implements SpreadsheetSchema {
 
+    private static final Object NO_PROGRAM = new Object();
+
     private final List<Column> _columns;
     private final CellAddress _origin;
     private final int _features;
@@ -40,6 +42,8 @@ public final class SpreadsheetSchemaImpl implements SpreadsheetSchema {
     // SheetStreamContext.ObjectContext/ArrayContext.currentPointer().
     private final Map<ColumnPointer, Map<String, ColumnPointer>> _resolveTable;
     private final Map<ColumnPointer, ColumnPointer> _resolveArrayTable;
+    // Compiled on the first flat read; NO_PROGRAM marks a schema with lists.
+    private Object _flatTokenProgram;
 
     public SpreadsheetSchemaImpl(
             final List<Column> columns,
@@ -100,6 +104,21 @@ public final class SpreadsheetSchemaImpl implements SpreadsheetSchema {
         return parent.resolveArray();
     }
 
+    /**
+     * Token program for reading this schema without a record buffer, or
+     * {@code null} when a column lives inside a list. Compiled once per
+     * schema instance; a benign race may compile it more than once.
+     */
+    public FlatTokenProgram flatTokenProgram() {
+        Object program = _flatTokenProgram;
+        if (program == null) {
+            final FlatTokenProgram compiled = FlatTokenProgram.compile(_columns);
+            program = compiled == null ? NO_PROGRAM : compiled;
+            _flatTokenProgram = program;
+        }
+        return program == NO_PROGRAM ? null : (FlatTokenProgram) program;
+    }
+
     private static int _computeHeaderRowCount(final List<Column> columns) {
         int max = 0;
         for (final Column col : columns) {
@@ -0,0 +1,364 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.ser;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.impl.BeanAsArraySerializer;
+import com.fasterxml.jackson.databind.ser.impl.ObjectIdWriter;
+import com.fasterxml.jackson.databind.ser.impl.UnwrappingBeanSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.BooleanSerializer;
+import com.fasterxml.jackson.databind.ser.std.NullSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.FlatTokenProgram;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
+
+/**
+ * Bean serializer for
+ * {@link io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetFactory.Feature#DIRECT_ROW_WRITING}
+ * that writes a row of a flat {@link DataGrid} type straight to its cells:
+ * each property is matched to its column once per schema, and
+ * {@code int}, {@code long}, {@code double}, {@code boolean}, {@code String}
+ * and {@code BigDecimal} values (primitive or boxed) are read through a
+ * {@link MethodHandle} on the getter or field and handed to the
+ * {@link SheetWriter} by row and column index.
+ * <p>
+ * Otherwise behaves as {@link BeanSerializer}, which it replaces.
+ * <p>
+ * A property with a custom, polymorphic or content-inclusion-filtered
+ * serializer is written through {@link BeanPropertyWriter#serializeAsField}
+ * within the same row. Rows are written through the standard bean serializer
+ * when the generator {@linkplain SheetGenerator#canWriteRowCells() does not
+ * allow it}, a property has no column, or a filter, view, any-getter or
+ * object id is in play.
+ *
+ * @see Modifier
+ */
+public final class DirectRowSerializer extends BeanSerializerBase {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int OTHER = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int BOOLEAN = 4;
+    private static final int STRING = 5;
+    private static final int DECIMAL = 6;
+
+    // Cells of the last schema seen; writing under another schema yields a new program
+    private transient volatile Cells _cells;
+
+    DirectRowSerializer(final BeanSerializerBase src) {
+        super(src);
+    }
+
+    private DirectRowSerializer(final BeanSerializerBase src, final ObjectIdWriter objectIdWriter,
+                                final Object filterId) {
+        super(src, objectIdWriter, filterId);
+    }
+
+    private DirectRowSerializer(final BeanSerializerBase src, final Set<String> toIgnore,
+                                final Set<String> toInclude) {
+        super(src, toIgnore, toInclude);
+    }
+
+    private DirectRowSerializer(final BeanSerializerBase src, final BeanPropertyWriter[] properties,
+                                final BeanPropertyWriter[] filteredProperties) {
+        super(src, properties, filteredProperties);
+    }
+
+    /*
+    /**********************************************************
+    /* Life-cycle: same as BeanSerializer
+    /**********************************************************
+     */
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(final NameTransformer unwrapper) {
+        return new UnwrappingBeanSerializer(this, unwrapper);
+    }
+
+    @Override
+    public BeanSerializerBase withObjectIdWriter(final ObjectIdWriter objectIdWriter) {
+        return new DirectRowSerializer(this, objectIdWriter, _propertyFilterId);
+    }
+
+    @Override
+    public BeanSerializerBase withFilterId(final Object filterId) {
+        return new DirectRowSerializer(this, _objectIdWriter, filterId);
+    }
+
+    @Override
+    protected BeanSerializerBase withByNameInclusion(final Set<String> toIgnore, final Set<String> toInclude) {
+        return new DirectRowSerializer(this, toIgnore, toInclude);
+    }
+
+    @Override
+    protected BeanSerializerBase withProperties(final BeanPropertyWriter[] properties,
+                                                final BeanPropertyWriter[] filteredProperties) {
+        return new DirectRowSerializer(this, properties, filteredProperties);
+    }
+
+    @Override
+    protected BeanSerializerBase asArraySerializer() {
+        if (_objectIdWriter == null && _anyGetterWriter == null && _propertyFilterId == null) {
+            return new BeanAsArraySerializer(this);
+        }
+        return this;
+    }
+
+    /*
+    /**********************************************************
+    /* Serialization
+    /**********************************************************
+     */
+
+    @Override
+    public void serialize(final Object bean, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        if (_objectIdWriter != null) {
+            _serializeWithObjectId(bean, gen, provider, true);
+            return;
+        }
+        if (_anyGetterWriter == null && _propertyFilterId == null && provider.getActiveView() == null
+                && gen instanceof SheetGenerator) {
+            final SheetGenerator generator = (SheetGenerator) gen;
+            if (generator.canWriteRowCells()) {
+                final RowCell[] cells = _cells(generator);
+                if (cells != null) {
+                    _writeRow(bean, generator, provider, cells);
+                    return;
+                }
+            }
+        }
+        gen.writeStartObject(bean);
+        if (_propertyFilterId != null) {
+            serializeFieldsFiltered(bean, gen, provider);
+        } else {
+            serializeFields(bean, gen, provider);
+        }
+        gen.writeEndObject();
+    }
+
+    private void _writeRow(final Object bean, final SheetGenerator gen, final SerializerProvider provider,
+                           final RowCell[] cells) throws IOException {
+        gen.writeStartObject(bean);
+        final int row = gen.currentRow();
+        int i = 0;
+        try {
+            for (; i < cells.length; i++) {
+                cells[i].write(bean, gen, provider, row);
+            }
+        } catch (final Throwable e) {
+            wrapAndThrow(provider, e, bean, cells[i].getName());
+        }
+        gen.writeEndObject();
+    }
+
+    private RowCell[] _cells(final SheetGenerator gen) {
+        final SpreadsheetSchemaImpl schema = (SpreadsheetSchemaImpl) gen.getSchema();
+        final FlatTokenProgram program = schema.flatTokenProgram();
+        Cells cells = _cells;
+        if (cells == null || cells.program != program) {
+            cells = new Cells(program, _resolve(program, schema.getOriginColumn()));
+            _cells = cells;
+        }
+        return cells.byProperty;
+    }
+
+    // Null when a property has no column, so the generator reports it as it always has
+    private RowCell[] _resolve(final FlatTokenProgram program, final int origin) {
+        final Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < program.size(); i++) {
+            final String name = program.fieldName(i);
+            if (name != null) positions.put(name, i);
+        }
+        final RowCell[] cells = new RowCell[_props.length];
+        for (int i = 0; i < cells.length; i++) {
+            final BeanPropertyWriter prop = _props[i];
+            final Integer position = positions.get(prop.getName());
+            if (position == null) return null;
+            cells[i] = new RowCell(prop, origin + position);
+        }
+        return cells;
+    }
+
+    private static final class Cells {
+
+        final FlatTokenProgram program;
+        final RowCell[] byProperty;
+
+        Cells(final FlatTokenProgram program, final RowCell[] byProperty) {
+            this.program = program;
+            this.byProperty = byProperty;
+        }
+    }
+
+    /**
+     * Property writer bound to a column; extends {@link BeanPropertyWriter}
+     * only to read the resolved accessor and serializers of the property it
+     * copies.
+     */
+    private static final class RowCell extends BeanPropertyWriter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BeanPropertyWriter _prop;
+        private final int _column;
+        private final int _kind;
+        private final MethodHandle _getter;
+        // Getter returns Object (boxed or reference) rather than a primitive
+        private final boolean _boxed;
+        private final boolean _blankNull;
+
+        RowCell(final BeanPropertyWriter prop, final int column) {
+            super(prop);
+            _prop = prop;
+            _column = column;
+            final boolean plain = prop.getClass() == BeanPropertyWriter.class
+                    && _typeSerializer == null && _suppressableValue == null;
+            final int kind = plain ? _kind(_serializer, prop.getType().getRawClass()) : OTHER;
+            final Class<?> accessorType = _accessorMethod != null ? _accessorMethod.getReturnType()
+                    : _field != null ? _field.getType() : null;
+            _boxed = accessorType == null || !accessorType.isPrimitive();
+            _getter = kind == OTHER || accessorType == null ? null : _getter(_accessorMethod, _field,
+                    _boxed ? Object.class : _primitive(kind));
+            _kind = _getter == null ? OTHER : kind;
+            _blankNull = _nullSerializer != null && _nullSerializer.getClass() == NullSerializer.class;
+        }
+
+        void write(final Object bean, final SheetGenerator gen, final SerializerProvider provider,
+                   final int row) throws Throwable {
+            if (_kind == OTHER) {
+                _prop.serializeAsField(bean, gen, provider);
+                return;
+            }
+            if (!_boxed) {
+                switch (_kind) {
+                    case INT:
+                        gen.writeRowNumber(row, _column, (int) _getter.invokeExact(bean));
+                        return;
+                    case LONG:
+                        gen.writeRowNumber(row, _column, (long) _getter.invokeExact(bean));
+                        return;
+                    case DOUBLE:
+                        gen.writeRowNumber(row, _column, (double) _getter.invokeExact(bean));
+                        return;
+                    default:
+                        gen.writeRowBoolean(row, _column, (boolean) _getter.invokeExact(bean));
+                        return;
+                }
+            }
+            final Object value = (Object) _getter.invokeExact(bean);
+            if (value == null) {
+                _writeNull(bean, gen, provider, row);
+                return;
+            }
+            switch (_kind) {
+                case BOOLEAN:
+                    gen.writeRowBoolean(row, _column, (Boolean) value);
+                    return;
+                case STRING:
+                    gen.writeRowString(row, _column, (String) value);
+                    return;
+                default:
+                    gen.writeRowNumber(row, _column, ((Number) value).doubleValue());
+            }
+        }
+
+        // Mirrors serializeAsField for a null value
+        private void _writeNull(final Object bean, final SheetGenerator gen, final SerializerProvider provider,
+                                final int row) throws Exception {
+            if (_blankNull) {
+                gen.writeRowNull(row, _column);
+            } else if (_nullSerializer != null) {
+                _prop.serializeAsField(bean, gen, provider);
+            }
+        }
+
+        // Only Jackson's own serializers for the raw type, whose output the switch above reproduces
+        private static int _kind(final JsonSerializer<Object> ser, final Class<?> raw) {
+            if (ser == null) return OTHER;
+            final Class<?> type = ser.getClass();
+            if (type == NumberSerializers.IntegerSerializer.class
+                    && (raw == int.class || raw == Integer.class)) return INT;
+            if (type == NumberSerializers.LongSerializer.class
+                    && (raw == long.class || raw == Long.class)) return LONG;
+            if (type == NumberSerializers.DoubleSerializer.class
+                    && (raw == double.class || raw == Double.class)) return DOUBLE;
+            if (type == BooleanSerializer.class
+                    && (raw == boolean.class || raw == Boolean.class)) return BOOLEAN;
+            if (type == StringSerializer.class && raw == String.class) return STRING;
+            if (type == NumberSerializer.class && raw == BigDecimal.class) return DECIMAL;
+            return OTHER;
+        }
+
+        private static Class<?> _primitive(final int kind) {
+            switch (kind) {
+                case INT:
+                    return int.class;
+                case LONG:
+                    return long.class;
+                case DOUBLE:
+                    return double.class;
+                default:
+                    return boolean.class;
+            }
+        }
+
+        // Getter or field adapted to (Object)valueType
+        private static MethodHandle _getter(final Method method, final Field field, final Class<?> valueType) {
+            try {
+                final MethodHandle handle = method != null
+                        ? MethodHandles.lookup().unreflect(method)
+                        : MethodHandles.lookup().unreflectGetter(field);
+                return handle.asType(MethodType.methodType(valueType, Object.class));
+            } catch (final IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Wraps the serializer of {@link DataGrid}-annotated types when it is a
+     * plain {@link BeanSerializer}.
+     */
+    public static final class Modifier extends BeanSerializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public JsonSerializer<?> modifySerializer(
+                final SerializationConfig config,
+                final BeanDescription beanDesc,
+                final JsonSerializer<?> serializer) {
+            if (serializer.getClass() == BeanSerializer.class
+                    && beanDesc.getClassAnnotations().has(DataGrid.class)) {
+                return new DirectRowSerializer((BeanSerializer) serializer);
+            }
+            return serializer;
+        }
+    }
+}
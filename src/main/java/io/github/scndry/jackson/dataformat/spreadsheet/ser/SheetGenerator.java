@@ -16,6 +16,7 @@ import io.github.scndry.jackson.dataformat.spreadsheet.SheetStreamWriteException
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.ColumnPointer;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.SpreadsheetSchema;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.BackWriteProjection;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.FlatTokenProgram;
 import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
 
 /**
@@ -41,6 +42,7 @@ public final class SheetGenerator extends GeneratorBase {
 
     private final IOContext _ioContext;
     private final SheetWriter _writer;
+    private final boolean _directRowWrites;
     private SpreadsheetSchemaImpl _schema;
     private SheetStreamContext _outputContext;
 
@@ -49,9 +51,19 @@ public final class SheetGenerator extends GeneratorBase {
             final int features,
             final ObjectCodec codec,
             final SheetWriter writer) {
+        this(ctxt, features, codec, writer, false);
+    }
+
+    public SheetGenerator(
+            final IOContext ctxt,
+            final int features,
+            final ObjectCodec codec,
+            final SheetWriter writer,
+            final boolean directRowWrites) {
         super(features, codec);
         _ioContext = ctxt;
         _writer = writer;
+        _directRowWrites = directRowWrites;
     }
 
     @Override
@@ -124,6 +136,9 @@ public final class SheetGenerator extends GeneratorBase {
         if (size > 0) {
             _writer.ensureRowWindow(size);
         }
+        if (!nested && size >= 0) {
+            _writer.expectRows(_outputContext.getRow(), size);
+        }
         _outputContext = _outputContext.createChildArrayContext(size);
         if (backWriteRisk) {
             _writer.enterArrayScope();
@@ -292,6 +307,51 @@ public final class SheetGenerator extends GeneratorBase {
         _writer.writeBlank();
     }
 
+    /*
+    /**********************************************************
+    /* Direct row writes (DirectRowSerializer)
+    /**********************************************************
+     */
+
+    /**
+     * Whether a row object may be written cell by cell at known columns:
+     * {@link io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetFactory.Feature#DIRECT_ROW_WRITING}
+     * is enabled, every schema column is a direct property of the row, and
+     * the next value is a row of the sheet rather than a nested value.
+     */
+    boolean canWriteRowCells() {
+        if (!_directRowWrites || _schema == null) return false;
+        final FlatTokenProgram program = _schema.flatTokenProgram();
+        if (program == null || !program.isShallow()) return false;
+        return _outputContext.inRoot()
+                || _outputContext.inArray() && _outputContext.getParent().inRoot();
+    }
+
+    /** Row of the object context opened by {@link #writeStartObject(Object)}. */
+    int currentRow() {
+        return _outputContext.getRow();
+    }
+
+    void writeRowNumber(final int row, final int column, final double v) {
+        _outputContext.writeValueAt(column);
+        _writer.writeNumeric(row, column, v);
+    }
+
+    void writeRowString(final int row, final int column, final String text) {
+        _outputContext.writeValueAt(column);
+        _writer.writeString(row, column, text);
+    }
+
+    void writeRowBoolean(final int row, final int column, final boolean state) {
+        _outputContext.writeValueAt(column);
+        _writer.writeBoolean(row, column, state);
+    }
+
+    void writeRowNull(final int row, final int column) {
+        _outputContext.writeValueAt(column);
+        _writer.writeBlank(row, column);
+    }
+
     @Override
     public void flush() throws IOException {
         // do nothing
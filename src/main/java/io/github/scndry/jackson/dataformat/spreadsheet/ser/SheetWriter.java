@@ -35,6 +35,33 @@ public interface SheetWriter extends AutoCloseable {
 
     void writeBlank();
 
+    /**
+     * Writes a numeric cell at {@code (row, col)} without going through
+     * {@link #setReference}; the default sets the reference first.
+     */
+    default void writeNumeric(final int row, final int col, final double value) {
+        setReference(new CellAddress(row, col));
+        writeNumeric(value);
+    }
+
+    /** Positional counterpart of {@link #writeString(String)}. */
+    default void writeString(final int row, final int col, final String value) {
+        setReference(new CellAddress(row, col));
+        writeString(value);
+    }
+
+    /** Positional counterpart of {@link #writeBoolean(boolean)}. */
+    default void writeBoolean(final int row, final int col, final boolean value) {
+        setReference(new CellAddress(row, col));
+        writeBoolean(value);
+    }
+
+    /** Positional counterpart of {@link #writeBlank()}. */
+    default void writeBlank(final int row, final int col) {
+        setReference(new CellAddress(row, col));
+        writeBlank();
+    }
+
     void adjustColumnWidth();
 
     void mergeScopedColumns(ColumnPointer pointer, int row, int size);
@@ -43,6 +70,14 @@ public interface SheetWriter extends AutoCloseable {
 
     default void restoreRowWindow() {}
 
+    /**
+     * Hint that a root list of {@code count} values is about to be written,
+     * its first value at {@code firstRow}. Streaming writers can size
+     * worksheet metadata that precedes the cells from it, such as the
+     * {@code <dimension>}, instead of holding the cells back until the end.
+     */
+    default void expectRows(int firstRow, int count) {}
+
     /**
      * Hook signaling that the generator entered a list scope. Streaming
      * writers can suspend output flushing until {@link #exitArrayScope()}
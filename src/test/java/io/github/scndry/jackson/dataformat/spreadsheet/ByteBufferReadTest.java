@@ -0,0 +1,76 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.EntriesWorkbook.Entry;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SheetInput#source(ByteBuffer)} reads in-memory and memory-mapped
+ * XLSX content through the central directory, falling back to the stream
+ * path where SSML does not apply.
+ */
+class ByteBufferReadTest {
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+    List<Entry> rows;
+    File file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapper = new SpreadsheetMapper();
+        final EntriesWorkbook workbook = new EntriesWorkbook(tempDir);
+        rows = workbook.entries;
+        file = workbook.file;
+    }
+
+    @Test
+    void readsHeapBuffer() throws Exception {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+        assertThat(mapper.readValues(SheetInput.source(buffer), Entry.class)).isEqualTo(rows);
+        assertThat(mapper.readValues(SheetInput.source(buffer, "Entries"), Entry.class)).isEqualTo(rows);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void readsMappedFile() throws Exception {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            assertThat(mapper.readValues(SheetInput.source(buffer, 0), Entry.class)).isEqualTo(rows);
+        }
+    }
+
+    @Test
+    void readsThroughPOIUserModel() throws Exception {
+        final SpreadsheetMapper poi = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.USE_POI_USER_MODEL)
+                .build();
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+        assertThat(poi.readValues(SheetInput.source(buffer), Entry.class)).isEqualTo(rows);
+    }
+
+    @Test
+    void unknownSheetFails() throws Exception {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+        assertThatThrownBy(() -> mapper.readValues(SheetInput.source(buffer, "Missing"), Entry.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Missing");
+    }
+}
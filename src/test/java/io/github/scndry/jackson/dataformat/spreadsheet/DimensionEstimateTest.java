@@ -0,0 +1,128 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The worksheet {@code <dimension>} surfaces as row and column estimates on
+ * {@link SheetMappingIterator}; it sizes buffers only and never limits rows.
+ */
+class DimensionEstimateTest {
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+    List<Entry> entries;
+    File file;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Entry {
+        private long id;
+        private String name;
+        private double price;
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapper = new SpreadsheetMapper();
+        entries = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            entries.add(new Entry(i, "name-" + i % 11, i * 1.5));
+        }
+        file = new File(tempDir, "entries.xlsx");
+        try (XSSFWorkbook wb = new XSSFWorkbook(); OutputStream os = new FileOutputStream(file)) {
+            mapper.writeValue(wb.createSheet("Entries"), entries, Entry.class);
+            wb.write(os);
+        }
+        // Header in row 1, data through row 251
+        file = _withDimension("A1:C251");
+    }
+
+    @Test
+    void estimatesDataRowsAndColumns() throws Exception {
+        for (final SpreadsheetMapper m : new SpreadsheetMapper[]{mapper, _byteScanner(), _poiUserModel()}) {
+            try (SheetMappingIterator<Entry> it = m.sheetReaderFor(Entry.class).readValues(file)) {
+                assertThat(it.getEstimatedRowCount()).isEqualTo(250);
+                assertThat(it.readAll()).isEqualTo(entries);
+            }
+        }
+        try (SheetMappingIterator<Entry> it = mapper.sheetReaderFor(Entry.class).readValues(file)) {
+            assertThat(it.getEstimatedColumnCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void readsAllRowsPastStaleDimension() throws Exception {
+        final File understated = _withDimension("A1:C11");
+        final File overstated = _withDimension("A1:C1048576");
+
+        for (final SpreadsheetMapper m : new SpreadsheetMapper[]{mapper, _byteScanner()}) {
+            assertThat(m.readValues(understated, Entry.class)).isEqualTo(entries);
+            assertThat(m.readValues(overstated, Entry.class)).isEqualTo(entries);
+        }
+    }
+
+    @Test
+    void ignoresMalformedDimension() throws Exception {
+        final File malformed = _withDimension("not-a-range");
+
+        try (SheetMappingIterator<Entry> it = mapper.sheetReaderFor(Entry.class).readValues(malformed)) {
+            assertThat(it.getEstimatedRowCount()).isEqualTo(-1);
+            assertThat(it.getEstimatedColumnCount()).isEqualTo(-1);
+            assertThat(it.readAll()).isEqualTo(entries);
+        }
+    }
+
+    // Copy of file with the worksheet's <dimension ref> replaced
+    private File _withDimension(final String ref) throws Exception {
+        final File copy = new File(tempDir, "dimension-" + Math.abs(ref.hashCode()) + ".xlsx");
+        try (ZipFile zip = new ZipFile(file);
+             ZipOutputStream out = new ZipOutputStream(new FileOutputStream(copy))) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                byte[] data = IOUtils.toByteArray(zip.getInputStream(entry));
+                if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+                    data = new String(data, StandardCharsets.UTF_8)
+                            .replaceFirst("<dimension ref=\"[^\"]*\"", "<dimension ref=\"" + ref + "\"")
+                            .getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(data);
+                out.closeEntry();
+            }
+        }
+        return copy;
+    }
+
+    private static SpreadsheetMapper _byteScanner() {
+        return SpreadsheetMapper.builder().enable(SpreadsheetFactory.Feature.USE_BYTE_SCANNER).build();
+    }
+
+    private static SpreadsheetMapper _poiUserModel() {
+        return SpreadsheetMapper.builder().enable(SpreadsheetFactory.Feature.USE_POI_USER_MODEL).build();
+    }
+}
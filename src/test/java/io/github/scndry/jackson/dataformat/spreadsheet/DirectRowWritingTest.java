@@ -0,0 +1,164 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumn;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumnGroup;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetFactory.Feature#DIRECT_ROW_WRITING} produces the same
+ * worksheet as the generator path, for flat types and for the types it
+ * hands back to the generator.
+ */
+class DirectRowWritingTest {
+
+    private static final String SHEET = "/xl/worksheets/sheet1.xml";
+    private static final String SHARED_STRINGS = "/xl/sharedStrings.xml";
+
+    @TempDir File tempDir;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Entry {
+        @DataColumn("ID") private Long id;
+        @DataColumn("Name") private String name;
+        private int quantity;
+        private double price;
+        private BigDecimal amount;
+        private boolean active;
+        private Boolean flag;
+        private LocalDate due;
+        @JsonInclude(JsonInclude.Include.NON_NULL) private String note;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Grouped {
+        private int a;
+        @DataColumnGroup("G") private Inner inner;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Inner {
+        private int b;
+        private String c;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Failing {
+        private int a;
+
+        public int getA() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    static class Summary {}
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Viewed {
+        @JsonView(Summary.class) private int a;
+        private String b;
+    }
+
+    @Test
+    void flatRowsMatchGeneratorPath() throws Exception {
+        final List<Entry> rows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rows.add(new Entry(
+                    i % 5 == 0 ? null : (long) i,
+                    i % 7 == 0 ? null : "name-" + (i % 10),
+                    i * 3,
+                    i % 2 == 0 ? i : i + 0.25,
+                    new BigDecimal("100.5").add(BigDecimal.valueOf(i, 2)),
+                    i % 3 == 0,
+                    i % 4 == 0 ? null : i % 4 == 1,
+                    LocalDate.of(2024, 1, 1).plusDays(i),
+                    i % 6 == 0 ? "note" : null));
+        }
+        final File generator = _write("entries-generator.xlsx", false, rows, Entry.class);
+        final File direct = _write("entries-direct.xlsx", true, rows, Entry.class);
+
+        XlsxDomAssertions.assertPartEqual(generator, direct, SHEET);
+        XlsxDomAssertions.assertPartEqual(generator, direct, SHARED_STRINGS);
+        assertThat(new SpreadsheetMapper().readValues(direct, Entry.class)).isEqualTo(rows);
+    }
+
+    @Test
+    void nestedColumnsUseGenerator() throws Exception {
+        final List<Grouped> rows = Arrays.asList(
+                new Grouped(1, new Inner(2, "x")),
+                new Grouped(3, null));
+        final File generator = _write("grouped-generator.xlsx", false, rows, Grouped.class);
+        final File direct = _write("grouped-direct.xlsx", true, rows, Grouped.class);
+
+        XlsxDomAssertions.assertPartEqual(generator, direct, SHEET);
+    }
+
+    @Test
+    void viewUsesGenerator() throws Exception {
+        final List<Viewed> rows = Arrays.asList(new Viewed(1, "one"), new Viewed(2, "two"));
+        final File generator = new File(tempDir, "viewed-generator.xlsx");
+        final File direct = new File(tempDir, "viewed-direct.xlsx");
+        new SpreadsheetMapper().sheetWriterForWithView(Viewed.class, Summary.class)
+                .writeValue(generator, rows);
+        _mapper(true).sheetWriterForWithView(Viewed.class, Summary.class)
+                .writeValue(direct, rows);
+
+        XlsxDomAssertions.assertPartEqual(generator, direct, SHEET);
+    }
+
+    @Test
+    void accessorFailureReportsProperty() {
+        final File file = new File(tempDir, "failing.xlsx");
+        assertThatThrownBy(() -> _mapper(true).writeValue(file, Arrays.asList(new Failing()), Failing.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .satisfies(e -> assertThat(((JsonMappingException) e).getPath())
+                        .extracting(JsonMappingException.Reference::getFieldName)
+                        .containsExactly("a"));
+    }
+
+    private File _write(final String name, final boolean direct, final List<?> rows, final Class<?> type)
+            throws Exception {
+        final File file = new File(tempDir, name);
+        _mapper(direct).writeValue(file, rows, type);
+        return file;
+    }
+
+    private static SpreadsheetMapper _mapper(final boolean direct) {
+        return SpreadsheetMapper.builder()
+                .configure(SpreadsheetFactory.Feature.DIRECT_ROW_WRITING, direct)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+
+/**
+ * Workbook fixture for reads through the various input sources: sheets
+ * {@code Entries} and {@code Archive}, in that order, with shared strings
+ * in both.
+ */
+final class EntriesWorkbook {
+
+    static final int ENTRIES = 300;
+    static final int ARCHIVED = 100;
+
+    final List<Entry> entries = new ArrayList<>();
+    final List<Entry> archived = new ArrayList<>();
+    final File file;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Entry {
+        private long id;
+        private String name;
+        private double price;
+    }
+
+    EntriesWorkbook(final File dir) throws IOException {
+        for (int i = 0; i < ENTRIES; i++) {
+            entries.add(new Entry(i, "name-" + i % 17, i * 0.5));
+        }
+        for (int i = 0; i < ARCHIVED; i++) {
+            archived.add(new Entry(-i, "old-" + i % 3, i * 2.5));
+        }
+        file = new File(dir, "entries.xlsx");
+        final SpreadsheetMapper mapper = new SpreadsheetMapper();
+        try (XSSFWorkbook wb = new XSSFWorkbook(); OutputStream os = new FileOutputStream(file)) {
+            mapper.writeValue(wb.createSheet("Entries"), entries, Entry.class);
+            mapper.writeValue(wb.createSheet("Archive"), archived, Entry.class);
+            wb.write(os);
+        }
+    }
+}
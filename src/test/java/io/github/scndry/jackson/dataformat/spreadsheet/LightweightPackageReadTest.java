@@ -0,0 +1,59 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.EntriesWorkbook.Entry;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetFactory.Feature#LIGHTWEIGHT_PACKAGE} reads the same rows
+ * as {@code OPCPackage} does.
+ */
+class LightweightPackageReadTest {
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+    SpreadsheetMapper lightweight;
+    List<Entry> entries;
+    List<Entry> archived;
+    File file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapper = new SpreadsheetMapper();
+        lightweight = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.LIGHTWEIGHT_PACKAGE)
+                .build();
+        final EntriesWorkbook workbook = new EntriesWorkbook(tempDir);
+        entries = workbook.entries;
+        archived = workbook.archived;
+        file = workbook.file;
+    }
+
+    @Test
+    void readsSameRowsAsOPCPackage() throws Exception {
+        assertThat(lightweight.readValues(file, Entry.class))
+                .isEqualTo(mapper.readValues(file, Entry.class))
+                .isEqualTo(entries);
+    }
+
+    @Test
+    void readsSheetByNameAndIndex() throws Exception {
+        assertThat(lightweight.readValues(SheetInput.source(file, "Archive"), Entry.class)).isEqualTo(archived);
+        assertThat(lightweight.readValues(SheetInput.source(file, 1), Entry.class)).isEqualTo(archived);
+    }
+
+    @Test
+    void unknownSheetFails() {
+        assertThatThrownBy(() -> lightweight.readValues(SheetInput.source(file, "Missing"), Entry.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Missing");
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.OrdersWorkbook.Customer;
+import io.github.scndry.jackson.dataformat.spreadsheet.OrdersWorkbook.Order;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetMapper#readSheets} reads each named sheet into its own
+ * type on the given executor, with the same result as per-sheet reads.
+ */
+class MultiSheetReadTest {
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+    ExecutorService executor;
+    File file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapper = new SpreadsheetMapper();
+        executor = Executors.newFixedThreadPool(3);
+        file = new OrdersWorkbook(tempDir, 500, 10).file;
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void readsEachSheetIntoItsType() throws Exception {
+        final Map<String, Class<?>> types = new LinkedHashMap<>();
+        types.put("Customers", Customer.class);
+        types.put("Orders", Order.class);
+        types.put("Archive", Order.class);
+
+        final Map<String, List<?>> sheets = mapper.readSheets(file, types, executor);
+
+        assertThat(sheets.keySet()).containsExactly("Customers", "Orders", "Archive");
+        assertThat(sheets.get("Orders")).isEqualTo(
+                mapper.readValues(SheetInput.source(file, "Orders"), Order.class));
+        assertThat(sheets.get("Customers")).hasSize(40)
+                .first().isEqualTo(new Customer("customer-0", "Seoul"));
+        assertThat(sheets.get("Archive")).hasSize(10);
+    }
+
+    @Test
+    void readsWithFileBackedSharedStrings() throws Exception {
+        final SpreadsheetMapper fileBacked = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.FILE_BACKED_SHARED_STRINGS)
+                .build();
+        final Map<String, Class<?>> types = new LinkedHashMap<>();
+        types.put("Orders", Order.class);
+        types.put("Customers", Customer.class);
+
+        final Map<String, List<?>> sheets = fileBacked.readSheets(file, types, executor);
+
+        assertThat(sheets.get("Orders")).hasSize(500);
+        assertThat(sheets.get("Customers")).hasSize(40);
+    }
+
+    @Test
+    void unknownSheetFails() {
+        final Map<String, Class<?>> types = new LinkedHashMap<>();
+        types.put("Orders", Order.class);
+        types.put("Missing", Customer.class);
+
+        assertThatThrownBy(() -> mapper.readSheets(file, types, executor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Missing");
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+
+/**
+ * Workbook fixture for reads that pick sheets out of one file: sheets
+ * {@code Orders}, {@code Customers} and {@code Archive}, in that order,
+ * where the archive repeats the first orders.
+ */
+final class OrdersWorkbook {
+
+    static final int CUSTOMERS = 40;
+
+    final List<Order> orders = new ArrayList<>();
+    final List<Customer> customers = new ArrayList<>();
+    final File file;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Order {
+        private long id;
+        private String customer;
+        private double amount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Customer {
+        private String name;
+        private String city;
+    }
+
+    OrdersWorkbook(final File dir, final int orderCount, final int archiveCount) throws IOException {
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(new Order(i, "customer-" + i % CUSTOMERS, i * 1.25));
+        }
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Customer("customer-" + i, i % 2 == 0 ? "Seoul" : "Busan"));
+        }
+        file = new File(dir, "workbook.xlsx");
+        final SpreadsheetMapper mapper = new SpreadsheetMapper();
+        try (XSSFWorkbook wb = new XSSFWorkbook(); OutputStream os = new FileOutputStream(file)) {
+            mapper.writeValue(wb.createSheet("Orders"), orders, Order.class);
+            mapper.writeValue(wb.createSheet("Customers"), customers, Customer.class);
+            mapper.writeValue(wb.createSheet("Archive"), orders.subList(0, archiveCount), Order.class);
+            wb.write(os);
+        }
+    }
+}
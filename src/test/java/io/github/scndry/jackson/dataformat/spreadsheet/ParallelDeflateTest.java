@@ -0,0 +1,128 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetFactory.Feature#PARALLEL_DEFLATE},
+ * {@link SpreadsheetFactory.Feature#PIPELINED_WRITE} and the compression
+ * level change how XLSX entries are deflated, never what they hold.
+ */
+class ParallelDeflateTest {
+
+    private static final String SHEET = "xl/worksheets/sheet1.xml";
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+
+    @TempDir File tempDir;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Entry {
+        private int id;
+        private String name;
+        private double amount;
+    }
+
+    @Test
+    void parallelOutputMatchesSerialContent() throws Exception {
+        final List<Entry> entries = _entries(40_000);
+        final File serial = new File(tempDir, "serial.xlsx");
+        new SpreadsheetMapper().writeValue(serial, entries, Entry.class);
+
+        for (final int threads : new int[]{2, 4}) {
+            final SpreadsheetMapper mapper = SpreadsheetMapper.builder()
+                    .enable(SpreadsheetFactory.Feature.PARALLEL_DEFLATE)
+                    .deflateThreads(threads)
+                    .build();
+            final File parallel = new File(tempDir, "parallel-" + threads + ".xlsx");
+            mapper.writeValue(parallel, entries, Entry.class);
+
+            assertThat(_entry(parallel, SHEET)).as("threads=%d", threads).isEqualTo(_entry(serial, SHEET));
+            assertThat(_entry(parallel, SHARED_STRINGS)).isEqualTo(_entry(serial, SHARED_STRINGS));
+            assertThat(mapper.readValues(parallel, Entry.class)).isEqualTo(entries);
+            try (XSSFWorkbook workbook = new XSSFWorkbook(parallel)) {
+                assertThat(workbook.getSheetAt(0).getLastRowNum()).isEqualTo(entries.size());
+            }
+        }
+    }
+
+    @Test
+    void pipelinedOutputMatchesSerialContent() throws Exception {
+        final List<Entry> entries = _entries(40_000);
+        final File serial = new File(tempDir, "serial.xlsx");
+        final File pipelined = new File(tempDir, "pipelined.xlsx");
+        new SpreadsheetMapper().writeValue(serial, entries, Entry.class);
+        final SpreadsheetMapper mapper = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.PIPELINED_WRITE)
+                .enable(SpreadsheetFactory.Feature.PARALLEL_DEFLATE)
+                .deflateThreads(2)
+                .build();
+        mapper.writeValue(pipelined, entries, Entry.class);
+
+        assertThat(_entry(pipelined, SHEET)).isEqualTo(_entry(serial, SHEET));
+        assertThat(_entry(pipelined, SHARED_STRINGS)).isEqualTo(_entry(serial, SHARED_STRINGS));
+        assertThat(mapper.readValues(pipelined, Entry.class)).isEqualTo(entries);
+    }
+
+    @Test
+    void compressionLevelTradesSizeForSpeed() throws Exception {
+        final List<Entry> entries = _entries(20_000);
+        final File stored = new File(tempDir, "stored.xlsx");
+        final File best = new File(tempDir, "best.xlsx");
+        SpreadsheetMapper.builder().compressionLevel(0).build().writeValue(stored, entries, Entry.class);
+        SpreadsheetMapper.builder().compressionLevel(9).build().writeValue(best, entries, Entry.class);
+
+        assertThat(best.length()).isLessThan(stored.length() / 4);
+        assertThat(new SpreadsheetMapper().readValues(stored, Entry.class)).isEqualTo(entries);
+        assertThat(new SpreadsheetMapper().readValues(best, Entry.class)).isEqualTo(entries);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        final SpreadsheetMapper.Builder builder = SpreadsheetMapper.builder();
+
+        assertThatThrownBy(() -> builder.compressionLevel(10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.deflateThreads(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] _entry(final File file, final String name) throws Exception {
+        try (ZipFile zip = new ZipFile(file)) {
+            final ZipEntry entry = zip.getEntry(name);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (InputStream in = zip.getInputStream(entry)) {
+                final byte[] buf = new byte[8192];
+                int n;
+                while ((n = in.read(buf)) > 0) {
+                    out.write(buf, 0, n);
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static List<Entry> _entries(final int count) {
+        final List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(i, "name-" + (i % 500), i * 1.25));
+        }
+        return entries;
+    }
+}
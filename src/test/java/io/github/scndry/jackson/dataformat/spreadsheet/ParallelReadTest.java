@@ -0,0 +1,169 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumnGroup;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetParser;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetReader#readValuesInParallel} returns the same rows, in the
+ * same order, as a sequential read; small ranges force many of them.
+ */
+class ParallelReadTest {
+
+    private static final int CHUNK_SIZE = 2048;
+
+    @TempDir File tempDir;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Entry {
+        private Long id;
+        private String name;
+        private double price;
+        private boolean active;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Reversed {
+        private boolean active;
+        private double price;
+        private String name;
+        private Long id;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Note {
+        private Long id;
+        private String text;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Grouped {
+        private int a;
+        @DataColumnGroup("G") private Inner inner;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Inner {
+        private int b;
+    }
+
+    @Test
+    void matchesSequentialRead() throws Exception {
+        final File file = _writeEntries(2000);
+        final SpreadsheetReader reader = new SpreadsheetMapper().sheetReaderFor(Entry.class);
+
+        final List<Entry> sequential = reader.<Entry>readValues(file).readAll();
+        try (ParallelSheetIterator<Entry> it = reader.readValuesInParallel(SheetInput.source(file), 4, CHUNK_SIZE)) {
+            assertThat(it.readAll()).hasSize(2000).isEqualTo(sequential);
+        }
+    }
+
+    @Test
+    void streamsInSheetOrder() throws Exception {
+        final File file = _writeEntries(500);
+        final SpreadsheetReader reader = new SpreadsheetMapper().sheetReaderFor(Entry.class)
+                .with(SheetParser.Feature.DIRECT_ROW_BINDING);
+
+        final List<Long> ids;
+        try (ParallelSheetIterator<Entry> it = reader.readValuesInParallel(SheetInput.source(file), 3, CHUNK_SIZE)) {
+            ids = it.stream().map(Entry::getId).collect(Collectors.toList());
+        }
+        assertThat(ids).isSortedAccordingTo(Long::compare).hasSize(500);
+    }
+
+    @Test
+    void reordersColumnsByHeader() throws Exception {
+        final File file = _writeEntries(300);
+        final SpreadsheetReader reader = SpreadsheetMapper.builder()
+                .columnReordering(true)
+                .build()
+                .sheetReaderFor(Reversed.class);
+
+        final List<Reversed> sequential = reader.<Reversed>readValues(file).readAll();
+        try (ParallelSheetIterator<Reversed> it = reader.readValuesInParallel(SheetInput.source(file), 4, CHUNK_SIZE)) {
+            assertThat(it.readAll()).isEqualTo(sequential);
+        }
+        assertThat(sequential.get(1)).isEqualTo(new Reversed(false, 1.5, "name-1", 1L));
+    }
+
+    @Test
+    void keepsBlankRowsAsNull() throws Exception {
+        final List<Note> rows = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            rows.add(i % 50 == 0 ? new Note() : new Note((long) i, "text-" + i));
+        }
+        final File file = new File(tempDir, "blanks.xlsx");
+        new SpreadsheetMapper().writeValue(file, rows, Note.class);
+        final SpreadsheetReader reader = new SpreadsheetMapper().sheetReaderFor(Note.class)
+                .with(SheetParser.Feature.BLANK_ROW_AS_NULL);
+
+        final List<Note> sequential = reader.<Note>readValues(file).readAll();
+        try (ParallelSheetIterator<Note> it = reader.readValuesInParallel(SheetInput.source(file), 4, CHUNK_SIZE)) {
+            assertThat(it.readAll()).isEqualTo(sequential);
+        }
+    }
+
+    @Test
+    void skipsMultiRowHeader() throws Exception {
+        final List<Grouped> rows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            rows.add(new Grouped(i, new Inner(i * 2)));
+        }
+        final File file = new File(tempDir, "grouped.xlsx");
+        new SpreadsheetMapper().writeValue(file, rows, Grouped.class);
+
+        try (ParallelSheetIterator<Grouped> it = new SpreadsheetMapper().sheetReaderFor(Grouped.class)
+                .readValuesInParallel(SheetInput.source(file), 4, CHUNK_SIZE)) {
+            assertThat(it.readAll()).isEqualTo(rows);
+        }
+    }
+
+    @Test
+    void breakOnBlankRowReadsSequentially() throws Exception {
+        final File file = _writeEntries(100);
+
+        try (ParallelSheetIterator<Entry> it = new SpreadsheetMapper().sheetReaderFor(Entry.class)
+                .with(SheetParser.Feature.BREAK_ON_BLANK_ROW)
+                .readValuesInParallel(file, 4)) {
+            assertThat(it.readAll()).hasSize(100);
+        }
+    }
+
+    private File _writeEntries(final int count) throws Exception {
+        final List<Entry> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Entry((long) i, i % 9 == 0 ? null : "name-" + i, i + 0.5, i % 2 == 0));
+        }
+        final File file = new File(tempDir, "entries-" + count + ".xlsx");
+        new SpreadsheetMapper().writeValue(file, rows, Entry.class);
+        return file;
+    }
+}
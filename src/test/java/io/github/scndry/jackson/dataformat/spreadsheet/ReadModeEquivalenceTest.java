@@ -98,4 +98,16 @@ class ReadModeEquivalenceTest {
         assertThat(poiRow.price).isEqualTo("$1,234.56");
         assertThat(poiRow.pct).isEqualTo("50.00%");
     }
+
+    @Test
+    void byteScannerAndStaxReturnSameStringFieldForFormattedNumericCells() throws IOException {
+        final SpreadsheetMapper staxMapper = new SpreadsheetMapper();
+        final SpreadsheetMapper byteMapper = new SpreadsheetMapper(
+                new SpreadsheetFactory().enable(SpreadsheetFactory.Feature.USE_BYTE_SCANNER));
+
+        final FormattedRow staxRow = staxMapper.readValue(_file, FormattedRow.class);
+        final FormattedRow byteRow = byteMapper.readValue(_file, FormattedRow.class);
+
+        assertThat(byteRow).isEqualTo(staxRow);
+    }
 }
@@ -0,0 +1,237 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumnGroup;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.CellPredicate;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetParser;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.ColumnPointer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetReader#withRowFilter} reads exactly the rows a filter
+ * over the fully bound values would keep, on the token and the direct
+ * binding paths, by header name or pointer, after column reordering and
+ * within a row range.
+ */
+class RowFilterTest {
+
+    private static final int ROWS = 5_000;
+
+    @TempDir File tempDir;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Ticket {
+        private int id;
+        private String status;
+        private double amount;
+        private String note;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Reversed {
+        private String note;
+        private double amount;
+        private String status;
+        private int id;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Line {
+        private String product;
+        private int qty;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Order {
+        private int id;
+        @DataColumnGroup("Lines") private List<Line> lines;
+    }
+
+    @Test
+    void keepsMatchingRowsOnly() throws Exception {
+        final List<Ticket> tickets = _tickets();
+        final File file = _write(tickets);
+        final SpreadsheetReader base = new SpreadsheetMapper().sheetReaderFor(Ticket.class);
+
+        for (final boolean direct : new boolean[]{false, true}) {
+            final SpreadsheetReader reader = direct
+                    ? base.with(SheetParser.Feature.DIRECT_ROW_BINDING)
+                    : base.without(SheetParser.Feature.DIRECT_ROW_BINDING);
+
+            final List<Ticket> open = reader.withRowFilter("status", CellPredicate.equalTo("OPEN"))
+                    .<Ticket>readValues(file).readAll();
+            assertThat(open).as("direct=%s", direct)
+                    .hasSize(ROWS / 50)
+                    .isEqualTo(tickets.stream().filter(t -> "OPEN".equals(t.getStatus())).collect(Collectors.toList()));
+
+            final List<Ticket> large = reader
+                    .withRowFilter(ColumnPointer.empty().resolve("amount"), CellPredicate.number(v -> v >= 4_000))
+                    .withRowFilter("note", CellPredicate.text(s -> s.endsWith("7")))
+                    .<Ticket>readValues(file).readAll();
+            assertThat(large).as("direct=%s", direct)
+                    .isNotEmpty()
+                    .isEqualTo(tickets.stream()
+                            .filter(t -> t.getAmount() >= 4_000 && t.getNote() != null && t.getNote().endsWith("7"))
+                            .collect(Collectors.toList()));
+
+            final List<Ticket> blankNotes = reader
+                    .withRowFilter("note", value -> value.getStringValue() == null)
+                    .<Ticket>readValues(file).readAll();
+            assertThat(blankNotes).extracting(Ticket::getNote).hasSize(ROWS / 3 + 1).containsOnlyNulls();
+        }
+    }
+
+    @Test
+    void testsEachSharedStringOnce() throws Exception {
+        final List<Ticket> tickets = _tickets();
+        final File file = _write(tickets);
+        final AtomicInteger calls = new AtomicInteger();
+
+        // note is the last column, so id, status and amount are buffered ahead of it
+        final List<Ticket> sevens = new SpreadsheetMapper().sheetReaderFor(Ticket.class)
+                .withRowFilter("note", CellPredicate.text(s -> {
+                    calls.incrementAndGet();
+                    return s.endsWith("7");
+                }))
+                .<Ticket>readValues(file).readAll();
+
+        assertThat(sevens).isEqualTo(tickets.stream()
+                .filter(t -> t.getNote() != null && t.getNote().endsWith("7"))
+                .collect(Collectors.toList()));
+        assertThat(calls).hasValue((int) tickets.stream().map(Ticket::getNote).filter(n -> n != null).distinct().count());
+    }
+
+    @Test
+    void buffersValuesOfReaderWithoutSharedStrings() throws Exception {
+        final List<Ticket> tickets = _tickets();
+        final File file = _write(tickets);
+
+        final List<Ticket> sevens = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.USE_POI_USER_MODEL)
+                .build()
+                .sheetReaderFor(Ticket.class)
+                .withRowFilter("note", CellPredicate.text(s -> s.endsWith("7")))
+                .<Ticket>readValues(file).readAll();
+
+        assertThat(sevens).isNotEmpty().isEqualTo(tickets.stream()
+                .filter(t -> t.getNote() != null && t.getNote().endsWith("7"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void resolvesColumnsAfterReordering() throws Exception {
+        final List<Ticket> tickets = _tickets();
+        final File file = _write(tickets);
+        final SpreadsheetReader reader = SpreadsheetMapper.builder()
+                .columnReordering(true)
+                .build()
+                .sheetReaderFor(Reversed.class)
+                .withRowFilter("status", CellPredicate.equalTo("OPEN"))
+                .withRowFilter("id", CellPredicate.number(v -> v < 1_000));
+
+        assertThat(reader.<Reversed>readValues(file).readAll())
+                .extracting(Reversed::getId)
+                .containsExactly(0, 50, 100, 150, 200, 250, 300, 350, 400, 450,
+                        500, 550, 600, 650, 700, 750, 800, 850, 900, 950);
+    }
+
+    @Test
+    void filtersWithinRowRange() throws Exception {
+        final File file = _write(_tickets());
+        final SpreadsheetReader reader = new SpreadsheetMapper().sheetReaderFor(Ticket.class)
+                .withRowFilter("status", CellPredicate.equalTo("OPEN"));
+
+        try (SheetMappingIterator<Ticket> it = reader.readValues(file, 1_000, 200)) {
+            assertThat(it.readAll()).extracting(Ticket::getId).containsExactly(1_000, 1_050, 1_100, 1_150);
+        }
+        assertThat(reader.withoutRowFilter().<Ticket>readValues(file, 1_000, 200).readAll()).hasSize(200);
+    }
+
+    @Test
+    void blankRowEndsReadDespiteUnmappedCell() throws Exception {
+        final List<Ticket> tickets = _tickets().subList(0, 100);
+        final File file = new File(tempDir, "trailing.xlsx");
+        try (XSSFWorkbook wb = new XSSFWorkbook(); OutputStream os = new FileOutputStream(file)) {
+            final Sheet sheet = wb.createSheet();
+            new SpreadsheetMapper().writeValue(sheet, tickets, Ticket.class);
+            // A remark right of the table, then a row the read must not reach
+            sheet.createRow(101).createCell(5).setCellValue("remark");
+            final Row after = sheet.createRow(102);
+            after.createCell(0).setCellValue(9_999);
+            after.createCell(1).setCellValue("OPEN");
+            wb.write(os);
+        }
+        final SpreadsheetReader reader = new SpreadsheetMapper().sheetReaderFor(Ticket.class)
+                .with(SheetParser.Feature.BREAK_ON_BLANK_ROW);
+
+        assertThat(reader.<Ticket>readValues(file).readAll()).hasSize(100);
+        assertThat(reader.withRowFilter("status", CellPredicate.equalTo("OPEN")).<Ticket>readValues(file).readAll())
+                .extracting(Ticket::getId)
+                .containsExactly(0, 50);
+    }
+
+    @Test
+    void rejectsUnknownColumnAndNestedSchema() throws Exception {
+        final File file = _write(_tickets());
+        final SpreadsheetMapper mapper = new SpreadsheetMapper();
+
+        assertThatThrownBy(() -> mapper.sheetReaderFor(Ticket.class)
+                .withRowFilter("missing", CellPredicate.equalTo("x"))
+                .readValues(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing");
+
+        final File orders = new File(tempDir, "orders.xlsx");
+        mapper.writeValue(orders, Arrays.asList(
+                new Order(1, Arrays.asList(new Line("a", 1), new Line("b", 2)))), Order.class);
+        assertThatThrownBy(() -> mapper.sheetReaderFor(Order.class)
+                .withRowFilter("id", CellPredicate.number(v -> v > 0))
+                .readValues(orders))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private File _write(final List<Ticket> tickets) throws Exception {
+        final File file = new File(tempDir, "tickets.xlsx");
+        new SpreadsheetMapper().writeValue(file, tickets, Ticket.class);
+        return file;
+    }
+
+    private static List<Ticket> _tickets() {
+        final List<Ticket> tickets = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            tickets.add(new Ticket(i, i % 50 == 0 ? "OPEN" : "CLOSED", i * 1.5,
+                    i % 3 == 0 ? null : "note-" + (i % 20)));
+        }
+        return tickets;
+    }
+}
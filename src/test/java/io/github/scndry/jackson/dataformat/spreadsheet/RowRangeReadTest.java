@@ -0,0 +1,172 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumnGroup;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.POICompat;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetReader#readValues(SheetInput, int, int)} returns the same
+ * rows as the matching slice of a full read, with and without
+ * {@link SpreadsheetFactory.Feature#ROW_RANGE_INDEX}, including pages the
+ * index resumes deep into the sheet and pages read after the file changed.
+ */
+class RowRangeReadTest {
+
+    // Several row entries and inflate checkpoints of the index
+    private static final int ROWS = 40_000;
+
+    @TempDir File tempDir;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Entry {
+        private Long id;
+        private String name;
+        private double price;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Reversed {
+        private double price;
+        private String name;
+        private Long id;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Line {
+        private String product;
+        private int qty;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Order {
+        private int id;
+        @DataColumnGroup("Lines") private List<Line> lines;
+    }
+
+    @Test
+    void pagesMatchFullRead() throws Exception {
+        final List<Entry> entries = _entries(ROWS);
+        final File file = new File(tempDir, "pages.xlsx");
+        new SpreadsheetMapper().writeValue(file, entries, Entry.class);
+
+        for (final boolean indexed : new boolean[]{false, true}) {
+            final SpreadsheetMapper mapper = SpreadsheetMapper.builder()
+                    .configure(SpreadsheetFactory.Feature.ROW_RANGE_INDEX, indexed)
+                    .build();
+            for (final int from : new int[]{0, 1, 999, 12_345, 27_000, ROWS - 10, ROWS, ROWS + 5}) {
+                assertThat(mapper.readValues(file, Entry.class, from, 100))
+                        .as("indexed=%s from=%s", indexed, from)
+                        .isEqualTo(entries.subList(Math.min(from, ROWS), Math.min(from + 100, ROWS)));
+            }
+            assertThat(mapper.readValues(file, Entry.class, 500, 0)).isEmpty();
+        }
+    }
+
+    @Test
+    void reusesIndexUntilFileChanges() throws Exception {
+        final File file = new File(tempDir, "changing.xlsx");
+        new SpreadsheetMapper().writeValue(file, _entries(ROWS), Entry.class);
+        final SpreadsheetMapper mapper = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.ROW_RANGE_INDEX)
+                .build();
+
+        mapper.readValues(file, Entry.class, 30_000, 10);
+        final File[] saved = POICompat.tempDir().listFiles((dir, name) -> name.startsWith("row-index-"));
+        assertThat(saved).isNotEmpty();
+        assertThat(mapper.readValues(file, Entry.class, 30_000, 2)).extracting(Entry::getId)
+                .containsExactly(30_000L, 30_001L);
+
+        final List<Entry> changed = _entries(ROWS);
+        changed.subList(0, 5_000).clear();
+        new SpreadsheetMapper().writeValue(file, changed, Entry.class);
+        assertThat(file.setLastModified(file.lastModified() + 2_000)).isTrue();
+        assertThat(mapper.readValues(file, Entry.class, 30_000, 2)).extracting(Entry::getId)
+                .containsExactly(35_000L, 35_001L);
+    }
+
+    @Test
+    void keepsIndexInRowIndexDirectory() throws Exception {
+        final File file = new File(tempDir, "kept.xlsx");
+        new SpreadsheetMapper().writeValue(file, _entries(ROWS), Entry.class);
+        final File dir = new File(tempDir, "index");
+
+        SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.ROW_RANGE_INDEX)
+                .rowIndexDirectory(dir)
+                .build()
+                .readValues(file, Entry.class, 30_000, 10);
+        final File[] saved = dir.listFiles((d, name) -> name.startsWith("row-index-"));
+        assertThat(saved).hasSize(1);
+        assertThat(saved[0].setLastModified(1_000_000_000_000L)).isTrue();
+
+        // A fresh mapper, as in a later run, reads the kept index instead of rebuilding it
+        final SpreadsheetMapper later = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.ROW_RANGE_INDEX)
+                .rowIndexDirectory(dir)
+                .build();
+        assertThat(later.readValues(file, Entry.class, 30_000, 2)).extracting(Entry::getId)
+                .containsExactly(30_000L, 30_001L);
+        assertThat(saved[0].lastModified()).isEqualTo(1_000_000_000_000L);
+    }
+
+    @Test
+    void reordersColumnsByHeader() throws Exception {
+        final File file = new File(tempDir, "reordered.xlsx");
+        new SpreadsheetMapper().writeValue(file, _entries(ROWS), Entry.class);
+        final SpreadsheetReader reader = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.ROW_RANGE_INDEX)
+                .columnReordering(true)
+                .build()
+                .sheetReaderFor(Reversed.class);
+
+        try (SheetMappingIterator<Reversed> it = reader.readValues(file, 33_000, 1)) {
+            assertThat(it.readAll()).containsExactly(new Reversed(16_500.5, "name-33000", 33_000L));
+        }
+    }
+
+    @Test
+    void rejectsNestedSchemaAndNegativeRange() throws Exception {
+        final File file = new File(tempDir, "orders.xlsx");
+        new SpreadsheetMapper().writeValue(file, Arrays.asList(
+                new Order(1, Arrays.asList(new Line("a", 1), new Line("b", 2)))), Order.class);
+        final SpreadsheetMapper mapper = new SpreadsheetMapper();
+
+        assertThatThrownBy(() -> mapper.readValues(file, Order.class, 0, 10))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> mapper.readValues(file, Entry.class, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Entry> _entries(final int count) {
+        final List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry((long) i, "name-" + i, i * 0.5 + 0.5));
+        }
+        return entries;
+    }
+}
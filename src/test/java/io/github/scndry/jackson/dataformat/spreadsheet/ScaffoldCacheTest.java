@@ -0,0 +1,143 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumn;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumnGroup;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml.ScaffoldCache;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.style.StylesBuilder;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetFactory.Feature#SCAFFOLD_CACHE} reuses the package
+ * scaffold of a schema and sheet name without changing the output.
+ */
+class ScaffoldCacheTest {
+
+    private static final String SHEET = "xl/worksheets/sheet1.xml";
+
+    @TempDir File tempDir;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Company {
+        @DataColumn(value = "Name", comment = "Legal name") String name;
+        @DataColumnGroup(value = "2024", headerStyle = "groupBg") Metrics year2024;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Metrics {
+        @DataColumn("Sales") int sales;
+        @DataColumn("Profit") int profit;
+    }
+
+    @Test
+    void cachedScaffoldMatchesUncachedOutput() throws Exception {
+        final List<Company> companies = _companies(1_000);
+        final File uncached = new File(tempDir, "uncached.xlsx");
+        _mapper(false).writeValue(uncached, companies, Company.class);
+
+        final SpreadsheetMapper mapper = _mapper(true);
+        final File cold = new File(tempDir, "cold.xlsx");
+        final File warm = new File(tempDir, "warm.xlsx");
+        mapper.writeValue(cold, companies, Company.class);
+        mapper.writeValue(warm, companies, Company.class);
+
+        final ScaffoldCache cache = mapper.tokenStreamFactory().getScaffoldCache();
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        for (final File file : Arrays.asList(cold, warm)) {
+            assertThat(_entryNames(file)).as(file.getName()).isEqualTo(_entryNames(uncached));
+            assertThat(_entry(file, SHEET)).isEqualTo(_entry(uncached, SHEET));
+            assertThat(mapper.readValues(file, Company.class)).isEqualTo(companies);
+        }
+        try (XSSFWorkbook workbook = new XSSFWorkbook(warm)) {
+            final Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(0).getCell(1).getCellStyle().getFillPattern())
+                    .isEqualTo(FillPatternType.SOLID_FOREGROUND);
+            assertThat(sheet.getCellComments()).hasSize(1);
+        }
+    }
+
+    @Test
+    void sheetNameIsPartOfKey() throws Exception {
+        final SpreadsheetMapper mapper = _mapper(true);
+        final List<Company> companies = _companies(3);
+        mapper.writeValue(SheetOutput.target(new File(tempDir, "a.xlsx"), "First"), companies, Company.class);
+        mapper.writeValue(SheetOutput.target(new File(tempDir, "b.xlsx"), "Second"), companies, Company.class);
+        final File again = new File(tempDir, "c.xlsx");
+        mapper.writeValue(SheetOutput.target(again, "First"), companies, Company.class);
+
+        final ScaffoldCache cache = mapper.tokenStreamFactory().getScaffoldCache();
+        assertThat(cache.missCount()).isEqualTo(2);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(again)) {
+            assertThat(workbook.getSheetName(0)).isEqualTo("First");
+        }
+    }
+
+    private static SpreadsheetMapper _mapper(final boolean cached) {
+        return SpreadsheetMapper.builder()
+                .stylesBuilder(new StylesBuilder()
+                        .cellStyle("groupBg")
+                            .fillForegroundColor(IndexedColors.GREY_25_PERCENT)
+                            .fillPattern().solidForeground()
+                            .end())
+                .configure(SpreadsheetFactory.Feature.SCAFFOLD_CACHE, cached)
+                .build();
+    }
+
+    private static List<String> _entryNames(final File file) throws Exception {
+        final List<String> names = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(file)) {
+            zip.stream().forEach(entry -> names.add(entry.getName()));
+        }
+        return names;
+    }
+
+    private static byte[] _entry(final File file, final String name) throws Exception {
+        try (ZipFile zip = new ZipFile(file)) {
+            final ZipEntry entry = zip.getEntry(name);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (InputStream in = zip.getInputStream(entry)) {
+                final byte[] buf = new byte[8192];
+                int n;
+                while ((n = in.read(buf)) > 0) {
+                    out.write(buf, 0, n);
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static List<Company> _companies(final int count) {
+        final List<Company> companies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            companies.add(new Company("company-" + i, new Metrics(i * 10, i)));
+        }
+        return companies;
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.SpreadsheetSchema;
+import io.github.scndry.jackson.dataformat.spreadsheet.schema.internal.SpreadsheetSchemaImpl;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SchemaCacheTest {
+
+    SpreadsheetMapper mapper;
+
+    static class Summary {}
+
+    @DataGrid
+    static class Entry {
+        @JsonView(Summary.class)
+        public int a;
+        public String b;
+    }
+
+    @DataGrid
+    static class Other {
+        public int x;
+    }
+
+    @JsonIgnoreProperties("b")
+    abstract static class IgnoreB {}
+
+    @BeforeEach
+    void setUp() {
+        mapper = new SpreadsheetMapper();
+    }
+
+    @Test
+    void repeatedLookupReturnsCachedInstance() throws Exception {
+        SpreadsheetSchema first = mapper.sheetSchemaFor(Entry.class);
+        SpreadsheetSchema second = mapper.sheetSchemaFor(Entry.class);
+        assertThat(second).isSameAs(first);
+        assertThat(mapper.getSchemaCache().missCount()).isEqualTo(1);
+        assertThat(mapper.getSchemaCache().hitCount()).isEqualTo(1);
+        assertThat(mapper.getSchemaCache().size()).isEqualTo(1);
+    }
+
+    @Test
+    void keyedByTypeAndView() throws Exception {
+        SpreadsheetSchema plain = mapper.sheetSchemaFor(Entry.class);
+        SpreadsheetSchema summary = mapper.sheetSchemaForWithView(Entry.class, Summary.class);
+        SpreadsheetSchema other = mapper.sheetSchemaFor(Other.class);
+        assertThat(summary).isNotSameAs(plain);
+        assertThat(other).isNotSameAs(plain);
+        assertThat(mapper.sheetSchemaForWithView(Entry.class, Summary.class)).isSameAs(summary);
+        assertThat(mapper.getSchemaCache().size()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidatedBySchemaGeneratorChange() throws Exception {
+        SpreadsheetSchema before = mapper.sheetSchemaFor(Entry.class);
+        mapper.setOrigin("B2");
+        assertThat(mapper.getSchemaCache().size()).isZero();
+        SpreadsheetSchema after = mapper.sheetSchemaFor(Entry.class);
+        assertThat(after).isNotSameAs(before);
+        assertThat(((SpreadsheetSchemaImpl) after).getOriginColumn()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatedByModuleRegistration() throws Exception {
+        SpreadsheetSchema before = mapper.sheetSchemaFor(Entry.class);
+        mapper.registerModule(new SimpleModule());
+        assertThat(mapper.sheetSchemaFor(Entry.class)).isNotSameAs(before);
+    }
+
+    @Test
+    void invalidatedByMixIn() throws Exception {
+        SpreadsheetSchema before = mapper.sheetSchemaFor(Entry.class);
+        mapper.addMixIn(Entry.class, IgnoreB.class);
+        SpreadsheetSchema after = mapper.sheetSchemaFor(Entry.class);
+        assertThat(after).isNotSameAs(before);
+        assertThat((SpreadsheetSchemaImpl) before).hasSize(2);
+        assertThat((SpreadsheetSchemaImpl) after).hasSize(1);
+    }
+
+    @Test
+    void invalidatedByConfigOverride() throws Exception {
+        SpreadsheetSchema before = mapper.sheetSchemaFor(Entry.class);
+        mapper.configOverride(Entry.class)
+                .setIgnorals(JsonIgnoreProperties.Value.forIgnoredProperties("b"));
+        SpreadsheetSchema after = mapper.sheetSchemaFor(Entry.class);
+        assertThat(after).isNotSameAs(before);
+        assertThat((SpreadsheetSchemaImpl) after).hasSize(1);
+    }
+
+    @Test
+    void configChangeMissesCache() throws Exception {
+        SpreadsheetSchema before = mapper.sheetSchemaFor(Entry.class);
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        assertThat(mapper.sheetSchemaFor(Entry.class)).isNotSameAs(before);
+    }
+
+    @Test
+    void rebuildStartsWithEmptyCache() throws Exception {
+        SpreadsheetSchema before = mapper.sheetSchemaFor(Entry.class);
+        SpreadsheetMapper rebuilt = mapper.rebuild().build();
+        assertThat(rebuilt.getSchemaCache()).isNotSameAs(mapper.getSchemaCache());
+        assertThat(rebuilt.getSchemaCache().size()).isZero();
+        assertThat(rebuilt.sheetSchemaFor(Entry.class)).isNotSameAs(before);
+        assertThat(mapper.sheetSchemaFor(Entry.class)).isSameAs(before);
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.OrdersWorkbook.Customer;
+import io.github.scndry.jackson.dataformat.spreadsheet.OrdersWorkbook.Order;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SheetInput#source(SeekableByteChannel)} fetches the central
+ * directory and only the parts the requested sheet needs, in few reads.
+ */
+class SeekableChannelReadTest {
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+    List<Customer> customers;
+    File file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapper = new SpreadsheetMapper();
+        // Large order sheets the channel should not have to fetch
+        final OrdersWorkbook workbook = new OrdersWorkbook(tempDir, 40_000, 40_000);
+        customers = workbook.customers;
+        file = workbook.file;
+    }
+
+    @Test
+    void readsOneSheetInFewRoundTrips() throws Exception {
+        final CountingChannel channel = new CountingChannel(Files.newByteChannel(file.toPath()));
+
+        assertThat(mapper.readValues(SheetInput.source(channel, "Customers"), Customer.class))
+                .isEqualTo(customers);
+        assertThat(channel.reads).isLessThanOrEqualTo(8);
+        assertThat(channel.bytes).isLessThan(file.length() / 2);
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    @Test
+    void readsSheetByIndex() throws Exception {
+        try (SeekableByteChannel channel = Files.newByteChannel(file.toPath())) {
+            assertThat(mapper.readValues(SheetInput.source(channel, 1), Customer.class)).isEqualTo(customers);
+        }
+    }
+
+    @Test
+    void leavesChannelOpenWithoutAutoClose() throws Exception {
+        final SpreadsheetMapper noAutoClose = SpreadsheetMapper.builder()
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .build();
+        try (SeekableByteChannel channel = Files.newByteChannel(file.toPath())) {
+            assertThat(noAutoClose.readValues(SheetInput.source(channel, "Customers"), Customer.class))
+                    .isEqualTo(customers);
+            assertThat(channel.isOpen()).isTrue();
+        }
+    }
+
+    @Test
+    void readAheadLeavesChannelOpenWhenClosedEarly() throws Exception {
+        final SpreadsheetMapper readAhead = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.READ_AHEAD)
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .build();
+        try (SeekableByteChannel channel = FileChannel.open(file.toPath())) {
+            try (SheetMappingIterator<Order> orders = readAhead.sheetReaderFor(Order.class)
+                    .readValues(SheetInput.source(channel, "Orders"))) {
+                assertThat(orders.next().getId()).isZero();
+            }
+            assertThat(channel.isOpen()).isTrue();
+            assertThat(readAhead.readValues(SheetInput.source(channel, "Customers"), Customer.class))
+                    .isEqualTo(customers);
+        }
+    }
+
+    @Test
+    void unknownSheetFails() throws Exception {
+        try (SeekableByteChannel channel = Files.newByteChannel(file.toPath())) {
+            assertThatThrownBy(() -> mapper.readValues(SheetInput.source(channel, "Missing"), Customer.class))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Missing");
+        }
+    }
+
+    /** Stands in for range-read object storage: each read is one round trip. */
+    static final class CountingChannel implements SeekableByteChannel {
+
+        private final SeekableByteChannel _delegate;
+        int reads;
+        long bytes;
+
+        CountingChannel(final SeekableByteChannel delegate) {
+            _delegate = delegate;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            reads++;
+            final int n = _delegate.read(dst);
+            if (n > 0) bytes += n;
+            return n;
+        }
+
+        @Override
+        public int write(final ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            return _delegate.position();
+        }
+
+        @Override
+        public SeekableByteChannel position(final long newPosition) throws IOException {
+            _delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return _delegate.size();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(final long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return _delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            _delegate.close();
+        }
+    }
+}
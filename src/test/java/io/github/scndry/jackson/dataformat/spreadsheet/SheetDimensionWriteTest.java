@@ -0,0 +1,181 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.poi.util.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.OptBoolean;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumn;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+import io.github.scndry.jackson.dataformat.spreadsheet.ser.SheetOutput;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The streaming writer emits the used range as the worksheet
+ * {@code <dimension>} and the cell span of each row, whether the row count
+ * is known up front (a {@link List}) or only at the end (an iterator or a
+ * {@link SequenceWriter}), and for sheet XML held in memory or spilled.
+ */
+class SheetDimensionWriteTest {
+
+    private static final Pattern DIMENSION = Pattern.compile("<dimension ref=\"([^\"]*)\"/>");
+    private static final Pattern ROW = Pattern.compile("<row r=\"(\\d+)\"( spans=\"([^\"]*)\")?>");
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Entry {
+        private long id;
+        private String name;
+        private double price;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Line {
+        private String product;
+        private int qty;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @DataGrid
+    static class Order {
+        @DataColumn(value = "id", merge = OptBoolean.TRUE) private int id;
+        private List<Line> lines;
+    }
+
+    @BeforeEach
+    void setUp() {
+        mapper = new SpreadsheetMapper();
+    }
+
+    @Test
+    void smallListWritesUsedRange() throws Exception {
+        final File file = new File(tempDir, "small.xlsx");
+        mapper.writeValue(file, _entries(3), Entry.class);
+
+        final String xml = _sheetXml(file);
+        assertThat(_dimension(xml)).isEqualTo("A1:C4");
+        _assertRowSpans(xml, 4, "1:3");
+    }
+
+    @Test
+    void emptyListWritesHeaderRange() throws Exception {
+        final File file = new File(tempDir, "empty.xlsx");
+        mapper.writeValue(file, new ArrayList<Entry>(), Entry.class);
+
+        assertThat(_dimension(_sheetXml(file))).isEqualTo("A1:C1");
+    }
+
+    @Test
+    void largeListStreamsWithExpectedRange() throws Exception {
+        final List<Entry> entries = _entries(30_000);
+        final File file = new File(tempDir, "list.xlsx");
+        mapper.writeValue(file, entries, Entry.class);
+
+        final String xml = _sheetXml(file);
+        assertThat(_dimension(xml)).isEqualTo("A1:C30001");
+        _assertRowSpans(xml, 30_001, "1:3");
+        assertThat(mapper.readValues(file, Entry.class)).isEqualTo(entries);
+    }
+
+    @Test
+    void largeIteratorSpillsAndWritesUsedRange() throws Exception {
+        // Over the in-memory limit for held sheet XML
+        final List<Entry> entries = _entries(60_000);
+        final File file = new File(tempDir, "iterator.xlsx");
+        mapper.writeValue(file, entries.iterator(), Entry.class);
+
+        final String xml = _sheetXml(file);
+        assertThat(_dimension(xml)).isEqualTo("A1:C60001");
+        _assertRowSpans(xml, 60_001, "1:3");
+        try (SheetMappingIterator<Entry> it = mapper.sheetReaderFor(Entry.class).readValues(file)) {
+            assertThat(it.getEstimatedRowCount()).isEqualTo(60_000);
+            assertThat(it.readAll()).isEqualTo(entries);
+        }
+    }
+
+    @Test
+    void sequenceWriterWritesUsedRange() throws Exception {
+        final File file = new File(tempDir, "sequence.xlsx");
+        try (SequenceWriter seq = mapper.sheetWriterFor(Entry.class)
+                .writeValues(SheetOutput.target(file, "Entries"))) {
+            for (final Entry entry : _entries(25)) {
+                seq.write(entry);
+            }
+        }
+
+        assertThat(_dimension(_sheetXml(file))).isEqualTo("A1:C26");
+    }
+
+    @Test
+    void nestedListWritesUsedRange() throws Exception {
+        final List<Order> orders = Arrays.asList(
+                new Order(1, Arrays.asList(new Line("a", 1), new Line("b", 2), new Line("c", 3))),
+                new Order(2, Arrays.asList(new Line("d", 4))));
+        final File file = new File(tempDir, "nested.xlsx");
+        mapper.writeValue(file, orders, Order.class);
+
+        final String xml = _sheetXml(file);
+        assertThat(_dimension(xml)).isEqualTo("A1:C5");
+        // Rows below an order's first line hold only line cells
+        assertThat(xml).contains("<row r=\"2\" spans=\"1:3\">", "<row r=\"3\" spans=\"2:3\">");
+    }
+
+    private static List<Entry> _entries(final int count) {
+        final List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(i, "name-" + i % 13, i * 0.5));
+        }
+        return entries;
+    }
+
+    private static String _sheetXml(final File file) throws Exception {
+        try (ZipFile zip = new ZipFile(file)) {
+            return new String(IOUtils.toByteArray(
+                    zip.getInputStream(zip.getEntry("xl/worksheets/sheet1.xml"))), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String _dimension(final String xml) {
+        final Matcher m = DIMENSION.matcher(xml);
+        assertThat(m.find()).as("<dimension> present").isTrue();
+        assertThat(xml.indexOf("<dimension")).isLessThan(xml.indexOf("<sheetData"));
+        final String ref = m.group(1);
+        assertThat(m.find()).as("single <dimension>").isFalse();
+        return ref;
+    }
+
+    private static void _assertRowSpans(final String xml, final int rows, final String spans) {
+        final Matcher m = ROW.matcher(xml);
+        int count = 0;
+        while (m.find()) {
+            assertThat(m.group(3)).as("spans of row %s", m.group(1)).isEqualTo(spans);
+            count++;
+        }
+        assertThat(count).isEqualTo(rows);
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.OrdersWorkbook.Customer;
+import io.github.scndry.jackson.dataformat.spreadsheet.OrdersWorkbook.Order;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetParser;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Sheets read through one {@link SpreadsheetWorkbook} match independent
+ * per-sheet reads.
+ */
+class SpreadsheetWorkbookTest {
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+    File file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapper = new SpreadsheetMapper();
+        file = new OrdersWorkbook(tempDir, 100, 10).file;
+    }
+
+    @Test
+    void readsSheetsByNameAndIndex() throws Exception {
+        try (SpreadsheetWorkbook workbook = mapper.openWorkbook(file)) {
+            assertThat(workbook.readValues("Customers", Customer.class))
+                    .isEqualTo(mapper.readValues(SheetInput.source(file, "Customers"), Customer.class));
+            assertThat(workbook.readValues(0, Order.class))
+                    .isEqualTo(mapper.readValues(file, Order.class));
+            // Same sheet again, over the same package
+            assertThat(workbook.readValues("Orders", Order.class)).hasSize(100);
+        }
+    }
+
+    @Test
+    void readsWithConfiguredReader() throws Exception {
+        final SpreadsheetReader reader = mapper.sheetReaderFor(Customer.class)
+                .with(SheetParser.Feature.BLANK_ROW_AS_NULL);
+
+        try (SpreadsheetWorkbook workbook = mapper.openWorkbook(file);
+             SheetMappingIterator<Customer> it = workbook.readValues(reader, "Customers")) {
+            assertThat(it.readAll()).isEqualTo(
+                    reader.<Customer>readValues(SheetInput.source(file, "Customers")).readAll());
+        }
+    }
+
+    @Test
+    void readsWithFileBackedSharedStrings() throws Exception {
+        final SpreadsheetMapper fileBacked = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.FILE_BACKED_SHARED_STRINGS)
+                .build();
+
+        try (SpreadsheetWorkbook workbook = fileBacked.openWorkbook(file)) {
+            assertThat(workbook.readValues("Orders", Order.class)).hasSize(100);
+            assertThat(workbook.readValues("Customers", Customer.class))
+                    .isEqualTo(mapper.readValues(SheetInput.source(file, "Customers"), Customer.class));
+        }
+    }
+
+    @Test
+    void readsWithReaderFactoryFeatures() throws Exception {
+        final List<Customer> expected = mapper.readValues(SheetInput.source(file, "Customers"), Customer.class);
+
+        try (SpreadsheetWorkbook workbook = mapper.openWorkbook(file)) {
+            for (SpreadsheetFactory.Feature feature : new SpreadsheetFactory.Feature[]{
+                    SpreadsheetFactory.Feature.READ_AHEAD,
+                    SpreadsheetFactory.Feature.FILE_BACKED_SHARED_STRINGS}) {
+                final SpreadsheetReader reader = (SpreadsheetReader) mapper.sheetReaderFor(Customer.class)
+                        .with(new SpreadsheetFactory().enable(feature));
+                try (SheetMappingIterator<Customer> it = workbook.readValues(reader, "Customers")) {
+                    assertThat(it.readAll()).as(feature.name()).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unknownSheetFails() throws Exception {
+        try (SpreadsheetWorkbook workbook = mapper.openWorkbook(file)) {
+            assertThatThrownBy(() -> workbook.readValues("Missing", Order.class))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Missing");
+            assertThat(workbook.readValues("Orders", Order.class)).hasSize(100);
+        }
+    }
+
+    @Test
+    void readAfterCloseFails() throws Exception {
+        final SpreadsheetWorkbook workbook = mapper.openWorkbook(file);
+        workbook.close();
+
+        assertThatThrownBy(() -> workbook.readValues("Orders", Order.class))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
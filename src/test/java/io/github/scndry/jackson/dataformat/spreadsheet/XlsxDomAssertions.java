@@ -20,13 +20,15 @@ final class XlsxDomAssertions {
 
     /**
      * Asserts the named part is DOM-equal between {@code expected} and
-     * {@code actual}, ignoring the {@code <dimension>} element and the
-     * default {@code s="0"} cell-style attribute. Both sides may or may
-     * not emit {@code s="0"} depending on POI version (5.2.3+ emits it
-     * unconditionally via bug-51037 fix) and on whether the writer
-     * assigns a default style to newly created cells; treating it as
-     * equivalent to "no style" keeps the comparison stable across
-     * configurations.
+     * {@code actual}, ignoring the {@code <dimension>} element, the row
+     * {@code spans} attribute, which POI does not write, the spelling of
+     * numeric cell values ({@code 1.0} from POI, {@code 1} from the
+     * streaming writer), and the default {@code s="0"} cell-style
+     * attribute. Both sides may or may not emit {@code s="0"} depending on
+     * POI version (5.2.3+ emits it unconditionally via bug-51037 fix) and
+     * on whether the writer assigns a default style to newly created cells;
+     * treating it as equivalent to "no style" keeps the comparison stable
+     * across configurations.
      */
     static void assertPartEqualIgnoringDimension(
             final File expected, final File actual, final String partName) throws Exception {
@@ -39,6 +41,12 @@ final class XlsxDomAssertions {
             _removeDimensionElements(expectedDoc);
             _removeDimensionElements(actualDoc);
 
+            _stripRowSpans(expectedDoc);
+            _stripRowSpans(actualDoc);
+
+            _normalizeNumericValues(expectedDoc);
+            _normalizeNumericValues(actualDoc);
+
             _stripDefaultStyleAttribute(expectedDoc);
             _stripDefaultStyleAttribute(actualDoc);
 
@@ -73,6 +81,30 @@ final class XlsxDomAssertions {
         }
     }
 
+    private static void _stripRowSpans(final Document doc) {
+        final NodeList rows = doc.getElementsByTagNameNS(
+                OpcXmlHelper.NS_SPREADSHEETML, "row");
+        for (int i = 0; i < rows.getLength(); i++) {
+            ((Element) rows.item(i)).removeAttribute("spans");
+        }
+    }
+
+    private static void _normalizeNumericValues(final Document doc) {
+        final NodeList cells = doc.getElementsByTagNameNS(
+                OpcXmlHelper.NS_SPREADSHEETML, "c");
+        for (int i = 0; i < cells.getLength(); i++) {
+            final Element cell = (Element) cells.item(i);
+            final String type = cell.getAttribute("t");
+            if (!type.isEmpty() && !"n".equals(type)) continue;
+            final NodeList values = cell.getElementsByTagNameNS(
+                    OpcXmlHelper.NS_SPREADSHEETML, "v");
+            for (int j = 0; j < values.getLength(); j++) {
+                final Node value = values.item(j);
+                value.setTextContent(Double.toString(Double.parseDouble(value.getTextContent())));
+            }
+        }
+    }
+
     private static void _stripDefaultStyleAttribute(final Document doc) {
         final NodeList cells = doc.getElementsByTagNameNS(
                 OpcXmlHelper.NS_SPREADSHEETML, "c");
@@ -0,0 +1,136 @@
+package io.github.scndry.jackson.dataformat.spreadsheet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.EntriesWorkbook.Entry;
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+import io.github.scndry.jackson.dataformat.spreadsheet.poi.POICompat;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link SpreadsheetFactory.Feature#STREAM_ZIP_INPUT} reads {@code InputStream}
+ * input without spooling it to a temporary file, whatever the archive order.
+ */
+class ZipStreamReadTest {
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+    List<Entry> rows;
+    byte[] xlsx;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapper = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.STREAM_ZIP_INPUT)
+                .build();
+        final EntriesWorkbook workbook = new EntriesWorkbook(tempDir);
+        rows = workbook.entries;
+        xlsx = Files.readAllBytes(workbook.file.toPath());
+    }
+
+    @Test
+    void readsWithoutSpooling() throws Exception {
+        final int spooledBefore = _spooledFiles();
+
+        assertThat(mapper.readValues(new ByteArrayInputStream(xlsx), Entry.class)).isEqualTo(rows);
+        assertThat(_spooledFiles()).isEqualTo(spooledBefore);
+    }
+
+    @Test
+    void readsWorksheetAheadOfSharedStrings() throws Exception {
+        // Excel's own order: worksheets first, shared strings and styles last
+        final byte[] reordered = _reorder(xlsx, Comparator.comparingInt(
+                name -> name.startsWith("xl/worksheets/") ? 0 : name.startsWith("xl/") ? 1 : -1));
+
+        assertThat(mapper.readValues(new ByteArrayInputStream(reordered), Entry.class)).isEqualTo(rows);
+    }
+
+    @Test
+    void readsWorksheetAheadOfRelationships() throws Exception {
+        final byte[] reordered = _reorder(xlsx, Comparator.comparingInt(
+                name -> name.endsWith(".rels") ? 1 : 0));
+
+        assertThat(mapper.readValues(SheetInput.source(new ByteArrayInputStream(reordered), "Entries"), Entry.class))
+                .isEqualTo(rows);
+    }
+
+    @Test
+    void unknownSheetFails() {
+        assertThatThrownBy(() -> mapper.readValues(
+                SheetInput.source(new ByteArrayInputStream(xlsx), "Missing"), Entry.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Missing");
+    }
+
+    @Test
+    void leavesSourceOpenWithoutAutoClose() throws Exception {
+        final SpreadsheetMapper noAutoClose = SpreadsheetMapper.builder()
+                .enable(SpreadsheetFactory.Feature.STREAM_ZIP_INPUT)
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .build();
+        final boolean[] closed = {false};
+        final InputStream in = new FilterInputStream(new ByteArrayInputStream(xlsx)) {
+            @Override
+            public void close() throws IOException {
+                closed[0] = true;
+                super.close();
+            }
+        };
+
+        assertThat(noAutoClose.readValues(in, Entry.class)).hasSize(EntriesWorkbook.ENTRIES);
+        assertThat(closed[0]).isFalse();
+    }
+
+    private static int _spooledFiles() throws IOException {
+        final String[] names = POICompat.tempDir().list((dir, name) -> name.startsWith("jackson-spreadsheet-input-"));
+        return names == null ? 0 : names.length;
+    }
+
+    private static byte[] _reorder(final byte[] zip, final Comparator<String> order) throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                final ByteArrayOutputStream data = new ByteArrayOutputStream();
+                final byte[] buf = new byte[8192];
+                int n;
+                while ((n = in.read(buf)) != -1) {
+                    data.write(buf, 0, n);
+                }
+                entries.put(entry.getName(), data.toByteArray());
+            }
+        }
+        final List<String> names = new ArrayList<>(entries.keySet());
+        names.sort(order);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (final String name : names) {
+                zos.putNextEntry(new ZipEntry(name));
+                zos.write(entries.get(name));
+                zos.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.deser;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.SheetMappingIterator;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetReader;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumnGroup;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DirectRowDeserializerTest {
+
+    @TempDir File tempDir;
+    SpreadsheetMapper mapper;
+
+    @Data
+    @NoArgsConstructor
+    @DataGrid
+    static class Entry {
+        private Long id;
+        private String name;
+        private int quantity;
+        private double price;
+        private BigDecimal amount;
+        private boolean active;
+        private LocalDate due;
+    }
+
+    @DataGrid
+    static class Point {
+        public final int x;
+        public final String label;
+        public double weight;
+
+        @JsonCreator
+        Point(@JsonProperty("x") final int x, @JsonProperty("label") final String label) {
+            this.x = x;
+            this.label = label;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @DataGrid
+    static class TextQuantity {
+        private Long id;
+        private String name;
+        private String quantity;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @DataGrid
+    static class Grouped {
+        private int a;
+        @DataColumnGroup("G") private Inner inner;
+    }
+
+    @Data
+    @NoArgsConstructor
+    static class Inner {
+        private int b;
+    }
+
+    @BeforeEach
+    void setUp() {
+        mapper = new SpreadsheetMapper();
+    }
+
+    @Test
+    void bindsSameValuesAsTokenPath() throws Exception {
+        final List<Entry> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final Entry e = new Entry();
+            e.setId(i % 5 == 0 ? null : (long) i);
+            e.setName(i % 7 == 0 ? null : "name-" + i);
+            e.setQuantity(i * 3);
+            e.setPrice(i % 2 == 0 ? i : i + 0.25);
+            e.setAmount(new BigDecimal("100.5").add(BigDecimal.valueOf(i, 2)));
+            e.setActive(i % 3 == 0);
+            e.setDue(LocalDate.of(2024, 1, 1).plusDays(i));
+            rows.add(e);
+        }
+        final File file = new File(tempDir, "entries.xlsx");
+        mapper.writeValue(file, rows, Entry.class);
+
+        final SpreadsheetReader reader = mapper.sheetReaderFor(Entry.class);
+        final List<Entry> tokens = reader.<Entry>readValues(file).readAll();
+        final List<Entry> direct = reader.with(SheetParser.Feature.DIRECT_ROW_BINDING)
+                .<Entry>readValues(file).readAll();
+
+        assertThat(direct).isEqualTo(tokens).isEqualTo(rows);
+    }
+
+    @Test
+    void bindsCreatorParameters() throws Exception {
+        final File file = new File(tempDir, "points.xlsx");
+        final Point a = new Point(1, "one");
+        a.weight = 1.5;
+        final Point b = new Point(2, null);
+        mapper.writeValue(file, Arrays.asList(a, b), Point.class);
+
+        final List<Point> points = mapper.sheetReaderFor(Point.class)
+                .with(SheetParser.Feature.DIRECT_ROW_BINDING)
+                .<Point>readValues(file).readAll();
+
+        assertThat(points).extracting(p -> p.x, p -> p.label, p -> p.weight)
+                .containsExactly(tuple(1, "one", 1.5), tuple(2, null, 0.0));
+    }
+
+    @Test
+    void nestedColumnsKeepTokenPath() throws Exception {
+        final File file = new File(tempDir, "grouped.xlsx");
+        final Grouped g = new Grouped();
+        g.setA(1);
+        g.setInner(new Inner());
+        g.getInner().setB(2);
+        mapper.writeValue(file, Arrays.asList(g), Grouped.class);
+
+        try (SheetMappingIterator<Grouped> it = mapper.sheetReaderFor(Grouped.class)
+                .with(SheetParser.Feature.DIRECT_ROW_BINDING)
+                .readValues(file)) {
+            assertThat(it.next()).isEqualTo(g);
+        }
+    }
+
+    @Test
+    void conversionFailureReportsProperty() throws Exception {
+        final File file = new File(tempDir, "bad.xlsx");
+        final TextQuantity row = new TextQuantity();
+        row.setId(1L);
+        row.setQuantity("many");
+        mapper.writeValue(file, Arrays.asList(row), TextQuantity.class);
+
+        final SpreadsheetReader reader = mapper.sheetReaderFor(Entry.class)
+                .with(SheetParser.Feature.DIRECT_ROW_BINDING);
+        assertThatThrownBy(() -> reader.<Entry>readValues(file).readAll())
+                .isInstanceOf(JsonMappingException.class)
+                .satisfies(e -> assertThat(((JsonMappingException) e).getPath())
+                        .extracting(JsonMappingException.Reference::getFieldName)
+                        .containsExactly("quantity"));
+    }
+}
@@ -3,6 +3,7 @@ package io.github.scndry.jackson.dataformat.spreadsheet.deser;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.List;
 
 import com.fasterxml.jackson.core.JsonToken;
 
@@ -48,6 +49,12 @@ class SheetParserTest {
         public Inner() {}
     }
 
+    @DataGrid
+    static class Labeled {
+        public String status;
+        public Labeled() {}
+    }
+
     @BeforeEach
     void setUp() throws Exception {
         mapper = new SpreadsheetMapper();
@@ -152,6 +159,53 @@ class SheetParserTest {
         parser.close();
     }
 
+    @Test
+    void sharedStringExposesTextCharacters() throws Exception {
+        parser = mapper.createParser(createLabeledFixture());
+        parser.setSchema(mapper.sheetSchemaFor(Labeled.class));
+        while (parser.nextToken() != JsonToken.VALUE_STRING) {
+            assertThat(parser.hasTextCharacters()).isFalse();
+        }
+        assertThat(parser.hasTextCharacters()).isTrue();
+        final String text = new String(
+                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        assertThat(text).isEqualTo("OPEN").isEqualTo(parser.getText());
+        parser.close();
+    }
+
+    @Test
+    void repeatedSharedStringReturnsSameInstanceWhenInterned() throws Exception {
+        final List<Labeled> rows = mapper.sheetReaderFor(Labeled.class)
+                .with(SheetParser.Feature.INTERN_SHARED_STRINGS)
+                .<Labeled>readValues(createLabeledFixture())
+                .readAll();
+        assertThat(rows).extracting(r -> r.status).containsExactly("OPEN", "OPEN", "OPEN");
+        assertThat(rows.get(1).status).isSameAs(rows.get(0).status);
+        assertThat(rows.get(2).status).isSameAs(rows.get(0).status);
+    }
+
+    @Test
+    void sharedStringsAreNotInternedByDefault() throws Exception {
+        final List<Labeled> rows = mapper.readValues(createLabeledFixture(), Labeled.class);
+        assertThat(rows).extracting(r -> r.status).containsExactly("OPEN", "OPEN", "OPEN");
+        assertThat(rows.get(1).status).isNotSameAs(rows.get(0).status);
+    }
+
+    private File createLabeledFixture() throws IOException {
+        File file = new File(tempDir, "labeled.xlsx");
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            Sheet sheet = wb.createSheet("Labeled");
+            sheet.createRow(0).createCell(0).setCellValue("status");
+            for (int i = 1; i <= 3; i++) {
+                sheet.createRow(i).createCell(0).setCellValue("OPEN");
+            }
+            try (FileOutputStream fos = new FileOutputStream(file)) {
+                wb.write(fos);
+            }
+        }
+        return file;
+    }
+
     private void assertField(JsonToken valueToken) throws IOException {
         assertToken(JsonToken.FIELD_NAME);
         assertToken(valueToken);
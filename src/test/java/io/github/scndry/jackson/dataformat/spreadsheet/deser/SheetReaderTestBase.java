@@ -62,6 +62,9 @@ public class SheetReaderTestBase {
                 assertNext(SheetToken.CELL_VALUE);
                 assertThat(reader.getReference()).isNotNull();
                 assertThat(reader.getCellValue()).isNotNull();
+                assertThat(reader.getTransientCellValue().getNumberValue())
+                        .isEqualTo(reader.getCellValue().getNumberValue())
+                        .isEqualTo(i * 2 + j + 1);
             }
 
             assertNext(SheetToken.ROW_END);
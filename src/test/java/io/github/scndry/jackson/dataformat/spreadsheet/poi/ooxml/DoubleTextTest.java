@@ -0,0 +1,80 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Direct tests for {@link DoubleText} — integral fast path, plain and
+ * scientific notation, shortest digits, and round-trip over random bits.
+ */
+class DoubleTextTest {
+
+    @Test
+    void integralValues_writtenAsPlainIntegers() {
+        assertThat(_write(0)).isEqualTo("0");
+        assertThat(_write(1)).isEqualTo("1");
+        assertThat(_write(-42)).isEqualTo("-42");
+        assertThat(_write(1e15)).isEqualTo("1000000000000000");
+        assertThat(_write(9007199254740991.0)).isEqualTo("9007199254740991");
+        assertThat(_write(1e20)).isEqualTo("100000000000000000000");
+    }
+
+    @Test
+    void fractions_writtenInPlainNotation() {
+        assertThat(_write(3.5)).isEqualTo("3.5");
+        assertThat(_write(-1234.5678)).isEqualTo("-1234.5678");
+        assertThat(_write(0.1)).isEqualTo("0.1");
+        assertThat(_write(0.1 + 0.2)).isEqualTo("0.30000000000000004");
+        assertThat(_write(1e-5)).isEqualTo("0.00001");
+        assertThat(_write(1.234e-7)).isEqualTo("0.0000001234");
+    }
+
+    @Test
+    void extremeExponents_writtenInScientificNotation() {
+        assertThat(_write(9.99e-8)).isEqualTo("9.99E-8");
+        assertThat(_write(1e21)).isEqualTo("1E21");
+        assertThat(_write(1e23)).isEqualTo("1E23");
+        assertThat(_write(-2.5e-300)).isEqualTo("-2.5E-300");
+        assertThat(_write(Double.MAX_VALUE)).isEqualTo("1.7976931348623157E308");
+        assertThat(_write(Double.MIN_NORMAL)).isEqualTo("2.2250738585072014E-308");
+        assertThat(_write(Double.MIN_VALUE)).isEqualTo("4.9E-324");
+    }
+
+    @Test
+    void nonFiniteValues_matchDoubleToString() {
+        assertThat(_write(Double.NaN)).isEqualTo("NaN");
+        assertThat(_write(Double.POSITIVE_INFINITY)).isEqualTo("Infinity");
+        assertThat(_write(Double.NEGATIVE_INFINITY)).isEqualTo("-Infinity");
+    }
+
+    @Test
+    void randomBits_roundTripWithinMaxLength() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value)) continue;
+            String text = _write(value);
+            assertThat(text.length()).isLessThanOrEqualTo(DoubleText.MAX_LENGTH);
+            assertThat(Double.parseDouble(text)).as(text).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void powersOfTwo_roundTrip() {
+        for (int e = -1074; e <= 1023; e++) {
+            double value = Math.scalb(1.0, e);
+            for (double v : new double[]{value, Math.nextUp(value), Math.nextDown(value)}) {
+                assertThat(Double.parseDouble(_write(v))).isEqualTo(v);
+            }
+        }
+    }
+
+    private static String _write(double value) {
+        byte[] buf = new byte[DoubleText.MAX_LENGTH];
+        int end = DoubleText.write(value, buf, 0);
+        return new String(buf, 0, end, java.nio.charset.StandardCharsets.US_ASCII);
+    }
+}
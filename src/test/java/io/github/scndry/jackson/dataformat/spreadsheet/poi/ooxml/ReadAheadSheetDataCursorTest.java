@@ -0,0 +1,146 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link ReadAheadSheetDataCursor} replays the wrapped cursor exactly, across
+ * batch boundaries and ring wrap-around, and surfaces producer failures.
+ */
+class ReadAheadSheetDataCursorTest {
+
+    private static String sheet(final int rows) {
+        final StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<worksheet><sheetData>");
+        for (int r = 1; r <= rows; r++) {
+            if (r % 10 == 0) {
+                sb.append("<row r=\"").append(r).append("\"/>");
+                continue;
+            }
+            sb.append("<row r=\"").append(r).append("\">")
+                    .append("<c r=\"A").append(r).append("\" t=\"s\"><v>").append(r % 7).append("</v></c>")
+                    .append("<c r=\"C").append(r).append("\" s=\"3\"><f t=\"shared\" si=\"0\"/><v>")
+                    .append(r).append(".25</v></c>")
+                    .append("<c r=\"D").append(r).append("\" t=\"inlineStr\"><is><t>row ").append(r).append("</t></is></c>")
+                    .append("<c r=\"E").append(r).append("\"/>")
+                    .append("</row>");
+        }
+        sb.append("</sheetData></worksheet>");
+        return sb.toString();
+    }
+
+    // Fails on the row after the first failAfter rows
+    private static final class FailingCursor implements SheetDataCursor {
+
+        private final SheetDataCursor _delegate;
+        private final int _failAfter;
+        private int _rows;
+
+        FailingCursor(final SheetDataCursor delegate, final int failAfter) {
+            _delegate = delegate;
+            _failAfter = failAfter;
+        }
+
+        @Override
+        public CellRangeAddress getDimension() {
+            return _delegate.getDimension();
+        }
+
+        @Override
+        public boolean nextRow() {
+            if (_rows++ == _failAfter) throw new IllegalStateException("boom");
+            return _delegate.nextRow();
+        }
+
+        @Override
+        public int getRowIndex() {
+            return _delegate.getRowIndex();
+        }
+
+        @Override
+        public boolean nextCell() {
+            return _delegate.nextCell();
+        }
+
+        @Override
+        public CTCell collectCell() {
+            return _delegate.collectCell();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return _delegate.isClosed();
+        }
+
+        @Override
+        public void close() {
+            _delegate.close();
+        }
+    }
+
+    private static SheetDataCursor open(final String xml) {
+        return SheetDataCursor.open(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), true);
+    }
+
+    private static List<String> drain(final SheetDataCursor cursor) {
+        final List<String> events = new ArrayList<>();
+        while (cursor.nextRow()) {
+            events.add("row " + cursor.getRowIndex());
+            while (cursor.nextCell()) {
+                final CTCell c = cursor.collectCell();
+                events.add(c.getColumn() + " " + c.getT() + " " + c.getS() + " " + c.getFt()
+                        + " " + (c.hasV() ? c.getV() : "-") + " " + c.getIs());
+            }
+        }
+        return events;
+    }
+
+    @Test
+    void replaysSourceAcrossBatches() {
+        final String xml = sheet(500);
+        final List<String> expected = drain(open(xml));
+        for (final int batchCells : new int[]{1, 3, 64, 4096}) {
+            try (ReadAheadSheetDataCursor cursor = new ReadAheadSheetDataCursor(open(xml), 2, batchCells)) {
+                assertThat(drain(cursor)).isEqualTo(expected);
+                assertThat(cursor.nextRow()).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void rethrowsProducerFailureAtItsPosition() {
+        final SheetDataCursor source = new FailingCursor(open(sheet(50)), 20);
+        final ReadAheadSheetDataCursor cursor = new ReadAheadSheetDataCursor(source, 2, 16);
+        final int[] rows = {0};
+        assertThatThrownBy(() -> {
+            while (cursor.nextRow()) {
+                rows[0]++;
+                while (cursor.nextCell()) {
+                    cursor.collectCell();
+                }
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(rows[0]).isEqualTo(20);
+        cursor.close();
+        assertThat(source.isClosed()).isTrue();
+    }
+
+    @Test
+    void closeStopsProducer() {
+        final SheetDataCursor source = open(sheet(5000));
+        final ReadAheadSheetDataCursor cursor = new ReadAheadSheetDataCursor(source, 2, 8);
+        assertThat(cursor.nextRow()).isTrue();
+        cursor.close();
+
+        assertThat(cursor.isClosed()).isTrue();
+        assertThat(source.isClosed()).isTrue();
+        assertThat(cursor.nextRow()).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link ResumableInflater} inflates what {@link Deflater} produces at every
+ * level, and restarts at any block boundary from the reported position and
+ * window alone.
+ */
+class ResumableInflaterTest {
+
+    private static byte[] rows(final int count) {
+        final Random random = new Random(7);
+        final StringBuilder sb = new StringBuilder();
+        for (int r = 1; r <= count; r++) {
+            sb.append("<row r=\"").append(r).append("\"><c r=\"A").append(r).append("\" t=\"s\"><v>")
+                    .append(random.nextInt(1000)).append("</v></c></row>");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(final byte[] data, final int level, final boolean syncFlush) throws IOException {
+        final Deflater deflater = new Deflater(level, true);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater, 8192, syncFlush)) {
+            for (int i = 0; i < data.length; i += 50_000) {
+                out.write(data, i, Math.min(50_000, data.length - i));
+                if (syncFlush) out.flush();
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] drain(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[3001];
+        int n;
+        while ((n = in.read(buf, 0, buf.length)) >= 0) {
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void inflatesEveryLevelAndResumesAtEveryBlock() throws Exception {
+        final byte[] random = new byte[200_000];
+        new Random(11).nextBytes(random);
+        for (final byte[] data : Arrays.asList(new byte[0], rows(30_000), random)) {
+            for (final int level : new int[]{Deflater.NO_COMPRESSION, Deflater.BEST_SPEED, 6, Deflater.BEST_COMPRESSION}) {
+                for (final boolean syncFlush : new boolean[]{false, true}) {
+                    final byte[] deflated = deflate(data, level, syncFlush);
+                    final List<long[]> blocks = new ArrayList<>();
+                    final List<byte[]> windows = new ArrayList<>();
+                    final ResumableInflater inflater = new ResumableInflater(new ByteArrayInputStream(deflated));
+                    inflater.setBlockListener((bitPosition, out) -> {
+                        blocks.add(new long[]{bitPosition, out});
+                        windows.add(inflater.window());
+                    });
+
+                    assertThat(drain(inflater)).isEqualTo(data);
+                    assertThat(blocks).isNotEmpty();
+                    for (int i = 0; i < blocks.size(); i++) {
+                        final long bits = blocks.get(i)[0];
+                        final int out = (int) blocks.get(i)[1];
+                        final ResumableInflater resumed = new ResumableInflater(
+                                new ByteArrayInputStream(deflated, (int) (bits >>> 3), deflated.length),
+                                (int) (bits & 7), windows.get(i), out);
+                        assertThat(drain(resumed))
+                                .as("level %s, block %s", level, i)
+                                .isEqualTo(Arrays.copyOfRange(data, out, data.length));
+                        assertThat(resumed.getBytesWritten()).isEqualTo(data.length);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void failsOnTruncatedInput() throws Exception {
+        final byte[] deflated = deflate(rows(5_000), 6, false);
+        final InputStream in = new ResumableInflater(
+                new ByteArrayInputStream(deflated, 0, deflated.length / 2));
+
+        assertThatThrownBy(() -> drain(in)).isInstanceOf(EOFException.class);
+    }
+}
@@ -3,6 +3,7 @@ package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SSMLCellValueTest {
 
@@ -63,6 +65,15 @@ class SSMLCellValueTest {
         assertThat(s).isEqualTo("$1,234.56");
     }
 
+    @Test
+    void reusableValueDescribesItsCurrentType() {
+        final ReusableCellValue value = new ReusableCellValue(_styles, _formatter);
+        value.setString("OPEN");
+
+        assertThat(value).hasToString("STRING [\"OPEN\"]");
+        assertThatThrownBy(value::getBooleanValue).isInstanceOf(IllegalStateException.class);
+    }
+
     @Test
     void memoizedAfterFirstCompute() {
         final SSMLCellValue value = new SSMLCellValue(
@@ -90,6 +101,46 @@ class SSMLCellValueTest {
         assertThat(_formatter.callCount).isEqualTo(1);
     }
 
+    @Test
+    void sliceKeepsExactDecimal() {
+        final SSMLCellValue value = _of("1234.56");
+        assertThat(value.getNumberValue()).isEqualTo(1234.56);
+        assertThat(value.getDecimalValue()).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(value.getLongValue()).isEqualTo(1234L);
+        assertThat(value.noFractionalPart()).isFalse();
+        assertThat(value.getRawText()).isEqualTo("1234.56");
+    }
+
+    @Test
+    void sliceReadsLongWithoutDoubleRoundTrip() {
+        final SSMLCellValue value = _of("123456789012345678");
+        assertThat(value.getLongValue()).isEqualTo(123456789012345678L);
+        assertThat(value.noFractionalPart()).isTrue();
+        assertThat(value.getRawText()).isEqualTo("123456789012345678");
+    }
+
+    @Test
+    void sliceKeepsNonCanonicalRawText() {
+        assertThat(_of("1.5E+2").getRawText()).isEqualTo("1.5E+2");
+        assertThat(_of("1.5E+2").getDecimalValue()).isEqualByComparingTo("150");
+        assertThat(_of("0.50").getRawText()).isEqualTo("0.50");
+        assertThat(_of("-0").getNumberValue()).isEqualTo(-0.0);
+    }
+
+    @Test
+    void sliceFallsBackForLongMantissa() {
+        final SSMLCellValue value = _of("0.30000000000000004");
+        assertThat(value.getNumberValue()).isEqualTo(0.30000000000000004);
+        assertThat(value.getDecimalValue()).isEqualTo(new BigDecimal("0.30000000000000004"));
+        final SSMLCellValue wide = _of("12345678901234567890");
+        assertThat(wide.getDecimalValue()).isEqualTo(new BigDecimal("12345678901234567890"));
+    }
+
+    private SSMLCellValue _of(final String text) {
+        final char[] chars = text.toCharArray();
+        return SSMLCellValue.of(chars, chars.length, new NumberText(), 0, _styles, _formatter);
+    }
+
     private static final class CountingDataFormatter extends DataFormatter {
         int callCount;
 
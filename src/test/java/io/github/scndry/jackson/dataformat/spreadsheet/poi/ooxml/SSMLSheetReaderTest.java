@@ -32,4 +32,33 @@ class SSMLSheetReaderTest extends SheetReaderTestBase {
         reader = new SSMLSheetReader(part, workbook, false, false);
         testSheetReader();
     }
+
+    @Test
+    void transitionalByteScanner() throws Exception {
+        File file = createHeadlessFixture();
+        SSMLWorkbook workbook = SSMLWorkbook.create(file);
+        PackagePart part = workbook.getWorksheetPartAt(0);
+        reader = new SSMLSheetReader(part, workbook, false, false, true);
+        testSheetReader();
+    }
+
+    @Test
+    void strictByteScanner() throws Exception {
+        Assumptions.assumeTrue(PoiVersionProbe.isPoi510OrLater(),
+                "Strict OOXML reading requires POI 5.1.0+");
+
+        SSMLWorkbook workbook = SSMLWorkbook.create(strictSource);
+        PackagePart part = workbook.getWorksheetPartAt(0);
+        reader = new SSMLSheetReader(part, workbook, false, false, true);
+        testSheetReader();
+    }
+
+    @Test
+    void transitionalReadAhead() throws Exception {
+        File file = createHeadlessFixture();
+        SSMLWorkbook workbook = SSMLWorkbook.create(file);
+        PackagePart part = workbook.getWorksheetPartAt(0);
+        reader = new SSMLSheetReader(part, workbook, false, false, true, true);
+        testSheetReader();
+    }
 }
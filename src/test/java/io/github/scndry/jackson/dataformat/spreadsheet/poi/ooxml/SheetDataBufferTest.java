@@ -18,7 +18,7 @@ class SheetDataBufferTest {
 
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
-        assertThat(sb.toString()).isEqualTo("<row r=\"1\"><c r=\"A1\" s=\"2\" t=\"n\"><v>3.5</v></c></row>");
+        assertThat(sb.toString()).isEqualTo("<row r=\"1\" spans=\"1:1\"><c r=\"A1\" s=\"2\" t=\"n\"><v>3.5</v></c></row>");
     }
 
     @Test
@@ -28,7 +28,7 @@ class SheetDataBufferTest {
 
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
-        assertThat(sb.toString()).isEqualTo("<row r=\"2\"><c r=\"C2\" s=\"0\" t=\"s\"><v>42</v></c></row>");
+        assertThat(sb.toString()).isEqualTo("<row r=\"2\" spans=\"3:3\"><c r=\"C2\" s=\"0\" t=\"s\"><v>42</v></c></row>");
     }
 
     @Test
@@ -40,7 +40,7 @@ class SheetDataBufferTest {
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
         assertThat(sb.toString()).isEqualTo(
-                "<row r=\"1\">"
+                "<row r=\"1\" spans=\"1:2\">"
                         + "<c r=\"A1\" s=\"0\" t=\"b\"><v>1</v></c>"
                         + "<c r=\"B1\" s=\"0\" t=\"b\"><v>0</v></c>"
                         + "</row>");
@@ -53,7 +53,7 @@ class SheetDataBufferTest {
 
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
-        assertThat(sb.toString()).isEqualTo("<row r=\"1\"><c r=\"A1\" s=\"5\"/></row>");
+        assertThat(sb.toString()).isEqualTo("<row r=\"1\" spans=\"1:1\"><c r=\"A1\" s=\"5\"/></row>");
     }
 
     @Test
@@ -66,9 +66,9 @@ class SheetDataBufferTest {
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
         assertThat(sb.toString()).contains(
-                "<v>1.0</v></c><c r=\"B1\"",
-                "<v>2.0</v></c><c r=\"C1\"",
-                "<v>3.0</v></c></row>");
+                "<v>1</v></c><c r=\"B1\"",
+                "<v>2</v></c><c r=\"C1\"",
+                "<v>3</v></c></row>");
     }
 
     @Test
@@ -81,9 +81,9 @@ class SheetDataBufferTest {
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
         assertThat(sb.toString()).isEqualTo(
-                "<row r=\"1\"><c r=\"A1\" s=\"0\" t=\"n\"><v>1.0</v></c></row>"
-                        + "<row r=\"2\"><c r=\"A2\" s=\"0\" t=\"n\"><v>2.0</v></c></row>"
-                        + "<row r=\"3\"><c r=\"A3\" s=\"0\" t=\"n\"><v>3.0</v></c></row>");
+                "<row r=\"1\" spans=\"1:1\"><c r=\"A1\" s=\"0\" t=\"n\"><v>1</v></c></row>"
+                        + "<row r=\"2\" spans=\"1:1\"><c r=\"A2\" s=\"0\" t=\"n\"><v>2</v></c></row>"
+                        + "<row r=\"3\" spans=\"1:1\"><c r=\"A3\" s=\"0\" t=\"n\"><v>3</v></c></row>");
     }
 
     @Test
@@ -98,15 +98,46 @@ class SheetDataBufferTest {
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
         assertThat(sb.toString()).isEqualTo(
-                "<row r=\"1\">"
-                        + "<c r=\"B1\" s=\"0\" t=\"n\"><v>10.0</v></c>"
-                        + "<c r=\"D1\" s=\"0\" t=\"n\"><v>99.0</v></c>"
+                "<row r=\"1\" spans=\"2:4\">"
+                        + "<c r=\"B1\" s=\"0\" t=\"n\"><v>10</v></c>"
+                        + "<c r=\"D1\" s=\"0\" t=\"n\"><v>99</v></c>"
                         + "</row>"
-                        + "<row r=\"2\">"
-                        + "<c r=\"B2\" s=\"0\" t=\"n\"><v>20.0</v></c>"
+                        + "<row r=\"2\" spans=\"2:2\">"
+                        + "<c r=\"B2\" s=\"0\" t=\"n\"><v>20</v></c>"
                         + "</row>");
     }
 
+    @Test
+    void outOfOrderColumns_spanFromLowestToHighest() {
+        // Merge inner-cell fill lands before the row's head and between its cells
+        SheetDataBuffer buf = new SheetDataBuffer(4);
+        buf.appendNumeric(0, 2, 0, 1);
+        buf.appendNumeric(0, 4, 0, 2);
+        buf.appendBlank(0, 0, 1);
+        buf.appendBlank(0, 3, 1);
+
+        StringBuilder sb = new StringBuilder();
+        buf.flushTo(sb);
+        assertThat(sb.toString()).startsWith("<row r=\"1\" spans=\"1:5\"><c r=\"A1\"");
+    }
+
+    @Test
+    void usedRange_spansFlushes() {
+        SheetDataBuffer buf = new SheetDataBuffer(4);
+        assertThat(buf.hasUsedRange()).isFalse();
+
+        buf.appendNumeric(2, 3, 0, 1);
+        buf.flushTo(new StringBuilder());
+        buf.appendNumeric(5, 1, 0, 2);
+        buf.appendNumeric(5, 6, 0, 3);
+
+        assertThat(buf.hasUsedRange()).isTrue();
+        assertThat(buf.firstRowUsed()).isEqualTo(2);
+        assertThat(buf.lastRowUsed()).isEqualTo(5);
+        assertThat(buf.firstColumnUsed()).isEqualTo(1);
+        assertThat(buf.lastColumnUsed()).isEqualTo(6);
+    }
+
     @Test
     void rowBaseTracksFirstAppendedRow() {
         SheetDataBuffer buf = new SheetDataBuffer(4);
@@ -115,7 +146,7 @@ class SheetDataBufferTest {
 
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
-        assertThat(sb.toString()).startsWith("<row r=\"6\">");
+        assertThat(sb.toString()).startsWith("<row r=\"6\" spans=\"1:1\">");
     }
 
     @Test
@@ -137,8 +168,8 @@ class SheetDataBufferTest {
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
         assertThat(sb.toString()).isEqualTo(
-                "<row r=\"1\"><c r=\"A1\" s=\"0\" t=\"n\"><v>1.0</v></c></row>"
-                        + "<row r=\"4\"><c r=\"A4\" s=\"0\" t=\"n\"><v>2.0</v></c></row>");
+                "<row r=\"1\" spans=\"1:1\"><c r=\"A1\" s=\"0\" t=\"n\"><v>1</v></c></row>"
+                        + "<row r=\"4\" spans=\"1:1\"><c r=\"A4\" s=\"0\" t=\"n\"><v>2</v></c></row>");
     }
 
     @Test
@@ -186,8 +217,7 @@ class SheetDataBufferTest {
         // Row 1: 1 open + 1 cell  + 1 close = 3 fragments.
         // Total = 7 sink invocations.
         final int[] count = {0};
-        StringBuilder sb = new StringBuilder();
-        buf.flushTo(sb, () -> count[0]++);
+        buf.flushTo(new XmlByteBuffer(64), () -> count[0]++);
         assertThat(count[0]).isEqualTo(7);
     }
 
@@ -197,7 +227,7 @@ class SheetDataBufferTest {
         buf.appendNumeric(0, 0, 0, 1);
 
         final java.io.IOException expected = new java.io.IOException("sink-failure");
-        assertThatThrownBy(() -> buf.flushTo(new StringBuilder(), () -> { throw expected; }))
+        assertThatThrownBy(() -> buf.flushTo(new XmlByteBuffer(64), () -> { throw expected; }))
                 .isSameAs(expected);
     }
 
@@ -216,7 +246,7 @@ class SheetDataBufferTest {
 
         StringBuilder sb = new StringBuilder();
         buf.flushTo(sb);
-        assertThat(sb.toString()).startsWith("<row r=\"1\">");
+        assertThat(sb.toString()).startsWith("<row r=\"1\" spans=\"1:10\">");
         assertThat(sb.toString()).endsWith("</row>");
     }
 
@@ -0,0 +1,68 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Both {@link SheetDataCursor} implementations report the worksheet's
+ * {@code <dimension>} on open and ignore one that is missing or malformed.
+ */
+class SheetDataCursorTest {
+
+    private static final String ROWS = "<sheetData><row r=\"1\"><c r=\"A1\"><v>1</v></c></row></sheetData>";
+
+    private static String sheet(final String dimension) {
+        return "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + (dimension == null ? "" : "<dimension ref=\"" + dimension + "\"/>")
+                + "<sheetViews><sheetView workbookViewId=\"0\"/></sheetViews>"
+                + ROWS + "</worksheet>";
+    }
+
+    private static SheetDataCursor open(final String xml, final boolean scanBytes) {
+        return SheetDataCursor.open(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), scanBytes);
+    }
+
+    @Test
+    void readsDimensionBeforeSheetData() {
+        for (final boolean scanBytes : new boolean[]{false, true}) {
+            try (SheetDataCursor cursor = open(sheet("B2:J100001"), scanBytes)) {
+                assertThat(cursor.getDimension()).isEqualTo(new CellRangeAddress(1, 100_000, 1, 9));
+                assertThat(cursor.nextRow()).isTrue();
+                assertThat(cursor.getRowIndex()).isZero();
+            }
+        }
+    }
+
+    @Test
+    void readsSingleCellDimension() {
+        for (final boolean scanBytes : new boolean[]{false, true}) {
+            try (SheetDataCursor cursor = open(sheet("A1"), scanBytes)) {
+                assertThat(cursor.getDimension()).isEqualTo(new CellRangeAddress(0, 0, 0, 0));
+            }
+        }
+    }
+
+    @Test
+    void ignoresMissingOrMalformedDimension() {
+        for (final boolean scanBytes : new boolean[]{false, true}) {
+            for (final String dimension : new String[]{null, "", "garbage", "A1:XFE1", "A1:A1048577", "C3:A1"}) {
+                try (SheetDataCursor cursor = open(sheet(dimension), scanBytes)) {
+                    assertThat(cursor.getDimension()).as(dimension).isNull();
+                    assertThat(cursor.nextRow()).isTrue();
+                }
+            }
+        }
+    }
+
+    @Test
+    void readAheadReportsSourceDimension() {
+        try (SheetDataCursor cursor = new ReadAheadSheetDataCursor(open(sheet("A1:C10"), true))) {
+            assertThat(cursor.getDimension()).isEqualTo(new CellRangeAddress(0, 9, 0, 2));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Direct tests for {@link XmlByteBuffer} — UTF-8 encoding, element content
+ * escaping, integer formatting, and growth.
+ */
+class XmlByteBufferTest {
+
+    @Test
+    void appendEscaped_replacesMarkupWithEntities() {
+        XmlByteBuffer out = new XmlByteBuffer(4);
+        char[] text = "a<b>&'\"c".toCharArray();
+        out.appendEscaped(text, text.length);
+        assertThat(out.toString()).isEqualTo("a&lt;b&gt;&amp;&apos;&quot;c");
+    }
+
+    @Test
+    void appendEscaped_dropsControlCharsButKeepsWhitespace() {
+        XmlByteBuffer out = new XmlByteBuffer(4);
+        char[] text = "a\u0001\tb\u001f\nc\r".toCharArray();
+        out.appendEscaped(text, text.length);
+        assertThat(out.toString()).isEqualTo("a\tb\nc\r");
+    }
+
+    @Test
+    void appendEscaped_stopsAtLength() {
+        XmlByteBuffer out = new XmlByteBuffer(4);
+        out.appendEscaped("abc<def".toCharArray(), 4);
+        assertThat(out.toString()).isEqualTo("abc&lt;");
+    }
+
+    @Test
+    void encodesNonAsciiAsUtf8() {
+        String text = "é中😀x";
+        XmlByteBuffer escaped = new XmlByteBuffer(1);
+        escaped.appendEscaped(text.toCharArray(), text.length());
+        XmlByteBuffer plain = new XmlByteBuffer(1);
+        plain.append(text);
+
+        byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+        assertThat(escaped.size()).isEqualTo(expected.length);
+        assertThat(escaped.toString()).isEqualTo(text);
+        assertThat(plain.toString()).isEqualTo(text);
+    }
+
+    @Test
+    void loneSurrogate_writtenAsQuestionMark() {
+        String text = "a\uD83Db\uDE00";
+        XmlByteBuffer out = new XmlByteBuffer(1);
+        out.appendEscaped(text.toCharArray(), text.length());
+        assertThat(out.toString()).isEqualTo(new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        assertThat(out.toString()).isEqualTo("a?b?");
+    }
+
+    @Test
+    void appendInt_matchesIntegerToString() {
+        int[] values = {0, 7, 9, 10, 99, 100, 101, 999, 1000, 65535, 999999999, 1000000000,
+                Integer.MAX_VALUE, -1, -10, -65536, Integer.MIN_VALUE};
+        for (int value : values) {
+            XmlByteBuffer out = new XmlByteBuffer(1);
+            out.append(value);
+            assertThat(out.toString()).as("%d", value).isEqualTo(Integer.toString(value));
+        }
+    }
+
+    @Test
+    void writeTo_copiesContentAndResetClears() throws Exception {
+        XmlByteBuffer out = new XmlByteBuffer(2);
+        out.append(XmlByteBuffer.ascii("<row r=\"")).append(12).append('"');
+        assertThat(out.remaining()).isGreaterThanOrEqualTo(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        out.writeTo(bytes);
+        assertThat(bytes.toString("UTF-8")).isEqualTo("<row r=\"12\"");
+
+        out.reset();
+        assertThat(out.size()).isZero();
+        assertThat(out.toString()).isEmpty();
+    }
+
+    @Test
+    void growth_handlesLargeText() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            sb.append(i % 10 == 0 ? '&' : 'x');
+        }
+        XmlByteBuffer out = new XmlByteBuffer(16);
+        out.appendEscaped(sb.toString().toCharArray(), sb.length());
+        assertThat(out.size()).isEqualTo(9_000 + 1_000 * "&amp;".length());
+    }
+}
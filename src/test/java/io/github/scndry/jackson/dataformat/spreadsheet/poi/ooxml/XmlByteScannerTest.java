@@ -0,0 +1,122 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Direct tests for {@link XmlByteScanner} and {@link ByteSheetDataCursor}:
+ * prolog checks, entity/CDATA/line-ending decoding, prefixed names,
+ * rich text with phonetic runs, and buffer refills at every offset.
+ */
+class XmlByteScannerTest {
+
+    private static final String SHEET = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\r\n"
+            + "<x:worksheet xmlns:x=\"urn:test\"><x:sheetData>"
+            + "<x:row r=\"1\" spans=\"1:3\"><x:c r=\"AB1\" s=\"12\" t=\"s\"><x:v>42</x:v></x:c>"
+            + "<c r=\"B1\" t=\"inlineStr\"><is><r><rPr/><t>a&amp;b</t></r><rPh><t>ZZ</t></rPh>"
+            + "<r><t xml:space=\"preserve\"> é😀&#x41;&#66;\r\nz<![CDATA[<q>]]></t></r></is></c>"
+            + "<c r=\"C1\"/><c r='D1' a='>'><f t=\"shared\" ref=\"D1:D2\" si=\"0\"/><v>1.5</v></c></x:row>"
+            + "<row/><row r=\"5\"><c t=\"b\"><v>1</v></c><c><v>2</v></c></row>"
+            + "</x:sheetData></x:worksheet>";
+
+    private static XmlByteScanner scanner(String xml, int bufferSize) {
+        return new XmlByteScanner(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), bufferSize);
+    }
+
+    @Test
+    void cursor_readsCellsAcrossBufferBoundaries() {
+        for (int bufferSize : new int[]{1, 7, 16, 64, 65536}) {
+            readSheet(bufferSize);
+        }
+    }
+
+    private static void readSheet(int bufferSize) {
+        XmlByteScanner scanner = scanner(SHEET, bufferSize);
+        assertThat(scanner.isPlainUtf8()).isTrue();
+        ByteSheetDataCursor cursor = new ByteSheetDataCursor(scanner);
+
+        assertThat(cursor.nextRow()).isTrue();
+        assertThat(cursor.getRowIndex()).isZero();
+        assertThat(cursor.nextCell()).isTrue();
+        CTCell cell = cursor.collectCell();
+        assertThat(cell.getColumn()).isEqualTo(27);
+        assertThat(cell.getS()).isEqualTo(12);
+        assertThat(cell.getT()).isEqualTo(STCellType.SHARED_STRING);
+        assertThat(cell.getVAsIndex()).isEqualTo(42);
+
+        assertThat(cursor.nextCell()).isTrue();
+        cell = cursor.collectCell();
+        assertThat(cell.getT()).isEqualTo(STCellType.INLINE_STRING);
+        assertThat(cell.getIs()).isEqualTo("a&b é😀AB\nz<q>");
+
+        assertThat(cursor.nextCell()).isTrue();
+        cell = cursor.collectCell();
+        assertThat(cell.getColumn()).isEqualTo(2);
+        assertThat(cell.hasV()).isFalse();
+
+        assertThat(cursor.nextCell()).isTrue();
+        cell = cursor.collectCell();
+        assertThat(cell.getColumn()).isEqualTo(3);
+        assertThat(cell.getFt()).isEqualTo(STCellFormulaType.SHARED);
+        assertThat(cell.getV()).isEqualTo("1.5");
+        assertThat(cursor.nextCell()).isFalse();
+
+        // <row/> without r continues from the previous row
+        assertThat(cursor.nextRow()).isTrue();
+        assertThat(cursor.getRowIndex()).isEqualTo(1);
+        assertThat(cursor.nextCell()).isFalse();
+
+        assertThat(cursor.nextRow()).isTrue();
+        assertThat(cursor.getRowIndex()).isEqualTo(4);
+        assertThat(cursor.nextCell()).isTrue();
+        cell = cursor.collectCell();
+        assertThat(cell.getColumn()).isZero();
+        assertThat(cell.getT()).isEqualTo(STCellType.BOOLEAN);
+        assertThat(cell.isV("1")).isTrue();
+        assertThat(cursor.nextCell()).isTrue();
+        assertThat(cursor.collectCell().getColumn()).isEqualTo(1);
+        assertThat(cursor.nextCell()).isFalse();
+
+        assertThat(cursor.nextRow()).isFalse();
+        cursor.close();
+        assertThat(cursor.isClosed()).isTrue();
+    }
+
+    @Test
+    void isPlainUtf8_rejectsOtherEncodingsAndDoctype() {
+        assertThat(scanner("<?xml version='1.0' encoding='UTF-16'?><a/>", 64).isPlainUtf8()).isFalse();
+        assertThat(scanner("<?xml version='1.0' encoding='ISO-8859-1'?><a/>", 64).isPlainUtf8()).isFalse();
+        assertThat(scanner("<!DOCTYPE a><a/>", 64).isPlainUtf8()).isFalse();
+        assertThat(scanner("\uFEFF<?xml version='1.0' encoding='utf-8'?><!-- c --><a/>", 64).isPlainUtf8()).isTrue();
+        assertThat(scanner("<a/>", 64).isPlainUtf8()).isTrue();
+    }
+
+    @Test
+    void open_fallsBackToStaxForUnusualDocuments() {
+        String xml = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>"
+                + "<worksheet><sheetData><row r=\"1\"><c r=\"A1\" t=\"str\"><v>café</v></c></row></sheetData></worksheet>";
+        SheetDataCursor cursor = SheetDataCursor.open(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.ISO_8859_1)), true);
+        assertThat(cursor).isInstanceOf(StaxSheetDataCursor.class);
+        assertThat(cursor.nextRow()).isTrue();
+        assertThat(cursor.nextCell()).isTrue();
+        assertThat(cursor.collectCell().getV()).isEqualTo("café");
+    }
+
+    @Test
+    void readStringContent_skipsPhoneticRuns() {
+        XmlByteScanner s = scanner("<sst><si><t>東京</t><rPh sb=\"0\" eb=\"2\"><t>トウキョウ</t></rPh>"
+                + "<phoneticPr fontId=\"1\"/></si><si><t/></si></sst>", 16);
+        assertThat(s.nextStartElement(XmlByteScanner.name("si"))).isTrue();
+        s.readStringContent();
+        assertThat(s.textAsString()).isEqualTo("東京");
+        assertThat(s.nextStartElement(XmlByteScanner.name("si"))).isTrue();
+        s.readStringContent();
+        assertThat(s.textLength()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.deser.SheetInput;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ZipArchiveSheetsTest {
+
+    private static final String RELS = "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\""
+            + " Target=\"xl/workbook.bin\"/></Relationships>";
+
+    @TempDir File tempDir;
+
+    @Test
+    void leavesBinaryWorkbookToOPCPackage() throws Exception {
+        final File file = _zip("[Content_Types].xml",
+                "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                        + "<Override PartName=\"/xl/workbook.bin\""
+                        + " ContentType=\"application/vnd.ms-excel.sheet.binary.macroEnabled.main\"/></Types>",
+                "_rels/.rels", RELS,
+                "xl/workbook.bin", "");
+
+        assertThat(ZipArchiveSheets.open(file, SheetInput.source(file), false, false)).isNull();
+    }
+
+    @Test
+    void leavesPackageWithoutContentTypesToOPCPackage() throws Exception {
+        final File file = _zip("_rels/.rels", RELS, "xl/workbook.bin", "");
+
+        assertThat(ZipArchiveSheets.open(file, SheetInput.source(file), false, false)).isNull();
+    }
+
+    @Test
+    void resolvesContentTypesIgnoringCase() {
+        final ContentTypes types = ContentTypes.parse(new ByteArrayInputStream((
+                "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                        + "<Default Extension=\"XML\" ContentType=\"application/xml\"/>"
+                        + "<Override PartName=\"/XL/Workbook.xml\" ContentType=\"main\"/></Types>")
+                .getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(types.of("xl/workbook.xml")).isEqualTo("main");
+        assertThat(types.of("xl/styles.xml")).isEqualTo("application/xml");
+        assertThat(types.of("xl/media/image")).isNull();
+    }
+
+    private File _zip(final String... entries) throws IOException {
+        final File file = new File(tempDir, "package.zip");
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zos.putNextEntry(new ZipEntry(entries[i]));
+                zos.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        return file;
+    }
+}
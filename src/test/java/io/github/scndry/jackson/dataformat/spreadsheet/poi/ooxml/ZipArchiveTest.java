@@ -0,0 +1,132 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ZipArchiveTest {
+
+    @Test
+    void readsDeflatedEntries() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a.xml", "<a/>");
+        entries.put("dir/b.xml", _repeat("<b>text</b>", 1000));
+        final ZipArchive zip = ZipArchive.open(ByteBuffer.wrap(_zip(entries, false, null)));
+
+        assertThat(_read(zip, "a.xml")).isEqualTo("<a/>");
+        assertThat(_read(zip, "dir/b.xml")).isEqualTo(entries.get("dir/b.xml"));
+        assertThat(zip.getInputStream("missing.xml")).isNull();
+    }
+
+    @Test
+    void readsStoredEntriesBehindComment() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a.xml", "<a/>");
+        final ZipArchive zip = ZipArchive.open(ByteBuffer.wrap(_zip(entries, true, "comment")));
+
+        assertThat(_read(zip, "a.xml")).isEqualTo("<a/>");
+    }
+
+    @Test
+    void matchesNamesIgnoringCase() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("xl/Workbook.xml", "<workbook/>");
+        final ZipArchive zip = ZipArchive.open(ByteBuffer.wrap(_zip(entries, false, null)));
+
+        assertThat(zip.contains("xl/workbook.xml")).isTrue();
+        assertThat(_read(zip, "XL/WORKBOOK.XML")).isEqualTo("<workbook/>");
+    }
+
+    @Test
+    void readsBetweenPositionAndLimitOnly() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a.xml", "<a/>");
+        final byte[] archive = _zip(entries, false, null);
+        final byte[] padded = new byte[archive.length + 32];
+        System.arraycopy(archive, 0, padded, 16, archive.length);
+        final ByteBuffer buffer = ByteBuffer.wrap(padded, 16, archive.length);
+
+        final ZipArchive zip = ZipArchive.open(buffer);
+
+        assertThat(_read(zip, "a.xml")).isEqualTo("<a/>");
+        assertThat(buffer.position()).isEqualTo(16);
+        assertThat(buffer.limit()).isEqualTo(16 + archive.length);
+    }
+
+    @Test
+    void readsZip64Directory() throws Exception {
+        // More than 65535 entries forces the ZIP64 end of central directory
+        final Map<String, String> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 70_000; i++) {
+            entries.put("e/" + i, "");
+        }
+        entries.put("a.xml", "<a/>");
+        final ZipArchive zip = ZipArchive.open(ByteBuffer.wrap(_zip(entries, false, null)));
+
+        assertThat(_read(zip, "a.xml")).isEqualTo("<a/>");
+    }
+
+    @Test
+    void rejectsNonZipContent() {
+        final ByteBuffer text = ByteBuffer.wrap("not an archive".getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> ZipArchive.open(text))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not a ZIP archive");
+    }
+
+    private static String _read(final ZipArchive zip, final String name) throws IOException {
+        try (InputStream in = zip.getInputStream(name)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[256];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] _zip(final Map<String, String> entries, final boolean stored, final String comment)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            if (comment != null) zos.setComment(comment);
+            for (final Map.Entry<String, String> e : entries.entrySet()) {
+                final byte[] data = e.getValue().getBytes(StandardCharsets.UTF_8);
+                final ZipEntry entry = new ZipEntry(e.getKey());
+                if (stored) {
+                    final CRC32 crc = new CRC32();
+                    crc.update(data);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(data.length);
+                    entry.setCompressedSize(data.length);
+                    entry.setCrc(crc.getValue());
+                }
+                zos.putNextEntry(entry);
+                zos.write(data);
+                zos.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static String _repeat(final String s, final int times) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.poi.ooxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ZipArchiveWriterTest {
+
+    @Test
+    void writesEntriesReadableByZipInputStream() throws Exception {
+        final byte[] archive = _archive(1, false, "a.xml", "<a/>", "dir/b.xml", _xml(10_000));
+
+        final Map<String, String> read = new LinkedHashMap<>();
+        try (ZipInputStream zin = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zin.getNextEntry()) != null) {
+                read.put(entry.getName(), _string(zin));
+            }
+        }
+        assertThat(read).containsExactly(
+                entry("a.xml", "<a/>"),
+                entry("dir/b.xml", _xml(10_000)));
+    }
+
+    @Test
+    void parallelEntriesMatchSerialContent() throws Exception {
+        final String xml = _xml(200_000);
+        assertThat(xml.length()).isGreaterThan(8 * ParallelDeflater.BLOCK_SIZE);
+
+        for (final int threads : new int[]{2, 4}) {
+            final byte[] archive = _archive(threads, true, "sheet.xml", xml, "empty.xml", "");
+            final ZipArchive zip = ZipArchive.open(ByteBuffer.wrap(archive));
+
+            assertThat(_string(zip.getInputStream("sheet.xml"))).as("threads=%d", threads).isEqualTo(xml);
+            assertThat(_string(zip.getInputStream("empty.xml"))).isEmpty();
+            final CRC32 crc = new CRC32();
+            crc.update(xml.getBytes(StandardCharsets.UTF_8));
+            assertThat(zip.getCrc("sheet.xml")).isEqualTo(crc.getValue());
+            assertThat(zip.getSize("sheet.xml")).isEqualTo(xml.length());
+        }
+    }
+
+    @Test
+    void parallelSizeStaysCloseToSerial() throws Exception {
+        final String xml = _xml(200_000);
+        final long serial = _archive(1, true, "sheet.xml", xml).length;
+        final long parallel = _archive(4, true, "sheet.xml", xml).length;
+
+        assertThat((double) parallel).isLessThan(serial * 1.01);
+    }
+
+    @Test
+    void pipelinedEntriesMatchSerialContent() throws Exception {
+        final String xml = _xml(100_000);
+        final byte[] serial = _archive(1, false, "a.xml", "<a/>", "sheet.xml", xml);
+
+        for (final int threads : new int[]{1, 4}) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ZipArchiveWriter zip = new ZipArchiveWriter(out, 4, threads, true)) {
+                zip.putNextEntry("a.xml");
+                zip.write("<a/>".getBytes(StandardCharsets.UTF_8));
+                zip.putNextEntry("sheet.xml", true);
+                zip.write(xml.getBytes(StandardCharsets.UTF_8));
+                zip.finish();
+            }
+            final ZipArchive zip = ZipArchive.open(ByteBuffer.wrap(out.toByteArray()));
+
+            assertThat(_string(zip.getInputStream("a.xml"))).as("threads=%d", threads).isEqualTo("<a/>");
+            assertThat(_string(zip.getInputStream("sheet.xml"))).isEqualTo(xml);
+            if (threads == 1) {
+                assertThat(out.toByteArray()).hasSameSizeAs(serial);
+            }
+        }
+    }
+
+    @Test
+    void pipelinedWriteFailureSurfacesOnLaterCall() throws Exception {
+        final byte[] data = _xml(20_000).getBytes(StandardCharsets.UTF_8);
+        final ZipArchiveWriter zip = new ZipArchiveWriter(new FailingOutputStream(), 0, 1, true);
+        zip.putNextEntry("sheet.xml");
+
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 100; i++) {
+                zip.write(data, 0, data.length);
+            }
+        }).isInstanceOf(IOException.class).hasRootCauseMessage("disk full");
+        // Already thrown, so closing only releases the writer thread
+        zip.close();
+    }
+
+    @Test
+    void pipelinedFinishThrowsPendingFailure() throws Exception {
+        final ZipArchiveWriter zip = new ZipArchiveWriter(new FailingOutputStream(), 4, 1, true);
+        zip.putNextEntry("a.xml");
+        zip.write(new byte[16], 0, 16);
+
+        assertThatThrownBy(zip::finish).isInstanceOf(IOException.class).hasRootCauseMessage("disk full");
+        zip.close();
+    }
+
+    @Test
+    void pipelinedCloseDoesNotFinishAgainAfterFailedFinish() throws Exception {
+        final DirectoryFailingOutputStream out = new DirectoryFailingOutputStream();
+        final ZipArchiveWriter zip = new ZipArchiveWriter(out, 4, 1, true);
+        zip.putNextEntry("a.xml");
+        zip.write(new byte[16], 0, 16);
+
+        assertThatThrownBy(zip::finish).isInstanceOf(IOException.class).hasRootCauseMessage("disk full");
+        final int written = out.size();
+        zip.close();
+        // A second central directory would follow the failed one on a broken stream
+        assertThat(out.size()).isEqualTo(written);
+    }
+
+    @Test
+    void rawEntriesAreCopiedAsDeflated() throws Exception {
+        final byte[] content = _xml(1_000).getBytes(StandardCharsets.UTF_8);
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        deflater.setInput(content);
+        deflater.finish();
+        final byte[] buf = new byte[content.length];
+        final byte[] deflated = Arrays.copyOf(buf, deflater.deflate(buf));
+        deflater.end();
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipArchiveWriter zip = new ZipArchiveWriter(out, 4, 1)) {
+            zip.putNextEntry("a.xml");
+            zip.write("<a/>".getBytes(StandardCharsets.UTF_8));
+            zip.putRawEntry("raw.xml", deflated, crc.getValue(), content.length);
+            zip.finish();
+        }
+        final ZipArchive zip = ZipArchive.open(ByteBuffer.wrap(out.toByteArray()));
+
+        assertThat(zip.names()).containsExactly("a.xml", "raw.xml");
+        assertThat(zip.getCompressedSize("raw.xml")).isEqualTo(deflated.length);
+        assertThat(_string(zip.getInputStream("raw.xml"))).isEqualTo(new String(content, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void failsWritingWithoutEntry() {
+        final ZipArchiveWriter zip = new ZipArchiveWriter(new ByteArrayOutputStream(), 4, 1);
+
+        assertThatThrownBy(() -> zip.write(new byte[1], 0, 1)).isInstanceOf(IOException.class);
+    }
+
+    private static final class FailingOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) throws IOException {
+            throw new IOException("disk full");
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            throw new IOException("disk full");
+        }
+    }
+
+    /** Fails the first write of a central directory header only. */
+    private static final class DirectoryFailingOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream _written = new ByteArrayOutputStream();
+        private boolean _failed;
+
+        int size() {
+            return _written.size();
+        }
+
+        @Override
+        public void write(final int b) {
+            _written.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (!_failed && len >= 4 && b[off] == 'P' && b[off + 1] == 'K' && b[off + 2] == 1 && b[off + 3] == 2) {
+                _failed = true;
+                throw new IOException("disk full");
+            }
+            _written.write(b, off, len);
+        }
+    }
+
+    private static byte[] _archive(final int threads, final boolean parallel, final String... entries)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipArchiveWriter zip = new ZipArchiveWriter(out, 4, threads)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(entries[i], parallel);
+                final byte[] bytes = entries[i + 1].getBytes(StandardCharsets.UTF_8);
+                // Uneven writes, so blocks are cut mid-write
+                for (int off = 0; off < bytes.length; off += 50_000) {
+                    zip.write(bytes, off, Math.min(50_000, bytes.length - off));
+                }
+                zip.closeEntry();
+            }
+            zip.finish();
+        }
+        return out.toByteArray();
+    }
+
+    private static String _xml(final int rows) {
+        final Random random = new Random(rows);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            sb.append("<row r=\"").append(i + 1).append("\"><c r=\"A").append(i + 1).append("\"><v>")
+                    .append(random.nextInt(100_000)).append("</v></c></row>");
+        }
+        return sb.toString();
+    }
+
+    private static String _string(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[8192];
+        int n;
+        while ((n = in.read(buf)) > 0) {
+            out.write(buf, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.scndry.jackson.dataformat.spreadsheet.schema.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.github.scndry.jackson.dataformat.spreadsheet.SpreadsheetMapper;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataColumn;
+import io.github.scndry.jackson.dataformat.spreadsheet.annotation.DataGrid;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FlatTokenProgramTest {
+
+    @DataGrid
+    static class Outer {
+        public int a;
+        public Mid mid;
+        public int z;
+    }
+
+    static class Mid {
+        public Leaf left;
+        public int m;
+        public Leaf right;
+    }
+
+    static class Leaf {
+        public int x;
+        public int y;
+    }
+
+    @DataGrid
+    static class Shallow {
+        public int a;
+        public String b;
+    }
+
+    @DataGrid
+    static class WithList {
+        @DataColumn(anchor = true) public int id;
+        public List<Leaf> items;
+    }
+
+    private final SpreadsheetMapper mapper = new SpreadsheetMapper();
+
+    @Test
+    void adjacentTransitionsWalkScopes() throws Exception {
+        // a | mid/left/x | mid/left/y | mid/m | mid/right/x | mid/right/y | z
+        final FlatTokenProgram program = _program(Outer.class);
+
+        assertThat(_render(program.transition(FlatTokenProgram.ROW_START, 0))).containsExactly("a");
+        assertThat(_render(program.transition(0, 1))).containsExactly("mid", "{", "left", "{", "x");
+        assertThat(_render(program.transition(1, 2))).containsExactly("y");
+        assertThat(_render(program.transition(2, 3))).containsExactly("}", "m");
+        assertThat(_render(program.transition(3, 4))).containsExactly("right", "{", "x");
+        assertThat(_render(program.transition(5, 6))).containsExactly("}", "}", "z");
+    }
+
+    @Test
+    void gapTransitionsAndRowClose() throws Exception {
+        final FlatTokenProgram program = _program(Outer.class);
+
+        assertThat(_render(program.transition(FlatTokenProgram.ROW_START, 4)))
+                .containsExactly("mid", "{", "right", "{", "x");
+        assertThat(_render(program.transition(1, 5))).containsExactly("}", "right", "{", "y");
+        assertThat(program.closeCount(FlatTokenProgram.ROW_START)).isEqualTo(1);
+        assertThat(program.closeCount(0)).isEqualTo(1);
+        assertThat(program.closeCount(4)).isEqualTo(3);
+    }
+
+    @Test
+    void runsAndNamesAreShared() throws Exception {
+        final FlatTokenProgram program = _program(Outer.class);
+        assertThat(program.transition(0, 1)).isSameAs(program.transition(0, 1));
+        assertThat(program.transition(1, 4).name(1)).isSameAs(program.transition(3, 4).name(0));
+    }
+
+    @Test
+    void cachedGapRunsAreBounded() throws Exception {
+        final FlatTokenProgram program = _program(Outer.class);
+        for (int from = FlatTokenProgram.ROW_START; from < program.size(); from++) {
+            for (int to = 0; to < program.size(); to++) {
+                if (to == from + 1) continue;
+                assertThat(_render(program.transition(from, to)))
+                        .isEqualTo(_render(program.transition(from, to)));
+            }
+        }
+        // 8 * 7 - 7 gap transitions, more than the 16 + 2 * 7 kept
+        assertThat(program.otherRunCount()).isEqualTo(30);
+        assertThat(_render(program.transition(1, 5))).containsExactly("}", "right", "{", "y");
+    }
+
+    @Test
+    void shallowSchemaNamesPositions() throws Exception {
+        final FlatTokenProgram program = _program(Shallow.class);
+        assertThat(program.isShallow()).isTrue();
+        assertThat(program.size()).isEqualTo(2);
+        assertThat(program.fieldName(1)).isEqualTo("b")
+                .isSameAs(program.transition(0, 1).name(0));
+        assertThat(_program(Outer.class).isShallow()).isFalse();
+    }
+
+    @Test
+    void notCompiledForLists() throws Exception {
+        assertThat(_schema(WithList.class).flatTokenProgram()).isNull();
+    }
+
+    private SpreadsheetSchemaImpl _schema(final Class<?> type) throws Exception {
+        return (SpreadsheetSchemaImpl) mapper.sheetSchemaFor(type);
+    }
+
+    private FlatTokenProgram _program(final Class<?> type) throws Exception {
+        final FlatTokenProgram program = _schema(type).flatTokenProgram();
+        assertThat(program).isNotNull();
+        return program;
+    }
+
+    private static List<String> _render(final FlatTokenProgram.Run run) {
+        final List<String> out = new ArrayList<>();
+        for (int i = 0; i < run.size(); i++) {
+            final JsonToken t = run.token(i);
+            out.add(t == JsonToken.FIELD_NAME ? run.name(i) : t == JsonToken.START_OBJECT ? "{" : "}");
+        }
+        return out;
+    }
+}